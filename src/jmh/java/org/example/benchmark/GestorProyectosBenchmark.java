@@ -0,0 +1,105 @@
+package org.example.benchmark;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones básicas del gestor con colecciones de distintos tamaños.
+ * El tamaño se mantiene constante durante la medición: cada alta se deshace con su baja.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class GestorProyectosBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanio;
+
+    @Param({"OBJETOS", "COLUMNAR"})
+    public GestorProyectos.Almacenamiento almacenamiento;
+
+    private GestorProyectos gestor;
+    private String[] existentes;
+    private int siguiente;
+
+    @Setup
+    public void preparar() {
+        gestor = new GestorProyectos(almacenamiento);
+        for (int i = 0; i < tamanio; i++) {
+            gestor.agregarProyecto(new Proyecto("Proyecto " + i, (i % 101) / 10.0));
+        }
+        // Nombres precalculados para no medir la concatenación
+        existentes = new String[1024];
+        for (int i = 0; i < existentes.length; i++) {
+            existentes[i] = "Proyecto " + (long) i * tamanio / existentes.length;
+        }
+    }
+
+    private String siguienteExistente() {
+        siguiente = (siguiente + 1) & (existentes.length - 1);
+        return existentes[siguiente];
+    }
+
+    @Benchmark
+    public Proyecto buscarProyectoPorNombre() {
+        return gestor.buscarProyectoPorNombre(siguienteExistente());
+    }
+
+    @Benchmark
+    public Proyecto buscarInexistente() {
+        return gestor.buscarProyectoPorNombre("No existe");
+    }
+
+    /** Camino de rechazo: el nombre ya existe. */
+    @Benchmark
+    public boolean agregarDuplicado() {
+        try {
+            gestor.agregarProyecto(new Proyecto(siguienteExistente(), 5.0));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** Alta de un proyecto nuevo seguida de su baja (eliminarProyectoPorNombre). */
+    @Benchmark
+    public boolean agregarYEliminar() {
+        gestor.agregarProyecto(new Proyecto("Nuevo", 7.5));
+        return gestor.eliminarProyectoPorNombre("Nuevo");
+    }
+
+    /** Instantánea seguida de un alta y una baja: mide la copia de caminos que provoca. */
+    @Benchmark
+    public int instantaneaYEscritura() {
+        int tamanioInstantanea = gestor.getInstantanea().size();
+        gestor.agregarProyecto(new Proyecto("Nuevo", 7.5));
+        gestor.eliminarProyectoPorNombre("Nuevo");
+        return tamanioInstantanea;
+    }
+
+    /** Baja de un proyecto del medio de la lista seguida de su alta al final. */
+    @Benchmark
+    public boolean eliminarYReinsertar() {
+        String nombre = siguienteExistente();
+        Proyecto proyecto = gestor.buscarProyectoPorNombre(nombre);
+        boolean eliminado = gestor.eliminarProyectoPorNombre(nombre);
+        gestor.agregarProyecto(proyecto);
+        return eliminado;
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.benchmark;
+
+import org.example.model.Nota;
+import org.example.model.Proyecto;
+import org.example.view.ModeloTablaProyectos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura y escritura de notas: las rutinas en coma fija de {@link Nota} frente a
+ * {@code Double.parseDouble} y {@code String.format("%.2f")}. Cada operación procesa
+ * {@value #FILAS} notas. Con {@code -prof gc} (activado en el perfil jmh), la columna
+ * {@code gc.alloc.rate.norm} debe ser 0 B/op en todas las variantes {@code Nota*} y en
+ * {@code pintarNotasTabla}: ni leer, ni escribir, ni pintar la columna de notas crea objetos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotaBenchmark {
+    private static final int FILAS = 1000;
+
+    private final String[] textos = new String[FILAS];
+    private final int[] centesimas = new int[FILAS];
+    private final StringBuilder texto = new StringBuilder(16);
+    private final CharBuffer buffer = CharBuffer.allocate(16);
+    private ModeloTablaProyectos modeloTabla;
+
+    @Setup
+    public void preparar() {
+        List<Proyecto> proyectos = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            centesimas[i] = i * 7 % (Nota.MAXIMA + 1);
+            textos[i] = Nota.formatear(centesimas[i], new StringBuilder()).toString();
+            proyectos.add(Proyecto.conCentesimas("Proyecto " + i, centesimas[i]));
+        }
+        modeloTabla = new ModeloTablaProyectos(proyectos);
+    }
+
+    // --- Lectura ---
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public long parsearDouble() {
+        long suma = 0;
+        for (String nota : textos) {
+            suma += Math.round(Double.parseDouble(nota) * 100);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public long parsearNota() {
+        long suma = 0;
+        for (String nota : textos) {
+            suma += Nota.parsear(nota);
+        }
+        return suma;
+    }
+
+    // --- Escritura ---
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void formatearStringFormat(Blackhole sumidero) {
+        for (int nota : centesimas) {
+            sumidero.consume(String.format("%.2f", nota / 100.0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public int formatearNotaStringBuilder() {
+        int longitud = 0;
+        for (int nota : centesimas) {
+            texto.setLength(0);
+            longitud += Nota.formatear(nota, texto).length();
+        }
+        return longitud;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public int formatearNotaCharBuffer() {
+        int longitud = 0;
+        for (int nota : centesimas) {
+            buffer.clear();
+            longitud += Nota.formatear(nota, buffer).position();
+        }
+        return longitud;
+    }
+
+    // --- Pintado de la columna de notas ---
+
+    /** Lo que hace la tabla por cada fila visible: pedir el valor de la celda y obtener su texto. */
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void pintarNotasTabla(Blackhole sumidero) {
+        for (int fila = 0; fila < FILAS; fila++) {
+            Double valor = (Double) modeloTabla.getValueAt(fila, ModeloTablaProyectos.COLUMNA_NOTA);
+            sumidero.consume(Nota.texto(Nota.deDouble(valor)));
+        }
+    }
+
+    /** El pintado anterior: nota en un Double nuevo y String.format por celda. */
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void pintarNotasTablaStringFormat(Blackhole sumidero) {
+        for (int fila = 0; fila < FILAS; fila++) {
+            Double valor = Nota.aDouble(centesimas[fila]);
+            sumidero.consume(String.format("%.2f", valor));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.benchmark;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.example.view.ModeloTablaProyectos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lo que cuesta refrescar la ventana: el trabajo de {@code ControladorVista.actualizarListaVista}
+ * (resumen de estadísticas y texto de estado) más pintar una página visible de la tabla, y
+ * el {@code toString} de un proyecto. No crea la ventana, así que funciona sin pantalla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class VistaBenchmark {
+    private static final int FILAS_VISIBLES = 30;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanio;
+
+    private GestorProyectos gestor;
+    private ModeloTablaProyectos modeloTabla;
+    private Proyecto proyecto;
+    private int primeraFila;
+
+    @Setup
+    public void preparar() {
+        gestor = new GestorProyectos();
+        for (int i = 0; i < tamanio; i++) {
+            gestor.agregarProyecto(new Proyecto("Proyecto " + i, (i % 101) / 10.0));
+        }
+        modeloTabla = new ModeloTablaProyectos(gestor.getProyectos());
+        proyecto = new Proyecto("Cálculo Integral", 8.5);
+    }
+
+    @Benchmark
+    public String proyectoToString() {
+        return proyecto.toString();
+    }
+
+    /** Equivalente a actualizarListaVista: refresco de la tabla, estadísticas y barra de estado. */
+    @Benchmark
+    public void actualizarListaVista(Blackhole sumidero) {
+        modeloTabla.fireTableDataChanged();
+        sumidero.consume(gestor.getEstadisticas().toString());
+        int total = gestor.getNumeroProyectos();
+        sumidero.consume(total == 0 ? "No hay proyectos registrados." : "Lista actualizada. Total: " + total);
+    }
+
+    /** Celdas que JTable pide al desplazarse una página. */
+    @Benchmark
+    public void pintarPaginaVisible(Blackhole sumidero) {
+        primeraFila = (primeraFila + FILAS_VISIBLES) % Math.max(1, tamanio - FILAS_VISIBLES);
+        for (int fila = primeraFila; fila < primeraFila + FILAS_VISIBLES; fila++) {
+            for (int columna = 0; columna < modeloTabla.getColumnCount(); columna++) {
+                sumidero.consume(modeloTabla.getValueAt(fila, columna));
+            }
+        }
+    }
+}
@@ -2,20 +2,82 @@ package org.example;
 
 import org.example.controller.ControladorVista;
 import org.example.controller.GestorProyectos;
+import org.example.replicacion.PrimarioReplicacion;
+import org.example.replicacion.ReplicaProyectos;
+import org.example.servidor.ServidorProyectos;
 import org.example.view.VistaProyectos;
 
+import javax.management.JMException;
 import javax.swing.*; // Para SwingUtilities
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
 public class Main {
+    private static final int PUERTO_POR_DEFECTO = 8080;
 
+    /**
+     * Uso: {@code java -jar ProyectoTarea.jar [--diario fichero [--sin-fsync]] [--sin-metricas] [--headless [--puerto n]]
+     *     [--replicar-en puerto | --replica-de host:puerto]}
+     * <p>
+     * Con {@code --diario} los proyectos se guardan en un diario en disco y se recuperan al arrancar.
+     * Las métricas de latencia se publican por JMX; {@code --sin-metricas} las desactiva por completo.
+     * Con {@code --headless} no se abre la ventana: el gestor se sirve como API HTTP/JSON
+     * (puerto 8080 por defecto, ver {@link ServidorProyectos}).
+     * Con {@code --replicar-en} esta instancia es primaria y envía sus cambios a las réplicas que
+     * se conecten a ese puerto; con {@code --replica-de} es una réplica de otra instancia
+     * (ver {@link ReplicaProyectos}) y no admite escrituras, solo consultas.
+     */
     public static void main(String[] args) {
+        // 1. Crear el Modelo (en memoria o persistente)
+        GestorProyectos modelo;
+        try {
+            modelo = crearModelo(args);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("No se pudo abrir el diario de proyectos: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (Arrays.asList(args).contains("--sin-metricas")) {
+            modelo.getMetricas().setActiva(false);
+        } else {
+            try {
+                modelo.getMetricas().registrarEnJmx();
+            } catch (JMException e) {
+                System.err.println("No se pudieron publicar las métricas por JMX: " + e.getMessage());
+            }
+        }
+        Closeable replicacion = iniciarReplicacion(modelo, args);
+        // Al salir: detener el servidor y la replicación (si los hay) y después volcar y cerrar el diario
+        ServidorProyectos servidor = Arrays.asList(args).contains("--headless")
+                ? iniciarServidor(modelo, puerto(args)) : null;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (servidor != null) {
+                servidor.close();
+            }
+            try {
+                if (replicacion != null) {
+                    replicacion.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Error al detener la replicación: " + e.getMessage());
+            }
+            try {
+                modelo.close();
+            } catch (IOException e) {
+                System.err.println("Error al cerrar el diario de proyectos: " + e.getMessage());
+            }
+        }));
+        if (servidor != null) {
+            return; // Sin ventana: el hilo del servidor mantiene viva la aplicación
+        }
+
         // Es buena práctica ejecutar el código de Swing en el Event Dispatch Thread (EDT)
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
-                // 1. Crear el Modelo
-                GestorProyectos modelo = new GestorProyectos();
-
                 // 2. Crear la Vista
                 VistaProyectos vista = new VistaProyectos();
 
@@ -27,4 +89,88 @@ public class Main {
             }
         });
     }
-}
\ No newline at end of file
+
+    private static ServidorProyectos iniciarServidor(GestorProyectos modelo, int puerto) {
+        try {
+            ServidorProyectos servidor = new ServidorProyectos(modelo, puerto);
+            System.out.println("API de proyectos escuchando en http://localhost:" + servidor.getPuerto() + "/proyectos");
+            return servidor;
+        } catch (IOException e) {
+            System.err.println("No se pudo iniciar el servidor HTTP: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static Closeable iniciarReplicacion(GestorProyectos modelo, String[] args) {
+        List<String> argumentos = Arrays.asList(args);
+        int primario = argumentos.indexOf("--replicar-en");
+        int replica = argumentos.indexOf("--replica-de");
+        if (primario >= 0) {
+            try {
+                PrimarioReplicacion replicacion = new PrimarioReplicacion(modelo, Integer.parseInt(args[primario + 1]));
+                System.out.println("Replicación: primario escuchando en el puerto " + replicacion.getPuerto());
+                return replicacion;
+            } catch (IOException e) {
+                System.err.println("No se pudo iniciar la replicación: " + e.getMessage());
+                System.exit(1);
+                return null;
+            }
+        }
+        if (replica >= 0) {
+            String destino = args[replica + 1];
+            int separador = destino.lastIndexOf(':');
+            ReplicaProyectos replicacion = new ReplicaProyectos(modelo,
+                    destino.substring(0, separador), Integer.parseInt(destino.substring(separador + 1)));
+            try {
+                replicacion.registrarEnJmx();
+            } catch (JMException e) {
+                System.err.println("No se pudieron publicar las métricas de la réplica por JMX: " + e.getMessage());
+            }
+            return replicacion;
+        }
+        return null;
+    }
+
+    private static int puerto(String[] args) {
+        int i = Arrays.asList(args).indexOf("--puerto");
+        return i < 0 ? PUERTO_POR_DEFECTO : Integer.parseInt(args[i + 1]); // Validado en crearModelo
+    }
+
+    private static GestorProyectos crearModelo(String[] args) throws IOException {
+        Path diario = null;
+        boolean sincronizar = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--diario":
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Falta el fichero tras --diario.");
+                    }
+                    diario = Path.of(args[++i]);
+                    break;
+                case "--sin-fsync":
+                    sincronizar = false;
+                    break;
+                case "--sin-metricas":
+                case "--headless":
+                    break; // Se aplican en main, una vez creado el modelo
+                case "--puerto":
+                case "--replicar-en":
+                    if (i + 1 >= args.length || !args[i + 1].matches("\\d{1,5}")) {
+                        throw new IllegalArgumentException("Falta un número de puerto válido tras " + args[i] + ".");
+                    }
+                    i++;
+                    break;
+                case "--replica-de":
+                    if (i + 1 >= args.length || !args[i + 1].matches(".+:\\d{1,5}")) {
+                        throw new IllegalArgumentException("Falta host:puerto tras --replica-de.");
+                    }
+                    i++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+        return diario == null ? new GestorProyectos() : GestorProyectos.abrir(diario, sincronizar);
+    }
+}
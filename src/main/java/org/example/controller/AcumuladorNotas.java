@@ -0,0 +1,70 @@
+package org.example.controller;
+
+import org.example.model.EstadisticasNotas;
+import org.example.model.Nota;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas de notas mantenidas de forma incremental en cada alta, baja y limpieza.
+ * La suma de las notas y la de sus cuadrados se llevan exactas, en centésimas enteras, y la
+ * media y la varianza se calculan a partir de ellas al pedir la instantánea: así no acumulan
+ * error de redondeo por muchas altas y bajas que haya, y dependen solo de las notas presentes,
+ * no del orden de los cambios. Mínimo y máximo salen de un recuento por nota (en centésimas solo hay
+ * {@value Nota#MAXIMA} + 1 notas posibles) y se guardan en caché, así que leer cualquier
+ * estadística cuesta O(1) y quitar el mínimo o el máximo, como mucho un recorrido del recuento.
+ * No es seguro entre hilos: GestorProyectos sincroniza todos los accesos.
+ */
+class AcumuladorNotas {
+    private long cantidad;
+    private long sumaCentesimas;
+    private long sumaCuadrados; // En centésimas al cuadrado: cabe en un long hasta ~9·10^12 notas
+    private final int[] repeticiones = new int[Nota.MAXIMA + 1]; // Proyectos por nota en centésimas
+    private int minima;
+    private int maxima;
+    private final long[] histograma = new long[EstadisticasNotas.BARRAS_HISTOGRAMA];
+
+    void agregar(int centesimas) {
+        cantidad++;
+        sumaCentesimas += centesimas;
+        sumaCuadrados += (long) centesimas * centesimas;
+        repeticiones[centesimas]++;
+        histograma[EstadisticasNotas.barra(Nota.aDouble(centesimas))]++;
+        if (cantidad == 1 || centesimas < minima) minima = centesimas;
+        if (cantidad == 1 || centesimas > maxima) maxima = centesimas;
+    }
+
+    void quitar(int centesimas) {
+        if (cantidad <= 1) {
+            limpiar();
+            return;
+        }
+        cantidad--;
+        sumaCentesimas -= centesimas;
+        sumaCuadrados -= (long) centesimas * centesimas;
+        repeticiones[centesimas]--;
+        histograma[EstadisticasNotas.barra(Nota.aDouble(centesimas))]--;
+        // Quedan notas: los recorridos se detienen antes de salirse del recuento
+        while (repeticiones[minima] == 0) minima++;
+        while (repeticiones[maxima] == 0) maxima--;
+    }
+
+    void limpiar() {
+        cantidad = 0;
+        sumaCentesimas = 0;
+        sumaCuadrados = 0;
+        Arrays.fill(repeticiones, 0);
+        Arrays.fill(histograma, 0);
+    }
+
+    EstadisticasNotas instantanea() {
+        if (cantidad == 0) {
+            return new EstadisticasNotas(0, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, histograma);
+        }
+        // Varianza = E[x²] − E[x]², en centésimas; con todas las notas iguales sale exactamente 0
+        double mediaCentesimas = (double) sumaCentesimas / cantidad;
+        double varianza = Math.max(0, (double) sumaCuadrados / cantidad - mediaCentesimas * mediaCentesimas);
+        return new EstadisticasNotas(cantidad, sumaCentesimas / 100.0, sumaCentesimas / (100.0 * cantidad),
+                varianza / (100 * 100), Nota.aDouble(minima), Nota.aDouble(maxima), histograma);
+    }
+}
@@ -0,0 +1,286 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Almacén columnar (struct-of-arrays) para colecciones muy grandes.
+ * <p>
+ * Las notas se guardan en centésimas en un {@code int[]} y los nombres, codificados en UTF-8, uno tras
+ * otro en un único {@code byte[]} (la "arena"), cada uno seguido de su clave canónica si es
+ * distinta del nombre. El índice por clave es una tabla hash de direccionamiento abierto sobre
+ * {@code int[]}, sin objetos por entrada; al buscar se comparan bytes, sin volver a normalizar. Los {@link Proyecto} se crean solo
+ * cuando alguien los pide, como vistas de una ranura.
+ */
+class AlmacenColumnar implements AlmacenProyectos {
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int HUECOS_MINIMOS_PARA_COMPACTAR = 32;
+    private static final int LIBRE = 0;     // En la tabla: entrada nunca usada
+    private static final int BORRADA = -1;  // En la tabla: entrada eliminada (la sonda continúa)
+
+    // Columnas por ranura (inicioNombre = -1 indica un hueco)
+    private int[] notas; // En centésimas
+    private int[] inicioNombre;
+    private int[] longitudNombre;
+    private int[] longitudClave;  // -1 = la clave coincide con el nombre y no se guarda aparte
+    private int[] hashClave;
+    private int usadas;
+    private int huecos;
+
+    // Arena de nombres
+    private byte[] arena;
+    private int finArena;
+
+    // Tabla hash: ranura + 1, LIBRE o BORRADA
+    private int[] tabla;
+    private int entradasTabla; // Ocupadas + borradas
+
+    private final PosicionesFenwick posiciones = new PosicionesFenwick();
+
+    AlmacenColumnar() {
+        reiniciar();
+    }
+
+    @Override
+    public int agregar(Proyecto proyecto) {
+        if (usadas == notas.length) {
+            crecer();
+        }
+        byte[] nombre = codificar(proyecto.getNombre());
+        String textoClave = proyecto.getClave();
+        byte[] clave = textoClave.equals(proyecto.getNombre()) ? nombre : codificar(textoClave);
+        int hash = hash(clave);
+        int ranura = usadas++;
+        notas[ranura] = proyecto.getCentesimas();
+        inicioNombre[ranura] = copiarEnArena(nombre);
+        longitudNombre[ranura] = nombre.length;
+        if (clave == nombre) {
+            longitudClave[ranura] = -1;
+        } else {
+            copiarEnArena(clave); // Justo detrás del nombre
+            longitudClave[ranura] = clave.length;
+        }
+        hashClave[ranura] = hash;
+        posiciones.sumar(ranura, 1);
+        insertarEnTabla(ranura, hash);
+        return tamanio() - 1;
+    }
+
+    @Override
+    public Proyecto buscar(String clave) {
+        int entrada = buscarEntrada(codificar(clave));
+        return entrada < 0 ? null : crearVista(tabla[entrada] - 1);
+    }
+
+    @Override
+    public boolean contiene(String clave) {
+        return buscarEntrada(codificar(clave)) >= 0;
+    }
+
+    @Override
+    public int eliminar(String clave) {
+        int entrada = buscarEntrada(codificar(clave));
+        if (entrada < 0) {
+            return -1;
+        }
+        int ranura = tabla[entrada] - 1;
+        tabla[entrada] = BORRADA;
+        int posicion = posiciones.prefijo(ranura);
+        inicioNombre[ranura] = -1;
+        posiciones.sumar(ranura, -1);
+        huecos++;
+        if (huecos >= HUECOS_MINIMOS_PARA_COMPACTAR && huecos * 2 > usadas) {
+            compactar();
+        }
+        return posicion;
+    }
+
+    @Override
+    public int eliminarSi(Predicate<Proyecto> condicion, ObjIntConsumer<Proyecto> eliminado) {
+        BitSet marcadas = new BitSet(usadas);
+        for (int i = 0; i < usadas; i++) {
+            if (inicioNombre[i] >= 0 && condicion.test(crearVista(i))) {
+                marcadas.set(i);
+            }
+        }
+        int cantidad = marcadas.cardinality();
+        if (cantidad > 0) {
+            compactar(marcadas, eliminado);
+        }
+        return cantidad;
+    }
+
+    @Override
+    public Proyecto obtener(int posicion) {
+        if (posicion < 0 || posicion >= tamanio()) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + ", tamaño " + tamanio());
+        }
+        return crearVista(huecos == 0 ? posicion : posiciones.seleccionar(posicion));
+    }
+
+    @Override
+    public int tamanio() {
+        return usadas - huecos;
+    }
+
+    // --- Ranuras y arena ---
+
+    private Proyecto crearVista(int ranura) {
+        String nombre = new String(arena, inicioNombre[ranura], longitudNombre[ranura], StandardCharsets.UTF_8);
+        return Proyecto.conCentesimas(nombre, notas[ranura]);
+    }
+
+    private int copiarEnArena(byte[] nombre) {
+        if (finArena + nombre.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, finArena + nombre.length));
+        }
+        int inicio = finArena;
+        System.arraycopy(nombre, 0, arena, inicio, nombre.length);
+        finArena += nombre.length;
+        return inicio;
+    }
+
+    private void reiniciar() {
+        notas = new int[CAPACIDAD_INICIAL];
+        inicioNombre = new int[CAPACIDAD_INICIAL];
+        longitudNombre = new int[CAPACIDAD_INICIAL];
+        longitudClave = new int[CAPACIDAD_INICIAL];
+        hashClave = new int[CAPACIDAD_INICIAL];
+        usadas = 0;
+        huecos = 0;
+        arena = new byte[CAPACIDAD_INICIAL * 16];
+        finArena = 0;
+        tabla = new int[CAPACIDAD_INICIAL * 2];
+        entradasTabla = 0;
+        reconstruirFenwick();
+    }
+
+    private void crecer() {
+        int capacidad = notas.length * 2;
+        notas = Arrays.copyOf(notas, capacidad);
+        inicioNombre = Arrays.copyOf(inicioNombre, capacidad);
+        longitudNombre = Arrays.copyOf(longitudNombre, capacidad);
+        longitudClave = Arrays.copyOf(longitudClave, capacidad);
+        hashClave = Arrays.copyOf(hashClave, capacidad);
+        reconstruirFenwick();
+    }
+
+    private void compactar() {
+        compactar(new BitSet(), (proyecto, posicion) -> { });
+    }
+
+    /**
+     * Elimina los huecos y las ranuras marcadas de las columnas y los bytes muertos de la
+     * arena, y rehace la tabla. Coste O(n), amortizado sobre las eliminaciones.
+     */
+    private void compactar(BitSet marcadas, ObjIntConsumer<Proyecto> eliminado) {
+        byte[] nuevaArena = new byte[Math.max(CAPACIDAD_INICIAL, finArena)];
+        int nuevoFin = 0;
+        int destino = 0;
+        int posicion = 0; // Posición visible de la ranura antes de compactar
+        for (int i = 0; i < usadas; i++) {
+            if (inicioNombre[i] < 0) {
+                continue;
+            }
+            if (marcadas.get(i)) {
+                eliminado.accept(crearVista(i), posicion++); // La arena antigua sigue intacta hasta el final
+                continue;
+            }
+            posicion++;
+            int longitud = longitudNombre[i] + Math.max(0, longitudClave[i]); // Nombre y clave
+            System.arraycopy(arena, inicioNombre[i], nuevaArena, nuevoFin, longitud);
+            notas[destino] = notas[i];
+            inicioNombre[destino] = nuevoFin;
+            longitudNombre[destino] = longitudNombre[i];
+            longitudClave[destino] = longitudClave[i];
+            hashClave[destino] = hashClave[i];
+            nuevoFin += longitud;
+            destino++;
+        }
+        arena = nuevaArena;
+        finArena = nuevoFin;
+        usadas = destino;
+        huecos = 0;
+        reconstruirTabla(tabla.length);
+        reconstruirFenwick();
+    }
+
+    private void reconstruirFenwick() {
+        posiciones.reconstruir(notas.length, usadas, ranura -> inicioNombre[ranura] >= 0);
+    }
+
+    // --- Tabla hash de direccionamiento abierto (sondeo lineal) ---
+
+    private void insertarEnTabla(int ranura, int hash) {
+        if ((entradasTabla + 1) * 4 > tabla.length * 3) {
+            reconstruirTabla(Math.max(tabla.length, Integer.highestOneBit(Math.max(1, tamanio())) * 4));
+        }
+        int mascara = tabla.length - 1;
+        int i = hash & mascara;
+        while (tabla[i] != LIBRE) {
+            i = (i + 1) & mascara;
+        }
+        tabla[i] = ranura + 1;
+        entradasTabla++;
+    }
+
+    /** Rehace la tabla con las ranuras vivas, descartando las entradas borradas. */
+    private void reconstruirTabla(int longitud) {
+        tabla = new int[longitud];
+        entradasTabla = 0;
+        int mascara = longitud - 1;
+        for (int ranura = 0; ranura < usadas; ranura++) {
+            if (inicioNombre[ranura] >= 0) {
+                int i = hashClave[ranura] & mascara;
+                while (tabla[i] != LIBRE) {
+                    i = (i + 1) & mascara;
+                }
+                tabla[i] = ranura + 1;
+                entradasTabla++;
+            }
+        }
+    }
+
+    /** @return Índice de la tabla que apunta a la clave, o -1 si no está. */
+    private int buscarEntrada(byte[] clave) {
+        int hash = hash(clave);
+        int mascara = tabla.length - 1;
+        int i = hash & mascara;
+        int valor;
+        while ((valor = tabla[i]) != LIBRE) {
+            if (valor != BORRADA) {
+                int ranura = valor - 1;
+                if (hashClave[ranura] == hash && mismaClave(ranura, clave)) {
+                    return i;
+                }
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private boolean mismaClave(int ranura, byte[] clave) {
+        int inicio = inicioNombre[ranura];
+        int longitud = longitudNombre[ranura];
+        if (longitudClave[ranura] >= 0) {
+            inicio += longitud;
+            longitud = longitudClave[ranura];
+        }
+        return longitud == clave.length
+                && Arrays.equals(arena, inicio, inicio + clave.length, clave, 0, clave.length);
+    }
+
+    private static byte[] codificar(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = Arrays.hashCode(bytes);
+        return h ^ (h >>> 16); // Mezcla los bits altos, la tabla usa los bajos
+    }
+}
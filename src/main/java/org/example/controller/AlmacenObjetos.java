@@ -0,0 +1,154 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Almacén por defecto: un array de referencias a {@link Proyecto} en orden de inserción
+ * y un índice hash por clave de nombre, de modo que buscar, comprobar duplicados y eliminar
+ * no recorren la lista. Las eliminaciones dejan un hueco que se compacta más tarde;
+ * un árbol de Fenwick traduce posiciones visibles a ranuras mientras existan huecos.
+ */
+class AlmacenObjetos implements AlmacenProyectos {
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int HUECOS_MINIMOS_PARA_COMPACTAR = 32;
+
+    private Proyecto[] ranuras;      // Proyectos en orden de inserción (null = eliminado)
+    private final PosicionesFenwick posiciones = new PosicionesFenwick();
+    private int usadas;              // Ranuras utilizadas, incluidos los huecos
+    private int huecos;              // Ranuras liberadas pendientes de compactar
+    private final Map<String, Integer> indicePorClave = new HashMap<>();
+
+    AlmacenObjetos() {
+        reiniciar();
+    }
+
+    @Override
+    public int agregar(Proyecto proyecto) {
+        if (usadas == ranuras.length) {
+            crecer();
+        }
+        int ranura = usadas++;
+        ranuras[ranura] = proyecto;
+        posiciones.sumar(ranura, 1);
+        indicePorClave.put(proyecto.getClave(), ranura);
+        return tamanio() - 1;
+    }
+
+    @Override
+    public Proyecto buscar(String clave) {
+        Integer ranura = indicePorClave.get(clave);
+        return ranura == null ? null : ranuras[ranura];
+    }
+
+    @Override
+    public boolean contiene(String clave) {
+        return indicePorClave.containsKey(clave);
+    }
+
+    @Override
+    public int eliminar(String clave) {
+        Integer ranura = indicePorClave.remove(clave);
+        if (ranura == null) {
+            return -1;
+        }
+        int posicion = posiciones.prefijo(ranura);
+        ranuras[ranura] = null;
+        posiciones.sumar(ranura, -1);
+        huecos++;
+        if (huecos >= HUECOS_MINIMOS_PARA_COMPACTAR && huecos * 2 > usadas) {
+            compactar();
+        }
+        return posicion;
+    }
+
+    @Override
+    public int eliminarSi(Predicate<Proyecto> condicion, ObjIntConsumer<Proyecto> eliminado) {
+        BitSet marcadas = new BitSet(usadas);
+        for (int i = 0; i < usadas; i++) {
+            if (ranuras[i] != null && condicion.test(ranuras[i])) {
+                marcadas.set(i);
+            }
+        }
+        int cantidad = marcadas.cardinality();
+        if (cantidad > 0) {
+            compactar(marcadas, eliminado);
+        }
+        return cantidad;
+    }
+
+    @Override
+    public Proyecto obtener(int posicion) {
+        if (posicion < 0 || posicion >= tamanio()) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + ", tamaño " + tamanio());
+        }
+        if (huecos == 0) {
+            return ranuras[posicion];
+        }
+        return ranuras[posiciones.seleccionar(posicion)];
+    }
+
+    @Override
+    public int tamanio() {
+        return usadas - huecos;
+    }
+
+    // --- Gestión interna de ranuras ---
+
+    private void reiniciar() {
+        ranuras = new Proyecto[CAPACIDAD_INICIAL];
+        usadas = 0;
+        huecos = 0;
+        indicePorClave.clear();
+        reconstruirFenwick();
+    }
+
+    private void crecer() {
+        Proyecto[] nuevas = new Proyecto[ranuras.length * 2];
+        System.arraycopy(ranuras, 0, nuevas, 0, usadas);
+        ranuras = nuevas;
+        reconstruirFenwick();
+    }
+
+    private void compactar() {
+        compactar(new BitSet(), (proyecto, posicion) -> { });
+    }
+
+    /**
+     * Elimina los huecos y las ranuras marcadas desplazando los proyectos hacia el inicio y
+     * reasigna las ranuras del índice. Coste O(n), amortizado sobre las eliminaciones.
+     */
+    private void compactar(BitSet marcadas, ObjIntConsumer<Proyecto> eliminado) {
+        int destino = 0;
+        int posicion = 0; // Posición visible de la ranura antes de compactar
+        for (int i = 0; i < usadas; i++) {
+            Proyecto p = ranuras[i];
+            if (p != null && marcadas.get(i)) {
+                indicePorClave.remove(p.getClave());
+                eliminado.accept(p, posicion++);
+            } else if (p != null) {
+                posicion++;
+                if (destino != i) {
+                    ranuras[destino] = p;
+                    indicePorClave.put(p.getClave(), destino);
+                }
+                destino++;
+            }
+        }
+        for (int i = destino; i < usadas; i++) {
+            ranuras[i] = null;
+        }
+        usadas = destino;
+        huecos = 0;
+        reconstruirFenwick();
+    }
+
+    private void reconstruirFenwick() {
+        posiciones.reconstruir(ranuras.length, usadas, ranura -> ranuras[ranura] != null);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Almacenamiento interno de {@link GestorProyectos}: proyectos en orden de inserción
+ * con búsqueda por la clave canónica del nombre ({@link Proyecto#getClave()}).
+ * La validación y la unicidad las garantiza el gestor.
+ * Las implementaciones no son seguras entre hilos: GestorProyectos sincroniza todos los accesos.
+ */
+interface AlmacenProyectos {
+
+    /**
+     * Agrega el proyecto al final. El llamador ya ha comprobado que su clave no existe.
+     * @return Posición visible del proyecto agregado.
+     */
+    int agregar(Proyecto proyecto);
+
+    Proyecto buscar(String clave);
+
+    boolean contiene(String clave);
+
+    /**
+     * Elimina el proyecto con esa clave.
+     * @return Posición visible que ocupaba el proyecto, o -1 si no existía.
+     */
+    int eliminar(String clave);
+
+    /**
+     * Elimina los proyectos que cumplen la condición compactando el almacén en una sola pasada.
+     * La condición se evalúa entera antes de modificar nada: si lanza una excepción, el
+     * almacén queda como estaba.
+     * @param eliminado Recibe cada proyecto eliminado con la posición visible que ocupaba, en orden.
+     * @return Número de proyectos eliminados.
+     */
+    int eliminarSi(Predicate<Proyecto> condicion, ObjIntConsumer<Proyecto> eliminado);
+
+    /**
+     * Devuelve el proyecto en la posición visible indicada (orden de inserción).
+     */
+    Proyecto obtener(int posicion);
+
+    int tamanio();
+}
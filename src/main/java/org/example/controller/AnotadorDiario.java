@@ -0,0 +1,85 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+import org.example.persistencia.DiarioProyectos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Anota en el {@link DiarioProyectos} de un {@link GestorProyectos} los cambios que hace, o nada
+ * si el gestor es solo en memoria ({@link #EN_MEMORIA}). Las anotaciones se hacen con el cerrojo
+ * de escritura del gestor, para que queden en el orden de los cambios, y devuelven la secuencia
+ * que hay que esperar, fuera del cerrojo, con {@link #esperarDurable(long)}.
+ */
+final class AnotadorDiario {
+    static final AnotadorDiario EN_MEMORIA = new AnotadorDiario(null);
+
+    private final DiarioProyectos diario; // null = solo en memoria
+
+    AnotadorDiario(DiarioProyectos diario) {
+        this.diario = diario;
+    }
+
+    /**
+     * Se comprueba antes de tocar el almacén: si el diario ya falló, la escritura se rechaza
+     * sin cambiar nada.
+     * @throws UncheckedIOException Si el diario no puede recibir más registros.
+     */
+    void comprobarDisponible() {
+        if (diario != null) {
+            diario.comprobarDisponible();
+        }
+    }
+
+    long alta(Proyecto proyecto) {
+        return diario == null ? 0 : diario.anotarAlta(proyecto);
+    }
+
+    long altas(List<Proyecto> proyectos) {
+        return diario == null || proyectos.isEmpty() ? 0 : diario.anotarAltas(proyectos);
+    }
+
+    long baja(String nombre) {
+        return diario == null ? 0 : diario.anotarBaja(nombre);
+    }
+
+    long bajas(List<Proyecto> proyectos) {
+        return diario == null || proyectos.isEmpty() ? 0 : diario.anotarBajas(proyectos);
+    }
+
+    long limpieza() {
+        return diario == null ? 0 : diario.anotarLimpieza();
+    }
+
+    /**
+     * Espera a que la secuencia sea durable; con sincronización, varias escrituras concurrentes
+     * comparten un mismo fsync.
+     * @throws UncheckedIOException Si el diario falló: el cambio ya se aplicó en memoria, en el
+     *         historial y en los eventos, pero no es durable.
+     */
+    void esperarDurable(long secuencia) {
+        if (diario == null) {
+            return;
+        }
+        try {
+            diario.esperarDurable(secuencia);
+        } catch (UncheckedIOException e) {
+            throw new UncheckedIOException("El cambio se aplicó en memoria, pero no se pudo escribir en el diario", e.getCause());
+        }
+    }
+
+    /** Reescribe el diario con un alta por proyecto (ver {@link DiarioProyectos#compactar}). */
+    void compactar(List<Proyecto> proyectos) throws IOException {
+        if (diario != null) {
+            diario.compactar(proyectos);
+        }
+    }
+
+    void cerrar() throws IOException {
+        if (diario != null) {
+            diario.close();
+        }
+    }
+}
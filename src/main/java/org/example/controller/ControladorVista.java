@@ -1,26 +1,71 @@
 package org.example.controller; // Asegúrate que el paquete sea el correcto
 
+import org.example.metricas.MetricasProyectos;
+import org.example.model.FormatoExportacion;
+import org.example.model.Nota;
 import org.example.model.Proyecto;
+import org.example.model.ResultadoExportacion;
+import org.example.model.ResultadoImportacion;
+import org.example.view.ModeloTablaProyectos;
+import org.example.view.PlanificadorRefresco;
 import org.example.view.VistaProyectos;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Controlador de la ventana. Lee la entrada en el Event Dispatch Thread, ejecuta el trabajo
+ * del modelo en segundo plano con {@link EjecutorModelo} y vuelve al EDT solo para mostrar el resultado.
+ * Los cambios del modelo no repintan la ventana uno a uno: marcan la vista como sucia y
+ * {@link PlanificadorRefresco} la repinta como mucho una vez por fotograma. Los avisos de
+ * éxito van a la barra de estado; los diálogos modales quedan para errores y confirmaciones.
+ */
 public class ControladorVista {
+    private static final int ESPERA_FILTRO_MS = 150;   // Pausa al teclear antes de buscar
+    private static final int MAX_RESULTADOS_FILTRO = 500;
 
     private GestorProyectos modelo;
     private VistaProyectos vista;
+    private ModeloTablaProyectos modeloTabla;
+    private final EjecutorModelo ejecutor = new EjecutorModelo();
+    private TareaModelo<?> tareaConProgreso; // Tarea larga que puede cancelar el usuario
+    private final PlanificadorRefresco planificador = new PlanificadorRefresco(this::refrescarCambios);
+    private final Timer temporizadorFiltro = new Timer(ESPERA_FILTRO_MS, e -> filtrarProyectos());
+    private TareaModelo<?> tareaFiltro; // Búsqueda en curso; se cancela si llega otra
+    private long generacionFiltro;      // Solo se muestra el resultado de la última búsqueda lanzada
 
     public ControladorVista(GestorProyectos modelo, VistaProyectos vista) {
         this.modelo = modelo;
         this.vista = vista;
 
+        // La tabla pinta una copia de la lista del modelo que solo se cambia en el EDT. Los
+        // cambios, siempre en segundo plano, se encolan en la tabla, y el repintado (tabla,
+        // estadísticas, historial, filtro) se agrupa por fotograma.
+        this.modeloTabla = new ModeloTablaProyectos(modelo::getCopiaProyectos);
+        this.vista.setModeloTabla(modeloTabla);
+        this.modeloTabla.cargar(this.modelo.addProyectosListenerConCopia(evento -> {
+            modeloTabla.proyectosCambiados(evento);
+            planificador.marcar();
+        }));
+        temporizadorFiltro.setRepeats(false);
+
         // Configurar listeners para los botones en la vista
         this.vista.addRegistrarListener(new RegistrarListener());
         this.vista.addEliminarListener(new EliminarListener());     // Añadir listener para Eliminar
+        this.vista.addEliminarSeleccionadosListener(new EliminarSeleccionadosListener());
         this.vista.addLimpiarTodoListener(new LimpiarTodoListener());// Añadir listener para Limpiar Todo
+        this.vista.addImportarListener(new ImportarListener());
+        this.vista.addExportarListener(new ExportarListener());
+        this.vista.addCancelarListener(new CancelarListener());
+        this.vista.addDeshacerListener(new DeshacerListener());
+        this.vista.addRehacerListener(new RehacerListener());
+        this.vista.addFiltroListener(new FiltroListener());
 
         // Inicializar la vista
         actualizarListaVista();
@@ -48,25 +93,33 @@ public class ControladorVista {
             return;
         }
 
-        double nota;
+        int centesimas;
         try {
-            nota = Double.parseDouble(notaStr);
-            Proyecto nuevoProyecto = new Proyecto(nombre, nota);
-            modelo.agregarProyecto(nuevoProyecto); // Modelo valida nombre y nota
-
-            vista.mostrarMensajeInfo("Proyecto '" + nombre + "' registrado con éxito.");
-            vista.limpiarCampos();
-            actualizarListaVista();
-
+            centesimas = Nota.parsear(notaStr); // Admite punto o coma decimal
         } catch (NumberFormatException e) {
-            vista.mostrarMensajeError("La nota debe ser un número válido (ej: 7.5).");
-        } catch (IllegalArgumentException e) {
-            // Captura errores de validación del modelo (nombre o nota)
-            vista.mostrarMensajeError(e.getMessage());
-        } catch (Exception e) {
-            vista.mostrarMensajeError("Ocurrió un error inesperado al registrar: " + e.getMessage());
-            e.printStackTrace();
+            vista.mostrarMensajeError(GestorProyectos.MENSAJE_NOTA_NO_VALIDA);
+            return;
         }
+
+        Proyecto nuevoProyecto = Proyecto.conCentesimas(nombre, centesimas);
+        ejecutor.escribir(new TareaModelo<Void>(
+                tarea -> {
+                    modelo.agregarProyecto(nuevoProyecto); // Modelo valida nombre y nota
+                    return null;
+                },
+                sinResultado -> {
+                    vista.setStatus("Proyecto '" + nombre + "' registrado con éxito. Total: " + obtenerNumeroProyectos());
+                    vista.limpiarCampos();
+                },
+                error -> {
+                    if (error instanceof IllegalArgumentException) {
+                        // Captura errores de validación del modelo (nombre o nota)
+                        vista.mostrarMensajeError(error.getMessage());
+                    } else {
+                        mostrarErrorInesperado("registrar", error);
+                    }
+                },
+                () -> vista.setStatus("Registro cancelado.")));
     }
 
     /**
@@ -86,42 +139,244 @@ public class ControladorVista {
             return; // Nombre vacío ingresado
         }
 
-        // 3. Intentar eliminar el proyecto a través del modelo
-        boolean eliminado = modelo.eliminarProyectoPorNombre(nombreAEliminar.trim());
+        // 3. Intentar eliminar el proyecto a través del modelo (en segundo plano)
+        String nombre = nombreAEliminar.trim();
+        ejecutor.escribir(new TareaModelo<Boolean>(
+                tarea -> modelo.eliminarProyectoPorNombre(nombre),
+                eliminado -> {
+                    // 4. Informar al usuario y actualizar la vista
+                    if (eliminado) {
+                        // La tabla ya recibió el evento de eliminación
+                        vista.setStatus("Proyecto '" + nombre + "' eliminado con éxito. Total: " + obtenerNumeroProyectos());
+                    } else {
+                        vista.mostrarMensajeError("No se encontró ningún proyecto con el nombre '" + nombre + "'.");
+                    }
+                },
+                error -> mostrarErrorInesperado("eliminar", error),
+                () -> vista.setStatus("Eliminación cancelada.")));
+    }
 
-        // 4. Informar al usuario y actualizar la vista
-        if (eliminado) {
-            vista.mostrarMensajeInfo("Proyecto '" + nombreAEliminar.trim() + "' eliminado con éxito.");
-            actualizarListaVista(); // Actualiza la lista en la vista
-        } else {
-            vista.mostrarMensajeError("No se encontró ningún proyecto con el nombre '" + nombreAEliminar.trim() + "'.");
+    /**
+     * Elimina de una vez los proyectos seleccionados en la tabla, tras pedir confirmación.
+     * El modelo los quita en una sola pasada y la tabla recibe un único evento.
+     * Los nombres salen de las filas tal como se pintaron (la copia de la tabla solo cambia
+     * en el EDT, junto con la selección), aunque la lista haya cambiado en segundo plano.
+     */
+    public void eliminarSeleccionados() {
+        int[] filas = vista.getFilasSeleccionadas();
+        if (filas.length == 0) {
+            vista.setStatus("Seleccione en la tabla los proyectos a eliminar.");
+            return;
         }
+        List<String> nombres = new ArrayList<>(filas.length);
+        for (int fila : filas) {
+            nombres.add(modeloTabla.getProyecto(fila).getNombre());
+        }
+        if (!vista.confirmarEliminacion(nombres.size())) {
+            vista.setStatus("Eliminación cancelada por el usuario.");
+            return;
+        }
+        ejecutor.escribir(new TareaModelo<Integer>(
+                tarea -> modelo.eliminarPorNombres(nombres),
+                eliminados -> vista.setStatus(eliminados + " proyectos eliminados"
+                        + (eliminados < nombres.size() ? " (" + (nombres.size() - eliminados) + " ya no estaban en la lista)" : "")
+                        + ". Total: " + obtenerNumeroProyectos()),
+                error -> mostrarErrorInesperado("eliminar", error),
+                () -> vista.setStatus("Eliminación cancelada.")));
     }
 
+    /**
+     * Pide un fichero CSV/TSV e importa sus proyectos en segundo plano,
+     * mostrando el progreso y permitiendo cancelar.
+     */
+    public void importarProyectos() {
+        Path fichero = vista.pedirFicheroImportacion();
+        if (fichero == null) {
+            vista.setStatus("Importación cancelada por el usuario.");
+            return;
+        }
+        TareaModelo<ResultadoImportacion> tarea = new TareaModelo<>(
+                t -> modelo.importar(fichero, fraccion -> t.informarProgreso((int) (fraccion * 100))),
+                resultado -> {
+                    terminarTareaConProgreso();
+                    mostrarResultadoImportacion(resultado);
+                },
+                error -> {
+                    terminarTareaConProgreso();
+                    vista.mostrarMensajeError("No se pudo importar el fichero: " + error.getMessage());
+                },
+                () -> {
+                    terminarTareaConProgreso();
+                    vista.setStatus("Importación cancelada. Total: " + obtenerNumeroProyectos());
+                });
+        iniciarTareaConProgreso(tarea, "Importando " + fichero.getFileName() + "...");
+        ejecutor.escribir(tarea);
+    }
 
     /**
-     * Actualiza el contenido del JTextArea en la vista
-     * con la lista actual de proyectos del modelo.
+     * Pide un fichero de destino y exporta en segundo plano todos los proyectos (CSV, o JSON
+     * Lines si la extensión es .jsonl/.json), mostrando el progreso y permitiendo cancelar.
+     * Es una lectura: no bloquea los registros ni las eliminaciones mientras dura.
      */
-    public void actualizarListaVista() {
-        List<Proyecto> proyectos = modelo.getProyectos();
-        StringBuilder sb = new StringBuilder();
+    public void exportarProyectos() {
+        Path fichero = vista.pedirFicheroExportacion();
+        if (fichero == null) {
+            vista.setStatus("Exportación cancelada por el usuario.");
+            return;
+        }
+        FormatoExportacion formato = FormatoExportacion.porExtension(fichero.getFileName().toString());
+        TareaModelo<ResultadoExportacion> tarea = new TareaModelo<>(
+                t -> modelo.exportar(fichero, formato, fraccion -> t.informarProgreso((int) (fraccion * 100))),
+                resultado -> {
+                    terminarTareaConProgreso();
+                    vista.setStatus(resultado.isCancelada() ? resultado.toString()
+                            : resultado + " Fichero: " + fichero.getFileName());
+                },
+                error -> {
+                    terminarTareaConProgreso();
+                    vista.mostrarMensajeError("No se pudo exportar el fichero: " + error.getMessage());
+                },
+                () -> {
+                    terminarTareaConProgreso();
+                    vista.setStatus("Exportación cancelada: no se modificó el fichero.");
+                });
+        iniciarTareaConProgreso(tarea, "Exportando a " + fichero.getFileName() + "...");
+        ejecutor.leer(tarea);
+    }
 
-        if (proyectos.isEmpty()) {
-            sb.append("No hay proyectos registrados.");
-        } else {
-            for (int i = 0; i < proyectos.size(); i++) {
-                // Añadir un índice podría ser útil para la selección visual si se cambia a JList
-                // sb.append(i + 1).append(". ");
-                sb.append(proyectos.get(i).toString()).append("\n");
+    private void mostrarResultadoImportacion(ResultadoImportacion resultado) {
+        // Sin diálogo: el resumen va a la barra de estado y los primeros rechazos, a su tooltip
+        StringBuilder rechazos = new StringBuilder();
+        int mostrados = 0;
+        for (ResultadoImportacion.Rechazo rechazo : resultado.getRechazos()) {
+            if (mostrados++ == 10) {
+                rechazos.append("\n...");
+                break;
             }
-            // Quitar el último salto de línea si existe
-            if (sb.length() > 0) {
-                sb.setLength(sb.length() - 1);
+            rechazos.append(rechazos.length() == 0 ? "" : "\n").append(rechazo);
+        }
+        vista.setStatus(resultado + " Total: " + obtenerNumeroProyectos()
+                        + (rechazos.length() == 0 ? "" : " (pase el ratón para ver los rechazos)"),
+                rechazos.length() == 0 ? null : rechazos.toString());
+    }
+
+    private void iniciarTareaConProgreso(TareaModelo<?> tarea, String descripcion) {
+        tareaConProgreso = tarea;
+        vista.iniciarProgreso(descripcion);
+        tarea.addPropertyChangeListener(evento -> {
+            if ("progress".equals(evento.getPropertyName())) {
+                vista.setProgreso((Integer) evento.getNewValue());
+            }
+        });
+    }
+
+    private void terminarTareaConProgreso() {
+        tareaConProgreso = null;
+        vista.finalizarProgreso();
+    }
+
+    /**
+     * Cancela la tarea larga en curso (interrumpe su hilo).
+     */
+    public void cancelarTarea() {
+        if (tareaConProgreso != null) {
+            tareaConProgreso.cancel(true);
+        }
+    }
+
+    /**
+     * Busca en segundo plano los proyectos que coinciden con el texto del filtro.
+     * Se llama al terminar la pausa del temporizador, no en cada pulsación; si una búsqueda
+     * anterior sigue en curso se cancela y su resultado se descarta.
+     */
+    public void filtrarProyectos() {
+        String texto = vista.getFiltro();
+        long generacion = ++generacionFiltro;
+        if (tareaFiltro != null) {
+            tareaFiltro.cancel(true);
+            tareaFiltro = null;
+        }
+        if (texto.isEmpty()) {
+            modeloTabla.setFiltro(null);
+            actualizarEstado();
+            return;
+        }
+        tareaFiltro = ejecutor.leer(new TareaModelo<List<Proyecto>>(
+                tarea -> modelo.buscar(texto, MAX_RESULTADOS_FILTRO),
+                resultados -> {
+                    if (generacion != generacionFiltro) {
+                        return; // Llegó tarde: ya hay otra búsqueda más reciente
+                    }
+                    tareaFiltro = null;
+                    refrescar(() -> modeloTabla.setFiltro(resultados));
+                    vista.setStatus(resultados.isEmpty()
+                            ? "Ningún proyecto coincide con '" + texto + "'."
+                            : "Coincidencias con '" + texto + "': " + resultados.size()
+                                + (resultados.size() == MAX_RESULTADOS_FILTRO ? " (se muestran las primeras)" : ""));
+                },
+                error -> mostrarErrorInesperado("buscar", error),
+                () -> { })); // Sustituida por una búsqueda más reciente
+    }
+
+    private void mostrarErrorInesperado(String accion, Throwable error) {
+        if (error instanceof IllegalStateException) {
+            vista.mostrarMensajeError(error.getMessage()); // Réplica de solo lectura: no es un fallo
+            return;
+        }
+        vista.mostrarMensajeError("Ocurrió un error inesperado al " + accion + ": " + error.getMessage());
+        error.printStackTrace();
+    }
+
+
+    /**
+     * Lleva a la tabla de la vista los cambios pendientes de la lista de proyectos.
+     * La tabla vuelve a pedir solo las filas visibles.
+     */
+    public void actualizarListaVista() {
+        refrescar(() -> {
+            modeloTabla.sincronizar();
+            vista.setEstadisticas(modelo.getEstadisticas().toString());
+            vista.setHistorial(modelo.puedeDeshacer(), modelo.puedeRehacer());
+            actualizarEstado();
+        });
+    }
+
+    /**
+     * Repintado agrupado tras cambios del modelo (lo ejecuta el planificador en el EDT, como
+     * mucho una vez por fotograma). Las estadísticas se leen en O(1); con un filtro activo,
+     * la búsqueda se repite (agrupada también por su temporizador).
+     */
+    private void refrescarCambios() {
+        refrescar(() -> {
+            modeloTabla.sincronizar();
+            vista.setEstadisticas(modelo.getEstadisticas().toString());
+            vista.setHistorial(modelo.puedeDeshacer(), modelo.puedeRehacer());
+            if (modeloTabla.isFiltrado()) {
+                temporizadorFiltro.restart();
             }
+        });
+    }
+
+    /**
+     * Ejecuta un refresco de la vista (en el EDT) midiendo su duración; los que no caben en
+     * un fotograma quedan registrados como eventos JFR, con las filas de la tabla.
+     */
+    private void refrescar(Runnable refresco) {
+        MetricasProyectos metricas = modelo.getMetricas();
+        long inicio = metricas.iniciar();
+        try {
+            refresco.run();
+        } finally {
+            metricas.registrarRefresco(inicio, modeloTabla.getRowCount());
         }
-        vista.setListaProyectos(sb.toString());
-        vista.setStatus("Lista actualizada. Total: " + obtenerNumeroProyectos());
+    }
+
+    /**
+     * Muestra en la barra de estado el total de proyectos (O(1), no recorre la lista).
+     */
+    private void actualizarEstado() {
+        int total = obtenerNumeroProyectos();
+        vista.setStatus(total == 0 ? "No hay proyectos registrados." : "Lista actualizada. Total: " + total);
     }
 
     /**
@@ -140,21 +395,58 @@ public class ControladorVista {
         // La confirmación se hace directamente aquí (podría estar en la vista también)
         int confirm = JOptionPane.showConfirmDialog(
                 vista, // El componente padre es la vista principal
-                "¿Está seguro de que desea eliminar TODOS los proyectos registrados?\nEsta acción no se puede deshacer.",
+                "¿Está seguro de que desea eliminar TODOS los proyectos registrados?\nPodrá recuperarlos con Deshacer (Ctrl+Z).",
                 "Confirmar Limpieza Total",
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            modelo.limpiarProyectos(); // Llama al método del modelo
-            actualizarListaVista();   // Actualiza la vista para mostrarla vacía
-            vista.mostrarMensajeInfo("Todos los proyectos han sido eliminados.");
+            ejecutor.escribir(new TareaModelo<Void>(
+                    tarea -> {
+                        modelo.limpiarProyectos(); // Llama al método del modelo (la tabla recibe el evento)
+                        return null;
+                    },
+                    sinResultado -> vista.setStatus("Todos los proyectos han sido eliminados."),
+                    error -> mostrarErrorInesperado("limpiar", error),
+                    () -> vista.setStatus("Limpieza total cancelada.")));
         } else {
             vista.setStatus("Limpieza total cancelada por el usuario.");
         }
     }
 
 
+    /**
+     * Deshace el último cambio del modelo (alta, baja o limpieza) en segundo plano.
+     * La tabla y los botones se actualizan con el evento del modelo.
+     */
+    public void deshacer() {
+        moverEnHistorial(true);
+    }
+
+    /**
+     * Vuelve a aplicar el último cambio deshecho.
+     */
+    public void rehacer() {
+        moverEnHistorial(false);
+    }
+
+    private void moverEnHistorial(boolean deshaciendo) {
+        String accion = deshaciendo ? "deshacer" : "rehacer";
+        ejecutor.escribir(new TareaModelo<Boolean>(
+                tarea -> deshaciendo ? modelo.deshacer() : modelo.rehacer(),
+                hecho -> {
+                    if (hecho) {
+                        vista.setStatus((deshaciendo ? "Cambio deshecho" : "Cambio rehecho")
+                                + ". Total: " + obtenerNumeroProyectos());
+                    } else {
+                        vista.setStatus("No hay nada que " + accion + ".");
+                    }
+                },
+                error -> mostrarErrorInesperado(accion, error),
+                () -> vista.setStatus("Operación cancelada.")));
+    }
+
+
     // --- Clases internas para manejar los eventos de los botones ---
 
     // Listener para el botón Registrar
@@ -173,6 +465,13 @@ public class ControladorVista {
         }
     }
 
+    class EliminarSeleccionadosListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            eliminarSeleccionados();
+        }
+    }
+
     // Listener para el NUEVO botón Limpiar Todo
     class LimpiarTodoListener implements ActionListener {
         @Override
@@ -180,4 +479,62 @@ public class ControladorVista {
             limpiarTodosLosProyectos(); // Llama al método existente del controlador
         }
     }
-}
\ No newline at end of file
+
+    // Listener para el botón Importar
+    class ImportarListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            importarProyectos();
+        }
+    }
+
+    // Listener para el botón Exportar
+    class ExportarListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            exportarProyectos();
+        }
+    }
+
+    // Listener del campo de búsqueda: reinicia la pausa en cada cambio
+    class FiltroListener implements DocumentListener {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            temporizadorFiltro.restart();
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            temporizadorFiltro.restart();
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            temporizadorFiltro.restart();
+        }
+    }
+
+    // Listener para el botón Deshacer y su atajo
+    class DeshacerListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            deshacer();
+        }
+    }
+
+    // Listener para el botón Rehacer y sus atajos
+    class RehacerListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            rehacer();
+        }
+    }
+
+    // Listener para el botón Cancelar de la tarea en curso
+    class CancelarListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            cancelarTarea();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.controller;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ejecuta las tareas del modelo en hilos virtuales, fuera del Event Dispatch Thread.
+ * Las escrituras se serializan en un único hilo para conservar el orden en que el usuario
+ * las pidió; las lecturas largas (búsquedas, exportaciones, informes) usan un hilo por tarea.
+ */
+public class EjecutorModelo {
+    private final ExecutorService escrituras =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("modelo-escritura").factory());
+    private final ExecutorService lecturas =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("modelo-lectura-", 0).factory());
+
+    /**
+     * Encola una tarea que modifica el modelo.
+     */
+    public <T> TareaModelo<T> escribir(TareaModelo<T> tarea) {
+        escrituras.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Lanza una tarea que solo lee del modelo.
+     */
+    public <T> TareaModelo<T> leer(TareaModelo<T> tarea) {
+        lecturas.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Interrumpe las tareas en curso y descarta las pendientes.
+     */
+    public void cerrar() {
+        escrituras.shutdownNow();
+        lecturas.shutdownNow();
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.controller;
+
+import org.example.model.FormatoExportacion;
+import org.example.model.Proyecto;
+import org.example.model.ResultadoExportacion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Exportador en streaming a CSV o JSON Lines. Codifica cada proyecto en UTF-8 directamente
+ * sobre un único ByteBuffer directo que se vuelca al canal cuando se llena, sin construir
+ * Strings intermedios por fila, así que la memoria es constante sea cual sea el tamaño de la lista.
+ * Cada {@value #PROYECTOS_ENTRE_COMPROBACIONES} proyectos informa del avance y comprueba si el
+ * hilo fue interrumpido para poder cancelarse.
+ */
+class ExportadorProyectos {
+    private static final int TAMANIO_BUFFER = 256 * 1024;
+    private static final int PROYECTOS_ENTRE_COMPROBACIONES = 4096;
+    private static final int MAX_BYTES_POR_CHAR = 6; // Escape JSON de un carácter de control: barra, 'u' y 4 cifras
+    private static final byte[] HEXADECIMAL = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final FormatoExportacion formato;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANIO_BUFFER);
+    private WritableByteChannel canal;
+    private long bytes;
+    private LongConsumer progreso = exportados -> { };
+    private Proyecto siguiente; // Lo deja tryAdvance; se escribe fuera de la lambda, que no admite IOException
+
+    ExportadorProyectos(FormatoExportacion formato) {
+        this.formato = formato;
+    }
+
+    /**
+     * @param progreso Recibe periódicamente el número de proyectos exportados hasta el momento.
+     */
+    void setProgreso(LongConsumer progreso) {
+        this.progreso = progreso;
+    }
+
+    /**
+     * Exporta a un fichero temporal junto al destino y lo renombra al terminar: si la
+     * exportación falla o se cancela, el destino queda como estaba.
+     */
+    ResultadoExportacion exportar(Spliterator<Proyecto> proyectos, Path fichero) throws IOException {
+        Path absoluto = fichero.toAbsolutePath();
+        Path temporal = Files.createTempFile(absoluto.getParent(), absoluto.getFileName().toString(), ".tmp");
+        boolean movido = false;
+        try {
+            ResultadoExportacion resultado;
+            try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                resultado = exportar(proyectos, salida);
+            }
+            if (!resultado.isCancelada()) {
+                try {
+                    Files.move(temporal, absoluto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporal, absoluto, StandardCopyOption.REPLACE_EXISTING);
+                }
+                movido = true;
+            }
+            return resultado;
+        } finally {
+            if (!movido) {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    /**
+     * Escribe todos los proyectos en el canal, que no se cierra.
+     */
+    ResultadoExportacion exportar(Spliterator<Proyecto> proyectos, WritableByteChannel salida) throws IOException {
+        long inicio = System.nanoTime();
+        canal = salida;
+        bytes = 0;
+        buffer.clear();
+        long exportados = 0;
+        boolean cancelada = false;
+        try {
+            if (formato == FormatoExportacion.CSV) {
+                escribirAscii("nombre,nota\n");
+            }
+            while (proyectos.tryAdvance(proyecto -> siguiente = proyecto)) {
+                escribir(siguiente);
+                if (++exportados % PROYECTOS_ENTRE_COMPROBACIONES == 0) {
+                    progreso.accept(exportados);
+                    if (Thread.currentThread().isInterrupted()) {
+                        cancelada = true;
+                        break;
+                    }
+                }
+            }
+            volcar();
+        } catch (ClosedByInterruptException e) {
+            // Un FileChannel interrumpido se cierra: se trata como una cancelación
+            Thread.currentThread().interrupt();
+            cancelada = true;
+        }
+        siguiente = null;
+        progreso.accept(exportados);
+        return new ResultadoExportacion(exportados, bytes, System.nanoTime() - inicio, cancelada);
+    }
+
+    // --- Codificación ---
+
+    private void escribir(Proyecto proyecto) throws IOException {
+        String nombre = proyecto.getNombre();
+        asegurar(64);
+        if (formato == FormatoExportacion.JSON_LINES) {
+            escribirAscii("{\"nombre\":\"");
+            escribirTexto(nombre, true);
+            escribirAscii("\",\"nota\":");
+            escribirNota(proyecto.getCentesimas());
+            buffer.put((byte) '}');
+        } else {
+            boolean comillas = necesitaComillas(nombre);
+            if (comillas) {
+                buffer.put((byte) '"');
+            }
+            escribirTexto(nombre, false);
+            asegurar(2);
+            if (comillas) {
+                buffer.put((byte) '"');
+            }
+            buffer.put((byte) ',');
+            escribirNota(proyecto.getCentesimas());
+        }
+        buffer.put((byte) '\n');
+    }
+
+    // El importador recorta los espacios de los extremos: solo se conservan entre comillas
+    private static boolean necesitaComillas(String nombre) {
+        if (nombre.isEmpty() || nombre.charAt(0) == ' ' || nombre.charAt(nombre.length() - 1) == ' ') {
+            return true;
+        }
+        for (int i = 0; i < nombre.length(); i++) {
+            char c = nombre.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r' || c == ';' || c == '\t') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Codifica el texto en UTF-8, con los escapes de JSON o duplicando las comillas (CSV).
+     * Los suplentes sin pareja se sustituyen por '?', como hace String.getBytes.
+     */
+    private void escribirTexto(String texto, boolean json) throws IOException {
+        int longitud = texto.length();
+        for (int i = 0; i < longitud; i++) {
+            asegurar(MAX_BYTES_POR_CHAR);
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buffer.put(json ? (byte) '\\' : (byte) '"').put((byte) '"');
+                } else if (json && c == '\\') {
+                    buffer.put((byte) '\\').put((byte) '\\');
+                } else if (json && c < 0x20) {
+                    buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                            .put(HEXADECIMAL[c >> 4]).put(HEXADECIMAL[c & 0xF]);
+                } else {
+                    buffer.put((byte) c);
+                }
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < longitud && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                    int codigo = Character.toCodePoint(c, texto.charAt(++i));
+                    buffer.put((byte) (0xF0 | codigo >> 18)).put((byte) (0x80 | codigo >> 12 & 0x3F))
+                            .put((byte) (0x80 | codigo >> 6 & 0x3F)).put((byte) (0x80 | codigo & 0x3F));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Escribe la nota (en centésimas) igual que Double.toString: 8.5, 10.0, 7.25.
+     */
+    private void escribirNota(int centesimas) throws IOException {
+        asegurar(16); // La nota más larga posible y el final de la línea
+        if (centesimas < 0) {
+            buffer.put((byte) '-');
+            centesimas = -centesimas; // Las notas guardadas nunca son negativas ni Integer.MIN_VALUE
+        }
+        escribirEntero(centesimas / 100);
+        buffer.put((byte) '.');
+        buffer.put((byte) ('0' + centesimas / 10 % 10));
+        if (centesimas % 10 != 0) {
+            buffer.put((byte) ('0' + centesimas % 10));
+        }
+    }
+
+    private void escribirEntero(long valor) {
+        long divisor = 1;
+        while (divisor * 10 <= valor) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + valor / divisor % 10));
+        }
+    }
+
+    private void escribirAscii(String texto) throws IOException {
+        asegurar(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            buffer.put((byte) texto.charAt(i));
+        }
+    }
+
+    private void asegurar(int necesarios) throws IOException {
+        if (buffer.remaining() < necesarios) {
+            volcar();
+        }
+    }
+
+    private void volcar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytes += canal.write(buffer);
+        }
+        buffer.clear();
+    }
+}
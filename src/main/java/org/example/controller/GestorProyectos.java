@@ -1,87 +1,893 @@
 package org.example.controller;
 
+import org.example.metricas.MetricasProyectos;
+import org.example.metricas.MetricasProyectos.Operacion;
+import org.example.model.EstadisticasNotas;
+import org.example.model.EventoProyecto;
+import org.example.model.FormatoExportacion;
+import org.example.model.Nota;
+import org.example.model.PaginaProyectos;
 import org.example.model.Proyecto;
+import org.example.model.ProyectosListener;
+import org.example.model.ResultadoExportacion;
+import org.example.model.ResultadoImportacion;
+import org.example.persistencia.DiarioProyectos;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator; // Importar Iterator
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects; // Importar Objects para comparación segura
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class GestorProyectos {
-    private List<Proyecto> proyectos;
+/**
+ * Modelo de la aplicación. Es seguro entre hilos y admite muchos hilos a la vez: las consultas
+ * (búsquedas, estadísticas, rankings, lectura de la lista) toman el cerrojo de lectura y se
+ * ejecutan en paralelo; las altas, bajas y limpiezas toman el de escritura, de modo que la
+ * comprobación de nombre duplicado y la inserción son una única operación atómica.
+ * Las validaciones que no dependen del estado, y los rechazos por duplicado o por nombre
+ * inexistente, se resuelven sin bloquear a los demás escritores.
+ * <p>
+ * Opcionalmente persiste sus cambios en un {@link DiarioProyectos}: las operaciones se anotan
+ * bajo el cerrojo de escritura (en orden) y se espera a que sean durables fuera de él, de modo
+ * que varias escrituras concurrentes comparten un mismo fsync. Si el diario falla, las
+ * escrituras siguientes se rechazan con {@link UncheckedIOException} antes de cambiar nada; la
+ * que estaba esperando su volcado ya se aplicó en memoria, en el historial y en los eventos
+ * (todos coinciden), y la excepción solo indica que no es durable.
+ * <p>
+ * Las altas, bajas y limpiezas se pueden deshacer y rehacer ({@link #deshacer()},
+ * {@link #rehacer()}); el historial guarda como mucho {@link #getProfundidadHistorial()} cambios.
+ * Una réplica ({@link #convertirEnReplica()}) no admite escrituras: solo cambia con lo que
+ * llega del primario.
+ */
+public class GestorProyectos implements AutoCloseable {
+    private static final int PROYECTOS_POR_BLOQUE = 4096; // Lectura por bloques del almacén columnar
+    private static final int PROPORCION_BAJAS_UNA_A_UNA = 32; // Ver Aplicador.quitarTodos
+
+    /**
+     * Forma de guardar los proyectos en memoria.
+     */
+    public enum Almacenamiento {
+        /** Un objeto Proyecto por entrada; el más rápido para leer. */
+        OBJETOS,
+        /** Columnas primitivas y nombres en una arena de bytes; mucha menos memoria con millones de proyectos. */
+        COLUMNAR
+    }
+
+    /** Mensaje de la IllegalArgumentException cuando el nombre ya está registrado. */
+    public static final String MENSAJE_DUPLICADO = "Ya existe un proyecto con ese nombre.";
+
+    /** Mensaje de la IllegalArgumentException cuando la nota tiene más de dos decimales o no es un número. */
+    public static final String MENSAJE_NOTA_NO_VALIDA = "La nota debe ser un número con dos decimales como mucho (ej: 7.5).";
+
+    /** Mensaje de la IllegalStateException al escribir en una réplica (ver {@link #convertirEnReplica()}). */
+    public static final String MENSAJE_SOLO_LECTURA = "Esta instancia es una réplica de solo lectura: las escrituras se hacen en el primario.";
+
+    public static final int PROFUNDIDAD_HISTORIAL_POR_DEFECTO = 100;
+    /** Importaciones más grandes no se pueden deshacer (ver {@link #deshacer()}). */
+    public static final int MAXIMO_IMPORTADOS_EN_HISTORIAL = HistorialCambios.MAXIMO_IMPORTADOS;
+    // Por debajo de esto, reproducir el diario entero al abrir es despreciable
+    private static final long REGISTROS_MINIMOS_COMPACTAR = 10_000;
+
+    // Orden de inserción + índice hash por nombre (duplicados, búsqueda y borrado en O(1)).
+    // Junto con las estructuras derivadas forman la generación actual, que una limpieza
+    // sustituye entera (ver vaciar()).
+    private final Almacenamiento almacenamiento;
+    private AlmacenProyectos proyectos;
+    private AcumuladorNotas estadisticas = new AcumuladorNotas();
+    private volatile IndiceNotas indiceNotas; // Se construye con la primera consulta por nota
+    private volatile IndiceNombres indiceNombres; // Se construye con la primera búsqueda por texto
+    private volatile VectorPersistente instantaneas; // Se construye con la primera instantánea
+    // Con el almacén columnar, las instantáneas retendrían un objeto Proyecto por entrada
+    private final boolean recorrerConInstantaneas;
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final Lock lectura = cerrojo.readLock();
+    private final Lock escritura = cerrojo.writeLock();
+    private final List<ProyectosListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Proyecto> vista = new ListaSincronizada();
+    private AnotadorDiario diario = AnotadorDiario.EN_MEMORIA;
+    private final MetricasProyectos metricas = new MetricasProyectos();
+    private final HistorialCambios historial = new HistorialCambios(PROFUNDIDAD_HISTORIAL_POR_DEFECTO);
+    private boolean soloLectura; // Réplica: solo cambia a través de su AplicadorReplica
 
     public GestorProyectos() {
-        this.proyectos = new ArrayList<>();
+        this(Almacenamiento.OBJETOS);
+    }
+
+    public GestorProyectos(Almacenamiento almacenamiento) {
+        this.almacenamiento = almacenamiento;
+        this.proyectos = nuevoAlmacen();
+        this.recorrerConInstantaneas = almacenamiento == Almacenamiento.OBJETOS;
+    }
+
+    /**
+     * Crea un gestor persistente: reproduce el diario (si existe) y anota en él cada cambio posterior.
+     * @param fichero Fichero del diario; se crea si no existe.
+     * @param sincronizar Si es true, cada cambio se confirma tras un fsync (compartido entre escrituras concurrentes).
+     */
+    public static GestorProyectos abrir(Path fichero, boolean sincronizar) throws IOException {
+        return abrir(fichero, sincronizar, Almacenamiento.OBJETOS);
+    }
+
+    /**
+     * Igual que {@link #abrir(Path, boolean)} con el almacenamiento en memoria indicado.
+     */
+    public static GestorProyectos abrir(Path fichero, boolean sincronizar, Almacenamiento almacenamiento) throws IOException {
+        GestorProyectos gestor = new GestorProyectos(almacenamiento);
+        long registros = DiarioProyectos.reproducir(fichero, gestor.new Reproductor());
+        gestor.diario = new AnotadorDiario(new DiarioProyectos(fichero, sincronizar));
+        if (registros > Math.max(REGISTROS_MINIMOS_COMPACTAR, 2L * gestor.getNumeroProyectos())) {
+            gestor.compactarDiario(); // La historia ya pesa más que el estado al que lleva
+        }
+        return gestor;
+    }
+
+    /**
+     * Reescribe el diario con un alta por proyecto actual, para que abrirlo no reproduzca toda
+     * la historia (cada baja, limpieza y deshacer anotados). {@link #abrir} lo hace sola si el
+     * diario tiene más del doble de registros que proyectos. Bloquea las escrituras mientras
+     * escribe el diario nuevo, O(n); el historial de deshacer no cambia. Sin diario no hace nada.
+     * @throws IOException Si falla la escritura; el diario anterior se conserva.
+     */
+    public void compactarDiario() throws IOException {
+        escritura.lock();
+        try {
+            diario.comprobarDisponible();
+            diario.compactar(new AbstractList<Proyecto>() {
+                @Override
+                public Proyecto get(int index) {
+                    return proyectos.obtener(index);
+                }
+
+                @Override
+                public int size() {
+                    return proyectos.tamanio();
+                }
+            });
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Cierra el diario, si lo hay, tras volcar los cambios pendientes.
+     */
+    @Override
+    public void close() throws IOException {
+        AnotadorDiario abierto;
+        escritura.lock();
+        try {
+            abierto = diario;
+            diario = AnotadorDiario.EN_MEMORIA;
+        } finally {
+            escritura.unlock();
+        }
+        abierto.cerrar();
+    }
+
+    /**
+     * Diario en el que anotar el cambio que se va a hacer (con el cerrojo de escritura); se
+     * comprueba antes de tocar el almacén (ver {@link AnotadorDiario#comprobarDisponible()}).
+     * @throws IllegalStateException Si el gestor es una réplica de solo lectura.
+     */
+    private AnotadorDiario diarioDisponible() {
+        if (soloLectura) {
+            throw new IllegalStateException(MENSAJE_SOLO_LECTURA);
+        }
+        AnotadorDiario disponible = this.diario;
+        disponible.comprobarDisponible();
+        return disponible;
+    }
+
+    /**
+     * Contadores y latencias por operación; se pueden publicar por JMX y desactivar en caliente.
+     */
+    public MetricasProyectos getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Registra un listener que recibirá cada alta, baja y limpieza con su posición en la lista.
+     */
+    public void addProyectosListener(ProyectosListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registra un listener y devuelve la lista tal como está en ese momento (ver
+     * {@link #getCopiaProyectos()}), de una vez con el cerrojo de escritura: aplicando sus
+     * eventos sobre la copia, en orden, se sigue la lista sin saltarse ni repetir ningún cambio.
+     */
+    public List<Proyecto> addProyectosListenerConCopia(ProyectosListener listener) {
+        escritura.lock();
+        try {
+            listeners.add(listener);
+            return copia();
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    public void removeProyectosListener(ProyectosListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notificar(EventoProyecto evento) {
+        for (ProyectosListener listener : listeners) {
+            listener.proyectosCambiados(evento);
+        }
     }
 
     /**
      * Agrega un proyecto a la lista si la nota es válida y el nombre no está vacío.
      * @param proyecto El proyecto a agregar.
-     * @throws IllegalArgumentException Si la nota está fuera del rango [0, 10] o el nombre es inválido.
+     * @throws IllegalArgumentException Si la nota está fuera del rango [0, 10] o tiene más de dos
+     *         decimales, o el nombre es inválido.
      */
     public void agregarProyecto(Proyecto proyecto) throws IllegalArgumentException {
-        // Validar nombre primero
-        if (proyecto.getNombre() == null || proyecto.getNombre().trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre del proyecto no puede estar vacío.");
+        long inicio = metricas.iniciar();
+        try {
+            String motivo = motivoRechazoSinEstado(proyecto);
+            if (motivo == null && leyendo(() -> proyectos.contiene(proyecto.getClave()))) {
+                motivo = MENSAJE_DUPLICADO; // Rechazo rápido sin esperar a los escritores
+            }
+            if (motivo != null) {
+                throw new IllegalArgumentException(motivo);
+            }
+            AnotadorDiario diario;
+            long secuencia = 0;
+            escritura.lock();
+            try {
+                diario = diarioDisponible(); // Antes de cambiar nada: si falla, el gestor queda como estaba
+                // Se vuelve a comprobar: otro hilo pudo agregar el mismo nombre entretanto
+                if (proyectos.contiene(proyecto.getClave())) {
+                    throw new IllegalArgumentException(MENSAJE_DUPLICADO);
+                }
+                Aplicador aplicador = new Aplicador(diario);
+                aplicador.agregar(proyecto);
+                historial.anotarAlta(proyecto);
+                secuencia = aplicador.secuencia;
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia);
+        } finally {
+            metricas.registrar(Operacion.AGREGAR, inicio);
         }
-        // Validar nota
-        if (proyecto.getNota() < 0 || proyecto.getNota() > 10) {
-            throw new IllegalArgumentException("La nota debe estar entre 0 y 10.");
+    }
+
+    /**
+     * Importa proyectos desde un fichero CSV o TSV (UTF-8) con columnas nombre y nota.
+     * @param fichero Ruta del fichero.
+     * @return Resumen con filas importadas, rechazos por fila y filas por segundo.
+     * @throws IOException Si falla la lectura; los lotes ya confirmados se conservan.
+     */
+    public ResultadoImportacion importar(Path fichero) throws IOException {
+        return importar(fichero, null);
+    }
+
+    /**
+     * Igual que {@link #importar(Path)}, informando del avance aproximado tras cada lote.
+     * Si el hilo se interrumpe, la importación se detiene tras el lote en curso y el
+     * resultado queda marcado como cancelado.
+     * @param progreso Recibe la fracción leída del fichero (0-1); puede ser null.
+     */
+    public ResultadoImportacion importar(Path fichero, DoubleConsumer progreso) throws IOException {
+        long tamanio = Files.size(fichero);
+        try (BufferedReader lector = Files.newBufferedReader(fichero, StandardCharsets.UTF_8)) {
+            ImportadorProyectos importador = new ImportadorProyectos(this);
+            if (progreso != null && tamanio > 0) {
+                // Caracteres leídos frente a bytes del fichero: aproximación suficiente para una barra de progreso
+                importador.setProgreso(leidos -> progreso.accept(Math.min(1.0, (double) leidos / tamanio)));
+            }
+            return importador.importar(lector);
+        }
+    }
+
+    /**
+     * Importa proyectos en streaming desde un lector CSV o TSV con columnas nombre y nota.
+     * Las filas se validan como en {@link #agregarProyecto(Proyecto)} y se confirman por lotes.
+     * @param lector Origen de los datos; no se cierra.
+     * @return Resumen con filas importadas, rechazos por fila y filas por segundo.
+     * @throws IOException Si falla la lectura; los lotes ya confirmados se conservan.
+     */
+    public ResultadoImportacion importar(Reader lector) throws IOException {
+        return new ImportadorProyectos(this).importar(lector);
+    }
+
+    /**
+     * Exporta todos los proyectos, en orden de inserción, a un fichero CSV o JSON Lines (UTF-8).
+     * Escribe en streaming, con memoria constante, y el fichero solo se sustituye al terminar.
+     * @return Resumen con proyectos y bytes escritos y MB/s.
+     * @throws IOException Si falla la escritura; el fichero de destino queda como estaba.
+     */
+    public ResultadoExportacion exportar(Path fichero, FormatoExportacion formato) throws IOException {
+        return exportar(fichero, formato, null);
+    }
+
+    /**
+     * Igual que {@link #exportar(Path, FormatoExportacion)}, informando del avance. Si el hilo
+     * se interrumpe, la exportación se detiene, el destino no se toca y el resultado queda
+     * marcado como cancelado.
+     * @param progreso Recibe la fracción exportada (0-1); puede ser null.
+     */
+    public ResultadoExportacion exportar(Path fichero, FormatoExportacion formato, DoubleConsumer progreso) throws IOException {
+        int total = getNumeroProyectos();
+        ExportadorProyectos exportador = new ExportadorProyectos(formato);
+        if (progreso != null && total > 0) {
+            exportador.setProgreso(exportados -> progreso.accept(Math.min(1.0, (double) exportados / total)));
+        }
+        return exportador.exportar(spliterator(), fichero);
+    }
+
+    /**
+     * Exporta todos los proyectos a un canal cualquiera (fichero, socket...), que no se cierra.
+     */
+    public ResultadoExportacion exportar(WritableByteChannel canal, FormatoExportacion formato) throws IOException {
+        return new ExportadorProyectos(formato).exportar(spliterator(), canal);
+    }
+
+    /**
+     * Agrega un lote de proyectos; los inválidos se anotan como rechazos en lugar de lanzar excepción.
+     */
+    void agregarLote(List<Proyecto> lote, long[] lineas, ResultadoImportacion resultado) {
+        long inicio = metricas.iniciar();
+        try {
+            AnotadorDiario diario;
+            long secuencia = 0;
+            List<Proyecto> aceptados = new ArrayList<>(lote.size());
+            escritura.lock();
+            try {
+                diario = diarioDisponible();
+                int primerIndice = this.proyectos.tamanio();
+                for (int i = 0; i < lote.size(); i++) {
+                    Proyecto proyecto = lote.get(i);
+                    String motivo = motivoRechazo(proyecto);
+                    if (motivo != null) {
+                        resultado.registrarRechazo(lineas[i], motivo);
+                    } else {
+                        insertar(proyecto);
+                        aceptados.add(proyecto);
+                    }
+                }
+                if (!aceptados.isEmpty()) {
+                    secuencia = diario.altas(aceptados);
+                    historial.anotarImportacion(resultado, aceptados);
+                    // Un único evento por lote: los aceptados quedan contiguos al final de la lista
+                    notificar(new EventoProyecto(EventoProyecto.Tipo.AGREGADO,
+                            primerIndice, primerIndice + aceptados.size() - 1, aceptados));
+                }
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia); // Un solo volcado para todo el lote
+            resultado.registrarImportadas(aceptados.size());
+        } finally {
+            metricas.registrar(Operacion.IMPORTAR_LOTE, inicio);
+        }
+    }
+
+    // --- Cambios sobre el almacén y las estructuras derivadas (con el cerrojo de escritura) ---
+
+    private int insertar(Proyecto proyecto) {
+        int indice = this.proyectos.agregar(proyecto);
+        estadisticas.agregar(proyecto.getCentesimas());
+        if (indiceNotas != null) {
+            indiceNotas.agregar(proyecto);
+        }
+        if (indiceNombres != null) {
+            indiceNombres.agregar(proyecto);
+        }
+        if (instantaneas != null) {
+            instantaneas.agregar(proyecto);
+        }
+        return indice;
+    }
+
+    private int quitar(String clave, Proyecto proyecto) {
+        int indice = this.proyectos.eliminar(clave);
+        estadisticas.quitar(proyecto.getCentesimas());
+        if (indiceNotas != null) {
+            indiceNotas.quitar(proyecto);
+        }
+        if (indiceNombres != null) {
+            indiceNombres.quitar(clave);
+        }
+        if (instantaneas != null) {
+            instantaneas.eliminar(indice);
         }
+        return indice;
+    }
+
+    /**
+     * Quita en una sola pasada los proyectos que cumplen la condición y actualiza las
+     * estructuras derivadas; no notifica.
+     * @return El evento que describe la baja, o null si ningún proyecto cumplía la condición.
+     */
+    private EventoProyecto quitarSi(Predicate<Proyecto> condicion) {
+        List<Proyecto> eliminados = new ArrayList<>();
+        IntStream.Builder posiciones = IntStream.builder();
+        this.proyectos.eliminarSi(condicion, (proyecto, posicion) -> {
+            eliminados.add(proyecto);
+            posiciones.add(posicion);
+        });
+        if (eliminados.isEmpty()) {
+            return null;
+        }
+        int[] eliminadas = posiciones.build().toArray();
+        for (Proyecto proyecto : eliminados) {
+            estadisticas.quitar(proyecto.getCentesimas());
+        }
+        if (eliminados.size() > this.proyectos.tamanio()) {
+            // Se fue más de la mitad: sale más barato reconstruirlos con la siguiente consulta
+            this.indiceNotas = null;
+            this.indiceNombres = null;
+            this.instantaneas = null;
+        } else {
+            for (Proyecto proyecto : eliminados) {
+                if (indiceNotas != null) {
+                    indiceNotas.quitar(proyecto);
+                }
+                if (indiceNombres != null) {
+                    indiceNombres.quitar(proyecto.getClave());
+                }
+            }
+            if (instantaneas != null) {
+                // De la última a la primera, para que las posiciones pendientes no se desplacen
+                for (int i = eliminadas.length - 1; i >= 0; i--) {
+                    instantaneas.eliminar(eliminadas[i]);
+                }
+            }
+        }
+        return EventoProyecto.eliminados(eliminadas, eliminados);
+    }
+
+    /**
+     * Sustituye la generación actual por una vacía en O(1), sin recorrer los proyectos.
+     * @return La generación retirada, para poder deshacer la limpieza.
+     */
+    private Generacion vaciar() {
+        Generacion anterior = new Generacion(proyectos, estadisticas, indiceNotas, indiceNombres, instantaneas);
+        this.proyectos = nuevoAlmacen();
+        this.estadisticas = new AcumuladorNotas();
+        // Los índices se vuelven a construir (vacíos, en O(1)) con la siguiente consulta
+        this.indiceNotas = null;
+        this.indiceNombres = null;
+        this.instantaneas = null;
+        return anterior;
+    }
+
+    private void restaurar(Generacion generacion) {
+        this.proyectos = generacion.proyectos;
+        this.estadisticas = generacion.estadisticas;
+        this.indiceNotas = generacion.indiceNotas;
+        this.indiceNombres = generacion.indiceNombres;
+        this.instantaneas = generacion.instantaneas;
+    }
 
-        if (buscarProyectoPorNombre(proyecto.getNombre()) != null) {
-            throw new IllegalArgumentException("Ya existe un proyecto con ese nombre.");
+    private AlmacenProyectos nuevoAlmacen() {
+        return almacenamiento == Almacenamiento.COLUMNAR ? new AlmacenColumnar() : new AlmacenObjetos();
+    }
+
+    /**
+     * Índice por nota. No se mantiene hasta la primera consulta para no gastar memoria
+     * (en especial con el almacén columnar) si nadie pide rankings ni rangos.
+     * Se construye con el cerrojo de escritura; después las consultas solo necesitan el de lectura.
+     */
+    private IndiceNotas indiceNotas() {
+        if (indiceNotas == null) {
+            escritura.lock();
+            try {
+                if (indiceNotas == null) {
+                    IndiceNotas indice = new IndiceNotas();
+                    for (int i = 0; i < this.proyectos.tamanio(); i++) {
+                        indice.agregar(this.proyectos.obtener(i));
+                    }
+                    indiceNotas = indice;
+                }
+            } finally {
+                escritura.unlock();
+            }
+        }
+        return indiceNotas;
+    }
+
+    private IndiceNombres indiceNombres() {
+        if (indiceNombres == null) {
+            escritura.lock();
+            try {
+                if (indiceNombres == null) {
+                    IndiceNombres indice = new IndiceNombres();
+                    for (int i = 0; i < this.proyectos.tamanio(); i++) {
+                        indice.agregar(this.proyectos.obtener(i));
+                    }
+                    indiceNombres = indice;
+                }
+            } finally {
+                escritura.unlock();
+            }
+        }
+        return indiceNombres;
+    }
+
+    private VectorPersistente instantaneas() {
+        if (instantaneas == null) {
+            escritura.lock();
+            try {
+                if (instantaneas == null) {
+                    VectorPersistente vector = new VectorPersistente();
+                    for (int i = 0; i < this.proyectos.tamanio(); i++) {
+                        vector.agregar(this.proyectos.obtener(i));
+                    }
+                    instantaneas = vector;
+                }
+            } finally {
+                escritura.unlock();
+            }
+        }
+        return instantaneas;
+    }
+
+    /**
+     * Ejecuta una consulta sobre un índice con el cerrojo de lectura. Si una limpieza (o
+     * deshacerla) sustituyó el índice entre construirlo y tomar el cerrojo, se reintenta.
+     */
+    private <I, T> T consultando(Supplier<I> indice, Supplier<I> actual, Function<I, T> consulta) {
+        while (true) {
+            I leido = indice.get();
+            lectura.lock();
+            try {
+                if (leido == actual.get()) {
+                    return consulta.apply(leido);
+                }
+            } finally {
+                lectura.unlock();
+            }
+        }
+    }
+
+    private <T> T consultandoNotas(Function<IndiceNotas, T> consulta) {
+        return consultando(this::indiceNotas, () -> indiceNotas, consulta);
+    }
+
+    private <T> T consultandoNombres(Function<IndiceNombres, T> consulta) {
+        return consultando(this::indiceNombres, () -> indiceNombres, consulta);
+    }
+
+    private List<Proyecto> instantanea() {
+        return consultando(this::instantaneas, () -> instantaneas, VectorPersistente::instantanea);
+    }
+
+    /**
+     * Ejecuta una consulta con el cerrojo de lectura (en paralelo con otras consultas).
+     */
+    private <T> T leyendo(Supplier<T> consulta) {
+        lectura.lock();
+        try {
+            return consulta.get();
+        } finally {
+            lectura.unlock();
+        }
+    }
+
+    /**
+     * Valida nombre, nota y unicidad del nombre (con el cerrojo de escritura tomado).
+     * @return El motivo por el que no se puede agregar el proyecto, o null si es válido.
+     */
+    private String motivoRechazo(Proyecto proyecto) {
+        String motivo = motivoRechazoSinEstado(proyecto);
+        if (motivo == null && this.proyectos.contiene(proyecto.getClave())) {
+            return MENSAJE_DUPLICADO;
         }
+        return motivo;
+    }
 
-        this.proyectos.add(proyecto);
+    /**
+     * Validaciones que no dependen de los proyectos existentes; no necesitan cerrojo.
+     */
+    private static String motivoRechazoSinEstado(Proyecto proyecto) {
+        // Validar nombre primero
+        if (proyecto.getNombre() == null || proyecto.getClave().isEmpty()) {
+            return "El nombre del proyecto no puede estar vacío.";
+        }
+        // Validar nota
+        if (proyecto.getCentesimas() == Nota.NO_VALIDA) {
+            return MENSAJE_NOTA_NO_VALIDA;
+        }
+        if (proyecto.getCentesimas() < 0 || proyecto.getCentesimas() > Nota.MAXIMA) {
+            return "La nota debe estar entre 0 y 10.";
+        }
+        return null;
     }
 
     /**
-     * Elimina un proyecto de la lista buscando por su nombre (sensible a mayúsculas/minúsculas).
-     * @param nombreProyecto El nombre exacto del proyecto a eliminar.
+     * Elimina un proyecto de la lista buscando por su nombre, sin distinguir mayúsculas,
+     * tildes ni espacios repetidos (ver {@link Proyecto#getClave()}).
+     * @param nombreProyecto El nombre del proyecto a eliminar.
      * @return true si el proyecto fue encontrado y eliminado, false en caso contrario.
      */
     public boolean eliminarProyectoPorNombre(String nombreProyecto) {
-        if (nombreProyecto == null || nombreProyecto.trim().isEmpty()) {
-            return false; // No se puede eliminar un proyecto sin nombre válido
+        long inicio = metricas.iniciar();
+        try {
+            if (nombreProyecto == null || nombreProyecto.trim().isEmpty()) {
+                return false; // No se puede eliminar un proyecto sin nombre válido
+            }
+            String clave = Proyecto.normalizar(nombreProyecto); // Una vez, fuera del cerrojo
+            if (!leyendo(() -> this.proyectos.contiene(clave))) {
+                return false; // Sin bloquear a los escritores
+            }
+            AnotadorDiario diario;
+            long secuencia = 0;
+            escritura.lock();
+            try {
+                diario = diarioDisponible();
+                // Otro hilo pudo eliminarlo entretanto
+                Proyecto proyecto = this.proyectos.buscar(clave);
+                if (proyecto == null) {
+                    return false;
+                }
+                Aplicador aplicador = new Aplicador(diario);
+                aplicador.quitar(proyecto);
+                historial.anotarBaja(proyecto);
+                secuencia = aplicador.secuencia;
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia);
+            return true;
+        } finally {
+            metricas.registrar(Operacion.ELIMINAR, inicio);
+        }
+    }
+
+    /**
+     * Elimina de una vez todos los proyectos que cumplen la condición. El almacén se compacta
+     * en una sola pasada, O(n) se eliminen los que se eliminen, y se notifica un único evento
+     * {@link EventoProyecto.Tipo#ELIMINADOS}. Deshacerlo devuelve todos los proyectos al final
+     * de la lista. La condición se evalúa con el cerrojo de escritura: no debe usar el gestor.
+     * @return Número de proyectos eliminados.
+     * @throws IllegalArgumentException Si la condición es null.
+     */
+    public int eliminarSi(Predicate<Proyecto> condicion) {
+        if (condicion == null) {
+            throw new IllegalArgumentException("La condición no puede ser null.");
         }
-        // Usar Iterator para eliminar de forma segura mientras se itera
-        Iterator<Proyecto> iterator = this.proyectos.iterator();
-        while (iterator.hasNext()) {
-            Proyecto p = iterator.next();
-            // Comparación exacta del nombre (sensible a mayúsculas/minúsculas)
-            if (Objects.equals(p.getNombre(), nombreProyecto)) {
-                iterator.remove(); // Elimina el elemento actual de forma segura
-                return true; // Proyecto encontrado y eliminado
+        return eliminarEnLote(condicion);
+    }
+
+    /**
+     * Elimina de una vez los proyectos con los nombres indicados, sin distinguir mayúsculas,
+     * tildes ni espacios repetidos; los que no existen se ignoran (ver {@link #eliminarSi}).
+     * @return Número de proyectos eliminados.
+     */
+    public int eliminarPorNombres(Collection<String> nombres) {
+        Set<String> claves = new HashSet<>();
+        for (String nombre : nombres) {
+            if (nombre != null && !nombre.trim().isEmpty()) {
+                claves.add(Proyecto.normalizar(nombre)); // Fuera del cerrojo
             }
         }
-        return false; // Proyecto no encontrado
+        if (claves.isEmpty() || !leyendo(() -> claves.stream().anyMatch(proyectos::contiene))) {
+            return 0; // Sin bloquear a los escritores
+        }
+        return eliminarEnLote(proyecto -> claves.contains(proyecto.getClave()));
     }
 
     /**
-     * Busca un proyecto por su nombre.
+     * Elimina de una vez los proyectos con nota en [min, max] (ver {@link #eliminarSi}).
+     * @return Número de proyectos eliminados.
+     */
+    public int eliminarRangoNotas(double min, double max) {
+        if (min > max) {
+            return 0;
+        }
+        return eliminarEnLote(proyecto -> proyecto.getNota() >= min && proyecto.getNota() <= max);
+    }
+
+    private int eliminarEnLote(Predicate<Proyecto> condicion) {
+        long inicio = metricas.iniciar();
+        try {
+            AnotadorDiario diario;
+            long secuencia = 0;
+            EventoProyecto evento;
+            escritura.lock();
+            try {
+                diario = diarioDisponible();
+                evento = quitarSi(condicion);
+                if (evento == null) {
+                    return 0;
+                }
+                secuencia = diario.bajas(evento.getProyectos());
+                historial.anotarBajas(evento.getProyectos());
+                notificar(evento);
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia); // Un solo volcado para todas las bajas
+            return evento.getCantidad();
+        } finally {
+            metricas.registrar(Operacion.ELIMINAR_LOTE, inicio);
+        }
+    }
+
+    /**
+     * Busca un proyecto por su nombre, sin distinguir mayúsculas, tildes ni espacios repetidos.
      * @param nombreProyecto Nombre a buscar.
      * @return El objeto Proyecto si se encuentra, null si no.
      */
     public Proyecto buscarProyectoPorNombre(String nombreProyecto) {
-        if (nombreProyecto == null) return null;
-        for (Proyecto p : this.proyectos) {
-            if (Objects.equals(p.getNombre(), nombreProyecto)) {
-                return p;
-            }
+        long inicio = metricas.iniciar();
+        try {
+            if (nombreProyecto == null) return null;
+            String clave = Proyecto.normalizar(nombreProyecto);
+            return leyendo(() -> this.proyectos.buscar(clave));
+        } finally {
+            metricas.registrar(Operacion.BUSCAR, inicio);
         }
-        return null;
     }
 
 
     /**
-     * Devuelve una copia inmutable de la lista de proyectos para evitar modificaciones externas.
+     * Devuelve una vista inmutable de la lista de proyectos, en orden de inserción.
+     * Cada acceso por posición toma el cerrojo de lectura del gestor. Recorrerla (iterador,
+     * stream, forEach) trabaja sobre una instantánea tomada de una vez (ver
+     * {@link #getInstantanea()}), así que se puede iterar mientras otros hilos agregan o
+     * eliminan proyectos.
      * @return Lista inmutable de proyectos.
      */
     public List<Proyecto> getProyectos() {
-        // Es importante devolver una copia inmutable para mantener la encapsulación
-        return Collections.unmodifiableList(proyectos);
+        // La vista no admite modificaciones, así se mantiene la encapsulación
+        return vista;
+    }
+
+    /**
+     * Devuelve la lista de proyectos tal como está en este momento, en orden de inserción.
+     * No cambia aunque después se agreguen, eliminen o limpien proyectos, así que sirve para
+     * exportar o calcular informes mientras siguen las escrituras.
+     * <p>
+     * Cuesta O(1): la instantánea comparte su estructura con la lista del gestor y las
+     * escrituras posteriores solo copian los nodos que modifican. La primera llamada
+     * construye esa estructura en O(n); desde entonces se mantiene con cada cambio.
+     * Leer por posición cuesta O(log n); recorrerla, O(1) por proyecto.
+     * @return Lista inmutable de proyectos.
+     */
+    public List<Proyecto> getInstantanea() {
+        long inicio = metricas.iniciar();
+        try {
+            return instantanea();
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Devuelve una copia de la lista tal como está en este momento, en orden de inserción.
+     * Con el almacén de objetos es la instantánea de {@link #getInstantanea()}, en O(1); con el
+     * columnar, una copia O(n) que el gestor no retiene, para no mantener un objeto por entrada.
+     * @return Lista inmutable de proyectos.
+     */
+    public List<Proyecto> getCopiaProyectos() {
+        long inicio = metricas.iniciar();
+        try {
+            return copia();
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    private List<Proyecto> copia() {
+        if (recorrerConInstantaneas) {
+            return instantanea();
+        }
+        return leyendo(() -> {
+            Proyecto[] copia = new Proyecto[this.proyectos.tamanio()];
+            for (int i = 0; i < copia.length; i++) {
+                copia[i] = this.proyectos.obtener(i);
+            }
+            return Collections.unmodifiableList(Arrays.asList(copia));
+        });
+    }
+
+    /**
+     * Devuelve una página de la lista en orden de inserción, leída de una vez con el cerrojo
+     * de lectura. Solo toca los proyectos de la página, no la lista entera.
+     * @param desde Posición del primer proyecto (desde 0).
+     * @param limite Número máximo de proyectos.
+     * @return Los proyectos en [desde, desde + limite); vacía si desde está más allá del final.
+     * @throws IllegalArgumentException Si desde o limite son negativos.
+     */
+    public List<Proyecto> getProyectos(int desde, int limite) {
+        if (desde < 0 || limite < 0) {
+            throw new IllegalArgumentException("'desde' y 'limite' no pueden ser negativos.");
+        }
+        long inicio = metricas.iniciar();
+        try {
+            return leyendo(() -> leerBloque(desde, limite));
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Lectura por cursor (keyset) en orden alfabético de la clave del nombre. A diferencia de
+     * {@link #getProyectos(int, int)}, las altas y bajas concurrentes no hacen que se repitan
+     * ni se salten proyectos entre páginas: cada página empieza justo después de la clave
+     * del último proyecto de la anterior, exista o no todavía.
+     * @param cursor Null para la primera página o {@link PaginaProyectos#getSiguienteCursor()}.
+     * @param limite Número máximo de proyectos por página (mayor que 0).
+     * @throws IllegalArgumentException Si el límite no es positivo.
+     */
+    public PaginaProyectos getPagina(String cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor que 0.");
+        }
+        long inicio = metricas.iniciar();
+        try {
+            List<Proyecto> leidos = consultandoNombres(indice -> indice.despuesDe(cursor, limite));
+            if (leidos.size() <= limite) {
+                return new PaginaProyectos(leidos, null);
+            }
+            List<Proyecto> pagina = leidos.subList(0, limite);
+            return new PaginaProyectos(pagina, pagina.get(limite - 1).getClave());
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Stream perezoso de los proyectos en orden de inserción: no lee ningún proyecto hasta la
+     * operación terminal y se divide bien en paralelo. Con almacenamiento por objetos recorre
+     * una instantánea tomada al llamarlo ({@link #getInstantanea()}); con el columnar lee por
+     * bloques para no retener un objeto por proyecto, y las bajas concurrentes pueden hacer
+     * que se salte alguno.
+     */
+    public Stream<Proyecto> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Spliterator de los proyectos en orden de inserción (ver {@link #stream()}).
+     */
+    public Spliterator<Proyecto> spliterator() {
+        if (recorrerConInstantaneas) {
+            return instantanea().spliterator();
+        }
+        return new RecorridoPorBloques(0, getNumeroProyectos());
+    }
+
+    // Con el cerrojo de lectura
+    private List<Proyecto> leerBloque(int desde, int limite) {
+        int hasta = (int) Math.min(this.proyectos.tamanio(), (long) desde + limite);
+        List<Proyecto> bloque = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            bloque.add(this.proyectos.obtener(i));
+        }
+        return bloque;
     }
 
     /**
@@ -89,13 +895,634 @@ public class GestorProyectos {
      * @return Cantidad de proyectos.
      */
     public int getNumeroProyectos() {
-        return this.proyectos.size();
+        lectura.lock();
+        try {
+            return this.proyectos.tamanio();
+        } finally {
+            lectura.unlock();
+        }
+    }
+
+    /**
+     * Devuelve las estadísticas de notas (cantidad, media, varianza, mínimo, máximo e histograma).
+     * Se mantienen en cada cambio, así que consultarlas no recorre la lista.
+     * @return Instantánea inmutable de las estadísticas actuales.
+     */
+    public EstadisticasNotas getEstadisticas() {
+        return leyendo(() -> estadisticas.instantanea()); // El campo se lee con el cerrojo: una limpieza lo sustituye
+    }
+
+    // --- Consultas por nota (índice ordenado, O(log n) + tamaño del resultado) ---
+
+    /**
+     * Devuelve los k proyectos con mejor nota; a igual nota, por orden alfabético del nombre.
+     * @param k Número máximo de proyectos a devolver.
+     * @throws IllegalArgumentException Si k es negativo.
+     */
+    public List<Proyecto> topK(int k) {
+        long inicio = metricas.iniciar();
+        try {
+            if (k < 0) {
+                throw new IllegalArgumentException("k no puede ser negativo.");
+            }
+            return consultandoNotas(indice -> indice.porPosiciones(0, k));
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Devuelve los proyectos con nota en [min, max], de mayor a menor nota.
+     * Para un extremo abierto (p. ej. "menos de 5") use {@code Math.nextDown(5.0)}.
+     */
+    public List<Proyecto> rangoNotas(double min, double max) {
+        long inicio = metricas.iniciar();
+        try {
+            return consultandoNotas(indice ->
+                    indice.porPosiciones(indice.contarPorEncimaDe(max, false), indice.contarPorEncimaDe(min, true)));
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Cuenta los proyectos con nota en [min, max] sin recorrerlos.
+     */
+    public int contarRangoNotas(double min, double max) {
+        long inicio = metricas.iniciar();
+        try {
+            return consultandoNotas(indice ->
+                    Math.max(0, indice.contarPorEncimaDe(min, true) - indice.contarPorEncimaDe(max, false)));
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Posición del proyecto en el ranking por nota (1 = mejor nota).
+     * @return La posición, o -1 si no existe un proyecto con ese nombre.
+     */
+    public int posicionEnRanking(String nombreProyecto) {
+        long inicio = metricas.iniciar();
+        try {
+            if (nombreProyecto == null) {
+                return -1;
+            }
+            String clave = Proyecto.normalizar(nombreProyecto);
+            return consultandoNotas(indice -> {
+                Proyecto proyecto = this.proyectos.buscar(clave);
+                return proyecto == null ? -1 : indice.posicion(proyecto) + 1;
+            });
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    // --- Búsqueda por nombre (índice ordenado por clave canónica) ---
+
+    /**
+     * Devuelve los proyectos cuyo nombre empieza por el prefijo, en orden alfabético.
+     * @param limite Número máximo de resultados.
+     */
+    public List<Proyecto> buscarPorPrefijo(String prefijo, int limite) {
+        long inicio = metricas.iniciar();
+        try {
+            if (prefijo == null || limite <= 0) {
+                return new ArrayList<>();
+            }
+            return consultandoNombres(indice -> indice.buscarPorPrefijo(prefijo, limite));
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
+    }
+
+    /**
+     * Devuelve los proyectos cuyo nombre está a una distancia de edición de como mucho
+     * {@code maxDistancia} (inserciones, borrados o sustituciones de un carácter), los más
+     * parecidos primero.
+     * @throws IllegalArgumentException Si maxDistancia es negativa.
+     */
+    public List<Proyecto> buscarAproximado(String texto, int maxDistancia, int limite) {
+        long inicio = metricas.iniciar();
+        try {
+            if (maxDistancia < 0) {
+                throw new IllegalArgumentException("La distancia máxima no puede ser negativa.");
+            }
+            if (texto == null || limite <= 0) {
+                return new ArrayList<>();
+            }
+            return consultandoNombres(indice -> indice.buscarAproximado(texto, maxDistancia, limite));
+        } finally {
+            metricas.registrar(Operacion.CONSULTAR, inicio);
+        }
     }
 
     /**
-     * Limpia la lista de proyectos.
+     * Búsqueda mientras se escribe: primero los nombres que empiezan por el texto y, si no
+     * llenan el límite, los que se parecen a él (tolerando más errores cuanto más largo es).
+     */
+    public List<Proyecto> buscar(String texto, int limite) {
+        List<Proyecto> resultado = buscarPorPrefijo(texto, limite);
+        if (texto == null || texto.isBlank() || resultado.size() >= limite) {
+            return resultado;
+        }
+        int maxDistancia = texto.length() <= 3 ? 1 : texto.length() <= 7 ? 2 : 3;
+        for (Proyecto parecido : buscarAproximado(texto, maxDistancia, limite)) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            if (!resultado.contains(parecido)) {
+                resultado.add(parecido);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Limpia la lista de proyectos en O(1). La lista anterior se conserva en el historial
+     * mientras se pueda deshacer la limpieza.
      */
     public void limpiarProyectos() {
-        this.proyectos.clear();
+        long inicio = metricas.iniciar();
+        try {
+            AnotadorDiario diario;
+            long secuencia = 0;
+            escritura.lock();
+            try {
+                diario = diarioDisponible();
+                Aplicador aplicador = new Aplicador(diario);
+                Generacion anterior = aplicador.vaciar();
+                if (anterior.proyectos.tamanio() > 0) {
+                    historial.anotarLimpieza(anterior);
+                }
+                secuencia = aplicador.secuencia;
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia);
+        } finally {
+            metricas.registrar(Operacion.LIMPIAR, inicio);
+        }
+    }
+
+    /**
+     * Sustituye toda la lista por la indicada con una sola escritura: los lectores ven la
+     * lista anterior o la nueva, nunca una a medio cargar. Los proyectos no válidos o repetidos
+     * se descartan.
+     * Se anota en el diario y se notifica como una limpieza seguida de un alta en lote, y se
+     * deshace de una vez, como una limpieza (la lista anterior se conserva en el historial).
+     * @param nuevos Proyectos en el orden en que quedarán en la lista.
+     * @return Número de proyectos cargados.
+     */
+    public int sustituirProyectos(List<Proyecto> nuevos) {
+        long inicio = metricas.iniciar();
+        try {
+            AnotadorDiario diario;
+            long secuencia = 0;
+            List<Proyecto> aceptados = validos(nuevos); // Sin bloquear a los demás
+            escritura.lock();
+            try {
+                diario = diarioDisponible();
+                Aplicador aplicador = new Aplicador(diario);
+                Generacion anterior = aplicador.vaciar();
+                aplicador.agregarTodos(aceptados);
+                historial.anotarSustitucion(anterior);
+                secuencia = aplicador.secuencia;
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia);
+            return aceptados.size();
+        } finally {
+            metricas.registrar(Operacion.IMPORTAR_LOTE, inicio);
+        }
+    }
+
+    // La lista nueva no depende del estado: los no válidos y los repetidos se descartan sin cerrojo
+    private static List<Proyecto> validos(List<Proyecto> nuevos) {
+        List<Proyecto> aceptados = new ArrayList<>(nuevos.size());
+        Set<String> claves = new HashSet<>();
+        for (Proyecto proyecto : nuevos) {
+            if (motivoRechazoSinEstado(proyecto) == null && claves.add(proyecto.getClave())) {
+                aceptados.add(proyecto);
+            }
+        }
+        return aceptados;
+    }
+
+    // --- Réplicas ---
+
+    /**
+     * Convierte el gestor en la réplica de solo lectura de otro: desde ahora sus escrituras
+     * (altas, bajas, limpiezas, importaciones, deshacer y rehacer) lanzan
+     * IllegalStateException con {@link #MENSAJE_SOLO_LECTURA}, y solo cambia a través del
+     * aplicador devuelto, sin historial. El historial que hubiera se descarta.
+     * @throws IllegalStateException Si ya era una réplica.
+     */
+    public AplicadorReplica convertirEnReplica() {
+        escritura.lock();
+        try {
+            if (soloLectura) {
+                throw new IllegalStateException("El gestor ya es una réplica.");
+            }
+            soloLectura = true;
+            historial.vaciar();
+        } finally {
+            escritura.unlock();
+        }
+        return new AplicadorReplica();
+    }
+
+    /**
+     * Aplica en una réplica de solo lectura los cambios que llegan del primario. Cada llamada
+     * es una sola escritura (un cerrojo, un registro del diario y un evento por lote, y un
+     * solo volcado) y no entra en el historial: la réplica no deshace nada por su cuenta.
+     */
+    public final class AplicadorReplica {
+        private AplicadorReplica() {
+        }
+
+        /**
+         * Agrega los proyectos al final de la lista.
+         * @return false si alguno no era válido o ya existía y se ha omitido: la réplica ya no
+         *         coincide con el primario.
+         */
+        public boolean agregar(List<Proyecto> lote) {
+            return replicando(Operacion.IMPORTAR_LOTE, aplicador -> {
+                List<Proyecto> aceptados = validos(lote);
+                aceptados.removeIf(proyecto -> proyectos.contiene(proyecto.getClave()));
+                aplicador.agregarTodos(aceptados);
+                return aceptados.size() == lote.size();
+            });
+        }
+
+        /**
+         * Quita los proyectos con esos nombres.
+         * @return false si alguno no existía: la réplica ya no coincide con el primario.
+         */
+        public boolean eliminar(List<String> nombres) {
+            return replicando(Operacion.ELIMINAR_LOTE, aplicador -> {
+                List<Proyecto> encontrados = new ArrayList<>(nombres.size());
+                Set<String> claves = new HashSet<>();
+                for (String nombre : nombres) {
+                    String clave = Proyecto.normalizar(nombre);
+                    Proyecto proyecto = proyectos.buscar(clave);
+                    if (proyecto != null && claves.add(clave)) {
+                        encontrados.add(proyecto);
+                    }
+                }
+                aplicador.quitarTodos(encontrados);
+                return encontrados.size() == nombres.size();
+            });
+        }
+
+        public void limpiar() {
+            replicando(Operacion.LIMPIAR, Aplicador::vaciar);
+        }
+
+        /**
+         * Sustituye toda la lista, como {@link #sustituirProyectos(List)} pero sin historial.
+         * @return Número de proyectos cargados.
+         */
+        public int sustituir(List<Proyecto> nuevos) {
+            List<Proyecto> aceptados = validos(nuevos);
+            return replicando(Operacion.IMPORTAR_LOTE, aplicador -> {
+                aplicador.vaciar();
+                aplicador.agregarTodos(aceptados);
+                return aceptados.size();
+            });
+        }
+    }
+
+    private <T> T replicando(Operacion operacion, Function<Aplicador, T> cambio) {
+        long inicio = metricas.iniciar();
+        try {
+            AnotadorDiario diario;
+            long secuencia;
+            T resultado;
+            escritura.lock();
+            try {
+                diario = this.diario;
+                diario.comprobarDisponible();
+                Aplicador aplicador = new Aplicador(diario);
+                resultado = cambio.apply(aplicador);
+                secuencia = aplicador.secuencia;
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia); // Un solo volcado para todo el lote
+            return resultado;
+        } finally {
+            metricas.registrar(operacion, inicio);
+        }
+    }
+
+    // --- Deshacer y rehacer ---
+
+    /**
+     * Deshace el último alta, baja o limpieza (las bajas deshechas, también las hechas en
+     * lote, devuelven los proyectos al final de la lista). Se anota en el diario y se notifica
+     * como cualquier otro cambio. Una importación se deshace de una vez; si pasa de
+     * {@value #MAXIMO_IMPORTADOS_EN_HISTORIAL} proyectos no se guarda y vacía el historial.
+     * @return false si no había nada que deshacer.
+     */
+    public boolean deshacer() {
+        return moverEnHistorial(true, Operacion.DESHACER);
+    }
+
+    /**
+     * Vuelve a aplicar el último cambio deshecho. Cualquier cambio nuevo descarta lo que
+     * quedaba por rehacer.
+     * @return false si no había nada que rehacer.
+     */
+    public boolean rehacer() {
+        return moverEnHistorial(false, Operacion.REHACER);
+    }
+
+    public boolean puedeDeshacer() {
+        return leyendo(historial::puedeDeshacer);
+    }
+
+    public boolean puedeRehacer() {
+        return leyendo(historial::puedeRehacer);
+    }
+
+    public int getProfundidadHistorial() {
+        return leyendo(historial::getProfundidad);
+    }
+
+    /**
+     * Limita cuántos cambios se pueden deshacer; al reducirlo se olvidan los más antiguos.
+     * Cada limpieza guardada retiene la lista que vació, así que este límite acota también
+     * la memoria del historial. 0 lo desactiva.
+     * @throws IllegalArgumentException Si la profundidad es negativa.
+     */
+    public void setProfundidadHistorial(int profundidad) {
+        if (profundidad < 0) {
+            throw new IllegalArgumentException("La profundidad del historial no puede ser negativa.");
+        }
+        escritura.lock();
+        try {
+            historial.setProfundidad(profundidad);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private boolean moverEnHistorial(boolean deshaciendo, Operacion operacion) {
+        long inicio = metricas.iniciar();
+        try {
+            AnotadorDiario diario;
+            long secuencia;
+            escritura.lock();
+            try {
+                diario = diarioDisponible();
+                if (deshaciendo ? !historial.puedeDeshacer() : !historial.puedeRehacer()) {
+                    return false;
+                }
+                Aplicador aplicador = new Aplicador(diario);
+                if (deshaciendo) {
+                    historial.deshacer(aplicador);
+                } else {
+                    historial.rehacer(aplicador);
+                }
+                secuencia = aplicador.secuencia;
+            } finally {
+                escritura.unlock();
+            }
+            diario.esperarDurable(secuencia);
+            return true;
+        } finally {
+            metricas.registrar(operacion, inicio);
+        }
+    }
+
+    private List<Proyecto> copiarProyectos() {
+        List<Proyecto> copia = new ArrayList<>(this.proyectos.tamanio());
+        for (int i = 0; i < this.proyectos.tamanio(); i++) {
+            copia.add(this.proyectos.obtener(i));
+        }
+        return copia;
+    }
+
+    /**
+     * Almacén y estructuras derivadas que una limpieza retira de una vez. El historial guarda
+     * las retiradas, sin mirar dentro, para poder restaurarlas.
+     */
+    static final class Generacion {
+        final AlmacenProyectos proyectos;
+        final AcumuladorNotas estadisticas;
+        final IndiceNotas indiceNotas;
+        final IndiceNombres indiceNombres;
+        final VectorPersistente instantaneas;
+
+        Generacion(AlmacenProyectos proyectos, AcumuladorNotas estadisticas, IndiceNotas indiceNotas,
+                   IndiceNombres indiceNombres, VectorPersistente instantaneas) {
+            this.proyectos = proyectos;
+            this.estadisticas = estadisticas;
+            this.indiceNotas = indiceNotas;
+            this.indiceNombres = indiceNombres;
+            this.instantaneas = instantaneas;
+        }
+    }
+
+    /**
+     * Aplica cambios con el cerrojo de escritura, de modo que el almacén, el diario y los
+     * oyentes quedan de acuerdo; es el destino del historial al deshacer y rehacer. Recuerda
+     * la secuencia del último registro, que se espera fuera del cerrojo.
+     */
+    private final class Aplicador implements HistorialCambios.Destino {
+        private final AnotadorDiario diario;
+        private long secuencia;
+
+        Aplicador(AnotadorDiario diario) {
+            this.diario = diario;
+        }
+
+        @Override
+        public void agregar(Proyecto proyecto) {
+            int indice = insertar(proyecto);
+            secuencia = diario.alta(proyecto);
+            notificar(EventoProyecto.agregado(indice, proyecto));
+        }
+
+        @Override
+        public void quitar(Proyecto proyecto) {
+            int indice = GestorProyectos.this.quitar(proyecto.getClave(), proyecto);
+            secuencia = diario.baja(proyecto.getNombre());
+            notificar(EventoProyecto.eliminado(indice, proyecto));
+        }
+
+        @Override
+        public void agregarTodos(List<Proyecto> lote) {
+            if (lote.isEmpty()) {
+                return;
+            }
+            int primerIndice = proyectos.tamanio();
+            for (Proyecto proyecto : lote) {
+                insertar(proyecto);
+            }
+            secuencia = diario.altas(lote);
+            notificar(new EventoProyecto(EventoProyecto.Tipo.AGREGADO, primerIndice, primerIndice + lote.size() - 1, lote));
+        }
+
+        @Override
+        public void quitarTodos(List<Proyecto> lote) {
+            if (lote.size() < proyectos.tamanio() / PROPORCION_BAJAS_UNA_A_UNA) {
+                // Pocos frente al total: uno a uno, O(log n) cada uno, sale más barato que la pasada O(n)
+                List<Proyecto> quitados = new ArrayList<>(lote.size());
+                for (Proyecto proyecto : lote) {
+                    Proyecto guardado = proyectos.buscar(proyecto.getClave());
+                    if (guardado != null) {
+                        int indice = GestorProyectos.this.quitar(guardado.getClave(), guardado);
+                        quitados.add(guardado);
+                        notificar(EventoProyecto.eliminado(indice, guardado));
+                    }
+                }
+                secuencia = diario.bajas(quitados);
+                return;
+            }
+            Set<String> claves = new HashSet<>();
+            for (Proyecto proyecto : lote) {
+                claves.add(proyecto.getClave());
+            }
+            EventoProyecto evento = quitarSi(proyecto -> claves.contains(proyecto.getClave()));
+            if (evento != null) {
+                secuencia = diario.bajas(evento.getProyectos());
+                notificar(evento);
+            }
+        }
+
+        @Override
+        public Generacion vaciar() {
+            int cantidad = proyectos.tamanio();
+            Generacion retirada = GestorProyectos.this.vaciar();
+            if (cantidad > 0) {
+                secuencia = diario.limpieza();
+                notificar(EventoProyecto.limpiado(cantidad));
+            }
+            return retirada;
+        }
+
+        @Override
+        public Generacion sustituir(Generacion generacion) {
+            Generacion retirada = vaciar();
+            restaurar(generacion);
+            List<Proyecto> restaurados = copiarProyectos(); // El evento no debe ver cambios posteriores
+            if (!restaurados.isEmpty()) {
+                secuencia = diario.altas(restaurados);
+                notificar(new EventoProyecto(EventoProyecto.Tipo.AGREGADO, 0, restaurados.size() - 1, restaurados));
+            }
+            return retirada;
+        }
+    }
+
+    private class ListaSincronizada extends AbstractList<Proyecto> implements RandomAccess {
+        @Override
+        public Proyecto get(int index) {
+            return leyendo(() -> proyectos.obtener(index));
+        }
+
+        @Override
+        public int size() {
+            return getNumeroProyectos();
+        }
+
+        // Los recorridos usan una instantánea: con escritores activos, get(i) por posiciones
+        // podría saltarse o repetir proyectos, o salirse del final de la lista
+        @Override
+        public Iterator<Proyecto> iterator() {
+            return copia().iterator();
+        }
+
+        @Override
+        public ListIterator<Proyecto> listIterator(int index) {
+            return copia().listIterator(index);
+        }
+
+        @Override
+        public Spliterator<Proyecto> spliterator() {
+            return copia().spliterator();
+        }
+    }
+
+    /**
+     * Recorre las posiciones [desde, hasta) leyendo bloques de {@value #PROYECTOS_POR_BLOQUE}
+     * proyectos, cada uno con una toma del cerrojo de lectura; se divide por la mitad del rango.
+     */
+    private class RecorridoPorBloques implements Spliterator<Proyecto> {
+        private int posicion;
+        private int hasta;
+        private List<Proyecto> bloque = List.of();
+        private int enBloque;
+
+        RecorridoPorBloques(int desde, int hasta) {
+            this.posicion = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Proyecto> accion) {
+            if (enBloque == bloque.size()) {
+                if (posicion >= hasta) {
+                    return false;
+                }
+                int desde = posicion;
+                bloque = leyendo(() -> leerBloque(desde, Math.min(PROYECTOS_POR_BLOQUE, hasta - desde)));
+                enBloque = 0;
+                posicion = bloque.isEmpty() ? hasta : posicion + bloque.size(); // Vacío: la lista se acortó
+                if (bloque.isEmpty()) {
+                    return false;
+                }
+            }
+            accion.accept(bloque.get(enBloque++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Proyecto> trySplit() {
+            int mitad = (posicion + hasta) >>> 1;
+            if (enBloque < bloque.size() || hasta - posicion < 2 * PROYECTOS_POR_BLOQUE) {
+                return null;
+            }
+            RecorridoPorBloques primera = new RecorridoPorBloques(posicion, mitad);
+            posicion = mitad;
+            return primera;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (long) hasta - posicion + bloque.size() - enBloque;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    // Aplica los registros del diario directamente al almacén (sin eventos ni nuevas anotaciones)
+    private class Reproductor implements DiarioProyectos.Receptor {
+        @Override
+        public void alta(String nombre, int centesimas) {
+            Proyecto proyecto = Proyecto.conCentesimas(nombre, centesimas);
+            if (motivoRechazo(proyecto) == null) {
+                insertar(proyecto);
+            }
+        }
+
+        @Override
+        public void baja(String nombre) {
+            String clave = Proyecto.normalizar(nombre);
+            Proyecto proyecto = proyectos.buscar(clave);
+            if (proyecto != null) {
+                quitar(clave, proyecto);
+            }
+        }
+
+        @Override
+        public void limpieza() {
+            vaciar();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,396 @@
+package org.example.controller;
+
+import org.example.model.EstadisticasNotas;
+import org.example.model.Proyecto;
+import org.example.model.ResultadoImportacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Modelo repartido en varias particiones por el hash del nombre: cada una es un
+ * {@link GestorProyectos} independiente, con su propio cerrojo, índices y estadísticas, de
+ * modo que las escrituras sobre particiones distintas no se esperan entre sí. Un nombre (en
+ * su forma normalizada, ver {@link Proyecto#getClave()}) siempre cae en la misma partición,
+ * así que cada una detecta sola sus duplicados.
+ * <p>
+ * Las consultas de todo el modelo combinan las de cada partición: los recuentos se suman,
+ * las estadísticas se combinan sin recorrer las notas y los rankings se mezclan con el mismo
+ * orden que {@link GestorProyectos#topK(int)}. Cada partición responde de forma atómica,
+ * pero el conjunto no: una consulta que coincide con escrituras puede ver unas particiones
+ * antes del cambio y otras después.
+ * <p>
+ * Solo guarda en memoria y no tiene historial de deshacer: no hay un orden único de los
+ * cambios entre particiones. Las particiones lo tienen desactivado, para que no retengan
+ * los proyectos eliminados ni las listas vaciadas.
+ */
+public class GestorProyectosParticionado {
+    private final GestorProyectos[] particiones;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea una partición por núcleo disponible.
+     */
+    public GestorProyectosParticionado() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public GestorProyectosParticionado(int particiones) {
+        this(particiones, GestorProyectos.Almacenamiento.OBJETOS);
+    }
+
+    /**
+     * @param particiones Número de particiones; más particiones admiten más escritores a la vez.
+     * @throws IllegalArgumentException Si el número de particiones no es positivo.
+     */
+    public GestorProyectosParticionado(int particiones, GestorProyectos.Almacenamiento almacenamiento) {
+        if (particiones <= 0) {
+            throw new IllegalArgumentException("El número de particiones debe ser positivo.");
+        }
+        this.particiones = new GestorProyectos[particiones];
+        for (int i = 0; i < particiones; i++) {
+            this.particiones[i] = new GestorProyectos(almacenamiento);
+            this.particiones[i].setProfundidadHistorial(0);
+        }
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    public int getParticiones() {
+        return particiones.length;
+    }
+
+    /**
+     * Partición que guarda los proyectos con esa clave normalizada.
+     */
+    int particion(String clave) {
+        int hash = clave.hashCode();
+        hash ^= hash >>> 16; // Los bits altos también cuentan con pocas particiones
+        return Math.floorMod(hash, particiones.length);
+    }
+
+    private GestorProyectos particionDe(String nombre) {
+        return particiones[particion(Proyecto.normalizar(nombre))];
+    }
+
+    // --- Escrituras (una sola partición) ---
+
+    /**
+     * Agrega un proyecto en su partición, con las mismas validaciones que
+     * {@link GestorProyectos#agregarProyecto(Proyecto)}.
+     * @throws IllegalArgumentException Si la nota está fuera del rango [0, 10], el nombre es inválido o ya existe.
+     */
+    public void agregarProyecto(Proyecto proyecto) throws IllegalArgumentException {
+        // Sin nombre no hay clave: la partición 0 lo rechaza con el mismo motivo que un gestor sin particiones
+        int p = proyecto.getNombre() == null ? 0 : particion(proyecto.getClave());
+        particiones[p].agregarProyecto(proyecto);
+    }
+
+    /**
+     * Elimina un proyecto por su nombre, sin distinguir mayúsculas, tildes ni espacios repetidos.
+     * @return true si el proyecto fue encontrado y eliminado.
+     */
+    public boolean eliminarProyectoPorNombre(String nombreProyecto) {
+        if (nombreProyecto == null || nombreProyecto.trim().isEmpty()) {
+            return false;
+        }
+        return particionDe(nombreProyecto).eliminarProyectoPorNombre(nombreProyecto);
+    }
+
+    /**
+     * Busca un proyecto por su nombre, sin distinguir mayúsculas, tildes ni espacios repetidos.
+     * @return El proyecto, o null si no existe.
+     */
+    public Proyecto buscarProyectoPorNombre(String nombreProyecto) {
+        if (nombreProyecto == null) {
+            return null;
+        }
+        return particionDe(nombreProyecto).buscarProyectoPorNombre(nombreProyecto);
+    }
+
+    // --- Escrituras sobre todas las particiones ---
+
+    /**
+     * Elimina en cada partición los proyectos que cumplen la condición (ver
+     * {@link GestorProyectos#eliminarSi(Predicate)}).
+     * @return Número de proyectos eliminados.
+     * @throws IllegalArgumentException Si la condición es null.
+     */
+    public int eliminarSi(Predicate<Proyecto> condicion) {
+        if (condicion == null) {
+            throw new IllegalArgumentException("La condición no puede ser null.");
+        }
+        int eliminados = 0;
+        for (GestorProyectos particion : particiones) {
+            eliminados += particion.eliminarSi(condicion);
+        }
+        return eliminados;
+    }
+
+    /**
+     * Elimina los proyectos con nota en [min, max] de todas las particiones.
+     * @return Número de proyectos eliminados.
+     */
+    public int eliminarRangoNotas(double min, double max) {
+        int eliminados = 0;
+        for (GestorProyectos particion : particiones) {
+            eliminados += particion.eliminarRangoNotas(min, max);
+        }
+        return eliminados;
+    }
+
+    /**
+     * Limpia todas las particiones, una tras otra.
+     */
+    public void limpiarProyectos() {
+        for (GestorProyectos particion : particiones) {
+            particion.limpiarProyectos();
+        }
+    }
+
+    // --- Importación: cada lote se reparte y las particiones lo confirman en paralelo ---
+
+    /**
+     * Importa proyectos desde un fichero CSV o TSV (UTF-8) con columnas nombre y nota
+     * (ver {@link GestorProyectos#importar(Path)}).
+     */
+    public ResultadoImportacion importar(Path fichero) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(fichero, StandardCharsets.UTF_8)) {
+            return importar(lector);
+        }
+    }
+
+    /**
+     * Importa proyectos en streaming desde un lector CSV o TSV. El fichero se lee en el hilo
+     * que llama; cada lote se reparte por partición y las particiones lo confirman a la vez
+     * en el pool común de fork-join, cada una con un único paso por su cerrojo.
+     * @param lector Origen de los datos; no se cierra.
+     * @return Resumen con filas importadas, rechazos por fila y filas por segundo.
+     * @throws IOException Si falla la lectura; los lotes ya confirmados se conservan.
+     */
+    public ResultadoImportacion importar(Reader lector) throws IOException {
+        return new ImportadorProyectos(this::repartirLote).importar(lector);
+    }
+
+    private void repartirLote(List<Proyecto> lote, long[] lineas, ResultadoImportacion resultado) {
+        int n = particiones.length;
+        int[] destinos = new int[lote.size()];
+        int[] tamanios = new int[n];
+        for (int i = 0; i < lote.size(); i++) {
+            Proyecto proyecto = lote.get(i);
+            // Sin nombre no hay clave: lo rechaza la partición 0 con el motivo de siempre
+            destinos[i] = proyecto.getNombre() == null ? 0 : particion(proyecto.getClave());
+            tamanios[destinos[i]]++;
+        }
+        List<List<Proyecto>> sublotes = new ArrayList<>(n);
+        long[][] sublineas = new long[n][];
+        for (int p = 0; p < n; p++) {
+            sublotes.add(new ArrayList<>(tamanios[p]));
+            sublineas[p] = new long[tamanios[p]];
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            int p = destinos[i];
+            sublineas[p][sublotes.get(p).size()] = lineas[i];
+            sublotes.get(p).add(lote.get(i));
+        }
+
+        // ResultadoImportacion no es seguro entre hilos: cada partición anota en uno propio
+        ResultadoImportacion[] parciales = new ResultadoImportacion[n];
+        List<ForkJoinTask<?>> tareas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (tamanios[i] == 0) {
+                continue;
+            }
+            int p = i;
+            parciales[p] = new ResultadoImportacion();
+            tareas.add(pool.submit(() -> particiones[p].agregarLote(sublotes.get(p), sublineas[p], parciales[p])));
+        }
+        for (ForkJoinTask<?> tarea : tareas) {
+            tarea.join();
+        }
+        for (ResultadoImportacion parcial : parciales) {
+            if (parcial != null) {
+                resultado.sumar(parcial);
+            }
+        }
+    }
+
+    // --- Consultas que combinan todas las particiones ---
+
+    public int getNumeroProyectos() {
+        int total = 0;
+        for (GestorProyectos particion : particiones) {
+            total += particion.getNumeroProyectos();
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve todos los proyectos: los de cada partición en su orden de inserción, una
+     * partición tras otra (no es el orden global de inserción). La lista no cambia con las
+     * escrituras posteriores; cuesta O(particiones), pues toma la instantánea O(1) de cada
+     * partición (ver {@link GestorProyectos#getInstantanea()}).
+     * @return Lista inmutable de proyectos.
+     */
+    public List<Proyecto> getProyectos() {
+        List<List<Proyecto>> partes = new ArrayList<>(particiones.length);
+        for (GestorProyectos particion : particiones) {
+            partes.add(particion.getInstantanea());
+        }
+        return new ListaConcatenada(partes);
+    }
+
+    /**
+     * Estadísticas de notas de todo el modelo, combinando las que mantiene cada partición.
+     */
+    public EstadisticasNotas getEstadisticas() {
+        List<EstadisticasNotas> partes = new ArrayList<>(particiones.length);
+        for (GestorProyectos particion : particiones) {
+            partes.add(particion.getEstadisticas());
+        }
+        return EstadisticasNotas.combinar(partes);
+    }
+
+    /**
+     * Devuelve los k proyectos con mejor nota; a igual nota, por orden alfabético del nombre.
+     * Mezcla el top-k de cada partición.
+     * @throws IllegalArgumentException Si k es negativo.
+     */
+    public List<Proyecto> topK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k no puede ser negativo.");
+        }
+        return mezclar(particion -> particion.topK(k), k);
+    }
+
+    /**
+     * Devuelve los proyectos con nota en [min, max], de mayor a menor nota.
+     */
+    public List<Proyecto> rangoNotas(double min, double max) {
+        return mezclar(particion -> particion.rangoNotas(min, max), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Cuenta los proyectos con nota en [min, max] sin recorrerlos.
+     */
+    public int contarRangoNotas(double min, double max) {
+        int total = 0;
+        for (GestorProyectos particion : particiones) {
+            total += particion.contarRangoNotas(min, max);
+        }
+        return total;
+    }
+
+    /**
+     * Mezcla las listas ya ordenadas de cada partición (orden de {@link IndiceNotas#comparar})
+     * quedándose con las primeras, en O(resultado · log particiones).
+     */
+    private List<Proyecto> mezclar(Function<GestorProyectos, List<Proyecto>> consulta, int limite) {
+        List<Iterator<Proyecto>> fuentes = new ArrayList<>(particiones.length);
+        int total = 0;
+        for (GestorProyectos particion : particiones) {
+            List<Proyecto> parte = consulta.apply(particion);
+            total += parte.size();
+            fuentes.add(parte.iterator());
+        }
+        // Cada entrada de la cola es el siguiente proyecto de una fuente: {proyecto, índice de la fuente}
+        PriorityQueue<Object[]> cola = new PriorityQueue<>(Math.max(1, fuentes.size()),
+                (a, b) -> IndiceNotas.comparar((Proyecto) a[0], (Proyecto) b[0]));
+        for (int i = 0; i < fuentes.size(); i++) {
+            if (fuentes.get(i).hasNext()) {
+                cola.add(new Object[]{fuentes.get(i).next(), i});
+            }
+        }
+        List<Proyecto> resultado = new ArrayList<>(Math.min(limite, total));
+        while (!cola.isEmpty() && resultado.size() < limite) {
+            Object[] cabeza = cola.poll();
+            resultado.add((Proyecto) cabeza[0]);
+            Iterator<Proyecto> fuente = fuentes.get((Integer) cabeza[1]);
+            if (fuente.hasNext()) {
+                cabeza[0] = fuente.next();
+                cola.add(cabeza);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Las instantáneas de las particiones, una tras otra, vistas como una sola lista.
+     */
+    private static final class ListaConcatenada extends AbstractList<Proyecto> implements RandomAccess {
+        private final List<List<Proyecto>> partes;
+        private final int[] inicios; // inicios[i] = posición global del primer proyecto de la parte i
+
+        ListaConcatenada(List<List<Proyecto>> partes) {
+            this.partes = partes;
+            this.inicios = new int[partes.size() + 1];
+            for (int i = 0; i < partes.size(); i++) {
+                inicios[i + 1] = inicios[i] + partes.get(i).size();
+            }
+        }
+
+        @Override
+        public Proyecto get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + size());
+            }
+            int parte = Arrays.binarySearch(inicios, index);
+            // Con partes vacías hay inicios repetidos: la buena es la última que empieza en index
+            parte = parte >= 0 ? ultimaQueEmpiezaEn(parte) : -parte - 2;
+            return partes.get(parte).get(index - inicios[parte]);
+        }
+
+        private int ultimaQueEmpiezaEn(int parte) {
+            while (parte + 1 < partes.size() && inicios[parte + 1] == inicios[parte]) {
+                parte++;
+            }
+            return parte;
+        }
+
+        @Override
+        public int size() {
+            return inicios[partes.size()];
+        }
+
+        @Override
+        public Iterator<Proyecto> iterator() {
+            // Recorre cada parte con su propio iterador, O(1) por proyecto
+            return new Iterator<>() {
+                private int parte;
+                private Iterator<Proyecto> actual = partes.isEmpty() ? null : partes.get(0).iterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (actual != null && !actual.hasNext()) {
+                        parte++;
+                        actual = parte < partes.size() ? partes.get(parte).iterator() : null;
+                    }
+                    return actual != null;
+                }
+
+                @Override
+                public Proyecto next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return actual.next();
+                }
+            };
+        }
+    }
+}
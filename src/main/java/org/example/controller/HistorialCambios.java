@@ -0,0 +1,213 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+import org.example.model.ResultadoImportacion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Historial de deshacer y rehacer de un {@link GestorProyectos}. Guarda los cambios hechos y,
+ * al deshacerlos o rehacerlos, los aplica sobre un {@link Destino}, que se encarga del almacén,
+ * el diario y los eventos. No es seguro entre hilos: el gestor lo usa con su cerrojo de escritura
+ * (o el de lectura para las consultas).
+ */
+final class HistorialCambios {
+    /** Importaciones más grandes no se guardan (ver {@link #anotarImportacion}). */
+    static final int MAXIMO_IMPORTADOS = 100_000;
+
+    /**
+     * Cambios que el historial sabe aplicar. Cada uno deja el almacén, el diario y los
+     * oyentes de acuerdo.
+     */
+    interface Destino {
+        void agregar(Proyecto proyecto);
+
+        void quitar(Proyecto proyecto);
+
+        /** Agrega los proyectos al final de la lista, con un único evento. */
+        void agregarTodos(List<Proyecto> proyectos);
+
+        /** Quita los proyectos que sigan en la lista, en una pasada o uno a uno según cuántos sean. */
+        void quitarTodos(List<Proyecto> proyectos);
+
+        /** Vacía la lista y devuelve la generación retirada. */
+        GestorProyectos.Generacion vaciar();
+
+        /** Pone la generación dada en lugar de la actual y devuelve la retirada. */
+        GestorProyectos.Generacion sustituir(GestorProyectos.Generacion generacion);
+    }
+
+    private final Deque<Cambio> deshacer = new ArrayDeque<>(); // El más reciente primero
+    private final Deque<Cambio> rehacer = new ArrayDeque<>();
+    private int profundidad;
+    private ResultadoImportacion importacionSinHistorial; // La última que no cupo en el historial
+
+    HistorialCambios(int profundidad) {
+        this.profundidad = profundidad;
+    }
+
+    boolean puedeDeshacer() {
+        return !deshacer.isEmpty();
+    }
+
+    boolean puedeRehacer() {
+        return !rehacer.isEmpty();
+    }
+
+    int getProfundidad() {
+        return profundidad;
+    }
+
+    /** Al reducir la profundidad se olvidan los cambios más antiguos. */
+    void setProfundidad(int profundidad) {
+        this.profundidad = profundidad;
+        recortar(deshacer);
+        recortar(rehacer);
+    }
+
+    void vaciar() {
+        deshacer.clear();
+        rehacer.clear();
+    }
+
+    void anotarAlta(Proyecto proyecto) {
+        anotar(new Cambio(Cambio.Tipo.ALTA, proyecto, null, null));
+    }
+
+    void anotarBaja(Proyecto proyecto) {
+        anotar(new Cambio(Cambio.Tipo.BAJA, proyecto, null, null));
+    }
+
+    void anotarBajas(List<Proyecto> eliminados) {
+        anotar(new Cambio(Cambio.Tipo.BAJAS, null, eliminados, null));
+    }
+
+    void anotarLimpieza(GestorProyectos.Generacion vaciada) {
+        anotar(new Cambio(Cambio.Tipo.LIMPIEZA, null, null, null, vaciada));
+    }
+
+    void anotarSustitucion(GestorProyectos.Generacion sustituida) {
+        anotar(new Cambio(Cambio.Tipo.SUSTITUCION, null, null, null, sustituida));
+    }
+
+    /**
+     * Anota los aceptados de un lote de importación. Los lotes seguidos de una misma importación
+     * forman una sola entrada, que se deshace de una vez. Si la importación pasa de
+     * {@value #MAXIMO_IMPORTADOS} proyectos no se guarda, porque el historial retendría un objeto
+     * por proyecto importado (lo que el almacén columnar evita); entonces se vacía el historial,
+     * ya que lo anterior no se puede deshacer saltándose la importación: deshacer una limpieza
+     * previa restauraría la lista sin los importados, y deshacer una baja previa podría repetir
+     * un nombre importado.
+     */
+    void anotarImportacion(ResultadoImportacion importacion, List<Proyecto> aceptados) {
+        Cambio ultimo = deshacer.peek();
+        boolean continua = ultimo != null && ultimo.tipo == Cambio.Tipo.ALTAS && ultimo.origen == importacion;
+        int total = aceptados.size() + (continua ? ultimo.lote.size() : 0);
+        if (importacion == importacionSinHistorial || total > MAXIMO_IMPORTADOS) {
+            importacionSinHistorial = importacion; // También para sus lotes siguientes
+            deshacer.clear();
+            rehacer.clear();
+        } else if (continua) {
+            ultimo.lote.addAll(aceptados);
+            rehacer.clear();
+        } else {
+            anotar(new Cambio(Cambio.Tipo.ALTAS, null, new ArrayList<>(aceptados), importacion));
+        }
+    }
+
+    /**
+     * Deshace el último cambio sobre el destino (las bajas deshechas devuelven los proyectos
+     * al final de la lista). Solo se llama si {@link #puedeDeshacer()}.
+     */
+    void deshacer(Destino destino) {
+        Cambio cambio = deshacer.pop();
+        aplicar(cambio, true, destino);
+        rehacer.push(cambio);
+    }
+
+    /** Vuelve a aplicar el último cambio deshecho. Solo se llama si {@link #puedeRehacer()}. */
+    void rehacer(Destino destino) {
+        Cambio cambio = rehacer.pop();
+        aplicar(cambio, false, destino);
+        deshacer.push(cambio);
+    }
+
+    // Un cambio nuevo invalida lo que quedaba por rehacer
+    private void anotar(Cambio cambio) {
+        rehacer.clear();
+        deshacer.push(cambio);
+        recortar(deshacer);
+    }
+
+    private void recortar(Deque<Cambio> historial) {
+        while (historial.size() > profundidad) {
+            historial.removeLast();
+        }
+    }
+
+    private static void aplicar(Cambio cambio, boolean deshaciendo, Destino destino) {
+        switch (cambio.tipo) {
+            case ALTA:
+            case BAJA:
+                // Deshacer un alta es una baja y viceversa; rehacer repite el cambio original
+                if ((cambio.tipo == Cambio.Tipo.ALTA) != deshaciendo) {
+                    destino.agregar(cambio.proyecto);
+                } else {
+                    destino.quitar(cambio.proyecto);
+                }
+                break;
+            case ALTAS:
+            case BAJAS:
+                if ((cambio.tipo == Cambio.Tipo.ALTAS) != deshaciendo) {
+                    // Copia: el lote de una importación aún puede crecer con sus lotes siguientes
+                    destino.agregarTodos(List.copyOf(cambio.lote));
+                } else {
+                    destino.quitarTodos(cambio.lote);
+                }
+                break;
+            case LIMPIEZA:
+                if (deshaciendo) {
+                    // El historial se recorre en orden: la generación actual está vacía y se descarta
+                    destino.sustituir(cambio.generacion);
+                    cambio.generacion = null; // Rehacer vaciará la generación actual
+                } else {
+                    cambio.generacion = destino.vaciar();
+                }
+                break;
+            case SUSTITUCION:
+                // Deshacer y rehacer una sustitución son el mismo intercambio de generaciones
+                cambio.generacion = destino.sustituir(cambio.generacion);
+                break;
+        }
+    }
+
+    /**
+     * Entrada del historial: el proyecto dado de alta o de baja, los importados o eliminados
+     * en lote o la generación vaciada o sustituida.
+     */
+    private static final class Cambio {
+        enum Tipo { ALTA, BAJA, ALTAS, BAJAS, LIMPIEZA, SUSTITUCION }
+
+        final Tipo tipo;
+        final Proyecto proyecto;
+        final List<Proyecto> lote;
+        final ResultadoImportacion origen; // ALTAS: la importación, para juntar sus lotes
+        GestorProyectos.Generacion generacion;
+
+        Cambio(Tipo tipo, Proyecto proyecto, List<Proyecto> lote, ResultadoImportacion origen) {
+            this(tipo, proyecto, lote, origen, null);
+        }
+
+        Cambio(Tipo tipo, Proyecto proyecto, List<Proyecto> lote, ResultadoImportacion origen,
+               GestorProyectos.Generacion generacion) {
+            this.tipo = tipo;
+            this.proyecto = proyecto;
+            this.lote = lote;
+            this.origen = origen;
+            this.generacion = generacion;
+        }
+    }
+}
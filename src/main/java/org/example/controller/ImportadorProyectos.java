@@ -0,0 +1,173 @@
+package org.example.controller;
+
+import org.example.model.Nota;
+import org.example.model.Proyecto;
+import org.example.model.ResultadoImportacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Importador en streaming de ficheros CSV/TSV con columnas "nombre" y "nota".
+ * Lee línea a línea (nunca carga el fichero entero), acumula las filas bien formadas
+ * en lotes y entrega cada lote a {@link GestorProyectos} (o a un {@link DestinoLotes} que los
+ * reparte), que aplica la misma validación que {@link GestorProyectos#agregarProyecto(Proyecto)}.
+ * Entre lotes comprueba si el hilo fue interrumpido para poder cancelarse.
+ */
+class ImportadorProyectos {
+    static final int TAMANIO_LOTE = 10_000;
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    /**
+     * Recibe cada lote leído; los rechazos de validación se anotan en el resultado.
+     */
+    interface DestinoLotes {
+        void agregarLote(List<Proyecto> lote, long[] lineas, ResultadoImportacion resultado);
+    }
+
+    private final DestinoLotes destino;
+    private final StringBuilder campo = new StringBuilder(); // Reutilizado entre filas
+    private final String[] campos = new String[2];
+    private LongConsumer progreso = leidos -> { };
+
+    ImportadorProyectos(GestorProyectos gestor) {
+        this(gestor::agregarLote);
+    }
+
+    ImportadorProyectos(DestinoLotes destino) {
+        this.destino = destino;
+    }
+
+    /**
+     * @param progreso Recibe, tras cada lote, los caracteres leídos hasta el momento.
+     */
+    void setProgreso(LongConsumer progreso) {
+        this.progreso = progreso;
+    }
+
+    ResultadoImportacion importar(Reader reader) throws IOException {
+        BufferedReader lector = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader, TAMANIO_BUFFER);
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        long inicio = System.nanoTime();
+
+        List<Proyecto> lote = new ArrayList<>(TAMANIO_LOTE);
+        long[] lineasLote = new long[TAMANIO_LOTE];
+        char separador = 0; // Se detecta con la primera fila no vacía
+        long numeroLinea = 0;
+        long caracteresLeidos = 0;
+        String linea;
+        try {
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                caracteresLeidos += linea.length() + 1;
+                if (linea.isBlank()) {
+                    continue;
+                }
+                boolean primeraFila = separador == 0;
+                if (primeraFila) {
+                    separador = detectarSeparador(linea);
+                }
+                if (!partir(linea, separador)) {
+                    resultado.registrarRechazo(numeroLinea, "Se esperaban dos columnas: nombre y nota.");
+                    continue;
+                }
+                int centesimas;
+                try {
+                    centesimas = Nota.parsear(campos[1]); // Recorta espacios y admite coma decimal
+                } catch (NumberFormatException e) {
+                    if (!primeraFila) { // Una primera fila no numérica es la cabecera
+                        resultado.registrarRechazo(numeroLinea, GestorProyectos.MENSAJE_NOTA_NO_VALIDA);
+                    }
+                    continue;
+                }
+                lote.add(Proyecto.conCentesimas(campos[0].trim(), centesimas));
+                lineasLote[lote.size() - 1] = numeroLinea;
+                if (lote.size() == TAMANIO_LOTE) {
+                    destino.agregarLote(lote, lineasLote, resultado);
+                    lote.clear();
+                    progreso.accept(caracteresLeidos);
+                    if (Thread.currentThread().isInterrupted()) {
+                        resultado.marcarCancelada();
+                        break;
+                    }
+                }
+            }
+        } catch (ClosedByInterruptException e) {
+            // Un FileChannel interrumpido se cierra: se trata como una cancelación
+            Thread.currentThread().interrupt();
+            resultado.marcarCancelada();
+        } finally {
+            // Las filas ya leídas se confirman aunque la lectura falle a mitad
+            if (!lote.isEmpty()) {
+                destino.agregarLote(lote, lineasLote, resultado);
+            }
+            resultado.finalizar(System.nanoTime() - inicio);
+        }
+        return resultado;
+    }
+
+    /**
+     * Elige el separador con la primera fila: tabulador si lo hay; si no, ';' cuando parte la
+     * fila en nombre y nota (con coma decimal, "Física;6,5" también tiene una coma) o ',' no
+     * la parte en dos columnas; en otro caso ','.
+     */
+    private char detectarSeparador(String linea) {
+        if (linea.indexOf('\t') >= 0) return '\t';
+        if (linea.indexOf(';') >= 0 && partir(linea, ';') && (esNota(campos[1]) || !partir(linea, ','))) return ';';
+        return ',';
+    }
+
+    private static boolean esNota(String texto) {
+        try {
+            Nota.parsear(texto);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Divide la línea en {@link #campos} respetando comillas dobles ("" escapa una comilla).
+     * @return false si la línea no tiene exactamente dos columnas.
+     */
+    private boolean partir(String linea, char separador) {
+        int n = 0;
+        boolean entreComillas = false;
+        campo.setLength(0);
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreComillas = false;
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                if (n == 1) {
+                    return false; // Más de dos columnas
+                }
+                campos[n++] = campo.toString();
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreComillas || n != 1) {
+            return false;
+        }
+        campos[1] = campo.toString();
+        return true;
+    }
+}
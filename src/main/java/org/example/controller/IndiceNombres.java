@@ -0,0 +1,146 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índice de búsqueda por nombre: claves canónicas ({@link Proyecto#getClave()}) en un árbol
+ * ordenado, así que las búsquedas no distinguen mayúsculas, tildes ni espacios repetidos.
+ * <p>
+ * La búsqueda por prefijo es un recorrido del subárbol {@code [prefijo, prefijo + U+FFFF)}.
+ * La búsqueda aproximada trata las claves ordenadas como un trie implícito: calcula la
+ * distancia de Levenshtein fila a fila, reutiliza las filas del prefijo común con la clave
+ * anterior y, en cuanto todas las celdas de una fila superan la distancia máxima, salta
+ * todas las claves que comparten ese prefijo con una sola búsqueda en el árbol.
+ * No es seguro entre hilos: GestorProyectos sincroniza todos los accesos.
+ */
+class IndiceNombres {
+    private static final char FIN_DE_PREFIJO = '\uFFFF';
+
+    // El gestor garantiza que las claves son únicas
+    private final TreeMap<String, Proyecto> porClave = new TreeMap<>();
+
+    void agregar(Proyecto proyecto) {
+        porClave.put(proyecto.getClave(), proyecto);
+    }
+
+    void quitar(String clave) {
+        porClave.remove(clave);
+    }
+
+    /**
+     * Hasta {@code limite} proyectos con clave posterior a {@code clave} (o desde el principio
+     * si es null), en orden alfabético de clave; uno más si hay, para saber si quedan más.
+     */
+    List<Proyecto> despuesDe(String clave, int limite) {
+        Map<String, Proyecto> resto = clave == null ? porClave : porClave.tailMap(clave, false);
+        List<Proyecto> resultado = new ArrayList<>(Math.min(limite, 1024) + 1);
+        for (Proyecto proyecto : resto.values()) {
+            if (resultado.size() > limite) {
+                break;
+            }
+            resultado.add(proyecto);
+        }
+        return resultado;
+    }
+
+    /**
+     * Proyectos cuya clave empieza por la del prefijo, en orden alfabético de clave.
+     */
+    List<Proyecto> buscarPorPrefijo(String prefijo, int limite) {
+        String desde = Proyecto.normalizar(prefijo);
+        List<Proyecto> resultado = new ArrayList<>();
+        for (Proyecto proyecto : porClave.subMap(desde, true, desde + FIN_DE_PREFIJO, false).values()) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            resultado.add(proyecto);
+        }
+        return resultado;
+    }
+
+    /**
+     * Proyectos cuyo nombre está a distancia de edición (Levenshtein) como máximo
+     * {@code maxDistancia} del texto, comparando claves normalizadas. Los más cercanos primero;
+     * a igual distancia, en orden alfabético.
+     */
+    List<Proyecto> buscarAproximado(String texto, int maxDistancia, int limite) {
+        String consulta = Proyecto.normalizar(texto);
+        List<Proyecto> resultado = new ArrayList<>();
+        // Profundización iterativa: primero distancia 0, luego 1... hasta llenar el límite
+        for (int distancia = 0; distancia <= maxDistancia && resultado.size() < limite; distancia++) {
+            recorrer(consulta, distancia, resultado, limite);
+        }
+        return resultado;
+    }
+
+    /** Añade a la salida las claves a distancia exactamente {@code distancia}. */
+    private void recorrer(String consulta, int distancia, List<Proyecto> salida, int limite) {
+        int columnas = consulta.length() + 1;
+        int[][] filas = new int[32][];
+        filas[0] = new int[columnas];
+        for (int j = 0; j < columnas; j++) {
+            filas[0][j] = j;
+        }
+        String anterior = "";
+        int filasValidas = 0; // Filas 1..filasValidas corresponden a anterior[0..filasValidas)
+
+        Map.Entry<String, Proyecto> entrada = porClave.firstEntry();
+        while (entrada != null && salida.size() < limite) {
+            String clave = entrada.getKey();
+            int comun = prefijoComun(anterior, filasValidas, clave);
+            int poda = -1;
+            for (int i = comun + 1; i <= clave.length(); i++) {
+                if (i >= filas.length) {
+                    filas = Arrays.copyOf(filas, filas.length * 2);
+                }
+                if (filas[i] == null) {
+                    filas[i] = new int[columnas];
+                }
+                if (calcularFila(filas[i - 1], filas[i], clave.charAt(i - 1), consulta) > distancia) {
+                    poda = i;
+                    break;
+                }
+            }
+            anterior = clave;
+            if (poda >= 0) {
+                // Ninguna clave con el prefijo clave[0..poda) puede estar a la distancia buscada
+                filasValidas = poda;
+                entrada = porClave.ceilingEntry(clave.substring(0, poda) + FIN_DE_PREFIJO);
+                continue;
+            }
+            filasValidas = clave.length();
+            if (filas[clave.length()][consulta.length()] == distancia) {
+                salida.add(entrada.getValue());
+            }
+            entrada = porClave.higherEntry(clave);
+        }
+    }
+
+    /** Calcula una fila de Levenshtein y devuelve su mínimo (cota inferior para cualquier extensión). */
+    private static int calcularFila(int[] previa, int[] fila, char c, String consulta) {
+        fila[0] = previa[0] + 1;
+        int minimo = fila[0];
+        for (int j = 1; j < fila.length; j++) {
+            int sustitucion = previa[j - 1] + (consulta.charAt(j - 1) == c ? 0 : 1);
+            int valor = Math.min(sustitucion, Math.min(previa[j] + 1, fila[j - 1] + 1));
+            fila[j] = valor;
+            minimo = Math.min(minimo, valor);
+        }
+        return minimo;
+    }
+
+    private static int prefijoComun(String anterior, int longitudValida, String clave) {
+        int limite = Math.min(longitudValida, clave.length());
+        int i = 0;
+        while (i < limite && anterior.charAt(i) == clave.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
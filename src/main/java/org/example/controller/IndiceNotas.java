@@ -0,0 +1,180 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Índice secundario ordenado por nota: de mayor a menor nota y, a igual nota, por nombre.
+ * Es un treap con el tamaño de cada subárbol, así que insertar, borrar, calcular la posición
+ * de un proyecto y localizar un rango de notas cuestan O(log n); recorrer k resultados, O(k).
+ * No es seguro entre hilos: GestorProyectos sincroniza todos los accesos.
+ */
+class IndiceNotas {
+
+    private static class Nodo {
+        final Proyecto proyecto;
+        final int prioridad = ThreadLocalRandom.current().nextInt();
+        int tamanio = 1;
+        Nodo izquierdo;
+        Nodo derecho;
+
+        Nodo(Proyecto proyecto) {
+            this.proyecto = proyecto;
+        }
+    }
+
+    private Nodo raiz;
+
+    /** Orden del ranking: nota descendente y, a igual nota, nombre ascendente. */
+    static int comparar(Proyecto a, Proyecto b) {
+        int porNota = Integer.compare(b.getCentesimas(), a.getCentesimas());
+        return porNota != 0 ? porNota : a.getNombre().compareTo(b.getNombre());
+    }
+
+    void agregar(Proyecto proyecto) {
+        Nodo[] partes = dividir(raiz, proyecto);
+        raiz = unir(unir(partes[0], new Nodo(proyecto)), partes[1]);
+    }
+
+    void quitar(Proyecto proyecto) {
+        raiz = quitar(raiz, proyecto);
+    }
+
+    int tamanio() {
+        return tamanio(raiz);
+    }
+
+    /**
+     * @return Posición (desde 0) del proyecto en el ranking, o -1 si no está indexado.
+     */
+    int posicion(Proyecto proyecto) {
+        int antes = 0;
+        Nodo nodo = raiz;
+        while (nodo != null) {
+            int c = comparar(proyecto, nodo.proyecto);
+            if (c == 0) {
+                return antes + tamanio(nodo.izquierdo);
+            }
+            if (c < 0) {
+                nodo = nodo.izquierdo;
+            } else {
+                antes += tamanio(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cuenta los proyectos con nota mayor que {@code nota} (o mayor o igual si {@code incluida}).
+     */
+    int contarPorEncimaDe(double nota, boolean incluida) {
+        int cuenta = 0;
+        Nodo nodo = raiz;
+        while (nodo != null) {
+            int c = Double.compare(nodo.proyecto.getNota(), nota);
+            boolean cuentaNodo = c > 0 || (incluida && c == 0);
+            if (cuentaNodo) {
+                cuenta += tamanio(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            } else {
+                nodo = nodo.izquierdo;
+            }
+        }
+        return cuenta;
+    }
+
+    /**
+     * Devuelve, en orden de ranking, los proyectos cuyas posiciones están en [desde, hasta).
+     */
+    List<Proyecto> porPosiciones(int desde, int hasta) {
+        desde = Math.max(0, desde);
+        hasta = Math.min(hasta, tamanio());
+        List<Proyecto> resultado = new ArrayList<>(Math.max(0, hasta - desde));
+        if (desde < hasta) {
+            recolectar(raiz, 0, desde, hasta, resultado);
+        }
+        return resultado;
+    }
+
+    // --- Operaciones del treap ---
+
+    /** Recorre en orden solo los subárboles que se solapan con [desde, hasta). */
+    private static void recolectar(Nodo nodo, int base, int desde, int hasta, List<Proyecto> salida) {
+        while (nodo != null) {
+            int posicionNodo = base + tamanio(nodo.izquierdo);
+            if (desde < posicionNodo) {
+                recolectar(nodo.izquierdo, base, desde, hasta, salida);
+            }
+            if (posicionNodo >= hasta) {
+                return;
+            }
+            if (posicionNodo >= desde) {
+                salida.add(nodo.proyecto);
+            }
+            base = posicionNodo + 1;
+            nodo = nodo.derecho; // Iterativo por la derecha para limitar la recursión
+        }
+    }
+
+    /** Separa el árbol en los nodos menores que la clave y los mayores o iguales. */
+    private static Nodo[] dividir(Nodo nodo, Proyecto clave) {
+        if (nodo == null) {
+            return new Nodo[2];
+        }
+        if (comparar(nodo.proyecto, clave) < 0) {
+            Nodo[] partes = dividir(nodo.derecho, clave);
+            nodo.derecho = partes[0];
+            actualizar(nodo);
+            partes[0] = nodo;
+            return partes;
+        }
+        Nodo[] partes = dividir(nodo.izquierdo, clave);
+        nodo.izquierdo = partes[1];
+        actualizar(nodo);
+        partes[1] = nodo;
+        return partes;
+    }
+
+    /** Une dos árboles donde todas las claves de {@code a} son menores que las de {@code b}. */
+    private static Nodo unir(Nodo a, Nodo b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.prioridad > b.prioridad) {
+            a.derecho = unir(a.derecho, b);
+            actualizar(a);
+            return a;
+        }
+        b.izquierdo = unir(a, b.izquierdo);
+        actualizar(b);
+        return b;
+    }
+
+    private static Nodo quitar(Nodo nodo, Proyecto proyecto) {
+        if (nodo == null) {
+            return null;
+        }
+        int c = comparar(proyecto, nodo.proyecto);
+        if (c == 0) {
+            return unir(nodo.izquierdo, nodo.derecho);
+        }
+        if (c < 0) {
+            nodo.izquierdo = quitar(nodo.izquierdo, proyecto);
+        } else {
+            nodo.derecho = quitar(nodo.derecho, proyecto);
+        }
+        actualizar(nodo);
+        return nodo;
+    }
+
+    private static void actualizar(Nodo nodo) {
+        nodo.tamanio = 1 + tamanio(nodo.izquierdo) + tamanio(nodo.derecho);
+    }
+
+    private static int tamanio(Nodo nodo) {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.controller;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Árbol de Fenwick sobre las ranuras de un almacén: guarda un 1 por cada ranura ocupada
+ * y traduce entre ranuras y posiciones visibles (orden de inserción sin huecos) en O(log n).
+ */
+class PosicionesFenwick {
+    private int[] arbol = new int[1]; // Índices desde 1
+
+    /**
+     * Reconstruye el árbol en O(n) para la capacidad indicada.
+     * @param ocupada Indica si la ranura (desde 0) contiene un proyecto.
+     */
+    void reconstruir(int capacidad, int usadas, IntPredicate ocupada) {
+        arbol = new int[capacidad + 1];
+        for (int i = 1; i <= capacidad; i++) {
+            if (i <= usadas && ocupada.test(i - 1)) {
+                arbol[i] += 1;
+            }
+            int padre = i + (i & -i);
+            if (padre <= capacidad) {
+                arbol[padre] += arbol[i];
+            }
+        }
+    }
+
+    void sumar(int ranura, int delta) {
+        for (int i = ranura + 1; i < arbol.length; i += i & -i) {
+            arbol[i] += delta;
+        }
+    }
+
+    /** Número de ranuras ocupadas en [0, ranura), es decir, la posición visible de la ranura. */
+    int prefijo(int ranura) {
+        int suma = 0;
+        for (int i = ranura; i > 0; i -= i & -i) {
+            suma += arbol[i];
+        }
+        return suma;
+    }
+
+    /** Ranura que ocupa la posición visible indicada (búsqueda binaria sobre el árbol). */
+    int seleccionar(int posicion) {
+        int ranura = 0;
+        int restante = posicion + 1;
+        for (int paso = Integer.highestOneBit(arbol.length - 1); paso > 0; paso >>= 1) {
+            int siguiente = ranura + paso;
+            if (siguiente < arbol.length && arbol[siguiente] < restante) {
+                ranura = siguiente;
+                restante -= arbol[siguiente];
+            }
+        }
+        return ranura;
+    }
+}
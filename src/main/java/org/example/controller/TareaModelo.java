@@ -0,0 +1,67 @@
+package org.example.controller;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Trabajo sobre el modelo que se ejecuta fuera del Event Dispatch Thread.
+ * El resultado (o el error) se entrega en el EDT una sola vez, al terminar.
+ * @param <T> Tipo del resultado.
+ */
+public class TareaModelo<T> extends SwingWorker<T, Void> {
+
+    /**
+     * Cuerpo de la tarea. Recibe la propia tarea para informar progreso y consultar cancelación.
+     */
+    @FunctionalInterface
+    public interface Trabajo<T> {
+        T ejecutar(TareaModelo<T> tarea) throws Exception;
+    }
+
+    private final Trabajo<T> trabajo;
+    private final Consumer<T> alTerminar;
+    private final Consumer<Throwable> alFallar;
+    private final Runnable alCancelar;
+
+    /**
+     * @param trabajo Se ejecuta en segundo plano.
+     * @param alTerminar Se ejecuta en el EDT con el resultado.
+     * @param alFallar Se ejecuta en el EDT con la excepción lanzada por el trabajo.
+     * @param alCancelar Se ejecuta en el EDT si la tarea se canceló.
+     */
+    public TareaModelo(Trabajo<T> trabajo, Consumer<T> alTerminar, Consumer<Throwable> alFallar, Runnable alCancelar) {
+        this.trabajo = trabajo;
+        this.alTerminar = alTerminar;
+        this.alFallar = alFallar;
+        this.alCancelar = alCancelar;
+    }
+
+    /**
+     * Informa del avance (0-100); la vista lo recibe como propiedad "progress".
+     */
+    public void informarProgreso(int porcentaje) {
+        setProgress(Math.max(0, Math.min(100, porcentaje)));
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return trabajo.ejecutar(this);
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            alCancelar.run();
+            return;
+        }
+        try {
+            alTerminar.accept(get());
+        } catch (ExecutionException e) {
+            alFallar.accept(e.getCause());
+        } catch (CancellationException | InterruptedException e) {
+            alCancelar.run();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package org.example.controller;
+
+import org.example.model.Proyecto;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Copia de la lista de proyectos, en orden de inserción, de la que se pueden sacar
+ * instantáneas inmutables en O(1). Es un trie de 32 hijos por nodo (como los vectores
+ * persistentes de Clojure o Scala) en el que cada nodo cuenta sus proyectos vivos:
+ * <ul>
+ *   <li>Agregar ocupa la siguiente ranura; eliminar deja la ranura a null y descuenta el
+ *       proyecto en el camino desde la raíz, así que las posiciones visibles se localizan
+ *       bajando por los contadores en O(log<sub>32</sub> n).</li>
+ *   <li>Una instantánea es solo la raíz actual. Los nodos creados desde la última
+ *       instantánea pertenecen a la «edición» en curso y se modifican sin copiarlos; los
+ *       compartidos con alguna instantánea se copian (solo el camino hasta la hoja).</li>
+ *   <li>Con muchos huecos se reconstruye el trie sin ellos (coste amortizado sobre las
+ *       eliminaciones); las instantáneas previas conservan el trie anterior.</li>
+ * </ul>
+ * Las escrituras no son seguras entre hilos (GestorProyectos las hace con el cerrojo de
+ * escritura); {@link #instantanea()} se puede llamar con el de lectura.
+ */
+class VectorPersistente {
+    private static final int BITS = 5;
+    private static final int ANCHO = 1 << BITS;
+    private static final int MASCARA = ANCHO - 1;
+    private static final int HUECOS_MINIMOS_PARA_COMPACTAR = 1024;
+
+    private static final class Nodo {
+        final Object edicion;
+        final Object[] hijos; // Nodo en los internos, Proyecto (o null si se eliminó) en las hojas
+        int vivos;
+
+        Nodo(Object edicion, Object[] hijos, int vivos) {
+            this.edicion = edicion;
+            this.hijos = hijos;
+            this.vivos = vivos;
+        }
+    }
+
+    private Object edicion = new Object();
+    private volatile boolean compartido; // Hay una instantánea de la raíz actual
+    private Nodo raiz;
+    private int desplazamiento;           // Bits a desplazar en la raíz (0 = la raíz es una hoja)
+    private int usadas;                   // Ranuras ocupadas, incluidos los huecos
+    private int tamanio;
+
+    VectorPersistente() {
+        limpiar();
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    void agregar(Proyecto proyecto) {
+        editar();
+        if (usadas == 1 << (desplazamiento + BITS)) {
+            Object[] hijos = new Object[ANCHO];
+            hijos[0] = raiz;
+            raiz = new Nodo(edicion, hijos, raiz.vivos);
+            desplazamiento += BITS;
+        }
+        int ranura = usadas++;
+        raiz = editable(raiz);
+        Nodo nodo = raiz;
+        for (int nivel = desplazamiento; nivel > 0; nivel -= BITS) {
+            nodo.vivos++;
+            int i = (ranura >>> nivel) & MASCARA;
+            Nodo hijo = (Nodo) nodo.hijos[i];
+            hijo = hijo == null ? new Nodo(edicion, new Object[ANCHO], 0) : editable(hijo);
+            nodo.hijos[i] = hijo;
+            nodo = hijo;
+        }
+        nodo.vivos++;
+        nodo.hijos[ranura & MASCARA] = proyecto;
+        tamanio++;
+    }
+
+    /**
+     * Elimina el proyecto que ocupa la posición visible indicada.
+     */
+    void eliminar(int posicion) {
+        if (posicion < 0 || posicion >= tamanio) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + ", tamaño " + tamanio);
+        }
+        editar();
+        raiz = editable(raiz);
+        Nodo nodo = raiz;
+        int restante = posicion;
+        for (int nivel = desplazamiento; nivel > 0; nivel -= BITS) {
+            nodo.vivos--;
+            int i = 0;
+            while (((Nodo) nodo.hijos[i]).vivos <= restante) {
+                restante -= ((Nodo) nodo.hijos[i]).vivos;
+                i++;
+            }
+            Nodo hijo = editable((Nodo) nodo.hijos[i]);
+            nodo.hijos[i] = hijo;
+            nodo = hijo;
+        }
+        nodo.vivos--;
+        int i = indiceEnHoja(nodo, restante);
+        nodo.hijos[i] = null;
+        tamanio--;
+        int huecos = usadas - tamanio;
+        if (huecos >= HUECOS_MINIMOS_PARA_COMPACTAR && huecos * 2 > usadas) {
+            compactar();
+        }
+    }
+
+    /**
+     * Vacía el vector en O(1); las instantáneas ya tomadas no cambian.
+     */
+    void limpiar() {
+        edicion = new Object();
+        compartido = false;
+        raiz = new Nodo(edicion, new Object[ANCHO], 0);
+        desplazamiento = 0;
+        usadas = 0;
+        tamanio = 0;
+    }
+
+    /**
+     * Lista inmutable con el contenido actual, en O(1). Puede llamarse a la vez desde
+     * varios lectores mientras no haya escrituras en curso.
+     */
+    Instantanea instantanea() {
+        compartido = true; // La siguiente escritura copiará los nodos que toque
+        return new Instantanea(raiz, desplazamiento, usadas, tamanio);
+    }
+
+    // --- Edición de nodos ---
+
+    // Tras una instantánea, todos los nodos existentes pasan a ser compartidos
+    private void editar() {
+        if (compartido) {
+            edicion = new Object();
+            compartido = false;
+        }
+    }
+
+    private Nodo editable(Nodo nodo) {
+        return nodo.edicion == edicion ? nodo : new Nodo(edicion, nodo.hijos.clone(), nodo.vivos);
+    }
+
+    private void compactar() {
+        Instantanea actual = new Instantanea(raiz, desplazamiento, usadas, tamanio);
+        limpiar();
+        for (Proyecto proyecto : actual) {
+            agregar(proyecto);
+        }
+    }
+
+    private static int indiceEnHoja(Nodo hoja, int restante) {
+        for (int i = 0; ; i++) {
+            if (hoja.hijos[i] != null && restante-- == 0) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Contenido del vector en un instante. Leer por posición cuesta O(log<sub>32</sub> n)
+     * y recorrerla, O(1) por proyecto; el spliterator se divide por ranuras para los
+     * streams paralelos.
+     */
+    static final class Instantanea extends AbstractList<Proyecto> implements RandomAccess {
+        private final Nodo raiz;
+        private final int desplazamiento;
+        private final int usadas;
+        private final int tamanio;
+
+        private Instantanea(Nodo raiz, int desplazamiento, int usadas, int tamanio) {
+            this.raiz = raiz;
+            this.desplazamiento = desplazamiento;
+            this.usadas = usadas;
+            this.tamanio = tamanio;
+        }
+
+        @Override
+        public Proyecto get(int index) {
+            if (index < 0 || index >= tamanio) {
+                throw new IndexOutOfBoundsException("Posición " + index + ", tamaño " + tamanio);
+            }
+            if (usadas == tamanio) {
+                return (Proyecto) hoja(index)[index & MASCARA]; // Sin huecos: posición = ranura
+            }
+            Nodo nodo = raiz;
+            int restante = index;
+            for (int nivel = desplazamiento; nivel > 0; nivel -= BITS) {
+                int i = 0;
+                while (((Nodo) nodo.hijos[i]).vivos <= restante) {
+                    restante -= ((Nodo) nodo.hijos[i]).vivos;
+                    i++;
+                }
+                nodo = (Nodo) nodo.hijos[i];
+            }
+            return (Proyecto) nodo.hijos[indiceEnHoja(nodo, restante)];
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+
+        @Override
+        public Iterator<Proyecto> iterator() {
+            return new Recorrido(0, usadas);
+        }
+
+        @Override
+        public Spliterator<Proyecto> spliterator() {
+            return new Recorrido(0, usadas);
+        }
+
+        private Object[] hoja(int ranura) {
+            Nodo nodo = raiz;
+            for (int nivel = desplazamiento; nivel > 0; nivel -= BITS) {
+                nodo = (Nodo) nodo.hijos[(ranura >>> nivel) & MASCARA];
+            }
+            return nodo.hijos;
+        }
+
+        /** Recorre las ranuras [desde, hasta) hoja a hoja, saltándose los huecos. */
+        private final class Recorrido implements Iterator<Proyecto>, Spliterator<Proyecto> {
+            private int ranura;
+            private final int hasta;
+            private Object[] hoja;
+            private Proyecto siguiente;
+
+            Recorrido(int desde, int hasta) {
+                this.ranura = desde;
+                this.hasta = hasta;
+            }
+
+            private Proyecto avanzar() {
+                while (ranura < hasta) {
+                    if (hoja == null || (ranura & MASCARA) == 0) {
+                        hoja = hoja(ranura);
+                    }
+                    Proyecto proyecto = (Proyecto) hoja[ranura++ & MASCARA];
+                    if (proyecto != null) {
+                        return proyecto;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (siguiente == null) {
+                    siguiente = avanzar();
+                }
+                return siguiente != null;
+            }
+
+            @Override
+            public Proyecto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Proyecto proyecto = siguiente;
+                siguiente = null;
+                return proyecto;
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Proyecto> accion) {
+                Proyecto proyecto = avanzar();
+                if (proyecto == null) {
+                    return false;
+                }
+                accion.accept(proyecto);
+                return true;
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super Proyecto> accion) {
+                if (siguiente != null) {
+                    accion.accept(siguiente);
+                    siguiente = null;
+                }
+                for (Proyecto proyecto = avanzar(); proyecto != null; proyecto = avanzar()) {
+                    accion.accept(proyecto);
+                }
+            }
+
+            @Override
+            public Spliterator<Proyecto> trySplit() {
+                int mitad = (ranura + hasta) >>> 1 & ~MASCARA; // Corte en un límite de hoja
+                if (mitad <= ranura) {
+                    return null;
+                }
+                Recorrido primera = new Recorrido(ranura, mitad);
+                ranura = mitad;
+                hoja = null;
+                return primera;
+            }
+
+            @Override
+            public long estimateSize() {
+                return hasta - ranura; // Exacto sin huecos; si los hay, una cota superior
+            }
+
+            @Override
+            public int characteristics() {
+                int base = ORDERED | IMMUTABLE | NONNULL;
+                return usadas == tamanio ? base | SIZED | SUBSIZED : base;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.informes;
+
+import org.example.model.Proyecto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Agregados parciales de un trozo de la lista de proyectos. Cada tarea del motor llena el
+ * suyo sin compartir nada y al final se combinan de dos en dos: todos los agregados
+ * (contadores, sumas, mínimos, máximos y el t-digest) se pueden unir en cualquier orden.
+ */
+class AcumuladorInforme {
+    private final Function<Proyecto, String> agrupacion; // null = sin grupos
+    private long cantidad;
+    private double suma;
+    private double minima = Double.NaN;
+    private double maxima = Double.NaN;
+    private final long[] porBanda = new long[BandaNota.values().length];
+    private final TDigest percentiles = new TDigest();
+    private final Map<String, Grupo> grupos = new HashMap<>();
+
+    AcumuladorInforme(Function<Proyecto, String> agrupacion) {
+        this.agrupacion = agrupacion;
+    }
+
+    void agregar(Proyecto proyecto) {
+        double nota = proyecto.getNota();
+        if (cantidad++ == 0) {
+            minima = nota;
+            maxima = nota;
+        } else {
+            minima = Math.min(minima, nota);
+            maxima = Math.max(maxima, nota);
+        }
+        suma += nota;
+        porBanda[BandaNota.de(nota).ordinal()]++;
+        percentiles.agregar(nota);
+        if (agrupacion != null) {
+            String grupo = agrupacion.apply(proyecto);
+            if (grupo != null) {
+                grupos.computeIfAbsent(grupo, g -> new Grupo()).agregar(nota);
+            }
+        }
+    }
+
+    /**
+     * Añade a este acumulador el contenido de otro.
+     * @return Este acumulador.
+     */
+    AcumuladorInforme combinar(AcumuladorInforme otro) {
+        if (otro.cantidad == 0) {
+            return this;
+        }
+        minima = cantidad == 0 ? otro.minima : Math.min(minima, otro.minima);
+        maxima = cantidad == 0 ? otro.maxima : Math.max(maxima, otro.maxima);
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        for (int i = 0; i < porBanda.length; i++) {
+            porBanda[i] += otro.porBanda[i];
+        }
+        percentiles.combinar(otro.percentiles);
+        otro.grupos.forEach((clave, grupo) -> grupos.merge(clave, grupo, Grupo::combinar));
+        return this;
+    }
+
+    InformeNotas terminar() {
+        Map<String, ResumenGrupo> resumenes = new HashMap<>();
+        grupos.forEach((clave, g) -> resumenes.put(clave,
+                new ResumenGrupo(clave, g.cantidad, g.suma, g.aprobados, g.minima, g.maxima)));
+        return new InformeNotas(cantidad, suma, minima, maxima, porBanda, percentiles, resumenes);
+    }
+
+    private static final class Grupo {
+        long cantidad;
+        double suma;
+        long aprobados;
+        double minima = Double.POSITIVE_INFINITY;
+        double maxima = Double.NEGATIVE_INFINITY;
+
+        void agregar(double nota) {
+            cantidad++;
+            suma += nota;
+            if (nota >= BandaNota.NOTA_APROBADO) {
+                aprobados++;
+            }
+            minima = Math.min(minima, nota);
+            maxima = Math.max(maxima, nota);
+        }
+
+        Grupo combinar(Grupo otro) {
+            cantidad += otro.cantidad;
+            suma += otro.suma;
+            aprobados += otro.aprobados;
+            minima = Math.min(minima, otro.minima);
+            maxima = Math.max(maxima, otro.maxima);
+            return this;
+        }
+    }
+}
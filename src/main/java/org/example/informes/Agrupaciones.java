@@ -0,0 +1,50 @@
+package org.example.informes;
+
+import org.example.model.Proyecto;
+
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Criterios de agrupación para {@link MotorInformes#generar(Function)}: cada uno devuelve
+ * el grupo de un proyecto a partir de su nombre, o null para dejarlo fuera de los grupos.
+ */
+public final class Agrupaciones {
+    /** Grupo de los proyectos cuyo nombre no contiene un código de asignatura. */
+    public static final String SIN_CODIGO = "(sin código)";
+
+    // De 2 a 4 letras mayúsculas y de 2 a 4 cifras, con guion o espacio opcional: MAT101, INF-201, FIS 110
+    private static final Pattern CODIGO_ASIGNATURA =
+            Pattern.compile("(?<![\\p{L}\\d])(\\p{Lu}{2,4})[- ]?(\\d{2,4})(?![\\p{L}\\d])");
+
+    private Agrupaciones() {
+    }
+
+    /**
+     * Agrupa por los primeros caracteres de la clave del nombre (sin distinguir mayúsculas,
+     * tildes ni espacios repetidos, ver {@link Proyecto#getClave()}).
+     * @throws IllegalArgumentException Si la longitud no es positiva.
+     */
+    public static Function<Proyecto, String> porPrefijo(int longitud) {
+        if (longitud <= 0) {
+            throw new IllegalArgumentException("La longitud del prefijo debe ser mayor que 0.");
+        }
+        return proyecto -> {
+            String clave = proyecto.getClave();
+            return clave.length() <= longitud ? clave : clave.substring(0, longitud).trim();
+        };
+    }
+
+    /**
+     * Agrupa por el primer código de asignatura que aparece en el nombre ("MAT101 Álgebra",
+     * "Práctica 2 [INF-201]"), normalizado sin separador: MAT101, INF201. Los nombres sin
+     * código van al grupo {@link #SIN_CODIGO}.
+     */
+    public static Function<Proyecto, String> porCodigoAsignatura() {
+        return proyecto -> {
+            Matcher codigo = CODIGO_ASIGNATURA.matcher(proyecto.getNombre());
+            return codigo.find() ? codigo.group(1) + codigo.group(2) : SIN_CODIGO;
+        };
+    }
+}
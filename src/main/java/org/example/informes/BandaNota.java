@@ -0,0 +1,37 @@
+package org.example.informes;
+
+/**
+ * Calificación por tramos de nota: suspenso por debajo de 5, aprobado desde 5, notable desde 7
+ * y sobresaliente desde 9 (el 10 incluido).
+ */
+public enum BandaNota {
+    SUSPENSO(0),
+    APROBADO(5),
+    NOTABLE(7),
+    SOBRESALIENTE(9);
+
+    /** Nota mínima para aprobar. */
+    public static final double NOTA_APROBADO = 5.0;
+
+    private static final BandaNota[] BANDAS = values();
+
+    private final double desde;
+
+    BandaNota(double desde) {
+        this.desde = desde;
+    }
+
+    /** Nota mínima de la banda (incluida). */
+    public double getDesde() {
+        return desde;
+    }
+
+    public static BandaNota de(double nota) {
+        for (int i = BANDAS.length - 1; i > 0; i--) {
+            if (nota >= BANDAS[i].desde) {
+                return BANDAS[i];
+            }
+        }
+        return SUSPENSO;
+    }
+}
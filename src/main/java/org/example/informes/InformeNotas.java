@@ -0,0 +1,124 @@
+package org.example.informes;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Informe de notas de un conjunto de proyectos: distribución por bandas, aprobados y
+ * suspensos, percentiles (aproximados con un {@link TDigest}) y, si se pidió una agrupación,
+ * los mismos agregados por grupo. Es inmutable y seguro entre hilos.
+ */
+public class InformeNotas {
+    private final long cantidad;
+    private final double suma;
+    private final double minima;
+    private final double maxima;
+    private final Map<BandaNota, Long> distribucion;
+    private final TDigest percentiles; // Ya comprimido: consultarlo no lo modifica
+    private final SortedMap<String, ResumenGrupo> grupos;
+
+    InformeNotas(long cantidad, double suma, double minima, double maxima, long[] porBanda,
+                 TDigest percentiles, Map<String, ResumenGrupo> grupos) {
+        this.cantidad = cantidad;
+        this.suma = suma;
+        this.minima = minima;
+        this.maxima = maxima;
+        Map<BandaNota, Long> distribucion = new EnumMap<>(BandaNota.class);
+        for (BandaNota banda : BandaNota.values()) {
+            distribucion.put(banda, porBanda[banda.ordinal()]);
+        }
+        this.distribucion = Collections.unmodifiableMap(distribucion);
+        percentiles.getCentroides(); // Fusiona lo pendiente: desde aquí el digest solo se lee
+        this.percentiles = percentiles;
+        this.grupos = Collections.unmodifiableSortedMap(new TreeMap<>(grupos));
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /** Media de las notas, o NaN si no hay proyectos. */
+    public double getMedia() {
+        return cantidad == 0 ? Double.NaN : suma / cantidad;
+    }
+
+    /** Nota mínima, o NaN si no hay proyectos. */
+    public double getMinima() {
+        return minima;
+    }
+
+    /** Nota máxima, o NaN si no hay proyectos. */
+    public double getMaxima() {
+        return maxima;
+    }
+
+    /**
+     * Número de proyectos en cada banda, en orden de menor a mayor nota.
+     */
+    public Map<BandaNota, Long> getDistribucion() {
+        return distribucion;
+    }
+
+    public long getCantidad(BandaNota banda) {
+        return distribucion.get(banda);
+    }
+
+    public long getAprobados() {
+        return cantidad - getSuspensos();
+    }
+
+    public long getSuspensos() {
+        return distribucion.get(BandaNota.SUSPENSO);
+    }
+
+    /** Porcentaje (0-100) de aprobados, o NaN si no hay proyectos. */
+    public double getPorcentajeAprobados() {
+        return cantidad == 0 ? Double.NaN : 100.0 * getAprobados() / cantidad;
+    }
+
+    /**
+     * Nota por debajo de la cual queda el porcentaje indicado de proyectos (aproximada: el
+     * error es de centésimas salvo con muy pocos proyectos).
+     * @param percentil Entre 0 y 100 (50 = mediana).
+     * @return La nota, o NaN si no hay proyectos.
+     * @throws IllegalArgumentException Si el percentil está fuera de [0, 100].
+     */
+    public double getPercentil(double percentil) {
+        if (!(percentil >= 0 && percentil <= 100)) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100.");
+        }
+        return percentiles.cuantil(percentil / 100);
+    }
+
+    public double getMediana() {
+        return getPercentil(50);
+    }
+
+    /**
+     * Agregados por grupo, en orden alfabético del grupo; vacío si no se pidió agrupación.
+     */
+    public SortedMap<String, ResumenGrupo> getGrupos() {
+        return grupos;
+    }
+
+    @Override
+    public String toString() {
+        if (cantidad == 0) {
+            return "Sin proyectos.";
+        }
+        StringBuilder texto = new StringBuilder(String.format(
+                "%d proyectos | Media: %.2f | Aprobados: %.1f%% | P25/P50/P75/P90: %.2f/%.2f/%.2f/%.2f |",
+                cantidad, getMedia(), getPorcentajeAprobados(),
+                getPercentil(25), getMediana(), getPercentil(75), getPercentil(90)));
+        for (Map.Entry<BandaNota, Long> banda : distribucion.entrySet()) {
+            texto.append(' ').append(banda.getKey()).append(": ").append(banda.getValue());
+        }
+        if (!grupos.isEmpty()) {
+            texto.append(" | Grupos: ").append(grupos.size());
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.informes;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Genera informes de notas en paralelo con fork-join. El spliterator del gestor se divide
+ * (por hojas de la instantánea o por bloques del almacén columnar) hasta trozos de unos
+ * {@value #PROYECTOS_POR_TAREA} proyectos; cada tarea los recorre en serie con su propio
+ * {@link AcumuladorInforme} y los acumuladores se combinan al volver. Como las tareas no
+ * comparten estado ni cerrojos, el tiempo baja casi linealmente con los núcleos.
+ * <p>
+ * El informe corresponde a una instantánea de la lista (con almacenamiento columnar, a una
+ * lectura por bloques: las escrituras concurrentes pueden verse solo en parte).
+ */
+public class MotorInformes {
+    private static final int PROYECTOS_POR_TAREA = 16 * 1024;
+
+    private final GestorProyectos gestor;
+    private final ForkJoinPool pool;
+
+    /**
+     * Motor que usa el pool común de fork-join (un hilo por núcleo).
+     */
+    public MotorInformes(GestorProyectos gestor) {
+        this(gestor, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Pool en el que se ejecutan las tareas; su paralelismo fija los hilos usados.
+     */
+    public MotorInformes(GestorProyectos gestor, ForkJoinPool pool) {
+        this.gestor = gestor;
+        this.pool = pool;
+    }
+
+    /**
+     * Informe de todos los proyectos, sin grupos.
+     */
+    public InformeNotas generar() {
+        return generar(null);
+    }
+
+    /**
+     * Informe de todos los proyectos con los agregados por grupo.
+     * @param agrupacion Grupo de cada proyecto (ver {@link Agrupaciones}); null para no agrupar.
+     *                   Se llama desde varios hilos a la vez.
+     */
+    public InformeNotas generar(Function<Proyecto, String> agrupacion) {
+        return pool.invoke(new TareaInforme(gestor.spliterator(), agrupacion)).terminar();
+    }
+
+    private static final class TareaInforme extends RecursiveTask<AcumuladorInforme> {
+        private final Spliterator<Proyecto> proyectos;
+        private final Function<Proyecto, String> agrupacion;
+
+        TareaInforme(Spliterator<Proyecto> proyectos, Function<Proyecto, String> agrupacion) {
+            this.proyectos = proyectos;
+            this.agrupacion = agrupacion;
+        }
+
+        @Override
+        protected AcumuladorInforme compute() {
+            // Se bifurcan las mitades izquierdas y esta tarea se queda con la última parte
+            List<TareaInforme> bifurcadas = new ArrayList<>();
+            Spliterator<Proyecto> parte;
+            while (proyectos.estimateSize() > PROYECTOS_POR_TAREA && (parte = proyectos.trySplit()) != null) {
+                TareaInforme tarea = new TareaInforme(parte, agrupacion);
+                tarea.fork();
+                bifurcadas.add(tarea);
+            }
+            AcumuladorInforme acumulador = new AcumuladorInforme(agrupacion);
+            proyectos.forEachRemaining(acumulador::agregar);
+            for (int i = bifurcadas.size() - 1; i >= 0; i--) {
+                acumulador.combinar(bifurcadas.get(i).join());
+            }
+            return acumulador;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.informes;
+
+/**
+ * Agregados de las notas de un grupo de proyectos (mismo prefijo, misma asignatura...).
+ */
+public class ResumenGrupo {
+    private final String grupo;
+    private final long cantidad;
+    private final double suma;
+    private final long aprobados;
+    private final double minima;
+    private final double maxima;
+
+    ResumenGrupo(String grupo, long cantidad, double suma, long aprobados, double minima, double maxima) {
+        this.grupo = grupo;
+        this.cantidad = cantidad;
+        this.suma = suma;
+        this.aprobados = aprobados;
+        this.minima = minima;
+        this.maxima = maxima;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public double getMedia() {
+        return suma / cantidad;
+    }
+
+    public long getAprobados() {
+        return aprobados;
+    }
+
+    public long getSuspensos() {
+        return cantidad - aprobados;
+    }
+
+    /** Porcentaje (0-100) de proyectos con nota de aprobado. */
+    public double getPorcentajeAprobados() {
+        return 100.0 * aprobados / cantidad;
+    }
+
+    public double getMinima() {
+        return minima;
+    }
+
+    public double getMaxima() {
+        return maxima;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d proyectos, media %.2f, aprobados %.1f%% (mín %.2f, máx %.2f)",
+                grupo, cantidad, getMedia(), getPorcentajeAprobados(), minima, maxima);
+    }
+}
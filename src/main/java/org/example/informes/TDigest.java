@@ -0,0 +1,202 @@
+package org.example.informes;
+
+import java.util.Arrays;
+
+/**
+ * t-digest con fusión (Dunning y Ertl): resume una distribución en unos pocos cientos de
+ * centroides (media y peso) ordenados por media, pequeños en las colas y grandes en el centro,
+ * de modo que los percentiles tienen un error pequeño con memoria constante. Dos digest se
+ * combinan sin volver a ver los datos, así que cada parte de un cálculo en paralelo puede
+ * tener el suyo y unirlos al final.
+ * <p>
+ * Los valores nuevos se acumulan en un buffer y se fusionan con los centroides por lotes
+ * (ordenar el buffer y recorrer ambas listas a la vez). No es seguro entre hilos.
+ */
+public class TDigest {
+    public static final double COMPRESION_POR_DEFECTO = 100;
+
+    private final double compresion;
+    private double[] medias = new double[0];
+    private double[] pesos = new double[0];
+    private int centroides;
+    private final double[] pendientes; // Valores aún sin fusionar, cada uno con peso 1
+    private int enPendientes;
+    private long cantidad;
+    private double minimo = Double.NaN;
+    private double maximo = Double.NaN;
+
+    public TDigest() {
+        this(COMPRESION_POR_DEFECTO);
+    }
+
+    /**
+     * @param compresion Cuanto mayor, más centroides (como mucho unos compresion / 2) y más precisión.
+     * @throws IllegalArgumentException Si la compresión es menor que 10.
+     */
+    public TDigest(double compresion) {
+        if (compresion < 10) {
+            throw new IllegalArgumentException("La compresión debe ser al menos 10.");
+        }
+        this.compresion = compresion;
+        this.pendientes = new double[(int) (compresion * 8)];
+    }
+
+    public void agregar(double valor) {
+        if (enPendientes == pendientes.length) {
+            comprimir();
+        }
+        pendientes[enPendientes++] = valor;
+        if (cantidad++ == 0) {
+            minimo = valor;
+            maximo = valor;
+        } else {
+            minimo = Math.min(minimo, valor);
+            maximo = Math.max(maximo, valor);
+        }
+    }
+
+    /**
+     * Añade a este digest todos los valores resumidos en otro, que no cambia de contenido.
+     */
+    public void combinar(TDigest otro) {
+        otro.comprimir();
+        if (otro.cantidad == 0) {
+            return;
+        }
+        comprimir();
+        fusionar(otro.medias, otro.pesos, otro.centroides);
+        minimo = cantidad == 0 ? otro.minimo : Math.min(minimo, otro.minimo);
+        maximo = cantidad == 0 ? otro.maximo : Math.max(maximo, otro.maximo);
+        cantidad += otro.cantidad;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Valor aproximado por debajo del cual queda la fracción q de los datos.
+     * @param q Cuantil en [0, 1] (0,5 = mediana).
+     * @return El cuantil, o NaN si el digest está vacío.
+     * @throws IllegalArgumentException Si q está fuera de [0, 1].
+     */
+    public double cuantil(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("El cuantil debe estar entre 0 y 1.");
+        }
+        comprimir();
+        if (cantidad == 0) {
+            return Double.NaN;
+        }
+        if (centroides == 1) {
+            return medias[0];
+        }
+        // Cada centroide representa su peso repartido alrededor de su media: se interpola
+        // entre los centros de centroides vecinos (y con el mínimo y el máximo en los extremos)
+        double indice = q * cantidad;
+        double centro = pesos[0] / 2;
+        if (indice <= centro) {
+            return interpolar(minimo, medias[0], indice / centro);
+        }
+        for (int i = 0; i < centroides - 1; i++) {
+            double paso = (pesos[i] + pesos[i + 1]) / 2;
+            if (indice <= centro + paso) {
+                return interpolar(medias[i], medias[i + 1], (indice - centro) / paso);
+            }
+            centro += paso;
+        }
+        double ultimo = pesos[centroides - 1] / 2;
+        return interpolar(medias[centroides - 1], maximo, Math.min(1, (indice - centro) / ultimo));
+    }
+
+    /**
+     * Número de centroides tras fusionar los valores pendientes; sirve para comprobar la memoria.
+     */
+    public int getCentroides() {
+        comprimir();
+        return centroides;
+    }
+
+    // --- Fusión ---
+
+    private void comprimir() {
+        if (enPendientes == 0) {
+            return;
+        }
+        Arrays.sort(pendientes, 0, enPendientes);
+        fusionar(pendientes, null, enPendientes);
+        enPendientes = 0;
+    }
+
+    /**
+     * Recorre a la vez los centroides actuales y los nuevos (ambos ordenados) y junta cada
+     * uno con el anterior mientras el centroide resultante no supere el tamaño que la función
+     * de escala permite en su cuantil.
+     * @param pesosNuevos Pesos de los nuevos, o null si todos pesan 1.
+     */
+    private void fusionar(double[] mediasNuevas, double[] pesosNuevos, int nuevos) {
+        double total = 0;
+        for (int i = 0; i < centroides; i++) {
+            total += pesos[i];
+        }
+        for (int i = 0; i < nuevos; i++) {
+            total += pesosNuevos == null ? 1 : pesosNuevos[i];
+        }
+        double[] mediasFusion = new double[centroides + nuevos];
+        double[] pesosFusion = new double[centroides + nuevos];
+        int fusionados = 0;
+        double cerrado = 0; // Peso de los centroides ya terminados
+        double limite = total * limiteCuantil(0);
+        double media = 0;
+        double peso = 0;
+        int i = 0;
+        int j = 0;
+        while (i < centroides || j < nuevos) {
+            double m;
+            double w;
+            if (j == nuevos || (i < centroides && medias[i] <= mediasNuevas[j])) {
+                m = medias[i];
+                w = pesos[i++];
+            } else {
+                m = mediasNuevas[j];
+                w = pesosNuevos == null ? 1 : pesosNuevos[j];
+                j++;
+            }
+            if (peso > 0 && cerrado + peso + w <= limite) {
+                peso += w;
+                media += (m - media) * w / peso;
+            } else {
+                if (peso > 0) {
+                    mediasFusion[fusionados] = media;
+                    pesosFusion[fusionados++] = peso;
+                    cerrado += peso;
+                    limite = total * limiteCuantil(cerrado / total);
+                }
+                media = m;
+                peso = w;
+            }
+        }
+        mediasFusion[fusionados] = media;
+        pesosFusion[fusionados++] = peso;
+        medias = mediasFusion;
+        pesos = pesosFusion;
+        centroides = fusionados;
+    }
+
+    /**
+     * Cuantil hasta el que puede llegar un centroide que empieza en q, con la función de escala
+     * k(q) = compresión / 2π · asin(2q − 1): cada centroide abarca como mucho una unidad de k.
+     */
+    private double limiteCuantil(double q) {
+        double k = compresion / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compresion / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / compresion) + 1) / 2;
+    }
+
+    private double interpolar(double desde, double hasta, double fraccion) {
+        double valor = desde + (hasta - desde) * fraccion;
+        return Math.max(minimo, Math.min(maximo, valor));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias log-lineal (al estilo HdrHistogram) sin cerrojos.
+ * <p>
+ * Cada potencia de dos se divide en {@value #SUBCUBETAS} cubetas lineales, así que el error
+ * relativo de cualquier percentil es menor del 7 % con un tamaño fijo de unos 8 KB, cubriendo
+ * desde 1 ns hasta el máximo de un long. Registrar un valor es calcular una cubeta con
+ * operaciones de bits y un incremento atómico.
+ */
+public class HistogramaLatencias {
+    private static final int BITS_SUBCUBETA = 4;
+    static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA + 1) * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder cuenta = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Anota una duración en nanosegundos (los valores negativos cuentan como 0).
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(cubeta(valor));
+        cuenta.increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    public long getCuenta() {
+        return cuenta.sum();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    public double getMedia() {
+        long n = cuenta.sum();
+        return n == 0 ? 0 : (double) suma.sum() / n;
+    }
+
+    /**
+     * Valor (en nanosegundos) por debajo del cual queda la fracción {@code percentil} de las muestras.
+     * @param percentil Entre 0 y 100.
+     * @return Límite superior de la cubeta que contiene el percentil, o 0 si no hay muestras.
+     */
+    public long percentil(double percentil) {
+        long total = 0;
+        long[] copia = new long[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentil)) / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        cuenta.reset();
+        suma.reset();
+        maximo.reset();
+    }
+
+    /** Los valores menores que SUBCUBETAS van a su propia cubeta; el resto, por exponente y 4 bits siguientes. */
+    static int cubeta(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + sub;
+    }
+
+    static long limiteSuperior(int cubeta) {
+        if (cubeta < SUBCUBETAS) {
+            return cubeta;
+        }
+        int exponente = cubeta / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        long sub = cubeta % SUBCUBETAS;
+        long inicio = (SUBCUBETAS + sub) << (exponente - BITS_SUBCUBETA);
+        return inicio + (1L << (exponente - BITS_SUBCUBETA)) - 1;
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.metricas;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contadores y latencias por operación de un GestorProyectos y de su ventana.
+ * <p>
+ * Uso: {@code long inicio = metricas.iniciar(); ... metricas.registrar(Operacion.AGREGAR, inicio);}.
+ * Con las métricas activas cuesta dos lecturas de {@code System.nanoTime()} y unos incrementos
+ * atómicos por operación; las que superan el umbral generan además un evento JFR.
+ * Desactivadas ({@link #setActiva(boolean)} o {@code -Dproyectos.metricas=false}) no se lee
+ * el reloj ni se toca ningún contador.
+ */
+public class MetricasProyectos implements MetricasProyectosMXBean {
+    public static final String NOMBRE_JMX = "org.example:type=GestorProyectos,name=Metricas";
+    /** Valor de {@link #iniciar()} cuando las métricas están desactivadas. */
+    public static final long SIN_MEDIR = Long.MIN_VALUE;
+    private static final long UMBRAL_LENTO_POR_DEFECTO_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long UMBRAL_REFRESCO_NS = TimeUnit.MILLISECONDS.toNanos(16); // Un fotograma a 60 Hz
+
+    /**
+     * Operaciones medidas. REFRESCAR es trabajo de la vista en el EDT.
+     */
+    public enum Operacion {
+        AGREGAR, BUSCAR, ELIMINAR, ELIMINAR_LOTE, LIMPIAR, IMPORTAR_LOTE, CONSULTAR, REFRESCAR, DESHACER, REHACER
+    }
+
+    private final Map<Operacion, HistogramaLatencias> histogramas = new EnumMap<>(Operacion.class);
+    private volatile boolean activa = !"false".equalsIgnoreCase(System.getProperty("proyectos.metricas"));
+    private volatile long umbralLentoNanos = UMBRAL_LENTO_POR_DEFECTO_NS;
+
+    public MetricasProyectos() {
+        for (Operacion operacion : Operacion.values()) {
+            histogramas.put(operacion, new HistogramaLatencias());
+        }
+    }
+
+    /**
+     * @return Marca de tiempo para {@link #registrar}, o {@link #SIN_MEDIR} si las métricas están desactivadas.
+     */
+    public long iniciar() {
+        return activa ? System.nanoTime() : SIN_MEDIR;
+    }
+
+    /**
+     * Anota la duración de una operación empezada con {@link #iniciar()}.
+     */
+    public void registrar(Operacion operacion, long inicio) {
+        if (inicio == SIN_MEDIR) {
+            return;
+        }
+        if (operacion == Operacion.REFRESCAR) {
+            registrarRefresco(inicio, -1);
+            return;
+        }
+        long duracion = System.nanoTime() - inicio;
+        histogramas.get(operacion).registrar(duracion);
+        if (duracion > umbralLentoNanos) {
+            OperacionLentaEvento evento = new OperacionLentaEvento();
+            if (evento.isEnabled()) {
+                evento.operacion = operacion.name();
+                evento.duracion = duracion;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Anota la duración de un refresco de la vista empezado con {@link #iniciar()}. Si no cabe
+     * en un fotograma, el evento JFR lleva las filas que tenía la tabla, para distinguir un
+     * refresco lento por tamaño de uno lento por otra causa.
+     * @param filas Filas de la tabla al terminar, o -1 si no se conocen.
+     */
+    public void registrarRefresco(long inicio, int filas) {
+        if (inicio == SIN_MEDIR) {
+            return;
+        }
+        long duracion = System.nanoTime() - inicio;
+        histogramas.get(Operacion.REFRESCAR).registrar(duracion);
+        if (duracion > UMBRAL_REFRESCO_NS) {
+            RefrescoLentoEvento evento = new RefrescoLentoEvento();
+            if (evento.isEnabled()) {
+                evento.filas = filas;
+                evento.duracion = duracion;
+                evento.commit();
+            }
+        }
+    }
+
+    public HistogramaLatencias getHistograma(Operacion operacion) {
+        return histogramas.get(operacion);
+    }
+
+    @Override
+    public boolean isActiva() {
+        return activa;
+    }
+
+    @Override
+    public void setActiva(boolean activa) {
+        this.activa = activa;
+    }
+
+    @Override
+    public Map<String, ResumenLatencias> getLatencias() {
+        Map<String, ResumenLatencias> latencias = new LinkedHashMap<>();
+        for (Map.Entry<Operacion, HistogramaLatencias> entrada : histogramas.entrySet()) {
+            latencias.put(entrada.getKey().name(), ResumenLatencias.de(entrada.getValue()));
+        }
+        return latencias;
+    }
+
+    @Override
+    public long getUmbralLentoMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(umbralLentoNanos);
+    }
+
+    @Override
+    public void setUmbralLentoMicros(long micros) {
+        this.umbralLentoNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, micros));
+    }
+
+    @Override
+    public void reiniciar() {
+        for (HistogramaLatencias histograma : histogramas.values()) {
+            histograma.reiniciar();
+        }
+    }
+
+    /**
+     * Publica estas métricas en el servidor MBean de la plataforma con {@link #NOMBRE_JMX}.
+     * Si ya había otras registradas con ese nombre, se sustituyen.
+     */
+    public void registrarEnJmx() throws JMException {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName(NOMBRE_JMX);
+        try {
+            servidor.registerMBean(this, nombre);
+        } catch (InstanceAlreadyExistsException e) {
+            servidor.unregisterMBean(nombre);
+            servidor.registerMBean(this, nombre);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.metricas;
+
+import java.util.Map;
+
+/**
+ * Interfaz JMX de {@link MetricasProyectos} (visible en JConsole / VisualVM como
+ * {@code org.example:type=GestorProyectos,name=Metricas}).
+ */
+public interface MetricasProyectosMXBean {
+
+    boolean isActiva();
+
+    void setActiva(boolean activa);
+
+    /** Latencias por operación (AGREGAR, BUSCAR, ...), en microsegundos. */
+    Map<String, ResumenLatencias> getLatencias();
+
+    long getUmbralLentoMicros();
+
+    void setUmbralLentoMicros(long micros);
+
+    void reiniciar();
+}
@@ -0,0 +1,26 @@
+package org.example.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JDK Flight Recorder para una operación del modelo que supera el umbral de
+ * lentitud. Solo se crea en el camino lento y solo se graba si hay una grabación JFR con
+ * el evento activado.
+ */
+@Name("org.example.OperacionLenta")
+@Label("Operación lenta")
+@Category({"ProyectoTarea"})
+@Description("Operación de GestorProyectos más lenta que el umbral configurado")
+class OperacionLentaEvento extends Event {
+    @Label("Operación")
+    String operacion;
+
+    @Label("Duración")
+    @Timespan(Timespan.NANOSECONDS)
+    long duracion;
+}
@@ -0,0 +1,26 @@
+package org.example.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JDK Flight Recorder para un refresco de la ventana (en el Event Dispatch Thread)
+ * que no cabe en un fotograma.
+ */
+@Name("org.example.RefrescoLento")
+@Label("Refresco lento de la vista")
+@Category({"ProyectoTarea"})
+@Description("Trabajo de refresco en el EDT más largo que el umbral de refresco")
+class RefrescoLentoEvento extends Event {
+    @Label("Filas")
+    @Description("Filas de la tabla al terminar el refresco; -1 si no se conocen")
+    int filas;
+
+    @Label("Duración")
+    @Timespan(Timespan.NANOSECONDS)
+    long duracion;
+}
@@ -0,0 +1,72 @@
+package org.example.metricas;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Resumen de un histograma de latencias, en microsegundos. Se publica por JMX como CompositeData.
+ */
+public class ResumenLatencias {
+    private final long cuenta;
+    private final double mediaMicros;
+    private final double p50Micros;
+    private final double p90Micros;
+    private final double p99Micros;
+    private final double p999Micros;
+    private final double maximoMicros;
+
+    @ConstructorProperties({"cuenta", "mediaMicros", "p50Micros", "p90Micros", "p99Micros", "p999Micros", "maximoMicros"})
+    public ResumenLatencias(long cuenta, double mediaMicros, double p50Micros, double p90Micros,
+                            double p99Micros, double p999Micros, double maximoMicros) {
+        this.cuenta = cuenta;
+        this.mediaMicros = mediaMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maximoMicros = maximoMicros;
+    }
+
+    /**
+     * Resume un histograma de nanosegundos.
+     */
+    public static ResumenLatencias de(HistogramaLatencias histograma) {
+        return new ResumenLatencias(histograma.getCuenta(), histograma.getMedia() / 1_000.0,
+                histograma.percentil(50) / 1_000.0, histograma.percentil(90) / 1_000.0,
+                histograma.percentil(99) / 1_000.0, histograma.percentil(99.9) / 1_000.0,
+                histograma.getMaximo() / 1_000.0);
+    }
+
+    public long getCuenta() {
+        return cuenta;
+    }
+
+    public double getMediaMicros() {
+        return mediaMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP90Micros() {
+        return p90Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getP999Micros() {
+        return p999Micros;
+    }
+
+    public double getMaximoMicros() {
+        return maximoMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d media=%.1fµs p50=%.1fµs p99=%.1fµs máx=%.1fµs",
+                cuenta, mediaMicros, p50Micros, p99Micros, maximoMicros);
+    }
+}
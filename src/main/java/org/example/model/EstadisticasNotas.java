@@ -0,0 +1,150 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Instantánea inmutable de las estadísticas de notas de un gestor.
+ * El histograma tiene una barra por punto de nota: [0,1), [1,2), ..., [9,10] (el 10 va en la última).
+ */
+public class EstadisticasNotas {
+    public static final int BARRAS_HISTOGRAMA = 10;
+
+    private final long cantidad;
+    private final double suma;
+    private final double media;
+    private final double varianza;
+    private final double minima;
+    private final double maxima;
+    private final long[] histograma;
+
+    public EstadisticasNotas(long cantidad, double suma, double media, double varianza,
+                             double minima, double maxima, long[] histograma) {
+        this.cantidad = cantidad;
+        this.suma = suma;
+        this.media = media;
+        this.varianza = varianza;
+        this.minima = minima;
+        this.maxima = maxima;
+        this.histograma = histograma.clone();
+    }
+
+    /**
+     * Combina las estadísticas de conjuntos disjuntos (p. ej. las particiones de un
+     * gestor particionado) en las del conjunto entero, sin volver a recorrer las notas.
+     * La varianza se combina con las medias parciales: Σ nᵢ·(varᵢ + (mediaᵢ − media)²) / n.
+     */
+    public static EstadisticasNotas combinar(List<EstadisticasNotas> partes) {
+        long cantidad = 0;
+        double suma = 0;
+        double minima = Double.NaN;
+        double maxima = Double.NaN;
+        long[] histograma = new long[BARRAS_HISTOGRAMA];
+        for (EstadisticasNotas parte : partes) {
+            if (parte.cantidad == 0) {
+                continue;
+            }
+            cantidad += parte.cantidad;
+            suma += parte.suma;
+            minima = Double.isNaN(minima) ? parte.minima : Math.min(minima, parte.minima);
+            maxima = Double.isNaN(maxima) ? parte.maxima : Math.max(maxima, parte.maxima);
+            for (int i = 0; i < BARRAS_HISTOGRAMA; i++) {
+                histograma[i] += parte.histograma[i];
+            }
+        }
+        if (cantidad == 0) {
+            return new EstadisticasNotas(0, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, histograma);
+        }
+        double media = 0;
+        for (EstadisticasNotas parte : partes) {
+            if (parte.cantidad > 0) {
+                media += parte.media * ((double) parte.cantidad / cantidad);
+            }
+        }
+        double m2 = 0;
+        for (EstadisticasNotas parte : partes) {
+            if (parte.cantidad > 0) {
+                double desviacion = parte.media - media;
+                m2 += parte.cantidad * (parte.varianza + desviacion * desviacion);
+            }
+        }
+        return new EstadisticasNotas(cantidad, suma, media, m2 / cantidad, minima, maxima, histograma);
+    }
+
+    /**
+     * Barra del histograma a la que pertenece una nota en [0, 10].
+     */
+    public static int barra(double nota) {
+        return Math.min(BARRAS_HISTOGRAMA - 1, Math.max(0, (int) nota));
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public double getSuma() {
+        return suma;
+    }
+
+    /** Media de las notas, o NaN si no hay proyectos. */
+    public double getMedia() {
+        return media;
+    }
+
+    /** Varianza poblacional, o NaN si no hay proyectos. */
+    public double getVarianza() {
+        return varianza;
+    }
+
+    public double getDesviacionTipica() {
+        return Math.sqrt(varianza);
+    }
+
+    /** Nota mínima, o NaN si no hay proyectos. */
+    public double getMinima() {
+        return minima;
+    }
+
+    /** Nota máxima, o NaN si no hay proyectos. */
+    public double getMaxima() {
+        return maxima;
+    }
+
+    public long[] getHistograma() {
+        return histograma.clone();
+    }
+
+    @Override
+    public String toString() {
+        if (cantidad == 0) {
+            return "Total: 0";
+        }
+        return String.format("Total: %d | Media: %.2f | Desv.: %.2f | Mín: %.2f | Máx: %.2f",
+                cantidad, media, getDesviacionTipica(), minima, maxima);
+    }
+
+    /**
+     * Compara todas las estadísticas. Las de un gestor salen de sumas exactas, así que dos
+     * instantáneas con las mismas notas son iguales sea cual sea el orden de los cambios; las
+     * {@link #combinar combinadas} pueden diferir de ellas en el último decimal de la media o
+     * la varianza.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EstadisticasNotas)) return false;
+        EstadisticasNotas otra = (EstadisticasNotas) o;
+        return cantidad == otra.cantidad
+                && Double.compare(suma, otra.suma) == 0
+                && Double.compare(media, otra.media) == 0
+                && Double.compare(varianza, otra.varianza) == 0
+                && Double.compare(minima, otra.minima) == 0
+                && Double.compare(maxima, otra.maxima) == 0
+                && Arrays.equals(histograma, otra.histograma);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cantidad) * 31 + Arrays.hashCode(histograma);
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cambio en la lista de proyectos. Las posiciones son las de la lista en orden
+ * de inserción, igual que en TableModelEvent: [primerIndice, ultimoIndice] ambos incluidos.
+ */
+public class EventoProyecto {
+
+    public enum Tipo {
+        /** Proyectos agregados al final de la lista (uno o un lote contiguo). */
+        AGREGADO,
+        /** Proyecto eliminado; los posteriores se desplazan una posición. */
+        ELIMINADO,
+        /**
+         * Varios proyectos eliminados de una vez, no necesariamente contiguos. Las posiciones
+         * ({@link #getPosiciones()}) son las que ocupaban antes de eliminarlos, en orden.
+         */
+        ELIMINADOS,
+        /** Se vació la lista; no se incluyen los proyectos eliminados. */
+        LIMPIADO
+    }
+
+    private final Tipo tipo;
+    private final int primerIndice;
+    private final int ultimoIndice;
+    private final List<Proyecto> proyectos;
+    private final int[] posiciones; // Solo en ELIMINADOS
+
+    public EventoProyecto(Tipo tipo, int primerIndice, int ultimoIndice, List<Proyecto> proyectos) {
+        this.tipo = tipo;
+        this.primerIndice = primerIndice;
+        this.ultimoIndice = ultimoIndice;
+        this.proyectos = Collections.unmodifiableList(proyectos);
+        this.posiciones = null;
+    }
+
+    private EventoProyecto(int[] posiciones, List<Proyecto> proyectos) {
+        this.tipo = Tipo.ELIMINADOS;
+        this.primerIndice = posiciones[0];
+        this.ultimoIndice = posiciones[posiciones.length - 1];
+        this.proyectos = Collections.unmodifiableList(proyectos);
+        this.posiciones = posiciones;
+    }
+
+    public static EventoProyecto agregado(int indice, Proyecto proyecto) {
+        return new EventoProyecto(Tipo.AGREGADO, indice, indice, List.of(proyecto));
+    }
+
+    public static EventoProyecto eliminado(int indice, Proyecto proyecto) {
+        return new EventoProyecto(Tipo.ELIMINADO, indice, indice, List.of(proyecto));
+    }
+
+    /**
+     * @param posiciones Posiciones previas de los proyectos eliminados, en orden creciente (al menos una).
+     * @param proyectos Los proyectos eliminados, en el mismo orden.
+     */
+    public static EventoProyecto eliminados(int[] posiciones, List<Proyecto> proyectos) {
+        return new EventoProyecto(posiciones, proyectos);
+    }
+
+    public static EventoProyecto limpiado(int cantidadAnterior) {
+        return new EventoProyecto(Tipo.LIMPIADO, 0, cantidadAnterior - 1, List.of());
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getPrimerIndice() {
+        return primerIndice;
+    }
+
+    public int getUltimoIndice() {
+        return ultimoIndice;
+    }
+
+    /**
+     * Número de posiciones afectadas.
+     */
+    public int getCantidad() {
+        return posiciones != null ? posiciones.length : ultimoIndice - primerIndice + 1;
+    }
+
+    /**
+     * Indica si las posiciones afectadas forman un único tramo [primerIndice, ultimoIndice].
+     */
+    public boolean isContiguo() {
+        return getCantidad() == ultimoIndice - primerIndice + 1;
+    }
+
+    /**
+     * Posición de cada proyecto afectado, en orden. En ELIMINADOS son las que ocupaban antes
+     * de la operación.
+     */
+    public int[] getPosiciones() {
+        if (posiciones != null) {
+            return posiciones.clone();
+        }
+        int[] tramo = new int[Math.max(0, getCantidad())];
+        for (int i = 0; i < tramo.length; i++) {
+            tramo[i] = primerIndice + i;
+        }
+        return tramo;
+    }
+
+    /**
+     * Proyectos agregados o eliminados, en orden (vacío para LIMPIADO).
+     */
+    public List<Proyecto> getProyectos() {
+        return proyectos;
+    }
+
+    /**
+     * Primer proyecto afectado, o null si el evento no los incluye.
+     */
+    public Proyecto getProyecto() {
+        return proyectos.isEmpty() ? null : proyectos.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return tipo + "[" + primerIndice + ".." + ultimoIndice + "]";
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.model;
+
+/**
+ * Formatos de exportación de la lista de proyectos (UTF-8, una línea por proyecto).
+ */
+public enum FormatoExportacion {
+    /** Cabecera {@code nombre,nota}; el nombre va entre comillas si lo necesita. Se puede volver a importar. */
+    CSV,
+    /** Un objeto {@code {"nombre": ..., "nota": ...}} por línea, como los de la API HTTP. */
+    JSON_LINES;
+
+    /**
+     * Formato según la extensión del fichero: .json, .jsonl y .ndjson son JSON Lines; el resto, CSV.
+     */
+    public static FormatoExportacion porExtension(String nombreFichero) {
+        String nombre = nombreFichero.toLowerCase(java.util.Locale.ROOT);
+        return nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson") || nombre.endsWith(".json") ? JSON_LINES : CSV;
+    }
+}
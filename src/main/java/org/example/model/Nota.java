@@ -0,0 +1,228 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Notas en coma fija: un proyecto guarda su nota como un entero de centésimas (8.5 → 850),
+ * que es exacto para las notas de la aplicación (de 0 a 10 con dos decimales como mucho).
+ * Las rutinas de lectura y escritura no crean objetos: leen de un {@link CharSequence} y
+ * escriben al final de un {@link StringBuilder} o {@link CharBuffer} del llamador, y los
+ * textos y valores de las notas válidas están precalculados para pintar la tabla.
+ */
+public final class Nota {
+    /** Centésimas por punto de nota. */
+    public static final int ESCALA = 100;
+    /** Nota máxima admitida, en centésimas (10.00). */
+    public static final int MAXIMA = 10 * ESCALA;
+
+    /**
+     * Centésimas de una nota que no se puede guardar en coma fija (NaN, infinita o con más
+     * de dos decimales). El gestor rechaza los proyectos con esta nota.
+     */
+    public static final int NO_VALIDA = Integer.MIN_VALUE;
+
+    // Límite de la parte entera al leer, para que las centésimas quepan en un int
+    private static final int MAXIMA_PARTE_ENTERA = Integer.MAX_VALUE / ESCALA - 1;
+    // Error de representación admitido en nota * ESCALA (muy por encima del de un double con estas notas)
+    private static final double TOLERANCIA = 1e-6;
+
+    /** Separador decimal de la configuración regional, el mismo que usaba {@code String.format("%.2f")}. */
+    private static final char SEPARADOR_LOCAL = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    private static final String[] TEXTOS = new String[MAXIMA + 1];
+    private static final Double[] VALORES = new Double[MAXIMA + 1];
+
+    static {
+        StringBuilder texto = new StringBuilder(5);
+        for (int centesimas = 0; centesimas <= MAXIMA; centesimas++) {
+            texto.setLength(0);
+            TEXTOS[centesimas] = formatear(centesimas, SEPARADOR_LOCAL, texto).toString();
+            VALORES[centesimas] = centesimas / (double) ESCALA;
+        }
+    }
+
+    private Nota() {
+    }
+
+    // --- Conversión ---
+
+    /**
+     * Centésimas de una nota exacta con dos decimales como mucho (8.25 → 825). Admite el
+     * error de representación de un double (8.25 * 3 / 3), pero no redondea: 8.255 no es
+     * una nota válida.
+     * @return Las centésimas, o {@link #NO_VALIDA} si la nota no es un número finito, tiene
+     *         más de dos decimales o no cabe en un int.
+     */
+    public static int deDouble(double nota) {
+        if (!(Math.abs(nota) <= MAXIMA_PARTE_ENTERA)) {
+            return NO_VALIDA; // También NaN
+        }
+        double escalada = nota * ESCALA;
+        long redondeada = Math.round(escalada);
+        if (Math.abs(escalada - redondeada) > TOLERANCIA) {
+            return NO_VALIDA;
+        }
+        return (int) redondeada;
+    }
+
+    /**
+     * Nota a partir de sus centésimas. Es exacta en el sentido de que
+     * {@code aDouble(deDouble(8.25)) == 8.25} para cualquier nota con dos decimales.
+     */
+    public static double aDouble(int centesimas) {
+        if (centesimas == NO_VALIDA) {
+            return Double.NaN;
+        }
+        return centesimas / (double) ESCALA;
+    }
+
+    /**
+     * Igual que {@link #aDouble(int)}, pero en un Double ya creado si la nota es válida
+     * (de 0 a 10): las celdas de la tabla no crean un objeto por fila.
+     */
+    public static Double valor(int centesimas) {
+        return centesimas >= 0 && centesimas <= MAXIMA ? VALORES[centesimas] : Double.valueOf(aDouble(centesimas));
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Lee una nota escrita con punto o coma decimal ("7.5", " 7,25 ", "-1", "10."), ignorando
+     * los espacios de los extremos. Admite ceros tras la segunda cifra decimal ("7.250"), pero
+     * no más decimales: "7.255" no se redondea, se rechaza.
+     * No crea objetos salvo para informar de un error.
+     * @return La nota en centésimas.
+     * @throws NumberFormatException Si el texto no es una nota en ese formato.
+     */
+    public static int parsear(CharSequence texto) {
+        return parsear(texto, 0, texto.length());
+    }
+
+    /**
+     * Como {@link #parsear(CharSequence)}, sobre los caracteres [desde, hasta) del texto.
+     */
+    public static int parsear(CharSequence texto, int desde, int hasta) {
+        while (desde < hasta && Character.isWhitespace(texto.charAt(desde))) {
+            desde++;
+        }
+        while (hasta > desde && Character.isWhitespace(texto.charAt(hasta - 1))) {
+            hasta--;
+        }
+        int i = desde;
+        boolean negativa = false;
+        if (i < hasta && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+            negativa = texto.charAt(i++) == '-';
+        }
+        int entera = 0;
+        int cifras = 0;
+        for (; i < hasta && esCifra(texto.charAt(i)); i++, cifras++) {
+            entera = entera * 10 + texto.charAt(i) - '0';
+            if (entera > MAXIMA_PARTE_ENTERA) {
+                throw noValida(texto, desde, hasta);
+            }
+        }
+        int decimales = 0;
+        if (i < hasta && (texto.charAt(i) == '.' || texto.charAt(i) == ',')) {
+            i++;
+            int leidos = 0;
+            for (; i < hasta && esCifra(texto.charAt(i)); i++, cifras++, leidos++) {
+                int cifra = texto.charAt(i) - '0';
+                if (leidos < 2) {
+                    decimales = decimales * 10 + cifra;
+                } else if (cifra != 0) {
+                    throw noValida(texto, desde, hasta); // Más precisión de la que cabe en centésimas
+                }
+            }
+            if (leidos == 1) {
+                decimales *= 10;
+            }
+        }
+        if (cifras == 0 || i != hasta) {
+            throw noValida(texto, desde, hasta);
+        }
+        int centesimas = entera * ESCALA + decimales;
+        return negativa ? -centesimas : centesimas;
+    }
+
+    private static boolean esCifra(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException noValida(CharSequence texto, int desde, int hasta) {
+        return new NumberFormatException("Nota no válida: \"" + texto.subSequence(desde, hasta) + "\"");
+    }
+
+    // --- Escritura ---
+
+    /**
+     * Añade la nota con dos decimales y punto decimal ("8.50", "10.00") al final del texto.
+     * @return El mismo StringBuilder, para encadenar.
+     */
+    public static StringBuilder formatear(int centesimas, StringBuilder destino) {
+        return formatear(centesimas, '.', destino);
+    }
+
+    /**
+     * Como {@link #formatear(int, StringBuilder)}, con el separador decimal indicado.
+     */
+    public static StringBuilder formatear(int centesimas, char separador, StringBuilder destino) {
+        escribir(centesimas, separador, destino);
+        return destino;
+    }
+
+    /**
+     * Escribe la nota con dos decimales y punto decimal en la posición actual del buffer.
+     * @throws java.nio.BufferOverflowException Si no cabe.
+     */
+    public static CharBuffer formatear(int centesimas, CharBuffer destino) {
+        escribir(centesimas, '.', destino);
+        return destino;
+    }
+
+    /**
+     * Texto de la nota con dos decimales y el separador de la configuración regional, como
+     * se muestra en la tabla. Para las notas válidas es un String ya creado.
+     */
+    public static String texto(int centesimas) {
+        if (centesimas >= 0 && centesimas <= MAXIMA) {
+            return TEXTOS[centesimas];
+        }
+        return formatear(centesimas, SEPARADOR_LOCAL, new StringBuilder(12)).toString();
+    }
+
+    /**
+     * Separador decimal con el que se muestran las notas en la interfaz.
+     */
+    public static char getSeparadorLocal() {
+        return SEPARADOR_LOCAL;
+    }
+
+    private static void escribir(int centesimas, char separador, Appendable destino) {
+        try {
+            if (centesimas == NO_VALIDA) {
+                destino.append("NaN"); // Como String.format("%.2f", Double.NaN)
+                return;
+            }
+            long valor = centesimas;
+            if (valor < 0) {
+                destino.append('-');
+                valor = -valor;
+            }
+            long entera = valor / ESCALA;
+            long divisor = 1;
+            while (divisor * 10 <= entera) {
+                divisor *= 10;
+            }
+            for (; divisor > 0; divisor /= 10) {
+                destino.append((char) ('0' + entera / divisor % 10));
+            }
+            destino.append(separador)
+                    .append((char) ('0' + valor / 10 % 10))
+                    .append((char) ('0' + valor % 10));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder y CharBuffer no la lanzan
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de una lectura por cursor: los proyectos leídos y el cursor para pedir la siguiente.
+ * El cursor es la clave canónica del último proyecto devuelto, así que sigue siendo válido
+ * aunque entretanto se agreguen o eliminen proyectos (incluido ese mismo).
+ */
+public class PaginaProyectos {
+    private final List<Proyecto> proyectos;
+    private final String siguienteCursor;
+
+    public PaginaProyectos(List<Proyecto> proyectos, String siguienteCursor) {
+        this.proyectos = Collections.unmodifiableList(proyectos);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<Proyecto> getProyectos() {
+        return proyectos;
+    }
+
+    /**
+     * Cursor para leer la página siguiente, o null si esta es la última.
+     */
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Página de " + proyectos.size() + " proyectos" + (hayMas() ? " (hay más)" : "");
+    }
+}
@@ -1,24 +1,144 @@
 package org.example.model;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Objects;
+
 public class Proyecto {
     private String nombre;
-    private double nota;
+    private int centesimas; // Nota en coma fija (ver Nota)
+    private String clave; // Nombre normalizado; se calcula una vez, la primera vez que se pide
 
+    /**
+     * @param nota Nota del proyecto, con dos decimales como mucho. Una nota que no se puede
+     *             guardar exacta en centésimas (NaN, infinita, 8.255) no se redondea: queda
+     *             como {@link Nota#NO_VALIDA} y el gestor rechaza el proyecto, igual que una
+     *             nota fuera de rango.
+     */
     public Proyecto(String nombre, double nota) {
+        this(nombre, Nota.deDouble(nota));
+    }
+
+    private Proyecto(String nombre, int centesimas) {
         this.nombre = nombre;
-        this.nota = nota;
+        this.centesimas = centesimas;
+    }
+
+    /**
+     * Crea un proyecto con la nota ya en centésimas (850 para un 8.5), sin pasar por double.
+     */
+    public static Proyecto conCentesimas(String nombre, int centesimas) {
+        return new Proyecto(nombre, centesimas);
     }
 
     public String getNombre() {
         return nombre;
     }
 
+    /**
+     * @return La nota, o NaN si no era válida (ver {@link Nota#NO_VALIDA}).
+     */
     public double getNota() {
-        return nota;
+        return Nota.aDouble(centesimas);
+    }
+
+    /**
+     * Nota en centésimas, tal como se guarda.
+     */
+    public int getCentesimas() {
+        return centesimas;
+    }
+
+    /**
+     * Clave canónica del nombre: sin tildes ni diacríticos, en minúsculas y con los espacios
+     * agrupados. Dos proyectos con la misma clave se consideran el mismo nombre
+     * ("Cálculo  Integral" y "calculo integral"). Se calcula una sola vez por objeto.
+     */
+    public String getClave() {
+        String calculada = clave;
+        if (calculada == null) {
+            calculada = normalizar(nombre == null ? "" : nombre);
+            clave = calculada; // Carrera benigna: cualquier hilo calcula el mismo valor
+        }
+        return calculada;
+    }
+
+    /**
+     * Normaliza un texto como {@link #getClave()}: descomposición Unicode (NFD), sin marcas
+     * diacríticas, plegado de mayúsculas y espacios agrupados y recortados.
+     */
+    public static String normalizar(String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length());
+        boolean ascii = true;
+        boolean espacioPendiente = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x80) {
+                ascii = false;
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                espacioPendiente = resultado.length() > 0;
+            } else {
+                if (espacioPendiente) {
+                    resultado.append(' ');
+                    espacioPendiente = false;
+                }
+                resultado.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            }
+        }
+        if (ascii) {
+            return resultado.toString(); // Camino rápido, el habitual
+        }
+        return normalizarUnicode(texto);
+    }
+
+    private static String normalizarUnicode(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        boolean espacioPendiente = false;
+        for (int i = 0; i < descompuesto.length(); ) {
+            int punto = descompuesto.codePointAt(i);
+            i += Character.charCount(punto);
+            int tipo = Character.getType(punto);
+            if (tipo == Character.NON_SPACING_MARK || tipo == Character.ENCLOSING_MARK
+                    || tipo == Character.COMBINING_SPACING_MARK) {
+                continue; // Tildes, diéresis, cedillas...
+            }
+            if (Character.isWhitespace(punto) || Character.isSpaceChar(punto)) {
+                espacioPendiente = resultado.length() > 0;
+                continue;
+            }
+            if (espacioPendiente) {
+                resultado.append(' ');
+                espacioPendiente = false;
+            }
+            resultado.appendCodePoint(punto);
+        }
+        // Plegado completo de mayúsculas (p. ej. "ß" y "SS" coinciden)
+        return resultado.toString().toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    // Dos proyectos son iguales si tienen el mismo nombre y nota
+    // (el almacén columnar crea un objeto nuevo en cada consulta)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Proyecto)) return false;
+        Proyecto otro = (Proyecto) o;
+        return centesimas == otro.centesimas && Objects.equals(nombre, otro.nombre);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(nombre) + centesimas;
     }
 
+    // Mismo texto que String.format("Nombre: %s, Nota: %.2f"), sin crear un Formatter
     @Override
     public String toString() {
-        return String.format("Nombre: %s, Nota: %.2f", nombre, nota);
+        StringBuilder texto = new StringBuilder(24 + (nombre == null ? 4 : nombre.length()))
+                .append("Nombre: ").append(nombre).append(", Nota: ");
+        return Nota.formatear(centesimas, Nota.getSeparadorLocal(), texto).toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.example.model;
+
+import java.util.EventListener;
+
+/**
+ * Recibe los cambios de la lista de proyectos de un gestor.
+ * Se invoca en el hilo que realizó el cambio; las implementaciones deben ser rápidas.
+ */
+@FunctionalInterface
+public interface ProyectosListener extends EventListener {
+
+    void proyectosCambiados(EventoProyecto evento);
+}
@@ -0,0 +1,56 @@
+package org.example.model;
+
+/**
+ * Resumen de una exportación: proyectos y bytes escritos y rendimiento.
+ */
+public class ResultadoExportacion {
+    private final long exportados;
+    private final long bytes;
+    private final long duracionNanos;
+    private final boolean cancelada;
+
+    public ResultadoExportacion(long exportados, long bytes, long duracionNanos, boolean cancelada) {
+        this.exportados = exportados;
+        this.bytes = bytes;
+        this.duracionNanos = duracionNanos;
+        this.cancelada = cancelada;
+    }
+
+    public long getExportados() {
+        return exportados;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    /**
+     * Indica si la exportación se detuvo antes del final; en ese caso el fichero de destino no se modificó.
+     */
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    /**
+     * Megabytes (10^6 bytes) escritos por segundo.
+     */
+    public double getMegabytesPorSegundo() {
+        if (duracionNanos <= 0) {
+            return 0;
+        }
+        return bytes * 1_000.0 / duracionNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (cancelada) {
+            return "Exportación cancelada: no se modificó el fichero.";
+        }
+        return String.format("Exportados %d proyectos (%.1f MB) en %.2f s (%.0f MB/s).",
+                exportados, bytes / 1e6, duracionNanos / 1e9, getMegabytesPorSegundo());
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva: filas procesadas, rechazos y rendimiento.
+ */
+public class ResultadoImportacion {
+    // Para ficheros muy defectuosos se cuentan todos los rechazos pero solo se guarda el detalle de los primeros
+    public static final int MAX_RECHAZOS_DETALLADOS = 10_000;
+
+    private long filasLeidas;
+    private long importadas;
+    private long rechazadas;
+    private long duracionNanos;
+    private boolean cancelada;
+    private final List<Rechazo> rechazos = new ArrayList<>();
+
+    public void registrarImportadas(int cantidad) {
+        this.filasLeidas += cantidad;
+        this.importadas += cantidad;
+    }
+
+    public void registrarRechazo(long linea, String motivo) {
+        this.filasLeidas++;
+        this.rechazadas++;
+        if (rechazos.size() < MAX_RECHAZOS_DETALLADOS) {
+            rechazos.add(new Rechazo(linea, motivo));
+        }
+    }
+
+    /**
+     * Suma a este resumen las filas y rechazos de otro parcial (p. ej. el de una partición
+     * que confirmó parte de un lote). Los rechazos se ordenan por línea al finalizar.
+     */
+    public void sumar(ResultadoImportacion parcial) {
+        this.filasLeidas += parcial.filasLeidas;
+        this.importadas += parcial.importadas;
+        this.rechazadas += parcial.rechazadas;
+        int espacio = MAX_RECHAZOS_DETALLADOS - rechazos.size();
+        rechazos.addAll(parcial.rechazos.subList(0, Math.min(espacio, parcial.rechazos.size())));
+    }
+
+    /**
+     * Cierra el resumen: fija la duración y ordena los rechazos por línea
+     * (los de formato se detectan al leer y los de validación al confirmar cada lote).
+     */
+    public void finalizar(long duracionNanos) {
+        this.duracionNanos = duracionNanos;
+        rechazos.sort(Comparator.comparingLong(Rechazo::getLinea));
+    }
+
+    public void marcarCancelada() {
+        this.cancelada = true;
+    }
+
+    /**
+     * Indica si la importación se detuvo antes del final del fichero.
+     */
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public long getImportadas() {
+        return importadas;
+    }
+
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    /**
+     * Filas procesadas (importadas o rechazadas) por segundo.
+     */
+    public double getFilasPorSegundo() {
+        if (duracionNanos <= 0) {
+            return 0;
+        }
+        return filasLeidas * 1_000_000_000.0 / duracionNanos;
+    }
+
+    /**
+     * Detalle de los rechazos, ordenados por línea (como máximo {@link #MAX_RECHAZOS_DETALLADOS}).
+     */
+    public List<Rechazo> getRechazos() {
+        return Collections.unmodifiableList(rechazos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d de %d filas en %.2f s (%.0f filas/s), %d rechazadas.",
+                cancelada ? "Importación cancelada: importadas" : "Importadas",
+                importadas, filasLeidas, duracionNanos / 1e9, getFilasPorSegundo(), rechazadas);
+    }
+
+    /**
+     * Fila rechazada durante la importación.
+     */
+    public static class Rechazo {
+        private final long linea;
+        private final String motivo;
+
+        public Rechazo(long linea, String motivo) {
+            this.linea = linea;
+            this.motivo = motivo;
+        }
+
+        public long getLinea() {
+            return linea;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+
+        @Override
+        public String toString() {
+            return "Línea " + linea + ": " + motivo;
+        }
+    }
+}
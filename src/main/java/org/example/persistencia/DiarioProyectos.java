@@ -0,0 +1,447 @@
+package org.example.persistencia;
+
+import org.example.model.Nota;
+import org.example.model.Proyecto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario binario de escritura anticipada (write-ahead journal) para GestorProyectos.
+ * <p>
+ * Cada alta, baja o limpieza se anota como un registro
+ * {@code [longitud:int][crc32c:int][tipo:byte][datos]}. Las anotaciones solo copian el
+ * registro a un buffer en memoria; un hilo escritor vuelca todo lo acumulado con una única
+ * escritura y, si la sincronización está activa, un único fsync (group commit). Quien
+ * necesita durabilidad espera con {@link #esperarDurable(long)} a que su registro esté en disco.
+ * <p>
+ * El diario solo crece hasta que se compacta con {@link #compactar(List)}, que lo sustituye
+ * por un alta por cada proyecto actual; mientras tanto, reproducirlo recorre toda la historia.
+ */
+public class DiarioProyectos implements Closeable {
+    static final byte ALTA_DOUBLE = 1; // Nota como double: solo en diarios anteriores a las centésimas
+    static final byte BAJA = 2;
+    static final byte LIMPIEZA = 3;
+    static final byte ALTA = 4; // Nota en centésimas
+    private static final int CABECERA = 8; // longitud + crc
+    private static final int CAPACIDAD_INICIAL = 64 * 1024;
+
+    /**
+     * Recibe los registros del diario al reproducirlo.
+     */
+    public interface Receptor {
+        /**
+         * @param centesimas Nota en centésimas (ver {@link Nota}).
+         */
+        void alta(String nombre, int centesimas);
+
+        void baja(String nombre);
+
+        void limpieza();
+    }
+
+    private final Path fichero;
+    private final boolean sincronizar;
+    private final Thread escritor;
+
+    // Estado protegido por "this"
+    private FileChannel canal; // Lo cambia compactar(), con el escritor parado
+    private ByteBuffer pendiente = ByteBuffer.allocate(CAPACIDAD_INICIAL);
+    private ByteBuffer enEscritura = ByteBuffer.allocate(CAPACIDAD_INICIAL);
+    private long anotados;      // Número de registros anotados
+    private long durables;      // Número de registros ya escritos (y sincronizados si procede)
+    private long volcados;      // Número de escrituras al canal (un fsync por cada una)
+    private IOException fallo;
+    private boolean cerrado;
+
+    /**
+     * Abre (o crea) el diario para añadir registros al final.
+     * @param sincronizar Si es true, cada volcado termina con un fsync antes de confirmar.
+     */
+    public DiarioProyectos(Path fichero, boolean sincronizar) throws IOException {
+        this.fichero = fichero;
+        this.canal = FileChannel.open(fichero,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        this.canal.position(this.canal.size());
+        this.sincronizar = sincronizar;
+        this.escritor = new Thread(this::bucleEscritor, "diario-proyectos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // --- Anotación (la llama el gestor bajo su propio cerrojo, así se conserva el orden) ---
+
+    /**
+     * @return Número de secuencia que hay que esperar para que el registro sea durable.
+     */
+    public synchronized long anotarAlta(Proyecto proyecto) {
+        byte[] nombre = proyecto.getNombre().getBytes(StandardCharsets.UTF_8);
+        escribirAlta(reservar(tamanioAlta(nombre)), nombre, proyecto.getCentesimas());
+        return registroAnotado();
+    }
+
+    public synchronized long anotarAltas(List<Proyecto> proyectos) {
+        long secuencia = anotados;
+        for (Proyecto proyecto : proyectos) {
+            secuencia = anotarAlta(proyecto);
+        }
+        return secuencia;
+    }
+
+    public synchronized long anotarBaja(String nombre) {
+        byte[] bytes = nombre.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = reservar(1 + 4 + bytes.length);
+        int inicio = iniciarRegistro(buffer, BAJA);
+        buffer.putInt(bytes.length).put(bytes);
+        cerrarRegistro(buffer, inicio);
+        return registroAnotado();
+    }
+
+    public synchronized long anotarBajas(List<Proyecto> proyectos) {
+        long secuencia = anotados;
+        for (Proyecto proyecto : proyectos) {
+            secuencia = anotarBaja(proyecto.getNombre());
+        }
+        return secuencia;
+    }
+
+    public synchronized long anotarLimpieza() {
+        ByteBuffer buffer = reservar(1);
+        int inicio = iniciarRegistro(buffer, LIMPIEZA);
+        cerrarRegistro(buffer, inicio);
+        return registroAnotado();
+    }
+
+    /**
+     * Comprueba que el diario puede recibir registros; el gestor la llama antes de cambiar su
+     * estado. Una anotación posterior no falla aunque el escritor falle entretanto: el registro
+     * no llegará a disco y el fallo se informa en {@link #esperarDurable(long)}, de modo que
+     * quien anota nunca se queda con el cambio hecho en memoria y a medio anotar.
+     * @throws UncheckedIOException Si un volcado anterior falló.
+     * @throws IllegalStateException Si el diario está cerrado.
+     */
+    public synchronized void comprobarDisponible() {
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado.");
+        }
+        if (fallo != null) {
+            throw new UncheckedIOException("El diario no está disponible", fallo);
+        }
+    }
+
+    private ByteBuffer reservar(int datos) {
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado.");
+        }
+        int necesario = CABECERA + datos;
+        if (pendiente.remaining() < necesario) {
+            ByteBuffer mayor = ByteBuffer.allocate(Math.max(pendiente.capacity() * 2, pendiente.position() + necesario));
+            pendiente.flip();
+            mayor.put(pendiente);
+            pendiente = mayor;
+        }
+        return pendiente;
+    }
+
+    private static int iniciarRegistro(ByteBuffer buffer, byte tipo) {
+        int inicio = buffer.position();
+        buffer.position(inicio + CABECERA);
+        buffer.put(tipo);
+        return inicio;
+    }
+
+    private static int tamanioAlta(byte[] nombre) {
+        return 1 + 4 + nombre.length + 4;
+    }
+
+    private static void escribirAlta(ByteBuffer buffer, byte[] nombre, int centesimas) {
+        int inicio = iniciarRegistro(buffer, ALTA);
+        buffer.putInt(nombre.length).put(nombre).putInt(centesimas);
+        cerrarRegistro(buffer, inicio);
+    }
+
+    private static void cerrarRegistro(ByteBuffer buffer, int inicio) {
+        int fin = buffer.position();
+        int longitud = fin - inicio - CABECERA;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), inicio + CABECERA, longitud);
+        buffer.putInt(inicio, longitud);
+        buffer.putInt(inicio + 4, (int) crc.getValue());
+    }
+
+    private long registroAnotado() {
+        anotados++;
+        notifyAll(); // Despierta al escritor
+        return anotados;
+    }
+
+    // --- Compactación ---
+
+    /**
+     * Sustituye el diario por uno con un alta por proyecto, en el orden indicado, para que
+     * reproducirlo no recorra toda la historia. Se escribe en un fichero aparte, se sincroniza
+     * y se cambia por el actual de una vez: si se interrumpe a medias, el diario sigue siendo
+     * el anterior. El llamador no debe anotar nada mientras tanto (el gestor la llama con su
+     * cerrojo de escritura) y la lista debe ser el resultado de todo lo anotado.
+     * @throws IOException Si falla la escritura; el diario queda como estaba.
+     */
+    public synchronized void compactar(List<Proyecto> proyectos) throws IOException {
+        comprobarDisponible();
+        esperarDurable(anotados); // Lo pendiente va al fichero que se descarta; el escritor queda parado
+        Path temporal = fichero.resolveSibling(fichero.getFileName() + ".compactando");
+        try (FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CAPACIDAD_INICIAL);
+            for (Proyecto proyecto : proyectos) {
+                byte[] nombre = proyecto.getNombre().getBytes(StandardCharsets.UTF_8);
+                int necesario = CABECERA + tamanioAlta(nombre);
+                if (buffer.remaining() < necesario) {
+                    volcar(nuevo, buffer);
+                    if (buffer.capacity() < necesario) {
+                        buffer = ByteBuffer.allocate(necesario);
+                    }
+                }
+                escribirAlta(buffer, nombre, proyecto.getCentesimas());
+            }
+            volcar(nuevo, buffer);
+            nuevo.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, fichero, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        canal.close();
+        canal = FileChannel.open(fichero, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        canal.position(canal.size());
+    }
+
+    private static void volcar(FileChannel destino, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            destino.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // --- Durabilidad ---
+
+    /**
+     * Bloquea hasta que el registro con esa secuencia está escrito (y sincronizado si procede).
+     * @throws UncheckedIOException Si el volcado falló.
+     */
+    public synchronized void esperarDurable(long secuencia) {
+        boolean interrumpido = false;
+        while (durables < secuencia && fallo == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrumpido = true; // La escritura ya está en marcha: se espera igualmente
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (durables < secuencia) {
+            throw new UncheckedIOException("No se pudo escribir el diario", fallo);
+        }
+    }
+
+    /**
+     * Número de volcados realizados; con group commit es mucho menor que el de registros.
+     */
+    public synchronized long getVolcados() {
+        return volcados;
+    }
+
+    public synchronized long getRegistrosDurables() {
+        return durables;
+    }
+
+    private void bucleEscritor() {
+        while (true) {
+            long hasta;
+            FileChannel destino;
+            synchronized (this) {
+                while (pendiente.position() == 0 && !cerrado) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pendiente.position() == 0) {
+                    return; // Cerrado y sin nada pendiente
+                }
+                // Intercambio de buffers: los anotadores siguen escribiendo en el otro
+                ByteBuffer lleno = pendiente;
+                pendiente = enEscritura;
+                pendiente.clear();
+                enEscritura = lleno;
+                hasta = anotados;
+                destino = canal;
+            }
+            try {
+                enEscritura.flip();
+                while (enEscritura.hasRemaining()) {
+                    destino.write(enEscritura);
+                }
+                if (sincronizar) {
+                    destino.force(false);
+                }
+                synchronized (this) {
+                    durables = hasta;
+                    volcados++;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    fallo = e;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Vuelca lo pendiente, sincroniza y cierra el fichero.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            notifyAll();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (fallo == null) {
+                canal.force(true);
+            }
+        } finally {
+            canal.close();
+        }
+        if (fallo != null) {
+            throw fallo;
+        }
+    }
+
+    // --- Reproducción ---
+
+    /**
+     * Lee el diario desde el principio y entrega cada registro al receptor.
+     * Si el final está truncado o corrupto (p. ej. por una caída a mitad de escritura),
+     * se descarta desde el primer registro inválido.
+     * @return Número de registros válidos reproducidos.
+     */
+    public static long reproducir(Path fichero, Receptor receptor) throws IOException {
+        if (!fichero.toFile().exists()) {
+            return 0;
+        }
+        try (FileChannel canal = FileChannel.open(fichero, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CAPACIDAD_INICIAL);
+            long posicionValida = 0;
+            long registros = 0;
+            canal.read(buffer);
+            buffer.flip();
+            while (true) {
+                if (buffer.remaining() < CABECERA) {
+                    if (!rellenar(canal, buffer, CABECERA)) break;
+                }
+                int longitud = buffer.getInt(buffer.position());
+                int crcEsperado = buffer.getInt(buffer.position() + 4);
+                if (longitud <= 0 || longitud > canal.size()) break;
+                if (buffer.remaining() < CABECERA + longitud) {
+                    if (buffer.capacity() < CABECERA + longitud) {
+                        buffer = ampliar(buffer, CABECERA + longitud);
+                    }
+                    if (!rellenar(canal, buffer, CABECERA + longitud)) break;
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.array(), buffer.position() + CABECERA, longitud);
+                if ((int) crc.getValue() != crcEsperado) break;
+
+                buffer.position(buffer.position() + CABECERA);
+                if (!aplicar(buffer, longitud, receptor)) break;
+                posicionValida += CABECERA + longitud;
+                registros++;
+            }
+            if (posicionValida < canal.size()) {
+                canal.truncate(posicionValida); // Descarta la cola dañada
+            }
+            return registros;
+        }
+    }
+
+    private static boolean aplicar(ByteBuffer buffer, int longitud, Receptor receptor) {
+        int fin = buffer.position() + longitud;
+        byte tipo = buffer.get();
+        switch (tipo) {
+            case ALTA: {
+                String nombre = leerTexto(buffer);
+                receptor.alta(nombre, buffer.getInt());
+                break;
+            }
+            case ALTA_DOUBLE: {
+                String nombre = leerTexto(buffer);
+                receptor.alta(nombre, Nota.deDouble(buffer.getDouble()));
+                break;
+            }
+            case BAJA:
+                receptor.baja(leerTexto(buffer));
+                break;
+            case LIMPIEZA:
+                receptor.limpieza();
+                break;
+            default:
+                return false;
+        }
+        buffer.position(fin);
+        return true;
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        int longitud = buffer.getInt();
+        String texto = new String(buffer.array(), buffer.position(), longitud, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + longitud);
+        return texto;
+    }
+
+    /**
+     * Compacta el buffer y lee del canal hasta tener al menos {@code minimo} bytes disponibles.
+     */
+    private static boolean rellenar(FileChannel canal, ByteBuffer buffer, int minimo) throws IOException {
+        buffer.compact();
+        while (buffer.position() < minimo) {
+            if (canal.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private static ByteBuffer ampliar(ByteBuffer buffer, int capacidad) {
+        ByteBuffer mayor = ByteBuffer.allocate(capacidad);
+        mayor.put(buffer);
+        mayor.flip();
+        return mayor;
+    }
+}
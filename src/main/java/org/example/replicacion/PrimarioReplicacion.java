@@ -0,0 +1,244 @@
+package org.example.replicacion;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.EventoProyecto;
+import org.example.model.Proyecto;
+import org.example.model.ProyectosListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.example.replicacion.ProtocoloReplicacion.*;
+
+/**
+ * Lado primario de la replicación: anota en orden cada alta, baja y limpieza del gestor
+ * (como listener, con su cerrojo de escritura tomado) y la envía por TCP a las réplicas
+ * conectadas ({@link ReplicaProyectos}), cada una con su propio hilo virtual.
+ * <p>
+ * Las réplicas se aplican los cambios por su cuenta: el primario no espera a ninguna, solo
+ * anota el cambio en un {@link RegistroReplicacion} en memoria. Una réplica que se reconecta
+ * sigue desde su última secuencia si el registro aún la conserva; si no (o es nueva, o se
+ * quedó demasiado atrás), recibe una instantánea de la lista, que cuesta O(1) tomarla
+ * (ver {@link GestorProyectos#getInstantanea()}), y después los cambios posteriores.
+ */
+public class PrimarioReplicacion implements Closeable {
+    public static final int CAPACIDAD_REGISTRO_POR_DEFECTO = 65_536;
+    private static final int CAMBIOS_POR_ENVIO = 1024;
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final GestorProyectos gestor;
+    private final RegistroReplicacion registro;
+    private final ProyectosListener escucha = this::anotar;
+    private final ServerSocket servidor;
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> conexiones = ConcurrentHashMap.newKeySet();
+    private final AtomicLong instantaneasEnviadas = new AtomicLong();
+    private final AtomicLong reanudaciones = new AtomicLong();
+    private volatile boolean cerrado;
+
+    /**
+     * Empieza a anotar los cambios del gestor y a aceptar réplicas.
+     * @param puerto Puerto TCP; 0 elige uno libre (ver {@link #getPuerto()}).
+     */
+    public PrimarioReplicacion(GestorProyectos gestor, int puerto) throws IOException {
+        this(gestor, puerto, CAPACIDAD_REGISTRO_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidadRegistro Cambios que se conservan para las réplicas que se reconectan.
+     */
+    public PrimarioReplicacion(GestorProyectos gestor, int puerto, int capacidadRegistro) throws IOException {
+        this.gestor = gestor;
+        this.registro = new RegistroReplicacion(capacidadRegistro);
+        this.servidor = new ServerSocket();
+        this.servidor.bind(new InetSocketAddress(puerto));
+        // Se anota desde ahora; lo anterior llega a las réplicas con la instantánea
+        gestor.addProyectosListener(escucha);
+        hilos.execute(this::aceptar);
+    }
+
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * Secuencia del último cambio anotado; una réplica está al día cuando ha aplicado esta.
+     */
+    public long getSecuencia() {
+        return registro.getUltima();
+    }
+
+    public int getReplicasConectadas() {
+        return conexiones.size();
+    }
+
+    public long getInstantaneasEnviadas() {
+        return instantaneasEnviadas.get();
+    }
+
+    /**
+     * Reconexiones que siguieron desde su secuencia, sin necesitar una instantánea.
+     */
+    public long getReanudaciones() {
+        return reanudaciones.get();
+    }
+
+    /**
+     * Deja de anotar cambios y cierra todas las conexiones; las réplicas conservan lo que ya
+     * aplicaron y seguirán intentando reconectarse.
+     */
+    @Override
+    public void close() throws IOException {
+        cerrado = true;
+        gestor.removeProyectosListener(escucha);
+        registro.cerrar();
+        servidor.close();
+        for (Socket conexion : conexiones) {
+            conexion.close();
+        }
+        hilos.shutdown();
+        try {
+            hilos.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Anotación ---
+
+    private void anotar(EventoProyecto evento) {
+        long marca = ahoraMicros();
+        switch (evento.getTipo()) {
+            case AGREGADO:
+                registro.anotarTodos(ALTA, evento.getProyectos(), marca);
+                break;
+            case ELIMINADO:
+            case ELIMINADOS:
+                registro.anotarTodos(BAJA, evento.getProyectos(), marca);
+                break;
+            case LIMPIADO:
+                registro.anotar(LIMPIEZA, null, marca);
+                break;
+        }
+    }
+
+    // --- Conexiones ---
+
+    private void aceptar() {
+        while (!cerrado) {
+            Socket conexion;
+            try {
+                conexion = servidor.accept();
+            } catch (IOException e) {
+                return; // Servidor cerrado
+            }
+            conexiones.add(conexion);
+            hilos.execute(() -> atender(conexion));
+        }
+    }
+
+    private void atender(Socket conexion) {
+        try (conexion) {
+            conexion.setTcpNoDelay(true);
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexion.getInputStream()));
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(conexion.getOutputStream(), TAMANIO_BUFFER));
+            if (entrada.readInt() != MAGIA) {
+                return;
+            }
+            long idRegistro = entrada.readLong();
+            long aplicada = entrada.readLong();
+            long siguiente;
+            if (idRegistro == registro.getIdentificador() && registro.puedeContinuar(aplicada)) {
+                salida.writeByte(REANUDACION);
+                salida.writeLong(idRegistro);
+                salida.writeLong(aplicada);
+                reanudaciones.incrementAndGet();
+                siguiente = aplicada + 1;
+            } else {
+                siguiente = enviarInstantanea(salida) + 1;
+            }
+            salida.flush();
+            enviarCambios(salida, siguiente);
+        } catch (IOException e) {
+            // La réplica se desconectó; volverá a conectarse por su cuenta
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            conexiones.remove(conexion);
+        }
+    }
+
+    private void enviarCambios(DataOutputStream salida, long siguiente) throws IOException, InterruptedException {
+        RegistroReplicacion.Entrada[] lote = new RegistroReplicacion.Entrada[CAMBIOS_POR_ENVIO];
+        while (!cerrado) {
+            int leidos = registro.leer(siguiente, lote, INTERVALO_LATIDO_MS);
+            if (leidos < 0) {
+                // Se quedó demasiado atrás: el registro ya descartó cambios que le faltan
+                siguiente = enviarInstantanea(salida) + 1;
+            } else if (leidos == 0) {
+                salida.writeByte(LATIDO);
+                salida.writeLong(registro.getUltima());
+                salida.writeLong(ahoraMicros());
+            } else {
+                for (int i = 0; i < leidos; i++) {
+                    escribirCambio(salida, siguiente + i, lote[i]);
+                    lote[i] = null;
+                }
+                siguiente += leidos;
+            }
+            salida.flush(); // Si llegan cambios sin parar, un envío por cada lote
+        }
+    }
+
+    private static void escribirCambio(DataOutputStream salida, long secuencia, RegistroReplicacion.Entrada cambio)
+            throws IOException {
+        salida.writeByte(cambio.tipo);
+        salida.writeLong(secuencia);
+        salida.writeLong(cambio.marcaMicros);
+        if (cambio.tipo == ALTA) {
+            escribirTexto(salida, cambio.proyecto.getNombre());
+            salida.writeInt(cambio.proyecto.getCentesimas());
+        } else if (cambio.tipo == BAJA) {
+            escribirTexto(salida, cambio.proyecto.getNombre());
+        }
+    }
+
+    /**
+     * Envía la lista completa y devuelve la secuencia a la que corresponde.
+     */
+    private long enviarInstantanea(DataOutputStream salida) throws IOException {
+        // La secuencia solo avanza dentro del cerrojo de escritura del gestor: si es la misma
+        // antes y después de tomar la instantánea, la instantánea incluye exactamente esos cambios
+        long secuencia;
+        List<Proyecto> proyectos;
+        do {
+            secuencia = registro.getUltima();
+            proyectos = gestor.getInstantanea();
+        } while (secuencia != registro.getUltima());
+
+        salida.writeByte(INSTANTANEA);
+        salida.writeLong(registro.getIdentificador());
+        salida.writeLong(secuencia);
+        salida.writeInt(proyectos.size());
+        for (Proyecto proyecto : proyectos) {
+            escribirTexto(salida, proyecto.getNombre());
+            salida.writeInt(proyecto.getCentesimas());
+        }
+        instantaneasEnviadas.incrementAndGet();
+        return secuencia;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.replicacion;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Formato de la conexión TCP entre primario y réplica (enteros big-endian, textos en UTF-8
+ * precedidos de su longitud).
+ * <pre>
+ * réplica → primario: SALUDO      [magia:int][idRegistro:long][secuenciaAplicada:long]
+ * primario → réplica: INSTANTANEA [tipo][idRegistro:long][secuencia:long][cantidad:int]{[nombre][centesimas:int]}*
+ *                     REANUDACION [tipo][idRegistro:long][secuencia:long]
+ *                     ALTA        [tipo][secuencia:long][marca:long][nombre][centesimas:int]
+ *                     BAJA        [tipo][secuencia:long][marca:long][nombre]
+ *                     LIMPIEZA    [tipo][secuencia:long][marca:long]
+ *                     LATIDO      [tipo][secuencia:long][marca:long]
+ * </pre>
+ * Tras el saludo, el primario manda una instantánea o una reanudación y después los cambios
+ * en orden, cada uno con su secuencia y la hora (en milisegundos) a la que se anotó. Los
+ * latidos llevan la última secuencia del primario aunque no haya cambios.
+ */
+final class ProtocoloReplicacion {
+    static final int MAGIA = 0x50525931; // "PRY1"
+    static final byte INSTANTANEA = 1;
+    static final byte REANUDACION = 2;
+    static final byte ALTA = 3;
+    static final byte BAJA = 4;
+    static final byte LIMPIEZA = 5;
+    static final byte LATIDO = 6;
+
+    /** Sin cambios durante este tiempo, el primario manda un latido. */
+    static final int INTERVALO_LATIDO_MS = 500;
+    /** Sin recibir nada durante este tiempo, la réplica da la conexión por perdida. */
+    static final int TIEMPO_MAXIMO_SILENCIO_MS = 4 * INTERVALO_LATIDO_MS;
+
+    private static final int LONGITUD_MAXIMA_TEXTO = 1 << 20;
+
+    private ProtocoloReplicacion() {
+    }
+
+    /**
+     * Hora actual en microsegundos desde 1970, la que llevan los cambios como marca. El
+     * retraso medido entre dos máquinas incluye la diferencia entre sus relojes.
+     */
+    static long ahoraMicros() {
+        Instant ahora = Instant.now();
+        return ahora.getEpochSecond() * 1_000_000 + ahora.getNano() / 1_000;
+    }
+
+    static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    static String leerTexto(DataInputStream entrada) throws IOException {
+        int longitud = entrada.readInt();
+        if (longitud < 0 || longitud > LONGITUD_MAXIMA_TEXTO) {
+            throw new StreamCorruptedException("Longitud de texto no válida: " + longitud);
+        }
+        byte[] bytes = new byte[longitud];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.replicacion;
+
+import org.example.model.Proyecto;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro ordenado de los cambios del primario, en memoria y de capacidad fija: un búfer
+ * circular con los últimos cambios para que una réplica que se reconecta siga desde su
+ * secuencia. Si alguno de los que le faltan ya se descartó, tiene que empezar de nuevo con
+ * una instantánea. Las secuencias empiezan en 1 (0 es «antes de cualquier cambio») y solo
+ * valen para este registro, que se identifica con un número aleatorio: tras reiniciar el
+ * primario, las réplicas lo notan y piden una instantánea.
+ */
+class RegistroReplicacion {
+
+    /** Un cambio anotado: ALTA y BAJA llevan el proyecto; LIMPIEZA, null. */
+    static final class Entrada {
+        final byte tipo;
+        final Proyecto proyecto;
+        final long marcaMicros; // Hora del primario al anotarlo, para medir el retraso
+
+        Entrada(byte tipo, Proyecto proyecto, long marcaMicros) {
+            this.tipo = tipo;
+            this.proyecto = proyecto;
+            this.marcaMicros = marcaMicros;
+        }
+    }
+
+    private final long identificador;
+    private final Entrada[] entradas;
+
+    // Estado protegido por "this"
+    private long ultima;
+    private boolean cerrado;
+
+    RegistroReplicacion(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del registro debe ser positiva.");
+        }
+        long aleatorio;
+        do {
+            aleatorio = ThreadLocalRandom.current().nextLong();
+        } while (aleatorio == 0); // 0 es el de una réplica que aún no tiene ninguno
+        this.identificador = aleatorio;
+        this.entradas = new Entrada[capacidad];
+    }
+
+    long getIdentificador() {
+        return identificador;
+    }
+
+    // --- Anotación (la llama el listener del gestor con su cerrojo de escritura: se conserva el orden) ---
+
+    synchronized void anotar(byte tipo, Proyecto proyecto, long marcaMicros) {
+        ultima++;
+        entradas[(int) (ultima % entradas.length)] = new Entrada(tipo, proyecto, marcaMicros);
+        notifyAll(); // Despierta a los emisores
+    }
+
+    synchronized void anotarTodos(byte tipo, List<Proyecto> proyectos, long marcaMicros) {
+        for (Proyecto proyecto : proyectos) {
+            ultima++;
+            entradas[(int) (ultima % entradas.length)] = new Entrada(tipo, proyecto, marcaMicros);
+        }
+        notifyAll();
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Secuencia del último cambio anotado (0 si no hay ninguno).
+     */
+    synchronized long getUltima() {
+        return ultima;
+    }
+
+    /**
+     * Indica si una réplica que ya aplicó hasta esa secuencia puede seguir desde la siguiente
+     * con lo que queda en el registro.
+     */
+    synchronized boolean puedeContinuar(long aplicada) {
+        return aplicada >= primeraConservada() - 1 && aplicada <= ultima;
+    }
+
+    /**
+     * Copia en destino los cambios a partir de la secuencia indicada; si aún no hay ninguno,
+     * espera como mucho el tiempo indicado a que llegue.
+     * @return Número de cambios copiados; 0 si no llegó ninguno a tiempo (o el registro se
+     *         cerró) y -1 si alguno de los pedidos ya se descartó.
+     */
+    synchronized int leer(long desde, Entrada[] destino, long esperaMs) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        while (ultima < desde && !cerrado) {
+            long resto = limite - System.nanoTime();
+            if (resto <= 0) {
+                return 0;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, resto);
+        }
+        if (ultima < desde) {
+            return 0;
+        }
+        if (desde < primeraConservada()) {
+            return -1;
+        }
+        int cantidad = (int) Math.min(destino.length, ultima - desde + 1);
+        for (int i = 0; i < cantidad; i++) {
+            destino[i] = entradas[(int) ((desde + i) % entradas.length)];
+        }
+        return cantidad;
+    }
+
+    /**
+     * Despierta a los emisores que esperan cambios; las lecturas siguientes no esperan.
+     */
+    synchronized void cerrar() {
+        cerrado = true;
+        notifyAll();
+    }
+
+    private long primeraConservada() {
+        return Math.max(1, ultima - entradas.length + 1);
+    }
+}
@@ -0,0 +1,335 @@
+package org.example.replicacion;
+
+import org.example.controller.GestorProyectos;
+import org.example.metricas.HistogramaLatencias;
+import org.example.metricas.ResumenLatencias;
+import org.example.model.Proyecto;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.replicacion.ProtocoloReplicacion.*;
+
+/**
+ * Lado réplica de la replicación: mantiene un {@link GestorProyectos} local al día con el de
+ * un {@link PrimarioReplicacion}, aplicando sus cambios en orden desde un hilo propio. Las
+ * lecturas se hacen sobre el gestor local, sin pasar por la red; pueden ir por detrás del
+ * primario lo que indique {@link #getRetrasoCambios()}. El gestor local pasa a ser de solo
+ * lectura ({@link GestorProyectos#convertirEnReplica()}); si aun así se detecta que ya no
+ * coincide con el primario, se vuelve a cargar una instantánea.
+ * <p>
+ * Los cambios seguidos del mismo tipo que ya han llegado se aplican juntos, con una sola
+ * escritura en el gestor (y un solo volcado de su diario), hasta {@value #MAXIMO_CAMBIOS_POR_LOTE}.
+ * <p>
+ * Si la conexión se pierde (o el primario deja de mandar latidos), se reintenta con esperas
+ * crecientes y se sigue desde la última secuencia aplicada; si el primario ya no la conserva
+ * o se reinició, se carga su instantánea de una vez.
+ */
+public class ReplicaProyectos implements Closeable, ReplicaProyectosMXBean {
+    public static final String NOMBRE_JMX = "org.example:type=GestorProyectos,name=Replica";
+    private static final int ESPERA_MINIMA_RECONEXION_MS = 50;
+    private static final int ESPERA_MAXIMA_RECONEXION_MS = 2_000;
+    static final int MAXIMO_CAMBIOS_POR_LOTE = 4096;
+
+    private final GestorProyectos gestor;
+    private final GestorProyectos.AplicadorReplica aplicador;
+    private final InetSocketAddress primario;
+    private final Thread hilo;
+    private final HistogramaLatencias retrasos = new HistogramaLatencias();
+    private volatile Socket conexion;
+    private volatile boolean cerrada;
+
+    // Estado de la replicación; solo lo escribe el hilo de la réplica
+    private final long[] marcasLote = new long[MAXIMO_CAMBIOS_POR_LOTE];
+    private long idRegistro; // 0 = ninguno todavía: la próxima conexión pide una instantánea
+    private volatile long secuenciaAplicada;
+    private volatile long secuenciaPrimario;
+    private volatile long ultimoRetrasoMicros;
+    private volatile boolean conectada;
+    private volatile long conexiones;
+    private volatile long instantaneasCargadas;
+
+    /**
+     * Empieza a replicar en segundo plano; el gestor local se sustituye por la instantánea
+     * del primario en cuanto se conecta.
+     * @throws IllegalStateException Si el gestor ya es réplica de otro primario.
+     */
+    public ReplicaProyectos(GestorProyectos gestor, String host, int puerto) {
+        this.gestor = gestor;
+        this.aplicador = gestor.convertirEnReplica();
+        this.primario = InetSocketAddress.createUnresolved(host, puerto);
+        this.hilo = new Thread(this::replicar, "replica-proyectos");
+        this.hilo.setDaemon(true);
+        this.hilo.start();
+    }
+
+    public GestorProyectos getGestor() {
+        return gestor;
+    }
+
+    /**
+     * Espera a que la réplica haya aplicado al menos hasta esa secuencia del primario (p. ej.
+     * la de {@link PrimarioReplicacion#getSecuencia()} tras una escritura, para leer lo escrito).
+     * @return false si no lo consiguió en el tiempo indicado.
+     */
+    public boolean esperarSecuencia(long secuencia, long tiempoMaximo, TimeUnit unidad) throws InterruptedException {
+        long limite = System.nanoTime() + unidad.toNanos(tiempoMaximo);
+        synchronized (this) {
+            while (secuenciaAplicada < secuencia) {
+                long resto = limite - System.nanoTime();
+                if (resto <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, resto);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deja de replicar; el gestor local conserva lo aplicado hasta ahora.
+     */
+    @Override
+    public void close() throws IOException {
+        cerrada = true;
+        hilo.interrupt();
+        Socket abierta = conexion;
+        if (abierta != null) {
+            abierta.close(); // Desbloquea la lectura en curso
+        }
+        try {
+            hilo.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Publica las métricas de la réplica en el servidor MBean de la plataforma con {@link #NOMBRE_JMX}.
+     * Si ya había otras registradas con ese nombre, se sustituyen.
+     */
+    public void registrarEnJmx() throws JMException {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName(NOMBRE_JMX);
+        try {
+            servidor.registerMBean(this, nombre);
+        } catch (InstanceAlreadyExistsException e) {
+            servidor.unregisterMBean(nombre);
+            servidor.registerMBean(this, nombre);
+        }
+    }
+
+    // --- Métricas ---
+
+    @Override
+    public boolean isConectada() {
+        return conectada;
+    }
+
+    @Override
+    public long getSecuenciaAplicada() {
+        return secuenciaAplicada;
+    }
+
+    @Override
+    public long getSecuenciaPrimario() {
+        return secuenciaPrimario;
+    }
+
+    @Override
+    public long getRetrasoCambios() {
+        return Math.max(0, secuenciaPrimario - secuenciaAplicada);
+    }
+
+    @Override
+    public double getRetrasoMillis() {
+        return ultimoRetrasoMicros / 1_000.0;
+    }
+
+    @Override
+    public ResumenLatencias getRetrasos() {
+        return ResumenLatencias.de(retrasos);
+    }
+
+    @Override
+    public long getConexiones() {
+        return conexiones;
+    }
+
+    @Override
+    public long getInstantaneasCargadas() {
+        return instantaneasCargadas;
+    }
+
+    // --- Hilo de la réplica ---
+
+    private void replicar() {
+        int espera = ESPERA_MINIMA_RECONEXION_MS;
+        while (!cerrada) {
+            try (Socket socket = new Socket()) {
+                conexion = socket;
+                if (cerrada) {
+                    return;
+                }
+                socket.connect(new InetSocketAddress(primario.getHostString(), primario.getPort()), TIEMPO_MAXIMO_SILENCIO_MS);
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(TIEMPO_MAXIMO_SILENCIO_MS); // Sin latidos, la conexión se da por perdida
+                DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                salida.writeInt(MAGIA);
+                salida.writeLong(idRegistro);
+                salida.writeLong(secuenciaAplicada);
+                salida.flush();
+                conectada = true;
+                conexiones++;
+                espera = ESPERA_MINIMA_RECONEXION_MS;
+                recibir(new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024)));
+            } catch (IOException e) {
+                // Primario caído, conexión cortada o réplica desincronizada: se reintenta
+            } finally {
+                conectada = false;
+                conexion = null;
+            }
+            if (cerrada) {
+                return;
+            }
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                return;
+            }
+            espera = Math.min(ESPERA_MAXIMA_RECONEXION_MS, espera * 2);
+        }
+    }
+
+    private void recibir(DataInputStream entrada) throws IOException {
+        while (!cerrada) {
+            byte tipo = entrada.readByte();
+            switch (tipo) {
+                case INSTANTANEA:
+                    cargarInstantanea(entrada);
+                    break;
+                case REANUDACION: {
+                    long id = entrada.readLong();
+                    long secuencia = entrada.readLong();
+                    if (id != idRegistro || secuencia != secuenciaAplicada) {
+                        throw new StreamCorruptedException("Reanudación inesperada en la secuencia " + secuencia);
+                    }
+                    break;
+                }
+                case LATIDO: {
+                    long secuencia = entrada.readLong();
+                    entrada.readLong(); // Marca del latido: no se usa
+                    secuenciaPrimario = Math.max(secuenciaPrimario, secuencia);
+                    break;
+                }
+                case ALTA:
+                case BAJA:
+                case LIMPIEZA:
+                    aplicarCambios(tipo, entrada);
+                    break;
+                default:
+                    throw new StreamCorruptedException("Tipo de mensaje desconocido: " + tipo);
+            }
+        }
+    }
+
+    private void cargarInstantanea(DataInputStream entrada) throws IOException {
+        long id = entrada.readLong();
+        long secuencia = entrada.readLong();
+        int cantidad = entrada.readInt();
+        if (cantidad < 0) {
+            throw new StreamCorruptedException("Instantánea con tamaño negativo.");
+        }
+        List<Proyecto> proyectos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            String nombre = leerTexto(entrada);
+            proyectos.add(Proyecto.conCentesimas(nombre, entrada.readInt()));
+        }
+        aplicador.sustituir(proyectos);
+        idRegistro = id;
+        instantaneasCargadas++;
+        secuenciaPrimario = secuencia; // Si el primario se reinició, sus secuencias empiezan de nuevo
+        aplicada(secuencia);
+    }
+
+    /**
+     * Aplica un cambio y, de una vez, los siguientes del mismo tipo que ya estén en el búfer
+     * (sin esperar a la red por ellos).
+     */
+    private void aplicarCambios(byte tipo, DataInputStream entrada) throws IOException {
+        List<Proyecto> altas = new ArrayList<>();
+        List<String> bajas = new ArrayList<>();
+        int cambios = 0;
+        do {
+            long secuencia = entrada.readLong();
+            if (secuencia != secuenciaAplicada + cambios + 1) {
+                throw new StreamCorruptedException("Se esperaba la secuencia " + (secuenciaAplicada + cambios + 1) + " y llegó " + secuencia);
+            }
+            marcasLote[cambios++] = entrada.readLong();
+            if (tipo == ALTA) {
+                String nombre = leerTexto(entrada);
+                altas.add(Proyecto.conCentesimas(nombre, entrada.readInt()));
+            } else if (tipo == BAJA) {
+                bajas.add(leerTexto(entrada));
+            }
+        } while (tipo != LIMPIEZA && cambios < MAXIMO_CAMBIOS_POR_LOTE && siguienteEs(tipo, entrada));
+
+        long ultima = secuenciaAplicada + cambios;
+        boolean coincide = true;
+        if (tipo == ALTA) {
+            coincide = aplicador.agregar(altas); // Alguna ya existía
+        } else if (tipo == BAJA) {
+            coincide = aplicador.eliminar(bajas); // Alguna no existía
+        } else {
+            aplicador.limpiar();
+        }
+        if (!coincide) {
+            idRegistro = 0; // La siguiente conexión cargará una instantánea
+            throw new IOException("La réplica no coincide con el primario entre las secuencias "
+                    + (secuenciaAplicada + 1) + " y " + ultima);
+        }
+        long ahora = ahoraMicros();
+        for (int i = 0; i < cambios; i++) {
+            long retraso = Math.max(0, ahora - marcasLote[i]);
+            ultimoRetrasoMicros = retraso;
+            retrasos.registrar(TimeUnit.MICROSECONDS.toNanos(retraso));
+        }
+        secuenciaPrimario = Math.max(secuenciaPrimario, ultima);
+        aplicada(ultima);
+    }
+
+    // Mira el siguiente mensaje solo si ya ha llegado; si es de otro tipo, lo deja en el búfer
+    private static boolean siguienteEs(byte tipo, DataInputStream entrada) throws IOException {
+        if (entrada.available() == 0) {
+            return false;
+        }
+        entrada.mark(1);
+        if (entrada.readByte() == tipo) {
+            return true;
+        }
+        entrada.reset();
+        return false;
+    }
+
+    private void aplicada(long secuencia) {
+        synchronized (this) {
+            secuenciaAplicada = secuencia;
+            notifyAll(); // Despierta a quien espera en esperarSecuencia
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.replicacion;
+
+import org.example.metricas.ResumenLatencias;
+
+/**
+ * Interfaz JMX de {@link ReplicaProyectos} (visible en JConsole / VisualVM como
+ * {@code org.example:type=GestorProyectos,name=Replica}).
+ */
+public interface ReplicaProyectosMXBean {
+
+    boolean isConectada();
+
+    /** Secuencia del último cambio del primario aplicado en esta réplica. */
+    long getSecuenciaAplicada();
+
+    /** Última secuencia conocida del primario (llega con cada cambio y con los latidos). */
+    long getSecuenciaPrimario();
+
+    /** Cambios del primario que aún no se han aplicado aquí. */
+    long getRetrasoCambios();
+
+    /** Tiempo desde que el primario anotó el último cambio aplicado hasta que se aplicó, en milisegundos. */
+    double getRetrasoMillis();
+
+    /** Distribución de ese retraso en todos los cambios aplicados, en microsegundos. */
+    ResumenLatencias getRetrasos();
+
+    long getConexiones();
+
+    long getInstantaneasCargadas();
+}
@@ -0,0 +1,240 @@
+package org.example.servidor;
+
+import org.example.model.EstadisticasNotas;
+import org.example.model.PaginaProyectos;
+import org.example.model.Proyecto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON mínimo para la API: escribe proyectos y estadísticas y lee objetos planos
+ * ({@code {"nombre": "...", "nota": 7.5}}). Evita añadir una dependencia solo para esto.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    // --- Escritura ---
+
+    static String proyecto(Proyecto proyecto) {
+        StringBuilder json = new StringBuilder(64);
+        escribirProyecto(json, proyecto);
+        return json.toString();
+    }
+
+    static String pagina(List<Proyecto> proyectos, int desde, int total) {
+        StringBuilder json = new StringBuilder(32 + proyectos.size() * 48);
+        json.append("{\"total\":").append(total).append(",\"desde\":").append(desde).append(",\"proyectos\":[");
+        for (int i = 0; i < proyectos.size(); i++) {
+            if (i > 0) json.append(',');
+            escribirProyecto(json, proyectos.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    static String pagina(PaginaProyectos pagina) {
+        List<Proyecto> proyectos = pagina.getProyectos();
+        StringBuilder json = new StringBuilder(48 + proyectos.size() * 48);
+        json.append("{\"proyectos\":[");
+        for (int i = 0; i < proyectos.size(); i++) {
+            if (i > 0) json.append(',');
+            escribirProyecto(json, proyectos.get(i));
+        }
+        json.append("],\"siguiente\":");
+        if (pagina.hayMas()) {
+            escribirTexto(json, pagina.getSiguienteCursor());
+        } else {
+            json.append("null");
+        }
+        return json.append('}').toString();
+    }
+
+    static String estadisticas(EstadisticasNotas estadisticas) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"cantidad\":").append(estadisticas.getCantidad());
+        json.append(",\"media\":").append(numero(estadisticas.getMedia()));
+        json.append(",\"desviacionTipica\":").append(numero(estadisticas.getDesviacionTipica()));
+        json.append(",\"minima\":").append(numero(estadisticas.getMinima()));
+        json.append(",\"maxima\":").append(numero(estadisticas.getMaxima()));
+        json.append(",\"histograma\":[");
+        long[] histograma = estadisticas.getHistograma();
+        for (int i = 0; i < histograma.length; i++) {
+            if (i > 0) json.append(',');
+            json.append(histograma[i]);
+        }
+        return json.append("]}").toString();
+    }
+
+    static String error(String mensaje) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        escribirTexto(json, mensaje);
+        return json.append('}').toString();
+    }
+
+    private static void escribirProyecto(StringBuilder json, Proyecto proyecto) {
+        json.append("{\"nombre\":");
+        escribirTexto(json, proyecto.getNombre());
+        json.append(",\"nota\":").append(numero(proyecto.getNota())).append('}');
+    }
+
+    // NaN e infinito no existen en JSON
+    private static String numero(double valor) {
+        return Double.isFinite(valor) ? Double.toString(valor) : "null";
+    }
+
+    private static void escribirTexto(StringBuilder json, String texto) {
+        json.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Lee un objeto JSON plano cuyos valores son textos, números, booleanos o null.
+     * @throws IllegalArgumentException Si el texto no es un objeto de ese tipo.
+     */
+    static Map<String, Object> leerObjeto(String texto) {
+        Lector lector = new Lector(texto);
+        Map<String, Object> objeto = new LinkedHashMap<>();
+        lector.esperar('{');
+        if (!lector.consumir('}')) {
+            do {
+                String clave = lector.leerTexto();
+                lector.esperar(':');
+                objeto.put(clave, lector.leerValor());
+            } while (lector.consumir(','));
+            lector.esperar('}');
+        }
+        lector.saltarEspacios();
+        if (!lector.alFinal()) {
+            throw new IllegalArgumentException("Contenido tras el objeto JSON.");
+        }
+        return objeto;
+    }
+
+    private static class Lector {
+        private final String texto;
+        private int posicion;
+
+        Lector(String texto) {
+            this.texto = texto;
+        }
+
+        boolean alFinal() {
+            return posicion >= texto.length();
+        }
+
+        void saltarEspacios() {
+            while (!alFinal() && Character.isWhitespace(texto.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        boolean consumir(char c) {
+            saltarEspacios();
+            if (!alFinal() && texto.charAt(posicion) == c) {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        void esperar(char c) {
+            if (!consumir(c)) {
+                throw new IllegalArgumentException("JSON no válido: se esperaba '" + c + "' en la posición " + posicion + ".");
+            }
+        }
+
+        Object leerValor() {
+            saltarEspacios();
+            if (alFinal()) {
+                throw new IllegalArgumentException("JSON no válido: falta un valor.");
+            }
+            char c = texto.charAt(posicion);
+            if (c == '"') {
+                return leerTexto();
+            }
+            if (texto.startsWith("true", posicion)) {
+                posicion += 4;
+                return Boolean.TRUE;
+            }
+            if (texto.startsWith("false", posicion)) {
+                posicion += 5;
+                return Boolean.FALSE;
+            }
+            if (texto.startsWith("null", posicion)) {
+                posicion += 4;
+                return null;
+            }
+            int inicio = posicion;
+            while (!alFinal() && "+-0123456789.eE".indexOf(texto.charAt(posicion)) >= 0) {
+                posicion++;
+            }
+            try {
+                return Double.parseDouble(texto.substring(inicio, posicion));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("JSON no válido: valor inesperado en la posición " + inicio + ".");
+            }
+        }
+
+        String leerTexto() {
+            esperar('"');
+            StringBuilder resultado = new StringBuilder();
+            while (true) {
+                if (alFinal()) {
+                    throw new IllegalArgumentException("JSON no válido: texto sin cerrar.");
+                }
+                char c = texto.charAt(posicion++);
+                if (c == '"') {
+                    return resultado.toString();
+                }
+                if (c != '\\') {
+                    resultado.append(c);
+                    continue;
+                }
+                if (alFinal()) {
+                    throw new IllegalArgumentException("JSON no válido: escape incompleto.");
+                }
+                char escape = texto.charAt(posicion++);
+                switch (escape) {
+                    case 'n': resultado.append('\n'); break;
+                    case 'r': resultado.append('\r'); break;
+                    case 't': resultado.append('\t'); break;
+                    case 'b': resultado.append('\b'); break;
+                    case 'f': resultado.append('\f'); break;
+                    case 'u':
+                        if (posicion + 4 > texto.length()) {
+                            throw new IllegalArgumentException("JSON no válido: escape \\u incompleto.");
+                        }
+                        try {
+                            resultado.append((char) Integer.parseInt(texto.substring(posicion, posicion + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("JSON no válido: escape \\u incorrecto.");
+                        }
+                        posicion += 4;
+                        break;
+                    default: resultado.append(escape); // \" \\ \/
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.servidor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.controller.GestorProyectos;
+import org.example.model.PaginaProyectos;
+import org.example.model.Proyecto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * API HTTP/JSON sobre un {@link GestorProyectos}, con el servidor HTTP del JDK y un hilo
+ * virtual por petición (el gestor ya admite muchos hilos a la vez).
+ * <pre>
+ * POST   /proyectos                 {"nombre": "...", "nota": 7.5}  → 201 | 400 | 403 | 409
+ * GET    /proyectos?desde=0&amp;limite=50                              → 200 {"total", "desde", "proyectos"}
+ * GET    /proyectos?cursor=&amp;limite=50                              → 200 {"proyectos", "siguiente"}
+ * GET    /proyectos/{nombre}                                        → 200 | 404
+ * DELETE /proyectos/{nombre}                                        → 204 | 403 | 404
+ * GET    /estadisticas                                              → 200
+ * </pre>
+ * Con {@code cursor} la lista va en orden alfabético y cada página se pide con el
+ * {@code siguiente} de la anterior (vacío para la primera); las altas y bajas concurrentes
+ * no hacen que se repitan ni se salten proyectos, al contrario que con {@code desde}.
+ * Sobre una réplica de solo lectura, las escrituras responden 403.
+ */
+public class ServidorProyectos implements AutoCloseable {
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 1_000;
+    private static final String RUTA_PROYECTOS = "/proyectos";
+    private static final int TAMANIO_MAXIMO_CUERPO = 64 * 1024;
+
+    static {
+        // Sin TCP_NODELAY, cabeceras y cuerpo salen en dos segmentos y el ACK retardado del
+        // cliente añade ~40 ms a cada respuesta pequeña. Se lee al cargar el servidor HTTP del JDK.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final GestorProyectos gestor;
+    private final HttpServer servidor;
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Crea el servidor y empieza a atender peticiones.
+     * @param puerto Puerto TCP; 0 elige uno libre (ver {@link #getPuerto()}).
+     */
+    public ServidorProyectos(GestorProyectos gestor, int puerto) throws IOException {
+        this.gestor = gestor;
+        this.servidor = HttpServer.create(new InetSocketAddress(puerto), 0);
+        this.servidor.setExecutor(hilos);
+        this.servidor.createContext(RUTA_PROYECTOS, this::atenderProyectos);
+        this.servidor.createContext("/estadisticas", this::atenderEstadisticas);
+        this.servidor.start();
+    }
+
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Deja de aceptar conexiones y espera como mucho un segundo a las peticiones en curso.
+     */
+    @Override
+    public void close() {
+        servidor.stop(1);
+        hilos.shutdown();
+    }
+
+    // --- Rutas ---
+
+    private void atenderProyectos(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            String ruta = intercambio.getRequestURI().getPath(); // Ya decodificada (%20, %C3%A1...)
+            if (ruta.length() > RUTA_PROYECTOS.length() && ruta.charAt(RUTA_PROYECTOS.length()) != '/') {
+                // El contexto casa por prefijo: /proyectosX también llega aquí
+                responder(intercambio, 404, Json.error("Ruta desconocida: " + ruta));
+                return;
+            }
+            String nombre = ruta.length() > RUTA_PROYECTOS.length() + 1
+                    ? ruta.substring(RUTA_PROYECTOS.length() + 1) : null;
+            String metodo = intercambio.getRequestMethod();
+            try {
+                if (nombre == null && metodo.equals("POST")) {
+                    registrar(intercambio);
+                } else if (nombre == null && metodo.equals("GET")) {
+                    listar(intercambio);
+                } else if (nombre != null && metodo.equals("GET")) {
+                    Proyecto proyecto = gestor.buscarProyectoPorNombre(nombre);
+                    if (proyecto == null) {
+                        responder(intercambio, 404, Json.error("No existe el proyecto '" + nombre + "'."));
+                    } else {
+                        responder(intercambio, 200, Json.proyecto(proyecto));
+                    }
+                } else if (nombre != null && metodo.equals("DELETE")) {
+                    if (gestor.eliminarProyectoPorNombre(nombre)) {
+                        responder(intercambio, 204, null);
+                    } else {
+                        responder(intercambio, 404, Json.error("No existe el proyecto '" + nombre + "'."));
+                    }
+                } else {
+                    responder(intercambio, 405, Json.error("Método no permitido: " + metodo + " " + ruta));
+                }
+            } catch (IllegalArgumentException e) {
+                responder(intercambio, 400, Json.error(e.getMessage()));
+            } catch (IllegalStateException e) {
+                responder(intercambio, 403, Json.error(e.getMessage())); // Réplica de solo lectura
+            } catch (RuntimeException e) {
+                responder(intercambio, 500, Json.error("Error interno: " + e.getMessage()));
+            }
+        }
+    }
+
+    private void registrar(HttpExchange intercambio) throws IOException {
+        Map<String, Object> cuerpo = Json.leerObjeto(leerCuerpo(intercambio));
+        if (!(cuerpo.get("nombre") instanceof String) || !(cuerpo.get("nota") instanceof Double)) {
+            responder(intercambio, 400, Json.error("Se esperaba {\"nombre\": texto, \"nota\": número}."));
+            return;
+        }
+        Proyecto proyecto = new Proyecto((String) cuerpo.get("nombre"), (Double) cuerpo.get("nota"));
+        try {
+            gestor.agregarProyecto(proyecto);
+        } catch (IllegalArgumentException e) {
+            int estado = GestorProyectos.MENSAJE_DUPLICADO.equals(e.getMessage()) ? 409 : 400;
+            responder(intercambio, estado, Json.error(e.getMessage()));
+            return;
+        }
+        responder(intercambio, 201, Json.proyecto(proyecto));
+    }
+
+    private void listar(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = parametros(intercambio.getRequestURI().getRawQuery());
+        int limite = Math.min(LIMITE_MAXIMO, entero(parametros, "limite", LIMITE_POR_DEFECTO));
+        String cursor = parametros.get("cursor");
+        if (cursor != null) {
+            PaginaProyectos pagina = gestor.getPagina(cursor.isEmpty() ? null : cursor, limite);
+            responder(intercambio, 200, Json.pagina(pagina));
+            return;
+        }
+        int desde = entero(parametros, "desde", 0);
+        int total = gestor.getNumeroProyectos();
+        List<Proyecto> pagina = gestor.getProyectos(desde, limite); // Solo lee la página
+        responder(intercambio, 200, Json.pagina(pagina, desde, total));
+    }
+
+    private void atenderEstadisticas(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!intercambio.getRequestMethod().equals("GET")) {
+                responder(intercambio, 405, Json.error("Método no permitido."));
+                return;
+            }
+            responder(intercambio, 200, Json.estadisticas(gestor.getEstadisticas()));
+        }
+    }
+
+    // --- Utilidades HTTP ---
+
+    private static String leerCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            byte[] bytes = entrada.readNBytes(TAMANIO_MAXIMO_CUERPO + 1);
+            if (bytes.length > TAMANIO_MAXIMO_CUERPO) {
+                throw new IllegalArgumentException("Cuerpo demasiado grande.");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String json) throws IOException {
+        if (json == null) {
+            intercambio.sendResponseHeaders(estado, -1);
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    private static int entero(Map<String, String> parametros, String nombre, int porDefecto) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + nombre + "' debe ser un número entero.");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.example.view;
+
+import org.example.model.EventoProyecto;
+import org.example.model.Nota;
+import org.example.model.Proyecto;
+import org.example.model.ProyectosListener;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Modelo de tabla que muestra su propia copia de la lista de proyectos del gestor.
+ * Los cambios se hacen fuera del EDT, así que la tabla no lee la lista viva: en un mismo
+ * repintado, el número de filas y las celdas podrían venir de estados distintos. La copia
+ * solo cambia en {@link #sincronizar()}, en el EDT, y JTable solo pide las celdas de las
+ * filas visibles.
+ * <p>
+ * Como ProyectosListener, cada cambio del gestor se encola (O(1)); el siguiente
+ * {@link #sincronizar()} (programado por {@link PlanificadorRefresco}) los aplica en orden
+ * sobre la copia y los avisa como filas insertadas o eliminadas, así que la tabla conserva la
+ * selección. Solo una limpieza o una cola de más de {@value #MAXIMO_PENDIENTES} cambios
+ * rehacen la copia entera; entonces la selección se restaura por nombre.
+ * <p>
+ * La copia guarda un objeto por fila, también con el almacén columnar del gestor.
+ */
+public class ModeloTablaProyectos extends AbstractTableModel implements ProyectosListener {
+    private static final String[] COLUMNAS = {"#", "Nombre", "Nota"};
+    public static final int COLUMNA_POSICION = 0;
+    public static final int COLUMNA_NOMBRE = 1;
+    public static final int COLUMNA_NOTA = 2;
+    /** Cambios encolados (o tramos de una eliminación en lote) a partir de los que se rehace la copia. */
+    static final int MAXIMO_PENDIENTES = 256;
+
+    private final Supplier<List<Proyecto>> fuente;
+    private final Object cola = new Object();
+    private List<Proyecto> recarga; // Con cola: lista que sustituye a la copia antes de los pendientes
+    private List<EventoProyecto> pendientes = new ArrayList<>(); // Con cola
+    private List<Proyecto> mostrados = new ArrayList<>(); // Solo en el EDT: la copia, sin filtro
+    private volatile List<Proyecto> filtrados; // null = sin filtro
+    private ListSelectionModel seleccion; // Selección de la tabla, para restaurarla por nombre
+
+    /**
+     * La tabla empieza vacía hasta que se llame a {@link #cargar(List)}.
+     * @param fuente Da una copia inmutable de la lista del gestor (p. ej. getCopiaProyectos()).
+     *        Solo se pide desde {@link #proyectosCambiados}, cuando la cola se desborda: con el
+     *        cerrojo del gestor tomado, así que la copia corresponde justo a ese cambio.
+     */
+    public ModeloTablaProyectos(Supplier<List<Proyecto>> fuente) {
+        this.fuente = fuente;
+    }
+
+    /**
+     * Fija la lista a la que se aplican los cambios recibidos. Tiene que ser la lista tal como
+     * estaba al registrar este listener (ver GestorProyectos.addProyectosListenerConCopia);
+     * los cambios que ya estuvieran encolados se aplican después. Se muestra con el
+     * siguiente {@link #sincronizar()}.
+     */
+    public void cargar(List<Proyecto> inicial) {
+        synchronized (cola) {
+            if (recarga == null) { // Si no, una limpieza o un desbordamiento ya la dejaron atrás
+                recarga = inicial;
+            }
+        }
+    }
+
+    /**
+     * Selección de la tabla que muestra este modelo; se restaura por nombre tras rehacer las filas.
+     */
+    public void setSeleccion(ListSelectionModel seleccion) {
+        this.seleccion = seleccion;
+    }
+
+    /**
+     * Muestra solo los proyectos indicados (resultado de una búsqueda), conservando la
+     * selección por nombre. Llamar en el EDT.
+     * @param resultados Proyectos a mostrar, o null para volver a la lista completa.
+     */
+    public void setFiltro(List<Proyecto> resultados) {
+        Set<String> seleccionados = clavesSeleccionadas();
+        this.filtrados = resultados;
+        fireTableDataChanged();
+        seleccionar(seleccionados);
+    }
+
+    public boolean isFiltrado() {
+        return filtrados != null;
+    }
+
+    private List<Proyecto> filas() {
+        List<Proyecto> actuales = filtrados;
+        return actuales != null ? actuales : mostrados;
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas().size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNAS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        switch (columnIndex) {
+            case COLUMNA_POSICION: return Integer.class;
+            case COLUMNA_NOTA: return Double.class;
+            default: return String.class;
+        }
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (columnIndex == COLUMNA_POSICION) {
+            return rowIndex + 1;
+        }
+        Proyecto proyecto = filas().get(rowIndex);
+        return columnIndex == COLUMNA_NOMBRE ? proyecto.getNombre() : Nota.valor(proyecto.getCentesimas());
+    }
+
+    /**
+     * Encola el cambio; el gestor lo llama con su cerrojo de escritura tomado, en orden.
+     */
+    @Override
+    public void proyectosCambiados(EventoProyecto evento) {
+        if (evento.getTipo() == EventoProyecto.Tipo.LIMPIADO) {
+            synchronized (cola) {
+                recarga = List.of();
+                pendientes.clear();
+            }
+            return;
+        }
+        boolean desbordada;
+        synchronized (cola) {
+            desbordada = pendientes.size() >= MAXIMO_PENDIENTES;
+            if (!desbordada) {
+                pendientes.add(evento);
+            }
+        }
+        if (desbordada) {
+            List<Proyecto> actual = fuente.get(); // Fuera de cola: el EDT nunca espera al gestor
+            synchronized (cola) {
+                recarga = actual;
+                pendientes.clear();
+            }
+        }
+    }
+
+    /**
+     * Aplica los cambios encolados a la copia que pinta la tabla y los avisa fila a fila, o
+     * rehace la tabla entera tras una limpieza o un desbordamiento. Con filtro la copia se
+     * actualiza igual, pero la tabla la refresca la búsqueda que se repite. Llamar en el EDT.
+     * @return true si había cambios.
+     */
+    public boolean sincronizar() {
+        List<Proyecto> nueva;
+        List<EventoProyecto> cambios;
+        synchronized (cola) {
+            if (recarga == null && pendientes.isEmpty()) {
+                return false;
+            }
+            nueva = recarga;
+            cambios = pendientes;
+            recarga = null;
+            pendientes = new ArrayList<>();
+        }
+        if (nueva != null) {
+            recargar(new ArrayList<>(nueva));
+        }
+        for (EventoProyecto cambio : cambios) {
+            aplicar(cambio);
+        }
+        return true;
+    }
+
+    private void aplicar(EventoProyecto cambio) {
+        int primera = cambio.getPrimerIndice();
+        int ultima = cambio.getUltimoIndice();
+        switch (cambio.getTipo()) {
+            case AGREGADO:
+                mostrados.addAll(cambio.getProyectos()); // Siempre al final de la lista
+                avisar(() -> fireTableRowsInserted(primera, ultima));
+                break;
+            case ELIMINADO:
+                mostrados.remove(primera);
+                avisar(() -> fireTableRowsDeleted(primera, primera));
+                break;
+            case ELIMINADOS:
+                if (cambio.isContiguo()) {
+                    mostrados.subList(primera, ultima + 1).clear();
+                    avisar(() -> fireTableRowsDeleted(primera, ultima));
+                } else {
+                    eliminarPosiciones(cambio.getPosiciones());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Quita las posiciones (previas, crecientes) en una pasada y avisa cada tramo, del último
+     * al primero para que los índices sigan valiendo. Con muchos tramos, rehace la tabla.
+     */
+    private void eliminarPosiciones(int[] posiciones) {
+        List<int[]> tramos = new ArrayList<>();
+        for (int i = 0; i < posiciones.length; i++) {
+            if (i > 0 && posiciones[i] == posiciones[i - 1] + 1) {
+                tramos.get(tramos.size() - 1)[1] = posiciones[i];
+            } else {
+                tramos.add(new int[]{posiciones[i], posiciones[i]});
+            }
+        }
+        List<Proyecto> quedan = new ArrayList<>(mostrados.size() - posiciones.length);
+        int siguiente = 0;
+        for (int i = 0; i < mostrados.size(); i++) {
+            if (siguiente < posiciones.length && posiciones[siguiente] == i) {
+                siguiente++;
+            } else {
+                quedan.add(mostrados.get(i));
+            }
+        }
+        if (tramos.size() > MAXIMO_PENDIENTES) {
+            recargar(quedan);
+            return;
+        }
+        mostrados = quedan;
+        avisar(() -> {
+            for (int i = tramos.size() - 1; i >= 0; i--) {
+                fireTableRowsDeleted(tramos.get(i)[0], tramos.get(i)[1]);
+            }
+        });
+    }
+
+    // Con filtro, la tabla no muestra la copia: no hay filas que avisar
+    private void avisar(Runnable aviso) {
+        if (filtrados == null) {
+            aviso.run();
+        }
+    }
+
+    private void recargar(List<Proyecto> lista) {
+        if (filtrados != null) {
+            mostrados = lista;
+            return;
+        }
+        Set<String> seleccionados = clavesSeleccionadas();
+        mostrados = lista;
+        fireTableDataChanged(); // JTable vacía la selección
+        seleccionar(seleccionados);
+    }
+
+    private Set<String> clavesSeleccionadas() {
+        Set<String> claves = new HashSet<>();
+        if (seleccion == null || seleccion.isSelectionEmpty()) {
+            return claves;
+        }
+        List<Proyecto> actuales = filas();
+        int hasta = Math.min(seleccion.getMaxSelectionIndex(), actuales.size() - 1);
+        for (int i = seleccion.getMinSelectionIndex(); i <= hasta; i++) {
+            if (seleccion.isSelectedIndex(i)) {
+                claves.add(actuales.get(i).getClave());
+            }
+        }
+        return claves;
+    }
+
+    private void seleccionar(Set<String> claves) {
+        if (claves.isEmpty()) {
+            return;
+        }
+        List<Proyecto> actuales = filas();
+        seleccion.setValueIsAdjusting(true);
+        try {
+            seleccion.clearSelection();
+            for (int i = 0; i < actuales.size(); i++) {
+                if (claves.contains(actuales.get(i).getClave())) {
+                    seleccion.addSelectionInterval(i, i);
+                }
+            }
+        } finally {
+            seleccion.setValueIsAdjusting(false);
+        }
+    }
+
+    /**
+     * Devuelve el proyecto pintado en la fila indicada (de la copia, no de la lista viva).
+     */
+    public Proyecto getProyecto(int rowIndex) {
+        return filas().get(rowIndex);
+    }
+}
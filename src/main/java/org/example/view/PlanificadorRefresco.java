@@ -0,0 +1,75 @@
+package org.example.view;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Agrupa las peticiones de refresco de la ventana. {@link #marcar()} solo marca la vista como
+ * sucia (desde cualquier hilo, sin bloquear ni encolar nada si ya lo estaba); el refresco se
+ * ejecuta en el EDT como mucho una vez por intervalo ({@value #INTERVALO_POR_DEFECTO_MS} ms,
+ * unos 60 fotogramas por segundo). Así cualquier número de cambios seguidos del modelo (una
+ * importación, una eliminación en lote desde código) cuesta un repintado por fotograma.
+ * <p>
+ * Tras un periodo sin cambios, el primero se pinta en la siguiente vuelta del EDT; los que
+ * llegan antes de que acabe el intervalo esperan a su final y se pintan juntos.
+ */
+public class PlanificadorRefresco {
+    public static final int INTERVALO_POR_DEFECTO_MS = 16;
+
+    private final Runnable refresco;
+    private final long intervaloNanos;
+    private final AtomicBoolean sucia = new AtomicBoolean();
+    private final Timer temporizador;
+    private long ultimoRefresco; // System.nanoTime() del último refresco (solo en el EDT)
+    private volatile long refrescos;
+
+    /**
+     * @param refresco Trabajo de repintado; se ejecuta en el EDT.
+     */
+    public PlanificadorRefresco(Runnable refresco) {
+        this(refresco, INTERVALO_POR_DEFECTO_MS);
+    }
+
+    public PlanificadorRefresco(Runnable refresco, int intervaloMs) {
+        this.refresco = refresco;
+        this.intervaloNanos = intervaloMs * 1_000_000L;
+        this.ultimoRefresco = System.nanoTime() - intervaloNanos;
+        this.temporizador = new Timer(intervaloMs, e -> refrescar());
+        this.temporizador.setRepeats(false);
+    }
+
+    /**
+     * Pide un refresco. Se puede llamar desde cualquier hilo, también desde un listener del
+     * modelo con su cerrojo tomado: el refresco nunca se ejecuta dentro de esta llamada.
+     */
+    public void marcar() {
+        if (sucia.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::programar);
+        }
+    }
+
+    /**
+     * Número de refrescos ejecutados desde que se creó.
+     */
+    public long getRefrescos() {
+        return refrescos;
+    }
+
+    private void programar() {
+        long espera = intervaloNanos - (System.nanoTime() - ultimoRefresco);
+        if (espera <= 0) {
+            refrescar();
+        } else {
+            temporizador.setInitialDelay((int) ((espera + 999_999) / 1_000_000));
+            temporizador.restart();
+        }
+    }
+
+    private void refrescar() {
+        // Se limpia antes de pintar: un cambio que llegue mientras tanto pide otro refresco
+        sucia.set(false);
+        ultimoRefresco = System.nanoTime();
+        refrescos++;
+        refresco.run();
+    }
+}
@@ -1,24 +1,42 @@
 package org.example.view; // Asegúrate que el paquete sea el correcto
 
+import org.example.model.Nota;
+
 import javax.swing.*;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.nio.file.Path;
 
 public class VistaProyectos extends JFrame {
 
     private JTextField nombreTextField;
     private JTextField notaTextField;
+    private JTextField filtroTextField;
     private JButton registrarButton;
     private JButton eliminarButton; // Nuevo botón para eliminar
+    private JButton eliminarSeleccionadosButton;
     private JButton limpiarTodoButton; // Nuevo botón para limpiar todo
-    private JTextArea listaTextArea;
+    private JButton importarButton;
+    private JButton exportarButton;
+    private JButton deshacerButton;
+    private JButton rehacerButton;
+    private JButton cancelarButton;
+    private JTable tablaProyectos;
     private JLabel statusLabel;
+    private JLabel estadisticasLabel;
+    private JProgressBar progressBar;
 
     public VistaProyectos() {
         super("Registro de Proyectos de Asignatura");
 
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(550, 450); // Ajustar tamaño si es necesario
+        setSize(800, 450); // Ajustar tamaño si es necesario
         setLocationRelativeTo(null);
         setLayout(new BorderLayout(10, 10));
 
@@ -47,29 +65,107 @@ public class VistaProyectos extends JFrame {
         JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5)); // Usar FlowLayout para los botones
         registrarButton = new JButton("Registrar Proyecto");
         eliminarButton = new JButton("Eliminar Proyecto");   // Crear botón
+        eliminarSeleccionadosButton = new JButton("Eliminar Seleccionados");
+        eliminarSeleccionadosButton.setToolTipText("Elimina de una vez los proyectos seleccionados en la tabla (Supr)");
+        eliminarSeleccionadosButton.setEnabled(false);
         limpiarTodoButton = new JButton("Limpiar Todo");     // Crear botón Limpiar
+        importarButton = new JButton("Importar...");
+        exportarButton = new JButton("Exportar...");
+        exportarButton.setToolTipText("Guarda todos los proyectos en CSV o, con extensión .jsonl, en JSON Lines");
+        deshacerButton = new JButton("Deshacer");
+        deshacerButton.setToolTipText("Deshace el último registro, eliminación o limpieza (Ctrl+Z)");
+        deshacerButton.setEnabled(false);
+        rehacerButton = new JButton("Rehacer");
+        rehacerButton.setToolTipText("Vuelve a aplicar el último cambio deshecho (Ctrl+Y o Ctrl+Mayús+Z)");
+        rehacerButton.setEnabled(false);
 
         panelBotones.add(registrarButton);
         panelBotones.add(eliminarButton); // Añadir botón al panel
+        panelBotones.add(eliminarSeleccionadosButton);
         panelBotones.add(limpiarTodoButton); // Añadir botón Limpiar al panel
+        panelBotones.add(importarButton);
+        panelBotones.add(exportarButton);
+        panelBotones.add(deshacerButton);
+        panelBotones.add(rehacerButton);
 
         gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2; gbc.fill = GridBagConstraints.NONE; gbc.anchor = GridBagConstraints.CENTER; gbc.weightx = 0.0;
         panelEntrada.add(panelBotones, gbc); // Añadir panel de botones al GridBagLayout
 
         add(panelEntrada, BorderLayout.NORTH);
 
-        // --- Área de Lista (Centro) ---
-        listaTextArea = new JTextArea();
-        listaTextArea.setEditable(false);
-        listaTextArea.setMargin(new Insets(5, 5, 5, 5));
-        JScrollPane scrollPane = new JScrollPane(listaTextArea);
-        scrollPane.setBorder(BorderFactory.createTitledBorder("Proyectos Registrados"));
-        add(scrollPane, BorderLayout.CENTER);
+        // --- Tabla de Proyectos (Centro) ---
+        // JTable solo pinta las filas visibles; sin RowSorter para no recorrer todo el modelo
+        tablaProyectos = new JTable();
+        tablaProyectos.setFillsViewportHeight(true);
+        tablaProyectos.setDefaultRenderer(Double.class, new NotaRenderer());
+        // Selección múltiple (Ctrl/Mayús + clic) para eliminar varias filas a la vez
+        tablaProyectos.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        tablaProyectos.getSelectionModel().addListSelectionListener(e ->
+                eliminarSeleccionadosButton.setEnabled(tablaProyectos.getSelectedRowCount() > 0));
+        tablaProyectos.getInputMap(JComponent.WHEN_FOCUSED)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_DELETE, 0), "eliminarSeleccionados");
+        tablaProyectos.getActionMap().put("eliminarSeleccionados", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                eliminarSeleccionadosButton.doClick();
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(tablaProyectos);
+
+        // Filtro por nombre: se busca mientras se escribe
+        filtroTextField = new JTextField(20);
+        filtroTextField.setToolTipText("Muestra los proyectos cuyo nombre empieza por el texto o se parece a él");
+        JPanel panelFiltro = new JPanel(new BorderLayout(5, 0));
+        panelFiltro.add(new JLabel("Buscar:"), BorderLayout.WEST);
+        panelFiltro.add(filtroTextField, BorderLayout.CENTER);
+
+        JPanel panelTabla = new JPanel(new BorderLayout(0, 5));
+        panelTabla.setBorder(BorderFactory.createTitledBorder("Proyectos Registrados"));
+        panelTabla.add(panelFiltro, BorderLayout.NORTH);
+        panelTabla.add(scrollPane, BorderLayout.CENTER);
+        add(panelTabla, BorderLayout.CENTER);
 
-        // --- Barra de Estado (Sur) ---
+        // --- Barra de Estado (Sur) con progreso de tareas en segundo plano ---
         statusLabel = new JLabel("Listo.");
-        statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
-        add(statusLabel, BorderLayout.SOUTH);
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        cancelarButton = new JButton("Cancelar");
+        JPanel panelProgreso = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        panelProgreso.add(progressBar);
+        panelProgreso.add(cancelarButton);
+        panelProgreso.setVisible(false);
+
+        estadisticasLabel = new JLabel();
+        JPanel panelDerecho = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        panelDerecho.add(estadisticasLabel);
+        panelDerecho.add(panelProgreso);
+
+        JPanel panelEstado = new JPanel(new BorderLayout(10, 0));
+        panelEstado.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        panelEstado.add(statusLabel, BorderLayout.CENTER);
+        panelEstado.add(panelDerecho, BorderLayout.EAST);
+        add(panelEstado, BorderLayout.SOUTH);
+
+        // Atajos estándar de deshacer/rehacer en toda la ventana (Cmd en macOS);
+        // con el botón deshabilitado, doClick no hace nada
+        int menu = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        InputMap atajos = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        ActionMap acciones = getRootPane().getActionMap();
+        atajos.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, menu), "deshacer");
+        atajos.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, menu), "rehacer");
+        atajos.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, menu | InputEvent.SHIFT_DOWN_MASK), "rehacer");
+        acciones.put("deshacer", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                deshacerButton.doClick();
+            }
+        });
+        acciones.put("rehacer", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                rehacerButton.doClick();
+            }
+        });
     }
 
     // --- Métodos para interactuar con la vista desde el controlador ---
@@ -82,8 +178,15 @@ public class VistaProyectos extends JFrame {
         return notaTextField.getText().trim();
     }
 
-    public void setListaProyectos(String texto) {
-        listaTextArea.setText(texto);
+    public String getFiltro() {
+        return filtroTextField.getText().trim();
+    }
+
+    public void setModeloTabla(ModeloTablaProyectos modelo) {
+        tablaProyectos.setModel(modelo);
+        modelo.setSeleccion(tablaProyectos.getSelectionModel());
+        tablaProyectos.getColumnModel().getColumn(ModeloTablaProyectos.COLUMNA_POSICION).setMaxWidth(80);
+        tablaProyectos.getColumnModel().getColumn(ModeloTablaProyectos.COLUMNA_NOTA).setMaxWidth(100);
     }
 
     // Listener para el botón Registrar
@@ -96,32 +199,127 @@ public class VistaProyectos extends JFrame {
         eliminarButton.addActionListener(listener);
     }
 
+    public void addEliminarSeleccionadosListener(ActionListener listener) {
+        eliminarSeleccionadosButton.addActionListener(listener);
+    }
+
+    // Filas seleccionadas en la tabla (índices del modelo: la tabla no tiene RowSorter)
+    public int[] getFilasSeleccionadas() {
+        return tablaProyectos.getSelectedRows();
+    }
+
     // Listener para el NUEVO botón Limpiar Todo
     public void addLimpiarTodoListener(ActionListener listener) {
         limpiarTodoButton.addActionListener(listener);
     }
 
+    // Listener para el botón Importar
+    public void addImportarListener(ActionListener listener) {
+        importarButton.addActionListener(listener);
+    }
+
+    // Listener para el botón Exportar
+    public void addExportarListener(ActionListener listener) {
+        exportarButton.addActionListener(listener);
+    }
+
+    // Listener para el botón Deshacer (y Ctrl+Z)
+    public void addDeshacerListener(ActionListener listener) {
+        deshacerButton.addActionListener(listener);
+    }
+
+    // Listener para el botón Rehacer (y Ctrl+Y / Ctrl+Mayús+Z)
+    public void addRehacerListener(ActionListener listener) {
+        rehacerButton.addActionListener(listener);
+    }
+
+    // Habilita los botones (y atajos) de deshacer y rehacer según el historial del modelo
+    public void setHistorial(boolean puedeDeshacer, boolean puedeRehacer) {
+        deshacerButton.setEnabled(puedeDeshacer);
+        rehacerButton.setEnabled(puedeRehacer);
+    }
+
+    // Listener para el botón Cancelar de la tarea en curso
+    public void addCancelarListener(ActionListener listener) {
+        cancelarButton.addActionListener(listener);
+    }
+
+    // Listener para cada cambio del texto de búsqueda
+    public void addFiltroListener(DocumentListener listener) {
+        filtroTextField.getDocument().addDocumentListener(listener);
+    }
+
+    /**
+     * Muestra la barra de progreso de una tarea en segundo plano.
+     * @param descripcion Texto que se muestra en la barra de estado mientras dura la tarea.
+     */
+    public void iniciarProgreso(String descripcion) {
+        setStatus(descripcion);
+        progressBar.setValue(0);
+        progressBar.getParent().setVisible(true);
+        cancelarButton.setEnabled(true);
+    }
+
+    public void setProgreso(int porcentaje) {
+        progressBar.setValue(porcentaje);
+    }
+
+    public void finalizarProgreso() {
+        progressBar.getParent().setVisible(false);
+    }
+
     public void mostrarMensajeError(String mensaje) {
         JOptionPane.showMessageDialog(this, mensaje, "Error", JOptionPane.ERROR_MESSAGE);
         // Actualizar estado, limitando longitud del mensaje si es muy largo
         setStatus("Error: " + mensaje.substring(0, Math.min(mensaje.length(), 60)) + (mensaje.length() > 60 ? "..." : ""));
     }
 
-    public void mostrarMensajeInfo(String mensaje) {
-        JOptionPane.showMessageDialog(this, mensaje, "Información", JOptionPane.INFORMATION_MESSAGE);
-        setStatus(mensaje);
-    }
 
     // Método para pedir al usuario el nombre del proyecto a eliminar
     public String pedirNombreParaEliminar() {
         return JOptionPane.showInputDialog(
                 this, // Componente padre
-                "Ingrese el nombre exacto del proyecto a eliminar:", // Mensaje
+                "Ingrese el nombre del proyecto a eliminar:", // Mensaje
                 "Eliminar Proyecto", // Título del diálogo
                 JOptionPane.QUESTION_MESSAGE // Tipo de mensaje
         );
     }
 
+    // Método para confirmar la eliminación de varios proyectos seleccionados
+    public boolean confirmarEliminacion(int cantidad) {
+        return JOptionPane.showConfirmDialog(this,
+                "¿Desea eliminar los " + cantidad + " proyectos seleccionados?\nPodrá recuperarlos con Deshacer (Ctrl+Z).",
+                "Eliminar Proyectos", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) == JOptionPane.YES_OPTION;
+    }
+
+    // Método para pedir al usuario el fichero CSV/TSV a importar
+    public Path pedirFicheroImportacion() {
+        JFileChooser selector = new JFileChooser();
+        selector.setDialogTitle("Importar Proyectos (CSV/TSV)");
+        if (selector.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null; // El usuario canceló
+        }
+        File fichero = selector.getSelectedFile();
+        return fichero.toPath();
+    }
+
+    // Método para pedir al usuario dónde guardar la exportación (CSV o JSON Lines)
+    public Path pedirFicheroExportacion() {
+        JFileChooser selector = new JFileChooser();
+        selector.setDialogTitle("Exportar Proyectos (CSV o JSON Lines)");
+        selector.setSelectedFile(new File("proyectos.csv"));
+        if (selector.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null; // El usuario canceló
+        }
+        File fichero = selector.getSelectedFile();
+        if (fichero.exists() && JOptionPane.showConfirmDialog(this,
+                "El fichero '" + fichero.getName() + "' ya existe. ¿Desea reemplazarlo?",
+                "Exportar Proyectos", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return null;
+        }
+        return fichero.toPath();
+    }
+
     public void limpiarCampos() {
         nombreTextField.setText("");
         notaTextField.setText("");
@@ -129,6 +327,30 @@ public class VistaProyectos extends JFrame {
     }
 
     public void setStatus(String mensaje) {
+        setStatus(mensaje, null);
+    }
+
+    // Aviso no bloqueante: el detalle (varias líneas) se ve al pasar el ratón por la barra de estado
+    public void setStatus(String mensaje, String detalle) {
         statusLabel.setText(mensaje);
+        statusLabel.setToolTipText(detalle == null ? null
+                : "<html>" + detalle.replace("&", "&amp;").replace("<", "&lt;").replace("\n", "<br>") + "</html>");
+    }
+
+    // Resumen de notas (total, media, mínimo, máximo) en la barra de estado
+    public void setEstadisticas(String texto) {
+        estadisticasLabel.setText(texto);
+    }
+
+    // Muestra las notas con dos decimales, alineadas a la derecha (textos precalculados, sin formatear por celda)
+    private static class NotaRenderer extends DefaultTableCellRenderer {
+        NotaRenderer() {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            setText(value == null ? "" : Nota.texto(Nota.deDouble((Double) value)));
+        }
     }
-}
\ No newline at end of file
+}
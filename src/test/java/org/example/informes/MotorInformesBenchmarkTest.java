@@ -0,0 +1,56 @@
+package org.example.informes;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mide la aceleración del motor de informes de 1 a N hilos (N = núcleos disponibles, o
+ * {@code -Dbenchmark.hilos=N}) con dos millones de proyectos agrupados por código de asignatura.
+ * Solo se ejecuta con el perfil de benchmarks: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class MotorInformesBenchmarkTest {
+    private static final int PROYECTOS = 2_000_000;
+    private static final int REPETICIONES = 5;
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(GestorProyectos.Almacenamiento.class)
+    @DisplayName("[benchmark] Aceleración del informe de 1 a N hilos")
+    void medirAceleracion(GestorProyectos.Almacenamiento almacenamiento) {
+        GestorProyectos gestor = new GestorProyectos(almacenamiento);
+        String[] asignaturas = {"MAT", "INF", "FIS", "QUI", "BIO"};
+        for (int i = 0; i < PROYECTOS; i++) {
+            String codigo = asignaturas[i % asignaturas.length] + (100 + i % 50);
+            gestor.agregarProyecto(new Proyecto(codigo + " Proyecto " + i, (i * 7919L % 1001) / 100.0));
+        }
+        int nucleos = Integer.getInteger("benchmark.hilos", Runtime.getRuntime().availableProcessors());
+        double base = 0;
+        for (int hilos = 1; hilos <= nucleos; hilos = hilos < nucleos ? Math.min(nucleos, hilos * 2) : nucleos + 1) {
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                MotorInformes motor = new MotorInformes(gestor, pool);
+                motor.generar(Agrupaciones.porCodigoAsignatura()); // Calentamiento
+                long mejor = Long.MAX_VALUE;
+                for (int i = 0; i < REPETICIONES; i++) {
+                    long inicio = System.nanoTime();
+                    motor.generar(Agrupaciones.porCodigoAsignatura());
+                    mejor = Math.min(mejor, System.nanoTime() - inicio);
+                }
+                double ms = mejor / 1e6;
+                if (hilos == 1) {
+                    base = ms;
+                }
+                System.out.printf("Informe %-8s hilos=%2d: %8.1f ms  aceleración x%.2f%n",
+                        almacenamiento, hilos, ms, base / ms);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.informes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+class MotorInformesTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    // --- Pruebas para MotorInformes.generar() ---
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(GestorProyectos.Almacenamiento.class)
+    @DisplayName("[informes] Los agregados en paralelo coinciden con un cálculo en serie")
+    void testInformeParaleloIgualQueSerie(GestorProyectos.Almacenamiento almacenamiento) {
+        GestorProyectos gestor = new GestorProyectos(almacenamiento);
+        int n = 200_000; // Suficiente para que se divida en muchas tareas
+        double[] notas = new double[n];
+        for (int i = 0; i < n; i++) {
+            notas[i] = ThreadLocalRandom.current().nextInt(1001) / 100.0;
+            gestor.agregarProyecto(new Proyecto("Proyecto " + i, notas[i]));
+        }
+
+        InformeNotas informe = new MotorInformes(gestor, pool).generar();
+
+        long suspensos = Arrays.stream(notas).filter(nota -> nota < 5).count();
+        long sobresalientes = Arrays.stream(notas).filter(nota -> nota >= 9).count();
+        assertEquals(n, informe.getCantidad());
+        assertEquals(suspensos, informe.getSuspensos());
+        assertEquals(n - suspensos, informe.getAprobados());
+        assertEquals(sobresalientes, informe.getCantidad(BandaNota.SOBRESALIENTE));
+        assertEquals(n, informe.getDistribucion().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(Arrays.stream(notas).average().orElseThrow(), informe.getMedia(), 1e-9);
+        assertEquals(Arrays.stream(notas).min().orElseThrow(), informe.getMinima());
+        assertEquals(Arrays.stream(notas).max().orElseThrow(), informe.getMaxima());
+
+        // Percentiles aproximados frente a los exactos de la lista ordenada
+        double[] ordenadas = notas.clone();
+        Arrays.sort(ordenadas);
+        for (double percentil : new double[] {1, 10, 25, 50, 75, 90, 99}) {
+            double exacto = ordenadas[(int) (percentil / 100 * (n - 1))];
+            assertEquals(exacto, informe.getPercentil(percentil), 0.05, "P" + percentil);
+        }
+        assertEquals(0.0, informe.getPercentil(0));
+        assertEquals(informe.getMaxima(), informe.getPercentil(100));
+        assertTrue(informe.getGrupos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("[informes] Agrupar por código de asignatura y por prefijo")
+    void testAgrupaciones() {
+        GestorProyectos gestor = new GestorProyectos();
+        gestor.agregarProyecto(new Proyecto("MAT101 Álgebra", 4.0));
+        gestor.agregarProyecto(new Proyecto("Práctica 2 [MAT-101]", 8.0));
+        gestor.agregarProyecto(new Proyecto("INF 201 Redes", 9.5));
+        gestor.agregarProyecto(new Proyecto("Ética", 6.0));
+        MotorInformes motor = new MotorInformes(gestor, pool);
+
+        Map<String, ResumenGrupo> porCodigo = motor.generar(Agrupaciones.porCodigoAsignatura()).getGrupos();
+        assertEquals(List.of(Agrupaciones.SIN_CODIGO, "INF201", "MAT101"), List.copyOf(porCodigo.keySet()));
+        ResumenGrupo matematicas = porCodigo.get("MAT101");
+        assertEquals(2, matematicas.getCantidad());
+        assertEquals(6.0, matematicas.getMedia(), 1e-9);
+        assertEquals(1, matematicas.getAprobados());
+        assertEquals(50.0, matematicas.getPorcentajeAprobados(), 1e-9);
+        assertEquals(4.0, matematicas.getMinima());
+        assertEquals(8.0, matematicas.getMaxima());
+
+        Map<String, ResumenGrupo> porPrefijo = motor.generar(Agrupaciones.porPrefijo(3)).getGrupos();
+        assertEquals(List.of("eti", "inf", "mat", "pra"), List.copyOf(porPrefijo.keySet()));
+        assertThrows(IllegalArgumentException.class, () -> Agrupaciones.porPrefijo(0));
+    }
+
+    @Test
+    @DisplayName("[informes] Informe de un gestor vacío")
+    void testInformeVacio() {
+        InformeNotas informe = new MotorInformes(new GestorProyectos(), pool).generar(Agrupaciones.porPrefijo(1));
+        assertEquals(0, informe.getCantidad());
+        assertTrue(Double.isNaN(informe.getMedia()));
+        assertTrue(Double.isNaN(informe.getMediana()));
+        assertTrue(Double.isNaN(informe.getPorcentajeAprobados()));
+        assertTrue(informe.getGrupos().isEmpty());
+        assertEquals("Sin proyectos.", informe.toString());
+        assertThrows(IllegalArgumentException.class, () -> informe.getPercentil(101));
+    }
+
+    // --- Pruebas para TDigest ---
+
+    @Test
+    @DisplayName("[TDigest] Combinar digest parciales da los mismos cuantiles que uno solo, con memoria acotada")
+    void testTDigestCombinar() {
+        TDigest total = new TDigest();
+        TDigest[] partes = {new TDigest(), new TDigest(), new TDigest()};
+        int n = 300_000;
+        for (int i = 0; i < n; i++) {
+            double valor = Math.pow(ThreadLocalRandom.current().nextDouble(), 3) * 100; // Sesgada hacia 0
+            total.agregar(valor);
+            partes[i % partes.length].agregar(valor);
+        }
+        TDigest combinado = new TDigest();
+        for (TDigest parte : partes) {
+            combinado.combinar(parte);
+        }
+        assertEquals(n, combinado.getCantidad());
+        for (double q : new double[] {0.001, 0.01, 0.5, 0.9, 0.999}) {
+            double esperado = Math.pow(q, 3) * 100;
+            assertEquals(esperado, total.cuantil(q), Math.max(0.01, esperado * 0.02), "q=" + q);
+            assertEquals(esperado, combinado.cuantil(q), Math.max(0.01, esperado * 0.02), "q=" + q);
+        }
+        assertTrue(combinado.getCentroides() <= TDigest.COMPRESION_POR_DEFECTO, "Centroides: " + combinado.getCentroides());
+        assertTrue(Double.isNaN(new TDigest().cuantil(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> total.cuantil(1.5));
+    }
+}
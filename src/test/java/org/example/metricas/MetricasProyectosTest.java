@@ -0,0 +1,121 @@
+package org.example.metricas;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class MetricasProyectosTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("[metricas] Percentiles del histograma con error relativo acotado")
+    void testPercentilesHistograma() {
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        for (long valor = 1; valor <= 100_000; valor++) {
+            histograma.registrar(valor * 1_000); // 1 µs .. 100 ms, uniforme
+        }
+        assertEquals(100_000, histograma.getCuenta());
+        assertEquals(100_000_000, histograma.getMaximo());
+        assertEquals(50_000_500, histograma.getMedia(), 1);
+        assertEquals(50_000_000, histograma.percentil(50), 50_000_000 * 0.07);
+        assertEquals(99_000_000, histograma.percentil(99), 99_000_000 * 0.07);
+        assertEquals(100_000_000, histograma.percentil(100));
+
+        histograma.reiniciar();
+        assertEquals(0, histograma.getCuenta());
+        assertEquals(0, histograma.percentil(50));
+    }
+
+    @Test
+    @DisplayName("[metricas] Contar cada operación del gestor y nada con las métricas desactivadas")
+    void testContarOperaciones() {
+        GestorProyectos gestor = new GestorProyectos();
+        MetricasProyectos metricas = gestor.getMetricas();
+        gestor.agregarProyecto(new Proyecto("Redes", 7));
+        assertThrows(IllegalArgumentException.class, () -> gestor.agregarProyecto(new Proyecto("Redes", 8)));
+        gestor.buscarProyectoPorNombre("Redes");
+        gestor.topK(3);
+        gestor.eliminarProyectoPorNombre("Redes");
+        gestor.limpiarProyectos();
+
+        assertEquals(2, metricas.getHistograma(MetricasProyectos.Operacion.AGREGAR).getCuenta());
+        assertEquals(1, metricas.getHistograma(MetricasProyectos.Operacion.BUSCAR).getCuenta());
+        assertEquals(1, metricas.getHistograma(MetricasProyectos.Operacion.CONSULTAR).getCuenta());
+        assertEquals(1, metricas.getHistograma(MetricasProyectos.Operacion.ELIMINAR).getCuenta());
+        assertEquals(1, metricas.getHistograma(MetricasProyectos.Operacion.LIMPIAR).getCuenta());
+
+        metricas.setActiva(false);
+        assertEquals(MetricasProyectos.SIN_MEDIR, metricas.iniciar());
+        gestor.agregarProyecto(new Proyecto("Física", 6));
+        assertEquals(2, metricas.getHistograma(MetricasProyectos.Operacion.AGREGAR).getCuenta());
+    }
+
+    @Test
+    @DisplayName("[metricas] Publicar las latencias por JMX")
+    void testPublicarPorJmx() throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        gestor.getMetricas().registrarEnJmx();
+        gestor.agregarProyecto(new Proyecto("Redes", 7));
+
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName(MetricasProyectos.NOMBRE_JMX);
+        assertEquals(true, servidor.getAttribute(nombre, "Activa"));
+        TabularData latencias = (TabularData) servidor.getAttribute(nombre, "Latencias");
+        CompositeData agregar = (CompositeData) latencias.get(new Object[]{"AGREGAR"}).get("value");
+        assertEquals(1L, agregar.get("cuenta"));
+        servidor.unregisterMBean(nombre);
+    }
+
+    @Test
+    @DisplayName("[metricas] Emitir un evento JFR para las operaciones lentas")
+    void testEventoJfrOperacionLenta() throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        gestor.getMetricas().setUmbralLentoMicros(0); // Todas cuentan como lentas
+        Path fichero = dir.resolve("metricas.jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("org.example.OperacionLenta");
+            grabacion.start();
+            gestor.agregarProyecto(new Proyecto("Redes", 7));
+            grabacion.stop();
+            grabacion.dump(fichero);
+        }
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(fichero);
+        assertTrue(eventos.stream().anyMatch(e -> "AGREGAR".equals(e.getString("operacion"))));
+    }
+
+    @Test
+    @DisplayName("[metricas] El evento JFR de un refresco lento lleva las filas de la tabla")
+    void testEventoJfrRefrescoLento() throws Exception {
+        MetricasProyectos metricas = new MetricasProyectos();
+        Path fichero = dir.resolve("refresco.jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("org.example.RefrescoLento");
+            grabacion.start();
+            metricas.registrarRefresco(metricas.iniciar() - TimeUnit.SECONDS.toNanos(1), 1234); // Un segundo: lento
+            grabacion.stop();
+            grabacion.dump(fichero);
+        }
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(fichero);
+        assertEquals(1, eventos.size());
+        assertEquals(1234, eventos.get(0).getInt("filas"));
+        assertEquals(1, metricas.getHistograma(MetricasProyectos.Operacion.REFRESCAR).getCuenta());
+    }
+}
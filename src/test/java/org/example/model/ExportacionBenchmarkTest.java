@@ -0,0 +1,43 @@
+package org.example.model;
+
+import org.example.controller.GestorProyectos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Mide el rendimiento de la exportación en MB/s con un millón de proyectos.
+ * Solo se ejecuta con el perfil de benchmarks: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ExportacionBenchmarkTest {
+    private static final int PROYECTOS = 1_000_000;
+    private static final int REPETICIONES = 5;
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(FormatoExportacion.class)
+    @DisplayName("[benchmark] MB/s al exportar")
+    void medirExportacion(FormatoExportacion formato) throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        for (int i = 0; i < PROYECTOS; i++) {
+            gestor.agregarProyecto(new Proyecto("Proyecto de Álgebra " + i, (i % 1001) / 100.0));
+        }
+        Path fichero = Files.createTempFile("bench", formato == FormatoExportacion.CSV ? ".csv" : ".jsonl");
+        try {
+            gestor.exportar(fichero, formato); // Calentamiento
+            double mejor = 0;
+            for (int i = 0; i < REPETICIONES; i++) {
+                ResultadoExportacion resultado = gestor.exportar(fichero, formato);
+                mejor = Math.max(mejor, resultado.getMegabytesPorSegundo());
+                System.out.printf("Exportación %-10s: %s%n", formato, resultado);
+            }
+            System.out.printf("Exportación %-10s: mejor %.0f MB/s%n", formato, mejor);
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+}
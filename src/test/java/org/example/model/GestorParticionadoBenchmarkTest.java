@@ -0,0 +1,120 @@
+package org.example.model;
+
+import org.example.controller.GestorProyectosParticionado;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mide cómo escalan las escrituras con el número de particiones: N hilos escritores
+ * (N = núcleos disponibles, o {@code -Dbenchmark.hilos=N}) dando de alta proyectos a la vez,
+ * y la importación de un CSV, con 1, 2, 4... hasta N particiones. Con una sola partición
+ * todos los escritores comparten un cerrojo, como en un GestorProyectos normal.
+ * Solo se ejecuta con el perfil de benchmarks: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class GestorParticionadoBenchmarkTest {
+    private static final int PROYECTOS = 1_000_000;
+    private static final int REPETICIONES = 3;
+
+    @Test
+    @DisplayName("[benchmark] Altas concurrentes por segundo de 1 a N particiones")
+    void medirEscrituras() throws Exception {
+        int hilos = Integer.getInteger("benchmark.hilos", Runtime.getRuntime().availableProcessors());
+        Proyecto[] proyectos = new Proyecto[PROYECTOS];
+        for (int i = 0; i < PROYECTOS; i++) {
+            proyectos[i] = new Proyecto("Proyecto " + i, (i * 7919L % 1001) / 100.0);
+            proyectos[i].getClave(); // Se calcula antes de medir
+        }
+        ExecutorService escritores = Executors.newFixedThreadPool(hilos);
+        try {
+            altas(new GestorProyectosParticionado(1), proyectos, hilos, escritores); // Calentamiento
+            double base = 0;
+            for (int particiones = 1; particiones <= hilos; particiones = siguiente(particiones, hilos)) {
+                long mejor = Long.MAX_VALUE;
+                for (int r = 0; r < REPETICIONES; r++) {
+                    mejor = Math.min(mejor, altas(new GestorProyectosParticionado(particiones), proyectos, hilos, escritores));
+                }
+                double porSegundo = PROYECTOS * 1e9 / mejor;
+                if (particiones == 1) {
+                    base = porSegundo;
+                }
+                System.out.printf("Altas    hilos=%2d particiones=%2d: %,12.0f altas/s  aceleración x%.2f%n",
+                        hilos, particiones, porSegundo, porSegundo / base);
+            }
+        } finally {
+            escritores.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("[benchmark] Importación de un CSV de 1 a N particiones")
+    void medirImportacion() throws IOException {
+        int hilos = Integer.getInteger("benchmark.hilos", Runtime.getRuntime().availableProcessors());
+        StringBuilder csv = new StringBuilder(PROYECTOS * 20);
+        for (int i = 0; i < PROYECTOS; i++) {
+            csv.append("Proyecto ").append(i).append(',').append(i % 11).append('\n');
+        }
+        String texto = csv.toString();
+        new GestorProyectosParticionado(1).importar(new StringReader(texto)); // Calentamiento
+        double base = 0;
+        for (int particiones = 1; particiones <= hilos; particiones = siguiente(particiones, hilos)) {
+            long mejor = Long.MAX_VALUE;
+            for (int r = 0; r < REPETICIONES; r++) {
+                GestorProyectosParticionado gestor = new GestorProyectosParticionado(particiones);
+                ResultadoImportacion resultado = gestor.importar(new StringReader(texto));
+                assertEquals(PROYECTOS, resultado.getImportadas());
+                mejor = Math.min(mejor, resultado.getDuracionNanos());
+            }
+            double porSegundo = PROYECTOS * 1e9 / mejor;
+            if (particiones == 1) {
+                base = porSegundo;
+            }
+            System.out.printf("Importar particiones=%2d: %,12.0f filas/s  aceleración x%.2f%n",
+                    particiones, porSegundo, porSegundo / base);
+        }
+    }
+
+    private static int siguiente(int particiones, int maximo) {
+        return particiones < maximo ? Math.min(maximo, particiones * 2) : maximo + 1;
+    }
+
+    /**
+     * Reparte las altas entre los hilos, que arrancan a la vez, y devuelve los nanosegundos
+     * hasta que termina el último.
+     */
+    private static long altas(GestorProyectosParticionado gestor, Proyecto[] proyectos, int hilos,
+                              ExecutorService escritores) throws Exception {
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>(hilos);
+        for (int h = 0; h < hilos; h++) {
+            int primero = h;
+            tareas.add(escritores.submit(() -> {
+                salida.await();
+                for (int i = primero; i < proyectos.length; i += hilos) {
+                    gestor.agregarProyecto(proyectos[i]);
+                }
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        long duracion = System.nanoTime() - inicio;
+        assertEquals(proyectos.length, gestor.getNumeroProyectos());
+        return duracion;
+    }
+}
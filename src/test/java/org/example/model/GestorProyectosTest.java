@@ -3,11 +3,30 @@ package org.example.model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.example.controller.GestorProyectos;
+import org.example.controller.GestorProyectosParticionado;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class GestorProyectosTest {
 
@@ -171,13 +190,13 @@ class GestorProyectosTest {
     }
 
     @Test
-    @DisplayName("[eliminarProyecto] Verificar sensibilidad a mayúsculas/minúsculas")
-    void testEliminarProyectoCaseSensitive() {
+    @DisplayName("[eliminarProyecto] Ignorar mayúsculas, tildes y espacios repetidos")
+    void testEliminarProyectoSinDistinguirMayusculas() {
         gestor.agregarProyecto(proyectoValido1); // Nombre: "Cálculo Integral"
-        boolean eliminado = gestor.eliminarProyectoPorNombre("cálculo integral"); // Nombre en minúsculas
+        boolean eliminado = gestor.eliminarProyectoPorNombre("  calculo   INTEGRAL"); // Misma clave
 
-        assertFalse(eliminado, "La eliminación debe ser sensible a mayúsculas/minúsculas.");
-        assertEquals(1, gestor.getNumeroProyectos());
+        assertTrue(eliminado, "La eliminación debe usar la clave normalizada.");
+        assertEquals(0, gestor.getNumeroProyectos());
     }
 
 
@@ -329,4 +348,1291 @@ class GestorProyectosTest {
         assertNull(encontrado, "Buscar con nombre null debe devolver null.");
     }
 
-}
\ No newline at end of file
+
+    // --- Pruebas de escalabilidad (índice hash por nombre) ---
+
+    private static final int N_ESCALABILIDAD = 1_000_000;
+
+    @Test
+    @DisplayName("[escalabilidad] Registrar y eliminar 1M proyectos en tiempo acotado")
+    void testRegistrarYEliminarUnMillon() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            for (int i = 0; i < N_ESCALABILIDAD; i++) {
+                gestor.agregarProyecto(new Proyecto("Proyecto " + i, i % 11));
+            }
+            assertEquals(N_ESCALABILIDAD, gestor.getNumeroProyectos());
+            assertThrows(IllegalArgumentException.class,
+                    () -> gestor.agregarProyecto(new Proyecto("Proyecto 123456", 5.0)));
+
+            for (int i = 0; i < N_ESCALABILIDAD; i++) {
+                assertTrue(gestor.eliminarProyectoPorNombre("Proyecto " + i));
+            }
+            assertEquals(0, gestor.getNumeroProyectos());
+            assertTrue(gestor.getProyectos().isEmpty());
+        });
+    }
+
+    @Test
+    @DisplayName("[escalabilidad] Buscar 1M proyectos por nombre en tiempo acotado")
+    void testBuscarUnMillon() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            for (int i = 0; i < N_ESCALABILIDAD; i++) {
+                gestor.agregarProyecto(new Proyecto("Proyecto " + i, i % 11));
+            }
+            for (int i = N_ESCALABILIDAD - 1; i >= 0; i--) {
+                assertNotNull(gestor.buscarProyectoPorNombre("Proyecto " + i));
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("[escalabilidad] Conservar el orden de inserción tras eliminaciones y compactación")
+    void testOrdenTrasEliminaciones() {
+        int n = 10_000;
+        for (int i = 0; i < n; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, 5.0));
+        }
+        // Eliminar los pares: suficientes huecos para forzar una compactación
+        for (int i = 0; i < n; i += 2) {
+            assertTrue(gestor.eliminarProyectoPorNombre("P" + i));
+        }
+        List<Proyecto> lista = gestor.getProyectos();
+        assertEquals(n / 2, lista.size());
+        for (int i = 0; i < lista.size(); i++) {
+            assertEquals("P" + (2 * i + 1), lista.get(i).getNombre());
+        }
+        // Pocos huecos sin compactar: la posición se resuelve por el árbol de Fenwick
+        assertTrue(gestor.eliminarProyectoPorNombre("P1"));
+        assertTrue(gestor.eliminarProyectoPorNombre("P5"));
+        assertEquals("P3", gestor.getProyectos().get(0).getNombre());
+        assertEquals("P7", gestor.getProyectos().get(1).getNombre());
+        assertEquals("P" + (n - 1), gestor.getProyectos().get(gestor.getNumeroProyectos() - 1).getNombre());
+        assertNotNull(gestor.buscarProyectoPorNombre("P" + (n - 1)));
+        assertNull(gestor.buscarProyectoPorNombre("P" + (n - 2)));
+    }
+
+
+    // --- Pruebas para importar(Reader / Path) ---
+
+    @Test
+    @DisplayName("[importar] Importar CSV con cabecera, comillas y filas inválidas")
+    void testImportarCsv() throws IOException {
+        gestor.agregarProyecto(proyectoValido1);
+        String csv = "nombre,nota\n"
+                + "Redes,7.5\n"
+                + "\"Compiladores, avanzado\",9\n"
+                + "\n"
+                + "Cálculo Integral,6\n"   // Duplicado de un proyecto existente
+                + "Física,11\n"            // Nota fuera de rango
+                + "Química,abc\n"          // Nota no numérica
+                + "Sin nota\n"             // Faltan columnas
+                + ",5\n";                  // Nombre vacío
+
+        ResultadoImportacion resultado = gestor.importar(new StringReader(csv));
+
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(5, resultado.getRechazadas());
+        assertEquals(7, resultado.getFilasLeidas());
+        assertEquals(3, gestor.getNumeroProyectos());
+        assertEquals(9.0, gestor.buscarProyectoPorNombre("Compiladores, avanzado").getNota());
+        List<ResultadoImportacion.Rechazo> rechazos = resultado.getRechazos();
+        assertEquals(5, rechazos.get(0).getLinea());
+        assertEquals("Ya existe un proyecto con ese nombre.", rechazos.get(0).getMotivo());
+        assertEquals("La nota debe estar entre 0 y 10.", rechazos.get(1).getMotivo());
+        assertEquals(9, rechazos.get(4).getLinea());
+        assertTrue(resultado.getFilasPorSegundo() > 0);
+    }
+
+    @Test
+    @DisplayName("[importar] Importar TSV desde fichero con nota decimal con coma")
+    void testImportarTsvDesdeFichero(@TempDir Path dir) throws IOException {
+        Path fichero = dir.resolve("proyectos.tsv");
+        Files.writeString(fichero, "Redes\t7,5\nÉtica\t10\n", StandardCharsets.UTF_8);
+
+        ResultadoImportacion resultado = gestor.importar(fichero);
+
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(0, resultado.getRechazadas());
+        assertEquals(7.5, gestor.buscarProyectoPorNombre("Redes").getNota());
+        assertEquals("Ética", gestor.getProyectos().get(1).getNombre());
+    }
+
+    @Test
+    @DisplayName("[importar] Sin cabecera, una primera fila con punto y coma y coma decimal usa ';' como separador")
+    void testImportarPuntoYComaConComaDecimal() throws IOException {
+        ResultadoImportacion resultado = gestor.importar(new StringReader("Física;6,5\nRedes;7\n\"A;B, C\";8,25\n"));
+
+        assertEquals(3, resultado.getImportadas());
+        assertEquals(0, resultado.getRechazadas());
+        assertEquals(6.5, gestor.buscarProyectoPorNombre("Física").getNota());
+        assertEquals(8.25, gestor.buscarProyectoPorNombre("A;B, C").getNota());
+
+        // Con coma como separador, un ';' en el nombre no confunde la detección
+        GestorProyectos otro = new GestorProyectos();
+        assertEquals(2, otro.importar(new StringReader("Punto;y coma,7.5\nRedes,6\n")).getImportadas());
+        assertEquals(7.5, otro.buscarProyectoPorNombre("Punto;y coma").getNota());
+    }
+
+    @Test
+    @DisplayName("[importar] Importar en varios lotes y rechazar duplicados dentro del fichero")
+    void testImportarVariosLotes() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        int n = 25_000;
+        for (int i = 0; i < n; i++) {
+            csv.append("Proyecto ").append(i).append(',').append(i % 11).append('\n');
+        }
+        csv.append("Proyecto 0,5\n");
+
+        ResultadoImportacion resultado = gestor.importar(new StringReader(csv.toString()));
+
+        assertEquals(n, resultado.getImportadas());
+        assertEquals(1, resultado.getRechazadas());
+        assertEquals(n + 1, resultado.getRechazos().get(0).getLinea());
+        assertEquals(n, gestor.getNumeroProyectos());
+    }
+
+    @Test
+    @DisplayName("[importar] Informar del progreso y detenerse si el hilo se interrumpe")
+    void testImportarProgresoYCancelacion(@TempDir Path dir) throws IOException {
+        Path fichero = dir.resolve("grande.csv");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 30_000; i++) {
+            csv.append("P").append(i).append(",5\n");
+        }
+        Files.writeString(fichero, csv, StandardCharsets.UTF_8);
+
+        List<Double> avances = new ArrayList<>();
+        ResultadoImportacion completa = gestor.importar(fichero, avances::add);
+        assertFalse(completa.isCancelada());
+        assertEquals(3, avances.size()); // Un aviso por lote completo
+        assertTrue(avances.get(2) > 0.99);
+
+        gestor.limpiarProyectos();
+        Thread.currentThread().interrupt();
+        try {
+            ResultadoImportacion cancelada = gestor.importar(fichero, null);
+            assertTrue(cancelada.isCancelada());
+            assertTrue(cancelada.getImportadas() < 30_000);
+            assertEquals(cancelada.getImportadas(), gestor.getNumeroProyectos());
+        } finally {
+            Thread.interrupted(); // No dejar el hilo de pruebas interrumpido
+        }
+    }
+
+    // --- Pruebas para los eventos de cambio (ProyectosListener) ---
+
+    @Test
+    @DisplayName("[eventos] Notificar altas, bajas y limpieza con su posición")
+    void testEventosAltaBajaLimpieza() {
+        List<EventoProyecto> eventos = new ArrayList<>();
+        gestor.addProyectosListener(eventos::add);
+
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        gestor.agregarProyecto(proyectoValido3);
+        gestor.eliminarProyectoPorNombre("Bases de Datos");
+        gestor.eliminarProyectoPorNombre("Proyecto Inexistente"); // Sin evento
+        gestor.limpiarProyectos();
+
+        assertEquals(5, eventos.size());
+        assertEquals(EventoProyecto.Tipo.AGREGADO, eventos.get(2).getTipo());
+        assertEquals(2, eventos.get(2).getPrimerIndice());
+        assertEquals(proyectoValido3, eventos.get(2).getProyecto());
+
+        EventoProyecto eliminado = eventos.get(3);
+        assertEquals(EventoProyecto.Tipo.ELIMINADO, eliminado.getTipo());
+        assertEquals(1, eliminado.getPrimerIndice());
+        assertEquals(proyectoValido2, eliminado.getProyecto());
+
+        EventoProyecto limpiado = eventos.get(4);
+        assertEquals(EventoProyecto.Tipo.LIMPIADO, limpiado.getTipo());
+        assertEquals(2, limpiado.getCantidad());
+    }
+
+    @Test
+    @DisplayName("[eventos] Un único evento por lote importado y ninguno tras quitar el listener")
+    void testEventosImportacionYBaja() throws IOException {
+        gestor.agregarProyecto(proyectoValido1);
+        List<EventoProyecto> eventos = new ArrayList<>();
+        ProyectosListener listener = eventos::add;
+        gestor.addProyectosListener(listener);
+
+        gestor.importar(new StringReader("A,1\nB,2\nB,3\nC,4\n"));
+
+        assertEquals(1, eventos.size());
+        assertEquals(1, eventos.get(0).getPrimerIndice());
+        assertEquals(3, eventos.get(0).getUltimoIndice());
+        assertEquals("C", eventos.get(0).getProyectos().get(2).getNombre());
+
+        gestor.removeProyectosListener(listener);
+        gestor.limpiarProyectos();
+        assertEquals(1, eventos.size());
+    }
+
+
+    // --- Pruebas del almacenamiento columnar ---
+
+    @Test
+    @DisplayName("[columnar] Agregar, buscar, eliminar y conservar el orden")
+    void testColumnarOperacionesBasicas() {
+        GestorProyectos columnar = new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR);
+        columnar.agregarProyecto(proyectoValido1);
+        columnar.agregarProyecto(proyectoValido2);
+        columnar.agregarProyecto(proyectoValido3);
+
+        assertEquals(proyectoValido1, columnar.buscarProyectoPorNombre("Cálculo Integral"));
+        assertEquals(proyectoValido1, columnar.buscarProyectoPorNombre("calculo integral"));
+        assertThrows(IllegalArgumentException.class, () -> columnar.agregarProyecto(new Proyecto("Bases de Datos", 3)));
+
+        assertTrue(columnar.eliminarProyectoPorNombre("Bases de Datos"));
+        assertFalse(columnar.eliminarProyectoPorNombre("Bases de Datos"));
+        assertEquals(List.of(proyectoValido1, proyectoValido3), columnar.getProyectos());
+
+        columnar.limpiarProyectos();
+        assertTrue(columnar.getProyectos().isEmpty());
+        columnar.agregarProyecto(proyectoValido2);
+        assertEquals(10.0, columnar.getProyectos().get(0).getNota());
+    }
+
+    @Test
+    @DisplayName("[columnar] Compactar tras muchas eliminaciones y reutilizar nombres")
+    void testColumnarCompactacion() {
+        GestorProyectos columnar = new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR);
+        int n = 20_000;
+        for (int i = 0; i < n; i++) {
+            columnar.agregarProyecto(new Proyecto("Proyecto Ñ-" + i, (i % 101) / 10.0));
+        }
+        for (int i = 0; i < n; i += 3) {
+            assertTrue(columnar.eliminarProyectoPorNombre("Proyecto Ñ-" + i));
+        }
+        for (int i = 0; i < n; i += 3) {
+            columnar.agregarProyecto(new Proyecto("Proyecto Ñ-" + i, 1.0)); // Vuelven al final
+        }
+        assertEquals(n, columnar.getNumeroProyectos());
+        assertEquals("Proyecto Ñ-1", columnar.getProyectos().get(0).getNombre());
+        assertEquals("Proyecto Ñ-0", columnar.getProyectos().get(n - (n + 2) / 3).getNombre());
+        for (int i = 0; i < n; i++) {
+            Proyecto p = columnar.buscarProyectoPorNombre("Proyecto Ñ-" + i);
+            assertNotNull(p);
+            assertEquals(i % 3 == 0 ? 1.0 : (i % 101) / 10.0, p.getNota());
+        }
+    }
+
+
+    // --- Pruebas para getEstadisticas() ---
+
+    @Test
+    @DisplayName("[estadisticas] Lista vacía sin media ni extremos")
+    void testEstadisticasVacias() {
+        EstadisticasNotas e = gestor.getEstadisticas();
+        assertEquals(0, e.getCantidad());
+        assertTrue(Double.isNaN(e.getMedia()));
+        assertTrue(Double.isNaN(e.getMinima()));
+        assertArrayEquals(new long[EstadisticasNotas.BARRAS_HISTOGRAMA], e.getHistograma());
+    }
+
+    @Test
+    @DisplayName("[estadisticas] Mantener media, varianza, extremos e histograma en altas y bajas")
+    void testEstadisticasIncrementales() {
+        gestor.agregarProyecto(proyectoValido1); // 8.5
+        gestor.agregarProyecto(proyectoValido2); // 10
+        gestor.agregarProyecto(proyectoValido3); // 7
+        gestor.agregarProyecto(new Proyecto("Ética", 0.0));
+
+        EstadisticasNotas e = gestor.getEstadisticas();
+        assertEquals(4, e.getCantidad());
+        assertEquals(25.5, e.getSuma(), 1e-9);
+        assertEquals(6.375, e.getMedia(), 1e-9);
+        assertEquals(varianza(8.5, 10, 7, 0), e.getVarianza(), 1e-9);
+        assertEquals(0.0, e.getMinima());
+        assertEquals(10.0, e.getMaxima());
+        assertEquals(1, e.getHistograma()[0]);
+        assertEquals(1, e.getHistograma()[9]); // El 10 cuenta en la última barra
+
+        gestor.eliminarProyectoPorNombre("Ética");
+        gestor.eliminarProyectoPorNombre("Bases de Datos");
+        e = gestor.getEstadisticas();
+        assertEquals(2, e.getCantidad());
+        assertEquals(7.75, e.getMedia(), 1e-9);
+        assertEquals(varianza(8.5, 7), e.getVarianza(), 1e-9);
+        assertEquals(7.0, e.getMinima());
+        assertEquals(8.5, e.getMaxima());
+        assertEquals(0, e.getHistograma()[0]);
+
+        gestor.limpiarProyectos();
+        assertEquals(0, gestor.getEstadisticas().getCantidad());
+    }
+
+    @Test
+    @DisplayName("[estadisticas] Coincidir con un recálculo completo tras una importación")
+    void testEstadisticasTrasImportar() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            csv.append("P").append(i).append(',').append((i * 37 % 1001) / 100.0).append('\n');
+        }
+        gestor.importar(new StringReader(csv.toString()));
+        for (int i = 0; i < 5_000; i += 2) {
+            gestor.eliminarProyectoPorNombre("P" + i);
+        }
+        double[] notas = gestor.getProyectos().stream().mapToDouble(Proyecto::getNota).toArray();
+        EstadisticasNotas e = gestor.getEstadisticas();
+        assertEquals(notas.length, e.getCantidad());
+        assertEquals(Arrays.stream(notas).average().orElseThrow(), e.getMedia(), 1e-9);
+        assertEquals(varianza(notas), e.getVarianza(), 1e-6);
+        assertEquals(Arrays.stream(notas).min().orElseThrow(), e.getMinima());
+        assertEquals(Arrays.stream(notas).max().orElseThrow(), e.getMaxima());
+    }
+
+    @Test
+    @DisplayName("[estadisticas] Sin error acumulado tras muchas altas y bajas: solo dependen de las notas presentes")
+    void testEstadisticasSinDeriva() {
+        ThreadLocalRandom azar = ThreadLocalRandom.current();
+        gestor.agregarProyecto(new Proyecto("Queda", 5.0));
+        for (int i = 0; i < 100_000; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, azar.nextInt(1001) / 100.0));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            gestor.eliminarProyectoPorNombre("P" + i);
+        }
+
+        EstadisticasNotas e = gestor.getEstadisticas();
+        assertEquals(5.0, e.getSuma());
+        assertEquals(5.0, e.getMedia());
+        assertEquals(0.0, e.getDesviacionTipica());
+        GestorProyectos nuevo = new GestorProyectos();
+        nuevo.agregarProyecto(new Proyecto("Queda", 5.0));
+        assertEquals(nuevo.getEstadisticas(), e);
+    }
+
+    private static double varianza(double... valores) {
+        double media = Arrays.stream(valores).average().orElse(0);
+        return Arrays.stream(valores).map(v -> (v - media) * (v - media)).sum() / valores.length;
+    }
+
+
+    // --- Pruebas para las consultas por nota (topK, rangoNotas, posicionEnRanking) ---
+
+    @Test
+    @DisplayName("[ranking] Mejores proyectos con desempate por nombre")
+    void testTopK() {
+        gestor.agregarProyecto(proyectoValido1); // 8.5
+        gestor.agregarProyecto(proyectoValido2); // 10
+        gestor.agregarProyecto(proyectoValido3); // 7
+        gestor.agregarProyecto(new Proyecto("Álgebra", 8.5));
+
+        List<Proyecto> top = gestor.topK(3);
+        assertEquals(List.of("Bases de Datos", "Cálculo Integral", "Álgebra"),
+                top.stream().map(Proyecto::getNombre).toList());
+        assertEquals(4, gestor.topK(20).size());
+        assertTrue(gestor.topK(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> gestor.topK(-1));
+    }
+
+    @Test
+    @DisplayName("[ranking] Rangos de notas con extremos incluidos y abiertos")
+    void testRangoNotas() {
+        for (int i = 0; i <= 100; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, i / 10.0));
+        }
+        List<Proyecto> entre7y85 = gestor.rangoNotas(7.0, 8.5);
+        assertEquals(16, entre7y85.size());
+        assertEquals(8.5, entre7y85.get(0).getNota());
+        assertEquals(7.0, entre7y85.get(15).getNota());
+
+        assertEquals(50, gestor.rangoNotas(0, Math.nextDown(5.0)).size()); // Suspensos (< 5)
+        assertEquals(50, gestor.contarRangoNotas(0, Math.nextDown(5.0)));
+        assertTrue(gestor.rangoNotas(9, 8).isEmpty());
+        assertEquals(0, gestor.contarRangoNotas(9, 8));
+    }
+
+    @Test
+    @DisplayName("[ranking] Posición en el ranking consistente tras altas, bajas y limpieza")
+    void testPosicionEnRankingConsistente() {
+        gestor.agregarProyecto(proyectoValido1); // 8.5
+        gestor.agregarProyecto(proyectoValido3); // 7
+        assertEquals(1, gestor.posicionEnRanking("Cálculo Integral")); // Construye el índice
+
+        gestor.agregarProyecto(proyectoValido2); // 10, entra primero
+        assertEquals(2, gestor.posicionEnRanking("Cálculo Integral"));
+        assertEquals(3, gestor.posicionEnRanking("Intro Programación"));
+
+        gestor.eliminarProyectoPorNombre("Bases de Datos");
+        assertEquals(1, gestor.posicionEnRanking("Cálculo Integral"));
+        assertEquals(-1, gestor.posicionEnRanking("Bases de Datos"));
+
+        gestor.limpiarProyectos();
+        assertTrue(gestor.topK(5).isEmpty());
+        gestor.agregarProyecto(proyectoValido3);
+        assertEquals(List.of(proyectoValido3), gestor.topK(5));
+    }
+
+    @Test
+    @DisplayName("[ranking] Consultas en tiempo logarítmico con 1M proyectos")
+    void testRankingUnMillon() {
+        GestorProyectos columnar = new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR);
+        for (int i = 0; i < N_ESCALABILIDAD; i++) {
+            columnar.agregarProyecto(new Proyecto("P" + i, (i % 1001) / 100.0));
+        }
+        List<Proyecto> top = columnar.topK(1_000);
+        assertEquals(10.0, top.get(998).getNota()); // 999 proyectos con un 10
+        assertEquals(9.99, top.get(999).getNota());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(20, columnar.topK(20).size());
+                assertTrue(columnar.contarRangoNotas(7.0, 8.5) > 0);
+                assertTrue(columnar.posicionEnRanking("P" + i) > 0);
+            }
+        });
+    }
+
+    // --- Pruebas para la búsqueda por nombre (prefijo y aproximada) ---
+
+    @Test
+    @DisplayName("[buscar] Buscar por prefijo sin distinguir mayúsculas y en orden alfabético")
+    void testBuscarPorPrefijo() {
+        gestor.agregarProyecto(new Proyecto("Cálculo Integral", 8));
+        gestor.agregarProyecto(new Proyecto("cálculo diferencial", 7));
+        gestor.agregarProyecto(new Proyecto("Bases de Datos", 9));
+
+        List<Proyecto> resultado = gestor.buscarPorPrefijo("CÁLCULO", 10);
+        assertEquals(List.of("cálculo diferencial", "Cálculo Integral"),
+                resultado.stream().map(Proyecto::getNombre).toList());
+        assertEquals(1, gestor.buscarPorPrefijo("cál", 1).size(), "Respeta el límite");
+        assertTrue(gestor.buscarPorPrefijo("Redes", 10).isEmpty());
+        assertEquals(3, gestor.buscarPorPrefijo("", 10).size());
+    }
+
+    @Test
+    @DisplayName("[buscar] Búsqueda aproximada por distancia de edición, los más cercanos primero")
+    void testBuscarAproximado() {
+        gestor.agregarProyecto(new Proyecto("redes", 5));
+        gestor.agregarProyecto(new Proyecto("Redas", 6));   // 1 sustitución
+        gestor.agregarProyecto(new Proyecto("rede", 7));    // 1 borrado
+        gestor.agregarProyecto(new Proyecto("credos", 8));  // 2 ediciones
+        gestor.agregarProyecto(new Proyecto("sistemas", 9));
+
+        List<String> nombres = gestor.buscarAproximado("Redes", 2, 10).stream().map(Proyecto::getNombre).toList();
+        assertEquals(List.of("redes", "Redas", "rede", "credos"), nombres);
+        assertEquals(List.of("redes"),
+                gestor.buscarAproximado("redes", 0, 10).stream().map(Proyecto::getNombre).toList());
+        assertEquals(2, gestor.buscarAproximado("redes", 2, 2).size());
+        assertThrows(IllegalArgumentException.class, () -> gestor.buscarAproximado("redes", -1, 10));
+    }
+
+    @Test
+    @DisplayName("[buscar] El índice de nombres sigue las altas, bajas, limpiezas e importaciones")
+    void testBuscarIndiceActualizado() throws IOException {
+        gestor.agregarProyecto(proyectoValido1);
+        assertEquals(1, gestor.buscar("cálc", 10).size()); // Construye el índice
+        gestor.eliminarProyectoPorNombre(proyectoValido1.getNombre());
+        assertTrue(gestor.buscar("cálc", 10).isEmpty());
+
+        gestor.importar(new StringReader("Física;6\nFísica Cuántica;9\n"));
+        assertEquals(2, gestor.buscar("fís", 10).size());
+        assertEquals(List.of("Física"),
+                gestor.buscar("Fisca", 10).stream().map(Proyecto::getNombre).toList(), "Tolera errores de escritura");
+
+        gestor.limpiarProyectos();
+        assertTrue(gestor.buscar("fís", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("[buscar] Búsqueda mientras se escribe por debajo del milisegundo con 1M nombres")
+    void testBusquedaMientrasSeEscribeUnMillon() {
+        GestorProyectos columnar = new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR);
+        for (int i = 0; i < N_ESCALABILIDAD; i++) {
+            columnar.agregarProyecto(new Proyecto("Proyecto " + i, (i % 101) / 10.0));
+        }
+        columnar.buscar("x", 1); // Construye el índice
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (int i = 0; i < 1_000; i++) {
+                String nombre = "Proyecto " + (i * 997);
+                assertEquals(nombre, columnar.buscarPorPrefijo(nombre, 1).get(0).getNombre());
+                // Una errata (una letra cambiada) a distancia 1
+                String errata = "Proyacto " + (i * 997);
+                assertEquals(nombre, columnar.buscarAproximado(errata, 1, 1).get(0).getNombre());
+            }
+        });
+    }
+
+    // --- Pruebas para la clave normalizada (Proyecto.getClave) ---
+
+    @Test
+    @DisplayName("[clave] Normalizar mayúsculas, tildes y espacios")
+    void testNormalizarClave() {
+        assertEquals("calculo integral", Proyecto.normalizar("  Cálculo   INTEGRAL "));
+        assertEquals("pinguino", Proyecto.normalizar("Pingüino"));
+        assertEquals("redes", Proyecto.normalizar("redes")); // Camino ASCII sin copias
+        assertEquals("ano 2", Proyecto.normalizar("Año\t2"));
+        assertEquals("", Proyecto.normalizar("   "));
+        assertEquals(Proyecto.normalizar("Física"), new Proyecto("FISICA", 5).getClave());
+    }
+
+    @Test
+    @DisplayName("[clave] Rechazar duplicados que solo cambian en mayúsculas o tildes en ambos almacenamientos")
+    void testClaveDuplicados() {
+        for (GestorProyectos.Almacenamiento almacenamiento : GestorProyectos.Almacenamiento.values()) {
+            GestorProyectos g = new GestorProyectos(almacenamiento);
+            g.agregarProyecto(proyectoValido1); // "Cálculo Integral"
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> g.agregarProyecto(new Proyecto("CALCULO  integral", 4)));
+            assertEquals(GestorProyectos.MENSAJE_DUPLICADO, e.getMessage());
+            assertEquals(proyectoValido1, g.buscarProyectoPorNombre("cálculo integral"), almacenamiento.name());
+            assertEquals(1, g.posicionEnRanking("CALCULO INTEGRAL"));
+            assertTrue(g.eliminarProyectoPorNombre("Calculo Integral"));
+            assertEquals(0, g.getNumeroProyectos());
+        }
+    }
+
+    @Test
+    @DisplayName("[clave] El almacenamiento columnar conserva las claves al compactar")
+    void testClaveColumnarCompactacion() {
+        GestorProyectos columnar = new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR);
+        int n = 2_000;
+        for (int i = 0; i < n; i++) {
+            columnar.agregarProyecto(new Proyecto("Óptica " + i, i % 10));
+        }
+        for (int i = 0; i < n; i += 2) {
+            assertTrue(columnar.eliminarProyectoPorNombre("optica " + i));
+        }
+        for (int i = 1; i < n; i += 2) {
+            assertEquals("Óptica " + i, columnar.buscarProyectoPorNombre("ÓPTICA " + i).getNombre());
+        }
+        assertEquals(n / 2, columnar.getNumeroProyectos());
+    }
+
+    // --- Pruebas para getInstantanea() ---
+
+    @Test
+    @DisplayName("[instantanea] No cambia con las altas, bajas y limpiezas posteriores")
+    void testInstantaneaInmutable() {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        List<Proyecto> antes = gestor.getInstantanea();
+
+        gestor.agregarProyecto(proyectoValido3);
+        gestor.eliminarProyectoPorNombre(proyectoValido1.getNombre());
+        List<Proyecto> despues = gestor.getInstantanea();
+        gestor.limpiarProyectos();
+
+        assertEquals(List.of(proyectoValido1, proyectoValido2), antes);
+        assertEquals(List.of(proyectoValido2, proyectoValido3), despues);
+        assertTrue(gestor.getInstantanea().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> antes.add(proyectoValido3));
+    }
+
+    @Test
+    @DisplayName("[instantanea] getCopiaProyectos no cambia con las escrituras posteriores, con ambos almacenes")
+    void testCopiaProyectosInmutable() {
+        for (GestorProyectos.Almacenamiento almacenamiento : GestorProyectos.Almacenamiento.values()) {
+            GestorProyectos g = new GestorProyectos(almacenamiento);
+            g.agregarProyecto(proyectoValido1);
+            g.agregarProyecto(proyectoValido2);
+            List<Proyecto> copia = g.getCopiaProyectos();
+
+            g.eliminarProyectoPorNombre(proyectoValido1.getNombre());
+            g.agregarProyecto(proyectoValido3);
+
+            assertEquals(List.of(proyectoValido1, proyectoValido2), copia, almacenamiento.name());
+            assertEquals(List.of(proyectoValido2, proyectoValido3), g.getCopiaProyectos(), almacenamiento.name());
+            assertThrows(UnsupportedOperationException.class, () -> copia.add(proyectoValido3));
+        }
+    }
+
+    @Test
+    @DisplayName("[instantanea] Coincide con la lista tras muchas operaciones aleatorias")
+    void testInstantaneaOperacionesAleatorias() {
+        ThreadLocalRandom azar = ThreadLocalRandom.current();
+        List<Proyecto> esperado = new ArrayList<>();
+        List<List<Proyecto>> tomadas = new ArrayList<>();
+        List<List<Proyecto>> copias = new ArrayList<>();
+        gestor.getInstantanea(); // Mantener el vector desde el principio
+        for (int i = 0; i < 20_000; i++) {
+            if (esperado.isEmpty() || azar.nextInt(3) > 0) {
+                Proyecto proyecto = new Proyecto("P" + i, i % 11);
+                gestor.agregarProyecto(proyecto);
+                esperado.add(proyecto);
+            } else {
+                Proyecto proyecto = esperado.remove(azar.nextInt(esperado.size()));
+                assertTrue(gestor.eliminarProyectoPorNombre(proyecto.getNombre()));
+            }
+            if (i % 997 == 0) {
+                tomadas.add(gestor.getInstantanea());
+                copias.add(new ArrayList<>(esperado));
+            }
+        }
+        List<Proyecto> instantanea = gestor.getInstantanea();
+        assertEquals(esperado, instantanea);
+        assertEquals(esperado.get(esperado.size() / 2), instantanea.get(esperado.size() / 2));
+        assertEquals(esperado.size(), instantanea.parallelStream().count());
+        assertEquals(copias, tomadas, "Las instantáneas anteriores no se alteran");
+    }
+
+    @Test
+    @DisplayName("[instantanea] Recorrer getProyectos mientras otro hilo escribe")
+    void testRecorrerMientrasSeEscribe() throws Exception {
+        for (int i = 0; i < 10_000; i++) {
+            gestor.agregarProyecto(new Proyecto("Base " + i, 5));
+        }
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> escritor = hilo.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    gestor.agregarProyecto(new Proyecto("Nuevo " + i, 5));
+                    gestor.eliminarProyectoPorNombre("Base " + i);
+                }
+            });
+            while (!escritor.isDone()) {
+                List<Proyecto> instantanea = gestor.getInstantanea();
+                Set<String> nombres = new HashSet<>();
+                for (Proyecto proyecto : gestor.getProyectos()) {
+                    assertTrue(nombres.add(proyecto.getNombre()), "Ningún proyecto se repite");
+                }
+                // Entre el alta y la baja de cada vuelta hay un proyecto de más
+                assertTrue(nombres.size() == 10_000 || nombres.size() == 10_001, "Tamaño: " + nombres.size());
+                assertEquals(instantanea.size(), instantanea.stream().count());
+            }
+            escritor.get();
+        } finally {
+            hilo.shutdownNow();
+        }
+    }
+
+    // --- Pruebas para la lectura por páginas, por cursor y en streaming ---
+
+    @Test
+    @DisplayName("[paginas] Leer una página por posición")
+    void testGetProyectosPagina() {
+        for (int i = 0; i < 10; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, i));
+        }
+        assertEquals(List.of("P3", "P4", "P5"), gestor.getProyectos(3, 3).stream().map(Proyecto::getNombre).toList());
+        assertEquals(2, gestor.getProyectos(8, 100).size());
+        assertTrue(gestor.getProyectos(10, 5).isEmpty());
+        assertTrue(gestor.getProyectos(Integer.MAX_VALUE, Integer.MAX_VALUE).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> gestor.getProyectos(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> gestor.getProyectos(0, -5));
+    }
+
+    @Test
+    @DisplayName("[paginas] El cursor no repite ni salta proyectos con altas y bajas entre páginas")
+    void testGetPaginaPorCursor() {
+        for (int i = 0; i < 100; i++) {
+            gestor.agregarProyecto(new Proyecto(String.format("P%03d", i), 5));
+        }
+        Set<String> leidos = new HashSet<>();
+        PaginaProyectos pagina = gestor.getPagina(null, 7);
+        int paginas = 1;
+        while (true) {
+            for (Proyecto proyecto : pagina.getProyectos()) {
+                assertTrue(leidos.add(proyecto.getNombre()), "Repetido: " + proyecto);
+            }
+            if (!pagina.hayMas()) {
+                break;
+            }
+            // Cambios entre páginas: se elimina el último leído y se agrega uno ya recorrido
+            gestor.eliminarProyectoPorNombre(pagina.getProyectos().get(pagina.getProyectos().size() - 1).getNombre());
+            gestor.agregarProyecto(new Proyecto("A" + paginas, 5));
+            pagina = gestor.getPagina(pagina.getSiguienteCursor(), 7);
+            paginas++;
+        }
+        assertEquals(100, leidos.size());
+        assertEquals(15, paginas);
+        assertThrows(IllegalArgumentException.class, () -> gestor.getPagina(null, 0));
+    }
+
+    @Test
+    @DisplayName("[paginas] Stream paralelo en ambos almacenamientos")
+    void testStreamParalelo() {
+        for (GestorProyectos.Almacenamiento almacenamiento : GestorProyectos.Almacenamiento.values()) {
+            GestorProyectos g = new GestorProyectos(almacenamiento);
+            int n = 50_000;
+            for (int i = 0; i < n; i++) {
+                g.agregarProyecto(new Proyecto("P" + i, i % 11));
+            }
+            g.eliminarProyectoPorNombre("P0");
+            double esperada = g.getEstadisticas().getSuma();
+            assertEquals(n - 1, g.stream().parallel().count(), almacenamiento.name());
+            assertEquals(esperada, g.stream().parallel().mapToDouble(Proyecto::getNota).sum(), 1e-6);
+            assertEquals("P1", g.stream().findFirst().orElseThrow().getNombre());
+            assertEquals(g.getProyectos(), g.stream().toList());
+        }
+    }
+
+    // --- Pruebas para exportar(Path, FormatoExportacion) ---
+
+    @Test
+    @DisplayName("[exportar] CSV que se vuelve a importar igual, con comillas, tildes y emojis")
+    void testExportarCsvIdaYVuelta(@TempDir Path dir) throws IOException {
+        List<Proyecto> originales = List.of(new Proyecto("Cálculo, \"Integral\"", 8.5),
+                new Proyecto("  Espacios  ", 10), new Proyecto("Redes 🚀", 7.25),
+                new Proyecto("Ética", 0.33), new Proyecto("Punto;y coma", 0));
+        originales.forEach(gestor::agregarProyecto);
+        Path fichero = dir.resolve("proyectos.csv");
+
+        ResultadoExportacion resultado = gestor.exportar(fichero, FormatoExportacion.CSV);
+        assertEquals(5, resultado.getExportados());
+        assertEquals(Files.size(fichero), resultado.getBytes());
+        assertTrue(Files.readString(fichero).startsWith("nombre,nota\n\"Cálculo, \"\"Integral\"\"\",8.5\n"));
+
+        GestorProyectos importado = new GestorProyectos();
+        assertEquals(5, importado.importar(fichero).getImportadas());
+        for (int i = 0; i < originales.size(); i++) {
+            assertEquals(originales.get(i).getNota(), importado.getProyectos().get(i).getNota());
+        }
+        assertEquals("Cálculo, \"Integral\"", importado.getProyectos().get(0).getNombre());
+        assertEquals("Redes 🚀", importado.getProyectos().get(2).getNombre());
+    }
+
+    @Test
+    @DisplayName("[exportar] JSON Lines con un objeto por proyecto y escapes")
+    void testExportarJsonLines(@TempDir Path dir) throws IOException {
+        gestor.agregarProyecto(new Proyecto("Tab\tcon \"comillas\" y \\", 10));
+        gestor.agregarProyecto(proyectoValido1);
+        Path fichero = dir.resolve("proyectos.jsonl");
+        assertEquals(FormatoExportacion.JSON_LINES, FormatoExportacion.porExtension(fichero.toString()));
+
+        gestor.exportar(fichero, FormatoExportacion.JSON_LINES);
+        assertEquals(List.of("{\"nombre\":\"Tab\\u0009con \\\"comillas\\\" y \\\\\",\"nota\":10.0}",
+                        "{\"nombre\":\"Cálculo Integral\",\"nota\":8.5}"),
+                Files.readAllLines(fichero, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("[exportar] Grandes volúmenes con progreso; cancelar no toca el fichero de destino")
+    void testExportarProgresoYCancelacion(@TempDir Path dir) throws IOException {
+        for (int i = 0; i < 100_000; i++) {
+            gestor.agregarProyecto(new Proyecto("Proyecto " + i, (i % 1001) / 100.0));
+        }
+        Path fichero = dir.resolve("grande.csv");
+        List<Double> avances = new ArrayList<>();
+        ResultadoExportacion resultado = gestor.exportar(fichero, FormatoExportacion.CSV, avances::add);
+        assertEquals(100_000, resultado.getExportados());
+        assertEquals(1.0, avances.get(avances.size() - 1));
+        assertEquals(100_001, Files.readAllLines(fichero).size());
+        assertEquals("Proyecto 999,9.99", Files.readAllLines(fichero).get(1000));
+
+        Files.writeString(fichero, "anterior");
+        Thread.currentThread().interrupt();
+        try {
+            assertTrue(gestor.exportar(fichero, FormatoExportacion.CSV).isCancelada());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals("anterior", Files.readString(fichero));
+        try (var ficheros = Files.list(dir)) {
+            assertEquals(1, ficheros.count(), "No quedan temporales");
+        }
+    }
+
+    // --- Pruebas para deshacer() y rehacer() ---
+
+    @Test
+    @DisplayName("[historial] Deshacer y rehacer altas y bajas")
+    void testDeshacerAltasYBajas() {
+        assertFalse(gestor.deshacer(), "Sin cambios no hay nada que deshacer");
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        gestor.eliminarProyectoPorNombre(proyectoValido1.getNombre());
+
+        assertTrue(gestor.deshacer()); // Vuelve al final de la lista
+        assertEquals(List.of(proyectoValido2, proyectoValido1), gestor.getProyectos());
+        assertTrue(gestor.deshacer());
+        assertEquals(List.of(proyectoValido1), gestor.getProyectos());
+        assertTrue(gestor.puedeRehacer());
+
+        assertTrue(gestor.rehacer());
+        assertEquals(List.of(proyectoValido1, proyectoValido2), gestor.getProyectos());
+        assertEquals(9.25, gestor.getEstadisticas().getMedia(), 1e-9);
+
+        gestor.agregarProyecto(proyectoValido3); // Un cambio nuevo descarta lo pendiente de rehacer
+        assertFalse(gestor.puedeRehacer());
+        assertFalse(gestor.rehacer());
+    }
+
+    @Test
+    @DisplayName("[historial] Deshacer una limpieza restaura la lista, las estadísticas y los índices")
+    void testDeshacerLimpieza() {
+        for (GestorProyectos.Almacenamiento almacenamiento : GestorProyectos.Almacenamiento.values()) {
+            GestorProyectos g = new GestorProyectos(almacenamiento);
+            g.agregarProyecto(proyectoValido1);
+            g.agregarProyecto(proyectoValido2);
+            g.agregarProyecto(proyectoValido3);
+            assertEquals(proyectoValido2, g.topK(1).get(0)); // Construye el índice por nota
+            List<EventoProyecto> eventos = new ArrayList<>();
+            g.addProyectosListener(eventos::add);
+
+            g.limpiarProyectos();
+            assertEquals(0, g.getNumeroProyectos());
+            assertTrue(g.topK(3).isEmpty());
+            assertTrue(g.deshacer());
+
+            assertEquals(List.of(proyectoValido1, proyectoValido2, proyectoValido3), g.getProyectos(), almacenamiento.name());
+            assertEquals(3, g.getEstadisticas().getCantidad());
+            assertEquals(List.of(proyectoValido2, proyectoValido1, proyectoValido3), g.topK(3));
+            assertEquals(1, g.buscar("calc", 10).size());
+            assertEquals(EventoProyecto.Tipo.AGREGADO, eventos.get(1).getTipo());
+            assertEquals(3, eventos.get(1).getCantidad());
+
+            assertTrue(g.rehacer());
+            assertEquals(0, g.getNumeroProyectos());
+            assertNull(g.buscarProyectoPorNombre(proyectoValido1.getNombre()));
+        }
+    }
+
+    @Test
+    @DisplayName("[historial] La profundidad limita los cambios que se pueden deshacer")
+    void testProfundidadHistorial() {
+        assertEquals(GestorProyectos.PROFUNDIDAD_HISTORIAL_POR_DEFECTO, gestor.getProfundidadHistorial());
+        assertThrows(IllegalArgumentException.class, () -> gestor.setProfundidadHistorial(-1));
+        gestor.setProfundidadHistorial(2);
+        for (int i = 0; i < 5; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, 5));
+        }
+        assertTrue(gestor.deshacer());
+        assertTrue(gestor.deshacer());
+        assertFalse(gestor.deshacer());
+        assertEquals(3, gestor.getNumeroProyectos());
+
+        gestor.setProfundidadHistorial(0);
+        assertFalse(gestor.puedeRehacer());
+        gestor.limpiarProyectos();
+        assertFalse(gestor.deshacer(), "Con profundidad 0 no se guarda la lista vaciada");
+    }
+
+    @Test
+    @DisplayName("[historial] Una importación se deshace de una vez y conserva lo anterior")
+    void testDeshacerImportacion() throws IOException {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.limpiarProyectos();
+        gestor.importar(new StringReader("Física;6\nQuímica;7\n"));
+
+        assertTrue(gestor.deshacer());
+        assertEquals(0, gestor.getNumeroProyectos());
+        assertTrue(gestor.deshacer()); // La limpieza anterior a la importación
+        assertEquals(List.of(proyectoValido1), gestor.getProyectos());
+
+        assertTrue(gestor.rehacer());
+        assertTrue(gestor.rehacer());
+        assertEquals(2, gestor.getNumeroProyectos());
+        assertEquals("Química", gestor.getProyectos().get(1).getNombre());
+    }
+
+    @Test
+    @DisplayName("[historial] Una sustitución de la lista se deshace y se rehace")
+    void testDeshacerSustitucion() {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        gestor.sustituirProyectos(List.of(proyectoValido3));
+
+        assertTrue(gestor.deshacer());
+        assertEquals(List.of(proyectoValido1, proyectoValido2), gestor.getProyectos());
+        assertTrue(gestor.rehacer());
+        assertEquals(List.of(proyectoValido3), gestor.getProyectos());
+    }
+
+    @Test
+    @DisplayName("[eventos] Deshacer una limpieza notifica una copia de los restaurados")
+    void testEventoDeshacerLimpiezaEsCopia() {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.limpiarProyectos();
+        List<EventoProyecto> eventos = new ArrayList<>();
+        gestor.addProyectosListener(eventos::add);
+
+        gestor.deshacer();
+        gestor.agregarProyecto(proyectoValido2);
+
+        assertEquals(List.of(proyectoValido1), eventos.get(0).getProyectos());
+    }
+
+    @Test
+    @DisplayName("[historial] Lo deshecho se conserva al reabrir el diario")
+    void testDeshacerPersistente(@TempDir Path dir) throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        try (GestorProyectos persistente = GestorProyectos.abrir(fichero, false)) {
+            persistente.agregarProyecto(proyectoValido1);
+            persistente.agregarProyecto(proyectoValido2);
+            persistente.limpiarProyectos();
+            persistente.deshacer(); // Vuelven los dos
+            persistente.agregarProyecto(proyectoValido3);
+            persistente.deshacer(); // Se va proyectoValido3
+        }
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, false)) {
+            assertEquals(List.of(proyectoValido1, proyectoValido2), reabierto.getProyectos());
+            assertFalse(reabierto.puedeDeshacer(), "El historial no se guarda en el diario");
+        }
+    }
+
+    // --- Pruebas para la eliminación en lote (eliminarSi, eliminarPorNombres, eliminarRangoNotas) ---
+
+    @Test
+    @DisplayName("[eliminarLote] Quitar proyectos no contiguos con un único evento")
+    void testEliminarSiUnEvento() {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        gestor.agregarProyecto(proyectoValido3);
+        gestor.agregarProyecto(new Proyecto("Redes", 9.5));
+        List<EventoProyecto> eventos = new ArrayList<>();
+        gestor.addProyectosListener(eventos::add);
+
+        assertEquals(2, gestor.eliminarSi(p -> p.getNota() >= 9));
+        assertEquals(List.of(proyectoValido1, proyectoValido3), gestor.getProyectos());
+        assertEquals(1, eventos.size());
+        EventoProyecto evento = eventos.get(0);
+        assertEquals(EventoProyecto.Tipo.ELIMINADOS, evento.getTipo());
+        assertArrayEquals(new int[] {1, 3}, evento.getPosiciones());
+        assertEquals(2, evento.getCantidad());
+        assertFalse(evento.isContiguo());
+        assertEquals(proyectoValido2, evento.getProyecto());
+        assertEquals(7.75, gestor.getEstadisticas().getMedia(), 1e-9);
+
+        assertEquals(0, gestor.eliminarSi(p -> false));
+        assertEquals(1, eventos.size(), "Sin cambios no hay evento");
+        assertThrows(IllegalArgumentException.class, () -> gestor.eliminarSi(null));
+    }
+
+    @Test
+    @DisplayName("[eliminarLote] Eliminar por nombres sin distinguir mayúsculas ni tildes, ignorando los que no existen")
+    void testEliminarPorNombres() {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        gestor.agregarProyecto(proyectoValido3);
+
+        assertEquals(2, gestor.eliminarPorNombres(Arrays.asList("CALCULO  integral", "intro programacion", "No existe", null, " ")));
+        assertEquals(List.of(proyectoValido2), gestor.getProyectos());
+        assertNull(gestor.buscarProyectoPorNombre("Cálculo Integral"));
+        assertEquals(0, gestor.eliminarPorNombres(List.of("Cálculo Integral")));
+        assertEquals(0, gestor.eliminarPorNombres(List.of()));
+        gestor.agregarProyecto(proyectoValido1); // El nombre vuelve a estar libre
+        assertEquals(2, gestor.getNumeroProyectos());
+    }
+
+    @Test
+    @DisplayName("[eliminarLote] Rango de notas con índices e instantáneas ya construidos, en ambos almacenamientos")
+    void testEliminarRangoNotasMantieneIndices() {
+        for (GestorProyectos.Almacenamiento almacenamiento : GestorProyectos.Almacenamiento.values()) {
+            for (double max : new double[] {0.9, 7.9}) { // Pocas bajas (se actualizan) o muchas (se reconstruyen)
+                GestorProyectos g = new GestorProyectos(almacenamiento);
+                int n = 5_000;
+                for (int i = 0; i < n; i++) {
+                    g.agregarProyecto(new Proyecto("Proyecto " + i, (i % 100) / 10.0));
+                }
+                g.topK(1);
+                g.buscar("proyecto 1", 5);
+                List<Proyecto> antes = g.getInstantanea();
+
+                int esperados = g.contarRangoNotas(0, max);
+                assertEquals(esperados, g.eliminarRangoNotas(0, max));
+                String caso = almacenamiento + " max=" + max;
+                assertEquals(n - esperados, g.getNumeroProyectos(), caso);
+                assertEquals(n, antes.size(), "La instantánea previa no cambia");
+                assertEquals(0, g.contarRangoNotas(0, max), caso);
+                assertEquals(n - esperados, g.contarRangoNotas(0, 10), caso);
+                assertEquals(List.of(g.getProyectos().toArray()), g.getInstantanea(), caso);
+                assertTrue(g.getProyectos().stream().allMatch(p -> p.getNota() > max), caso);
+                assertNull(g.buscarProyectoPorNombre("Proyecto 0"), caso);
+                assertTrue(g.buscarPorPrefijo("proyecto 100", 10).isEmpty(), caso); // Nota 0.0
+                assertEquals(n - esperados, g.getEstadisticas().getCantidad(), caso);
+                assertEquals(0, g.eliminarRangoNotas(5, 4));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("[eliminarLote] Deshacer devuelve los proyectos al final y rehacer los vuelve a quitar")
+    void testDeshacerEliminarLote() {
+        gestor.agregarProyecto(proyectoValido1);
+        gestor.agregarProyecto(proyectoValido2);
+        gestor.agregarProyecto(proyectoValido3);
+        gestor.eliminarRangoNotas(8, 10);
+        List<EventoProyecto> eventos = new ArrayList<>();
+        gestor.addProyectosListener(eventos::add);
+
+        assertTrue(gestor.deshacer());
+        assertEquals(List.of(proyectoValido3, proyectoValido1, proyectoValido2), gestor.getProyectos());
+        assertEquals(EventoProyecto.Tipo.AGREGADO, eventos.get(0).getTipo());
+        assertEquals(2, eventos.get(0).getCantidad());
+
+        assertTrue(gestor.rehacer());
+        assertEquals(List.of(proyectoValido3), gestor.getProyectos());
+        assertArrayEquals(new int[] {1, 2}, eventos.get(1).getPosiciones());
+        assertTrue(eventos.get(1).isContiguo());
+        assertEquals(7.0, gestor.getEstadisticas().getMedia(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("[eliminarLote] Una condición que falla no elimina nada")
+    void testEliminarSiCondicionQueFalla() {
+        for (GestorProyectos.Almacenamiento almacenamiento : GestorProyectos.Almacenamiento.values()) {
+            GestorProyectos g = new GestorProyectos(almacenamiento);
+            g.agregarProyecto(proyectoValido1);
+            g.agregarProyecto(proyectoValido2);
+            g.agregarProyecto(proyectoValido3);
+            assertThrows(IllegalStateException.class, () -> g.eliminarSi(p -> {
+                if (p.equals(proyectoValido3)) {
+                    throw new IllegalStateException("Fallo");
+                }
+                return true;
+            }));
+            assertEquals(List.of(proyectoValido1, proyectoValido2, proyectoValido3), g.getProyectos(), almacenamiento.name());
+            assertTrue(g.deshacer()); // Lo último en el historial sigue siendo el alta de proyectoValido3
+            assertEquals(List.of(proyectoValido1, proyectoValido2), g.getProyectos());
+        }
+    }
+
+    @Test
+    @DisplayName("[eliminarLote] Las bajas en lote se conservan al reabrir el diario")
+    void testEliminarLotePersistente(@TempDir Path dir) throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        try (GestorProyectos persistente = GestorProyectos.abrir(fichero, true)) {
+            persistente.agregarProyecto(proyectoValido1);
+            persistente.agregarProyecto(proyectoValido2);
+            persistente.agregarProyecto(proyectoValido3);
+            persistente.eliminarPorNombres(List.of("bases de datos", "Intro Programación"));
+        }
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, false)) {
+            assertEquals(List.of(proyectoValido1), reabierto.getProyectos());
+        }
+    }
+
+    // --- Pruebas para las notas en coma fija (Nota) ---
+
+    @Test
+    @DisplayName("[nota] Lee notas con punto o coma, redondea a la centésima y rechaza textos no válidos")
+    void testParsearNota() {
+        assertEquals(750, Nota.parsear("7.5"));
+        assertEquals(725, Nota.parsear(" 7,25 "));
+        assertEquals(1000, Nota.parsear("10"));
+        assertEquals(800, Nota.parsear("8."));
+        assertEquals(50, Nota.parsear(".5"));
+        assertEquals(725, Nota.parsear("7.250"));
+        assertEquals(-100, Nota.parsear("-1"));
+        assertEquals(850, Nota.parsear("x;8.5;y", 2, 5));
+        for (String texto : new String[] {"", " ", ".", "-", "abc", "7.5.1", "7 5", "1e1", "99999999999", "7.255", "9.999", "10.004"}) {
+            assertThrows(NumberFormatException.class, () -> Nota.parsear(texto), texto);
+        }
+    }
+
+    @Test
+    @DisplayName("[nota] Escribe dos decimales al final del StringBuilder o CharBuffer del llamador")
+    void testFormatearNota() {
+        StringBuilder texto = new StringBuilder("Nota: ");
+        assertSame(texto, Nota.formatear(850, texto));
+        assertEquals("Nota: 8.50", texto.toString());
+        texto.setLength(0);
+        Nota.formatear(5, texto).append('|');
+        Nota.formatear(1000, texto).append('|');
+        Nota.formatear(-125, texto);
+        assertEquals("0.05|10.00|-1.25", texto.toString());
+        assertEquals("7,25", Nota.formatear(725, ',', new StringBuilder()).toString());
+
+        CharBuffer buffer = CharBuffer.allocate(16);
+        Nota.formatear(999, buffer).flip();
+        assertEquals("9.99", buffer.toString());
+
+        // Los textos de la tabla coinciden con el formato anterior y se reutilizan
+        for (int centesimas = 0; centesimas <= Nota.MAXIMA; centesimas++) {
+            assertEquals(String.format("%.2f", centesimas / 100.0), Nota.texto(centesimas));
+            assertSame(Nota.texto(centesimas), Nota.texto(centesimas));
+            assertSame(Nota.valor(centesimas), Nota.valor(centesimas));
+            assertEquals(centesimas / 100.0, Nota.valor(centesimas));
+        }
+    }
+
+    @Test
+    @DisplayName("[nota] Proyecto guarda la nota en centésimas sin cambiar getNota, equals ni toString")
+    void testProyectoEnCentesimas() {
+        Proyecto proyecto = new Proyecto("Redes", 7.25);
+        assertEquals(725, proyecto.getCentesimas());
+        assertEquals(7.25, proyecto.getNota());
+        assertEquals(proyecto, Proyecto.conCentesimas("Redes", 725));
+        assertEquals(proyecto.hashCode(), Proyecto.conCentesimas("Redes", 725).hashCode());
+        assertEquals(String.format("Nombre: %s, Nota: %.2f", "Redes", 7.25), proyecto.toString());
+        assertEquals(825, new Proyecto("Redes", 8.25 * 3 / 3).getCentesimas()); // Error de representación, no decimales
+
+        // Los dos almacenes devuelven la misma nota exacta
+        GestorProyectos columnar = new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR);
+        columnar.agregarProyecto(proyecto);
+        assertEquals(725, columnar.buscarProyectoPorNombre("redes").getCentesimas());
+        assertThrows(IllegalArgumentException.class, () -> gestor.agregarProyecto(Proyecto.conCentesimas("Fuera", 1001)));
+        gestor.agregarProyecto(Proyecto.conCentesimas("Máxima", Nota.MAXIMA));
+        assertEquals(10.0, gestor.buscarProyectoPorNombre("Máxima").getNota());
+    }
+
+    // --- Pruebas del gestor particionado (GestorProyectosParticionado) ---
+
+    @Test
+    @DisplayName("[particionado] Un nombre cae siempre en la misma partición: los duplicados se detectan sin importar tildes ni mayúsculas")
+    void testParticionadoDuplicados() {
+        GestorProyectosParticionado particionado = new GestorProyectosParticionado(8);
+        assertEquals(8, particionado.getParticiones());
+        particionado.agregarProyecto(proyectoValido1);
+        assertThrows(IllegalArgumentException.class,
+                () -> particionado.agregarProyecto(new Proyecto("  CALCULO   integral ", 5)));
+        assertThrows(IllegalArgumentException.class, () -> particionado.agregarProyecto(new Proyecto("", 5)));
+        assertThrows(IllegalArgumentException.class, () -> particionado.agregarProyecto(new Proyecto(null, 5)));
+        assertEquals(proyectoValido1, particionado.buscarProyectoPorNombre("cálculo integral"));
+        assertTrue(particionado.eliminarProyectoPorNombre("Calculo Integral"));
+        assertFalse(particionado.eliminarProyectoPorNombre("Calculo Integral"));
+        assertEquals(0, particionado.getNumeroProyectos());
+        assertThrows(IllegalArgumentException.class, () -> new GestorProyectosParticionado(0));
+    }
+
+    @Test
+    @DisplayName("[particionado] Recuentos, estadísticas, top-k y rangos coinciden con los de un único gestor")
+    void testParticionadoConsultasCombinadas() {
+        GestorProyectosParticionado particionado = new GestorProyectosParticionado(5, GestorProyectos.Almacenamiento.COLUMNAR);
+        for (int i = 0; i < 2_000; i++) {
+            Proyecto proyecto = Proyecto.conCentesimas("Proyecto " + i, (int) (i * 7919L % 1001));
+            gestor.agregarProyecto(proyecto);
+            particionado.agregarProyecto(proyecto);
+        }
+        assertEquals(gestor.getNumeroProyectos(), particionado.getNumeroProyectos());
+        assertEquals(new HashSet<>(gestor.getProyectos()), new HashSet<>(particionado.getProyectos()));
+        assertEquals(gestor.getProyectos().size(), particionado.getProyectos().size());
+        List<Proyecto> todos = particionado.getProyectos();
+        for (int i = 0; i < todos.size(); i++) {
+            assertSame(todos.get(i), todos.get(i)); // Acceso por posición a través de las particiones
+        }
+        assertEquals(new ArrayList<>(todos), List.copyOf(todos)); // Iterador y get en el mismo orden
+
+        EstadisticasNotas esperadas = gestor.getEstadisticas();
+        EstadisticasNotas combinadas = particionado.getEstadisticas();
+        assertEquals(esperadas.getCantidad(), combinadas.getCantidad());
+        assertEquals(esperadas.getMedia(), combinadas.getMedia(), 1e-9);
+        assertEquals(esperadas.getVarianza(), combinadas.getVarianza(), 1e-9);
+        assertEquals(esperadas.getMinima(), combinadas.getMinima());
+        assertEquals(esperadas.getMaxima(), combinadas.getMaxima());
+        assertArrayEquals(esperadas.getHistograma(), combinadas.getHistograma());
+
+        assertEquals(gestor.topK(25), particionado.topK(25));
+        assertEquals(gestor.topK(5_000), particionado.topK(5_000));
+        assertEquals(List.of(), particionado.topK(0));
+        assertEquals(gestor.rangoNotas(3, 4.5), particionado.rangoNotas(3, 4.5));
+        assertEquals(gestor.contarRangoNotas(3, 4.5), particionado.contarRangoNotas(3, 4.5));
+
+        assertEquals(gestor.eliminarRangoNotas(0, 2), particionado.eliminarRangoNotas(0, 2));
+        assertEquals(gestor.topK(10), particionado.topK(10));
+        particionado.limpiarProyectos();
+        assertEquals(0, particionado.getNumeroProyectos());
+        assertTrue(particionado.getProyectos().isEmpty());
+        assertTrue(Double.isNaN(particionado.getEstadisticas().getMedia()));
+    }
+
+    @Test
+    @DisplayName("[particionado] Importar reparte las filas entre particiones con los mismos rechazos que un único gestor")
+    void testParticionadoImportar() throws IOException {
+        StringBuilder csv = new StringBuilder("nombre,nota\n");
+        for (int i = 0; i < 25_000; i++) { // Más de dos lotes
+            csv.append("Proyecto ").append(i).append(',').append(i % 11).append('\n');
+        }
+        csv.append("proyecto 3,5\n"); // Duplicado de otro lote
+        csv.append("Fuera de rango,11\n");
+        csv.append("Sin nota,abc\n");
+        csv.append("Dup,4\nDUP,4\n"); // Duplicado dentro del mismo lote
+
+        GestorProyectosParticionado particionado = new GestorProyectosParticionado(4);
+        ResultadoImportacion esperado = gestor.importar(new StringReader(csv.toString()));
+        ResultadoImportacion resultado = particionado.importar(new StringReader(csv.toString()));
+        assertEquals(esperado.getImportadas(), resultado.getImportadas());
+        assertEquals(esperado.getRechazadas(), resultado.getRechazadas());
+        assertEquals(esperado.getFilasLeidas(), resultado.getFilasLeidas());
+        assertEquals(esperado.getRechazos().toString(), resultado.getRechazos().toString());
+        assertEquals(new HashSet<>(gestor.getProyectos()), new HashSet<>(particionado.getProyectos()));
+    }
+
+    @Test
+    @DisplayName("[nota] Las notas con más de dos decimales o no numéricas no se redondean: el gestor las rechaza")
+    void testNotaConDemasiadosDecimales() {
+        for (double nota : new double[] {10.004, -0.004, 8.255, Double.NaN, Double.POSITIVE_INFINITY}) {
+            Proyecto proyecto = new Proyecto("Redes", nota); // Crear el proyecto no falla: valida el gestor
+            assertEquals(Nota.NO_VALIDA, proyecto.getCentesimas(), String.valueOf(nota));
+            assertTrue(Double.isNaN(proyecto.getNota()));
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> gestor.agregarProyecto(proyecto));
+            assertEquals(GestorProyectos.MENSAJE_NOTA_NO_VALIDA, exception.getMessage());
+        }
+        assertEquals(String.format("Nombre: %s, Nota: %.2f", "Redes", Double.NaN), new Proyecto("Redes", 8.255).toString());
+        assertEquals(0, gestor.getNumeroProyectos());
+
+        ResultadoImportacion resultado = assertDoesNotThrow(
+                () -> gestor.importar(new StringReader("nombre,nota\nRedes,8.255\nFísica,10.004\nQuímica,7.250\n")));
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(2, resultado.getRechazadas());
+        assertEquals(GestorProyectos.MENSAJE_NOTA_NO_VALIDA, resultado.getRechazos().get(0).getMotivo());
+    }
+
+    // --- Pruebas de concurrencia ---
+
+    @Test
+    @DisplayName("[concurrencia] 32 hilos registrando, buscando y eliminando conservan las invariantes")
+    void testConcurrenciaTreintaYDosHilos() throws Exception {
+        final int hilos = 32;
+        final int operacionesPorHilo = 20_000;
+        final int nombresDistintos = 2_000; // Pocos nombres: muchas colisiones entre hilos
+        AtomicInteger altas = new AtomicInteger();
+        AtomicInteger bajas = new AtomicInteger();
+        gestor.topK(1);       // Índices activos para que también se mantengan en paralelo
+        gestor.buscar("x", 1);
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos + 1);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            tareas.add(ejecutor.submit(() -> {
+                salida.await();
+                ThreadLocalRandom azar = ThreadLocalRandom.current();
+                for (int i = 0; i < operacionesPorHilo; i++) {
+                    String nombre = "P" + azar.nextInt(nombresDistintos);
+                    int operacion = azar.nextInt(10);
+                    if (operacion < 4) {
+                        try {
+                            gestor.agregarProyecto(new Proyecto(nombre, azar.nextInt(101) / 10.0));
+                            altas.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            assertEquals("Ya existe un proyecto con ese nombre.", e.getMessage());
+                        }
+                    } else if (operacion < 7) {
+                        if (gestor.eliminarProyectoPorNombre(nombre)) {
+                            bajas.incrementAndGet();
+                        }
+                    } else {
+                        Proyecto encontrado = gestor.buscarProyectoPorNombre(nombre);
+                        assertTrue(encontrado == null || encontrado.getNombre().equals(nombre));
+                    }
+                }
+                return null;
+            }));
+        }
+        // Un lector que recorre la lista mientras los escritores trabajan
+        tareas.add(ejecutor.submit(() -> {
+            salida.await();
+            for (int i = 0; i < 200; i++) {
+                Set<String> vistos = new HashSet<>();
+                for (Proyecto proyecto : gestor.getProyectos()) {
+                    assertTrue(vistos.add(proyecto.getNombre()), "Nombre repetido: " + proyecto.getNombre());
+                }
+                gestor.getEstadisticas();
+            }
+            return null;
+        }));
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(); // Propaga cualquier fallo de aserción de los hilos
+        }
+        ejecutor.shutdown();
+
+        int esperados = altas.get() - bajas.get();
+        assertEquals(esperados, gestor.getNumeroProyectos());
+        Set<String> nombres = new HashSet<>();
+        for (Proyecto proyecto : gestor.getProyectos()) {
+            assertTrue(nombres.add(proyecto.getNombre()), "Nombre repetido: " + proyecto.getNombre());
+            assertSame(proyecto, gestor.buscarProyectoPorNombre(proyecto.getNombre()));
+        }
+        assertEquals(esperados, nombres.size());
+        assertEquals(esperados, gestor.getEstadisticas().getCantidad());
+        assertEquals(esperados, gestor.topK(Integer.MAX_VALUE).size());
+        assertEquals(esperados, gestor.buscarPorPrefijo("P", Integer.MAX_VALUE).size());
+    }
+
+}
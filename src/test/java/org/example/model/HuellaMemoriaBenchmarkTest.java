@@ -0,0 +1,44 @@
+package org.example.model;
+
+import org.example.controller.GestorProyectos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Compara la memoria ocupada por 1M de proyectos con cada almacenamiento.
+ * Solo se ejecuta con el perfil de benchmarks: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class HuellaMemoriaBenchmarkTest {
+
+    private static final int N = 1_000_000;
+
+    @ParameterizedTest
+    @EnumSource(GestorProyectos.Almacenamiento.class)
+    @DisplayName("[benchmark] Huella en memoria de 1M proyectos")
+    void medirHuella(GestorProyectos.Almacenamiento almacenamiento) throws InterruptedException {
+        long antes = memoriaUsada();
+        GestorProyectos gestor = new GestorProyectos(almacenamiento);
+        for (int i = 0; i < N; i++) {
+            gestor.agregarProyecto(new Proyecto("Proyecto de asignatura " + i, (i % 1001) / 100.0));
+        }
+        long despues = memoriaUsada();
+        System.out.printf("%-9s %,d proyectos: %,.1f MB (%.1f bytes/proyecto)%n", almacenamiento, N,
+                (despues - antes) / (1024.0 * 1024), (despues - antes) / (double) N);
+        // Mantener vivo el gestor hasta después de medir
+        if (gestor.getNumeroProyectos() != N) {
+            throw new AssertionError();
+        }
+    }
+
+    private static long memoriaUsada() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.persistencia;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mide escrituras/s sostenidas del gestor con diario, con y sin fsync.
+ * Solo se ejecuta con el perfil de benchmarks: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class DiarioProyectosBenchmarkTest {
+
+    @ParameterizedTest(name = "fsync={0}, hilos={1}")
+    @CsvSource({"true, 1", "true, 32", "false, 1", "false, 32"})
+    @DisplayName("[benchmark] Escrituras por segundo con diario")
+    void medirEscrituras(boolean sincronizar, int hilos) throws Exception {
+        Path fichero = Files.createTempFile("bench", ".diario");
+        int total = sincronizar && hilos == 1 ? 2_000 : 200_000;
+        int porHilo = total / hilos;
+        try (GestorProyectos gestor = GestorProyectos.abrir(fichero, sincronizar)) {
+            long inicio = System.nanoTime();
+            List<Thread> escritores = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int id = h;
+                escritores.add(Thread.ofVirtual().start(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        gestor.agregarProyecto(new Proyecto("H" + id + "-" + i, i % 11));
+                    }
+                }));
+            }
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.out.printf("Diario fsync=%-5s hilos=%2d: %,d escrituras en %.2f s -> %,.0f escrituras/s%n",
+                    sincronizar, hilos, porHilo * hilos, segundos, porHilo * hilos / segundos);
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.persistencia;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.EventoProyecto;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+class DiarioProyectosTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("[diario] Recuperar altas, bajas y limpiezas al reabrir el gestor")
+    void testReabrirReproduceOperaciones() throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        try (GestorProyectos gestor = GestorProyectos.abrir(fichero, true)) {
+            gestor.agregarProyecto(new Proyecto("Redes", 7.5));
+            gestor.limpiarProyectos();
+            gestor.agregarProyecto(new Proyecto("Cálculo Integral", 8.5));
+            gestor.agregarProyecto(new Proyecto("Bases de Datos", 10.0));
+            gestor.agregarProyecto(new Proyecto("Ética", 0.0));
+            gestor.eliminarProyectoPorNombre("Bases de Datos");
+        }
+
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, true)) {
+            assertEquals(2, reabierto.getNumeroProyectos());
+            assertEquals("Cálculo Integral", reabierto.getProyectos().get(0).getNombre());
+            assertEquals(8.5, reabierto.getProyectos().get(0).getNota());
+            assertEquals("Ética", reabierto.getProyectos().get(1).getNombre());
+            assertNull(reabierto.buscarProyectoPorNombre("Redes"));
+        }
+    }
+
+    @Test
+    @DisplayName("[diario] Persistir una importación por lotes")
+    void testImportacionPersistida() throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 25_000; i++) {
+            csv.append("P").append(i).append(',').append(i % 11).append('\n');
+        }
+        try (GestorProyectos gestor = GestorProyectos.abrir(fichero, false)) {
+            gestor.importar(new StringReader(csv.toString()));
+        }
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, false)) {
+            assertEquals(25_000, reabierto.getNumeroProyectos());
+            assertEquals(10.0, reabierto.buscarProyectoPorNombre("P10").getNota());
+        }
+    }
+
+    @Test
+    @DisplayName("[diario] Descartar un registro final truncado y seguir escribiendo")
+    void testColaTruncadaSeDescarta() throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        try (GestorProyectos gestor = GestorProyectos.abrir(fichero, true)) {
+            gestor.agregarProyecto(new Proyecto("Redes", 7.5));
+            gestor.agregarProyecto(new Proyecto("Compiladores", 9.0));
+        }
+        // Simula una caída a mitad del último registro
+        try (FileChannel canal = FileChannel.open(fichero, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, true)) {
+            assertEquals(1, reabierto.getNumeroProyectos());
+            reabierto.agregarProyecto(new Proyecto("Física", 6.0));
+        }
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, true)) {
+            assertEquals(2, reabierto.getNumeroProyectos());
+            assertNotNull(reabierto.buscarProyectoPorNombre("Física"));
+        }
+    }
+
+    @Test
+    @DisplayName("[diario] Si el diario falla, el cambio en curso queda completo en memoria y los siguientes se rechazan sin tocar nada")
+    void testFalloDelDiario() throws IOException {
+        Path lleno = Path.of("/dev/full"); // Toda escritura falla con "No space left on device"
+        assumeTrue(Files.isWritable(lleno), "Solo en sistemas con /dev/full");
+        GestorProyectos gestor = GestorProyectos.abrir(lleno, false);
+        List<EventoProyecto> eventos = new ArrayList<>();
+        gestor.addProyectosListener(eventos::add);
+
+        // El volcado falla después de aplicar el alta: memoria, historial y eventos coinciden
+        assertThrows(UncheckedIOException.class, () -> gestor.agregarProyecto(new Proyecto("Redes", 7.5)));
+        assertEquals(1, gestor.getNumeroProyectos());
+        assertTrue(gestor.puedeDeshacer());
+        assertEquals(1, eventos.size());
+
+        // Con el diario caído, nada más llega a cambiar el gestor
+        assertThrows(UncheckedIOException.class, () -> gestor.agregarProyecto(new Proyecto("Física", 6)));
+        assertThrows(UncheckedIOException.class, () -> gestor.eliminarProyectoPorNombre("Redes"));
+        assertThrows(UncheckedIOException.class, gestor::limpiarProyectos);
+        assertThrows(UncheckedIOException.class, gestor::deshacer);
+        assertThrows(UncheckedIOException.class, () -> gestor.importar(new StringReader("Química,5\n")));
+        assertEquals(List.of(new Proyecto("Redes", 7.5)), gestor.getProyectos());
+        assertTrue(gestor.puedeDeshacer());
+        assertEquals(1, eventos.size());
+        assertThrows(IOException.class, gestor::close);
+    }
+
+    @Test
+    @DisplayName("[diario] Compactar deja un alta por proyecto y al reabrir se recupera el mismo estado")
+    void testCompactar() throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        List<Proyecto> esperados;
+        try (GestorProyectos gestor = GestorProyectos.abrir(fichero, true)) {
+            for (int i = 0; i < 2_000; i++) {
+                gestor.agregarProyecto(Proyecto.conCentesimas("Proyecto " + i, i % 1001));
+            }
+            gestor.eliminarRangoNotas(0, 8);
+            gestor.limpiarProyectos();
+            gestor.deshacer(); // Vuelve a anotar un alta por cada proyecto restaurado
+            esperados = List.copyOf(gestor.getProyectos());
+            long antes = Files.size(fichero);
+
+            gestor.compactarDiario();
+            assertTrue(Files.size(fichero) < antes / 4, "Tamaño tras compactar: " + Files.size(fichero));
+            assertTrue(gestor.puedeDeshacer()); // El historial en memoria no cambia
+            gestor.agregarProyecto(new Proyecto("Después de compactar", 7.25)); // Se sigue anotando al final
+        }
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, true)) {
+            List<Proyecto> proyectos = reabierto.getProyectos();
+            assertEquals(esperados, proyectos.subList(0, esperados.size()));
+            assertEquals(new Proyecto("Después de compactar", 7.25), proyectos.get(esperados.size()));
+        }
+        assertFalse(Files.exists(dir.resolve("proyectos.diario.compactando")));
+    }
+
+    @Test
+    @DisplayName("[diario] Al abrir, un diario con mucha más historia que proyectos se compacta solo")
+    void testCompactarAlAbrir() throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        try (GestorProyectos gestor = GestorProyectos.abrir(fichero, false)) {
+            for (int i = 0; i < 30_000; i++) {
+                gestor.agregarProyecto(new Proyecto("P" + i, 5));
+            }
+            gestor.eliminarRangoNotas(0, 10);
+            gestor.agregarProyecto(new Proyecto("Único", 9.5));
+        }
+        long antes = Files.size(fichero);
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, false)) {
+            assertEquals(List.of(new Proyecto("Único", 9.5)), reabierto.getProyectos());
+        }
+        assertTrue(Files.size(fichero) < antes / 100);
+        assertEquals(1, DiarioProyectos.reproducir(fichero, new DiarioProyectos.Receptor() {
+            @Override public void alta(String nombre, int centesimas) { assertEquals(950, centesimas); }
+            @Override public void baja(String nombre) { fail(); }
+            @Override public void limpieza() { fail(); }
+        }));
+    }
+
+    @Test
+    @DisplayName("[diario] Leer las altas con nota double de los diarios anteriores a las centésimas")
+    void testAltaConNotaDouble() throws IOException {
+        Path fichero = dir.resolve("proyectos.diario");
+        byte[] nombre = "Redes".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer registro = ByteBuffer.allocate(8 + 1 + 4 + nombre.length + 8);
+        registro.position(8);
+        registro.put(DiarioProyectos.ALTA_DOUBLE).putInt(nombre.length).put(nombre).putDouble(7.25);
+        CRC32C crc = new CRC32C();
+        crc.update(registro.array(), 8, registro.capacity() - 8);
+        registro.putInt(0, registro.capacity() - 8).putInt(4, (int) crc.getValue());
+        Files.write(fichero, registro.array());
+
+        try (GestorProyectos reabierto = GestorProyectos.abrir(fichero, true)) {
+            assertEquals(725, reabierto.buscarProyectoPorNombre("redes").getCentesimas());
+        }
+    }
+
+    @Test
+    @DisplayName("[diario] Agrupar escrituras concurrentes en menos volcados (group commit)")
+    void testGroupCommit() throws Exception {
+        Path fichero = dir.resolve("proyectos.diario");
+        int hilos = 16;
+        int porHilo = 200;
+        try (DiarioProyectos diario = new DiarioProyectos(fichero, true)) {
+            List<Thread> escritores = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int id = h;
+                escritores.add(Thread.ofVirtual().start(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        diario.esperarDurable(diario.anotarAlta(new Proyecto("H" + id + "-" + i, 5.0)));
+                    }
+                }));
+            }
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+            assertEquals(hilos * porHilo, diario.getRegistrosDurables());
+            assertTrue(diario.getVolcados() < hilos * porHilo,
+                    "Con escritores concurrentes varios registros deberían compartir volcado.");
+        }
+        long[] altas = new long[1];
+        long registros = DiarioProyectos.reproducir(fichero, new DiarioProyectos.Receptor() {
+            @Override public void alta(String nombre, int centesimas) { altas[0]++; }
+            @Override public void baja(String nombre) { }
+            @Override public void limpieza() { }
+        });
+        assertEquals(hilos * porHilo, registros);
+        assertEquals(hilos * porHilo, altas[0]);
+        assertTrue(Files.size(fichero) > 0);
+    }
+}
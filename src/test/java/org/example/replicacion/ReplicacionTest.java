@@ -0,0 +1,251 @@
+package org.example.replicacion;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+class ReplicacionTest {
+    private final List<AutoCloseable> abiertos = new ArrayList<>();
+
+    @AfterEach
+    void cerrar() throws Exception {
+        for (int i = abiertos.size() - 1; i >= 0; i--) {
+            abiertos.get(i).close();
+        }
+    }
+
+    private <T extends AutoCloseable> T abrir(T recurso) {
+        abiertos.add(recurso);
+        return recurso;
+    }
+
+    private static void esperarAlDia(ReplicaProyectos replica, PrimarioReplicacion primario) throws InterruptedException {
+        // Hasta cargar la primera instantánea la réplica está en la secuencia 0, como un primario sin cambios
+        assertTrue(esperarCondicion(() -> replica.getInstantaneasCargadas() > 0), "La réplica no llegó a conectarse");
+        assertTrue(replica.esperarSecuencia(primario.getSecuencia(), 10, TimeUnit.SECONDS),
+                "La réplica no alcanzó la secuencia " + primario.getSecuencia() + " (va por " + replica.getSecuenciaAplicada() + ")");
+    }
+
+    // --- Pruebas de replicación entre instancias en localhost ---
+
+    @Test
+    @DisplayName("[replicacion] Dos réplicas reciben la instantánea inicial y después cada alta, baja, lote y limpieza en orden")
+    void testReplicasSiguenAlPrimario() throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        gestor.agregarProyecto(new Proyecto("Anterior", 6.5)); // Antes de replicar: llega con la instantánea
+        PrimarioReplicacion primario = abrir(new PrimarioReplicacion(gestor, 0));
+        ReplicaProyectos replicaA = abrir(new ReplicaProyectos(new GestorProyectos(), "localhost", primario.getPuerto()));
+        ReplicaProyectos replicaB = abrir(new ReplicaProyectos(
+                new GestorProyectos(GestorProyectos.Almacenamiento.COLUMNAR), "localhost", primario.getPuerto()));
+        esperarAlDia(replicaA, primario);
+        esperarAlDia(replicaB, primario);
+        assertEquals(List.of(new Proyecto("Anterior", 6.5)), replicaA.getGestor().getInstantanea());
+
+        for (int i = 0; i < 200; i++) {
+            gestor.agregarProyecto(new Proyecto("Proyecto " + i, i % 101 / 10.0));
+        }
+        gestor.eliminarProyectoPorNombre("Proyecto 7");
+        gestor.eliminarRangoNotas(9, 10);
+        gestor.deshacer(); // Vuelven al final de la lista
+        gestor.limpiarProyectos();
+        gestor.deshacer(); // Restaura la lista anterior entera
+        gestor.agregarProyecto(new Proyecto("Último", 10));
+
+        for (ReplicaProyectos replica : List.of(replicaA, replicaB)) {
+            esperarAlDia(replica, primario);
+            assertEquals(gestor.getInstantanea(), replica.getGestor().getInstantanea());
+            assertEquals(gestor.getEstadisticas().getMedia(), replica.getGestor().getEstadisticas().getMedia(), 1e-9);
+            assertEquals(1, replica.getInstantaneasCargadas());
+            assertEquals(0, replica.getRetrasoCambios());
+            assertTrue(replica.getRetrasos().getCuenta() > 0);
+            assertTrue(replica.isConectada());
+        }
+        assertEquals(2, primario.getInstantaneasEnviadas());
+        assertEquals(2, primario.getReplicasConectadas());
+    }
+
+    @Test
+    @DisplayName("[replicacion] Tras un corte, la réplica sigue desde su secuencia sin volver a cargar la instantánea")
+    void testReconexionDesdeSecuencia() throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        PrimarioReplicacion primario = abrir(new PrimarioReplicacion(gestor, 0));
+        ProxyTcp proxy = abrir(new ProxyTcp(primario.getPuerto()));
+        ReplicaProyectos replica = abrir(new ReplicaProyectos(new GestorProyectos(), "localhost", proxy.getPuerto()));
+
+        gestor.agregarProyecto(new Proyecto("Antes del corte", 5));
+        esperarAlDia(replica, primario);
+
+        proxy.cortar();
+        for (int i = 0; i < 100; i++) {
+            gestor.agregarProyecto(new Proyecto("Durante el corte " + i, 7));
+        }
+        gestor.eliminarProyectoPorNombre("Antes del corte");
+
+        esperarAlDia(replica, primario);
+        assertEquals(gestor.getInstantanea(), replica.getGestor().getInstantanea());
+        assertEquals(1, replica.getInstantaneasCargadas());
+        assertEquals(2, replica.getConexiones());
+        assertEquals(1, primario.getReanudaciones());
+    }
+
+    @Test
+    @DisplayName("[replicacion] Si el registro ya descartó lo que falta, o el primario se reinicia, la réplica carga una instantánea")
+    void testInstantaneaSiFaltanCambios() throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        PrimarioReplicacion primario = abrir(new PrimarioReplicacion(gestor, 0, 16));
+        ProxyTcp proxy = abrir(new ProxyTcp(primario.getPuerto()));
+        ReplicaProyectos replica = abrir(new ReplicaProyectos(new GestorProyectos(), "localhost", proxy.getPuerto()));
+        esperarAlDia(replica, primario);
+
+        proxy.cortar();
+        for (int i = 0; i < 100; i++) { // Mucho más que la capacidad del registro
+            gestor.agregarProyecto(new Proyecto("Proyecto " + i, 8));
+        }
+        esperarAlDia(replica, primario);
+        assertEquals(gestor.getInstantanea(), replica.getGestor().getInstantanea());
+        assertEquals(2, replica.getInstantaneasCargadas());
+        assertEquals(0, primario.getReanudaciones());
+
+        // Un primario nuevo sobre el mismo gestor empieza otro registro, con otras secuencias
+        primario.close();
+        PrimarioReplicacion reiniciado = abrir(new PrimarioReplicacion(gestor, 0));
+        proxy.setDestino(reiniciado.getPuerto());
+        proxy.cortar();
+        gestor.eliminarProyectoPorNombre("Proyecto 0");
+        // Las secuencias del primario anterior no valen: hay que esperar a la instantánea nueva
+        assertTrue(esperarCondicion(() -> replica.getInstantaneasCargadas() == 3));
+        esperarAlDia(replica, reiniciado);
+        assertEquals(gestor.getInstantanea(), replica.getGestor().getInstantanea());
+    }
+
+    @Test
+    @DisplayName("[replicacion] El gestor de una réplica rechaza las escrituras locales y no guarda historial")
+    void testReplicaSoloLectura() throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        PrimarioReplicacion primario = abrir(new PrimarioReplicacion(gestor, 0));
+        GestorProyectos local = new GestorProyectos();
+        local.agregarProyecto(new Proyecto("Local", 5)); // Antes de replicar: la instantánea lo sustituye
+        ReplicaProyectos replica = abrir(new ReplicaProyectos(local, "localhost", primario.getPuerto()));
+        esperarAlDia(replica, primario);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> local.agregarProyecto(new Proyecto("Local", 5)));
+        assertEquals(GestorProyectos.MENSAJE_SOLO_LECTURA, error.getMessage());
+        assertThrows(IllegalStateException.class, local::limpiarProyectos);
+        assertThrows(IllegalStateException.class, () -> local.sustituirProyectos(List.of()));
+        assertThrows(IllegalStateException.class, local::convertirEnReplica);
+
+        gestor.agregarProyecto(new Proyecto("Local", 9));
+        gestor.agregarProyecto(new Proyecto("Otro", 4));
+        gestor.eliminarProyectoPorNombre("Otro");
+        esperarAlDia(replica, primario);
+        assertEquals(gestor.getInstantanea(), local.getInstantanea());
+        assertFalse(local.puedeDeshacer());
+        assertThrows(IllegalStateException.class, local::deshacer);
+        assertEquals(1, replica.getInstantaneasCargadas());
+    }
+
+    private static boolean esperarCondicion(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Reenvía conexiones TCP al primario y permite cortarlas todas, como haría un fallo de red.
+     */
+    private static final class ProxyTcp implements AutoCloseable {
+        private final ServerSocket servidor = new ServerSocket();
+        private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+        private volatile int destino;
+
+        ProxyTcp(int destino) throws IOException {
+            this.destino = destino;
+            servidor.bind(new InetSocketAddress("localhost", 0));
+            Thread.ofVirtual().start(this::aceptar);
+        }
+
+        int getPuerto() {
+            return servidor.getLocalPort();
+        }
+
+        void setDestino(int destino) {
+            this.destino = destino;
+        }
+
+        void cortar() throws IOException {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        private void aceptar() {
+            while (!servidor.isClosed()) {
+                Socket cliente;
+                try {
+                    cliente = servidor.accept();
+                } catch (IOException e) {
+                    return;
+                }
+                try {
+                    Socket remoto = new Socket("localhost", destino);
+                    sockets.add(cliente);
+                    sockets.add(remoto);
+                    Thread.ofVirtual().start(() -> copiar(cliente, remoto));
+                    Thread.ofVirtual().start(() -> copiar(remoto, cliente));
+                } catch (IOException e) {
+                    try {
+                        cliente.close(); // Destino caído: el cliente reintentará
+                    } catch (IOException ignorada) {
+                        // Ya cerrado
+                    }
+                }
+            }
+        }
+
+        private void copiar(Socket origen, Socket destino) {
+            try (InputStream entrada = origen.getInputStream(); OutputStream salida = destino.getOutputStream()) {
+                entrada.transferTo(salida);
+            } catch (IOException e) {
+                // Conexión cortada
+            } finally {
+                try {
+                    origen.close();
+                    destino.close();
+                } catch (IOException e) {
+                    // Ya cerrados
+                }
+                sockets.remove(origen);
+                sockets.remove(destino);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            servidor.close();
+            cortar();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.servidor;
+
+import org.example.controller.GestorProyectos;
+import org.example.metricas.HistogramaLatencias;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga local de la API HTTP: clientes concurrentes (hilos virtuales) con una mezcla
+ * de 70 % consultas, 20 % altas y 10 % bajas. Informa de peticiones/s y latencias p50/p99.
+ * Solo se ejecuta con el perfil de benchmarks: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ServidorProyectosBenchmarkTest {
+    private static final int PETICIONES_POR_CLIENTE = 2_000;
+    private static final int PROYECTOS_INICIALES = 10_000;
+
+    @ParameterizedTest(name = "clientes={0}")
+    @ValueSource(ints = {1, 16, 64})
+    @DisplayName("[benchmark] Peticiones por segundo y p99 de la API HTTP")
+    void medirApi(int clientes) throws Exception {
+        GestorProyectos gestor = new GestorProyectos();
+        for (int i = 0; i < PROYECTOS_INICIALES; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, i % 11));
+        }
+        HistogramaLatencias latencias = new HistogramaLatencias();
+        AtomicInteger errores = new AtomicInteger();
+        try (ServidorProyectos servidor = new ServidorProyectos(gestor, 0);
+             HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            String base = "http://localhost:" + servidor.getPuerto();
+            long inicio = System.nanoTime();
+            List<Thread> hilos = new ArrayList<>();
+            for (int c = 0; c < clientes; c++) {
+                int id = c;
+                hilos.add(Thread.ofVirtual().start(() -> {
+                    ThreadLocalRandom azar = ThreadLocalRandom.current();
+                    for (int i = 0; i < PETICIONES_POR_CLIENTE; i++) {
+                        int tipo = azar.nextInt(10);
+                        HttpRequest peticion;
+                        if (tipo < 7) {
+                            peticion = HttpRequest.newBuilder(URI.create(base + "/proyectos/P" + azar.nextInt(PROYECTOS_INICIALES))).GET().build();
+                        } else if (tipo < 9) {
+                            peticion = HttpRequest.newBuilder(URI.create(base + "/proyectos"))
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"nombre\":\"C" + id + "-" + i + "\",\"nota\":7.5}")).build();
+                        } else {
+                            peticion = HttpRequest.newBuilder(URI.create(base + "/proyectos/C" + id + "-" + (i - 1))).DELETE().build();
+                        }
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<String> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+                            if (respuesta.statusCode() >= 500) {
+                                errores.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errores.incrementAndGet();
+                        }
+                        latencias.registrar(System.nanoTime() - t0);
+                    }
+                }));
+            }
+            for (Thread hilo : hilos) {
+                hilo.join();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            long total = latencias.getCuenta();
+            System.out.printf("API HTTP clientes=%2d: %,d peticiones en %.2f s -> %,.0f peticiones/s, p50=%.0f µs, p99=%.0f µs, errores=%d%n",
+                    clientes, total, segundos, total / segundos,
+                    latencias.percentil(50) / 1e3, latencias.percentil(99) / 1e3, errores.get());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.servidor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+class ServidorProyectosTest {
+
+    private GestorProyectos gestor;
+    private ServidorProyectos servidor;
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gestor = new GestorProyectos();
+        servidor = new ServidorProyectos(gestor, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.close();
+    }
+
+    private HttpResponse<String> enviar(String metodo, String ruta, String cuerpo) throws Exception {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + ruta));
+        peticion.method(metodo, cuerpo == null
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(cuerpo));
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String ruta(String nombre) {
+        return "/proyectos/" + URLEncoder.encode(nombre, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    @Test
+    @DisplayName("[servidor] Registrar, consultar y eliminar un proyecto por HTTP")
+    void testRegistrarConsultarEliminar() throws Exception {
+        HttpResponse<String> alta = enviar("POST", "/proyectos", "{\"nombre\": \"Cálculo \\\"Integral\\\"\", \"nota\": 8.5}");
+        assertEquals(201, alta.statusCode());
+        assertEquals(8.5, gestor.buscarProyectoPorNombre("Cálculo \"Integral\"").getNota());
+
+        HttpResponse<String> consulta = enviar("GET", ruta("Cálculo \"Integral\""), null);
+        assertEquals(200, consulta.statusCode());
+        assertEquals("{\"nombre\":\"Cálculo \\\"Integral\\\"\",\"nota\":8.5}", consulta.body());
+
+        assertEquals(409, enviar("POST", "/proyectos", "{\"nombre\": \"Cálculo \\\"Integral\\\"\", \"nota\": 5}").statusCode());
+        assertEquals(204, enviar("DELETE", ruta("Cálculo \"Integral\""), null).statusCode());
+        assertEquals(404, enviar("GET", ruta("Cálculo \"Integral\""), null).statusCode());
+        assertEquals(404, enviar("DELETE", ruta("Cálculo \"Integral\""), null).statusCode());
+    }
+
+    @Test
+    @DisplayName("[servidor] Rechazar peticiones inválidas con 400, 404 y 405")
+    void testPeticionesInvalidas() throws Exception {
+        assertEquals(400, enviar("POST", "/proyectos", "{\"nombre\": \"Redes\", \"nota\": 11}").statusCode());
+        assertEquals(400, enviar("POST", "/proyectos", "{\"nombre\": \"Redes\"}").statusCode());
+        assertEquals(400, enviar("POST", "/proyectos", "no es json").statusCode());
+        assertEquals(400, enviar("GET", "/proyectos?limite=muchos", null).statusCode());
+        assertEquals(405, enviar("PUT", "/proyectos", "{}").statusCode());
+        assertEquals(404, enviar("GET", "/proyectosXabc", null).statusCode());
+        assertEquals(404, enviar("POST", "/proyectosXabc", "{\"nombre\": \"Redes\", \"nota\": 5}").statusCode());
+        assertEquals(0, gestor.getNumeroProyectos());
+    }
+
+    @Test
+    @DisplayName("[servidor] Rechazar escrituras con 403 sobre una réplica de solo lectura")
+    void testReplicaSoloLectura() throws Exception {
+        gestor.agregarProyecto(new Proyecto("Redes", 7));
+        gestor.convertirEnReplica();
+        HttpResponse<String> alta = enviar("POST", "/proyectos", "{\"nombre\": \"Álgebra\", \"nota\": 6}");
+        assertEquals(403, alta.statusCode());
+        assertTrue(alta.body().contains("solo lectura"));
+        assertEquals(403, enviar("DELETE", ruta("Redes"), null).statusCode());
+        assertEquals(200, enviar("GET", ruta("Redes"), null).statusCode());
+    }
+
+    @Test
+    @DisplayName("[servidor] Listar por páginas y devolver estadísticas")
+    void testListarYEstadisticas() throws Exception {
+        for (int i = 0; i < 120; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, i % 11));
+        }
+        HttpResponse<String> primera = enviar("GET", "/proyectos", null);
+        assertEquals(200, primera.statusCode());
+        assertTrue(primera.body().startsWith("{\"total\":120,\"desde\":0,\"proyectos\":[{\"nombre\":\"P0\""));
+        assertEquals(ServidorProyectos.LIMITE_POR_DEFECTO, primera.body().split("\"nombre\"").length - 1);
+
+        HttpResponse<String> ultima = enviar("GET", "/proyectos?desde=110&limite=50", null);
+        assertEquals(10, ultima.body().split("\"nombre\"").length - 1);
+        assertTrue(ultima.body().contains("\"P119\""));
+
+        HttpResponse<String> estadisticas = enviar("GET", "/estadisticas", null);
+        assertEquals(200, estadisticas.statusCode());
+        assertTrue(estadisticas.body().startsWith("{\"cantidad\":120,"));
+    }
+
+    @Test
+    @DisplayName("[servidor] Listar por cursor sin repetir proyectos aunque se eliminen")
+    void testListarPorCursor() throws Exception {
+        for (String nombre : new String[]{"Redes", "Álgebra", "Ética", "Bases de Datos"}) {
+            gestor.agregarProyecto(new Proyecto(nombre, 7));
+        }
+        HttpResponse<String> primera = enviar("GET", "/proyectos?cursor=&limite=2", null);
+        assertEquals(200, primera.statusCode());
+        assertEquals("{\"proyectos\":[{\"nombre\":\"Álgebra\",\"nota\":7.0},{\"nombre\":\"Bases de Datos\",\"nota\":7.0}],"
+                + "\"siguiente\":\"bases de datos\"}", primera.body());
+
+        gestor.eliminarProyectoPorNombre("Bases de Datos"); // El cursor sigue siendo válido
+        HttpResponse<String> segunda = enviar("GET", "/proyectos?cursor=bases%20de%20datos&limite=2", null);
+        assertEquals("{\"proyectos\":[{\"nombre\":\"Ética\",\"nota\":7.0},{\"nombre\":\"Redes\",\"nota\":7.0}],"
+                + "\"siguiente\":null}", segunda.body());
+        assertEquals(400, enviar("GET", "/proyectos?cursor=&limite=0", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("[servidor] Leer objetos JSON con escapes y tipos básicos")
+    void testLeerJson() {
+        Map<String, Object> objeto = Json.leerObjeto(" { \"nombre\" : \"Tab\\tA\\u00e1\", \"nota\" : -1.5e0, \"activo\": true, \"x\": null } ");
+        assertEquals("Tab\tAá", objeto.get("nombre"));
+        assertEquals(-1.5, objeto.get("nota"));
+        assertEquals(Boolean.TRUE, objeto.get("activo"));
+        assertTrue(objeto.containsKey("x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.leerObjeto("{\"a\": 1} extra"));
+        assertThrows(IllegalArgumentException.class, () -> Json.leerObjeto("{\"a\": "));
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.controller.GestorProyectos;
+import org.example.model.Proyecto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class ModeloTablaProyectosTest {
+
+    private static GestorProyectos gestorCon(int cantidad) {
+        GestorProyectos gestor = new GestorProyectos();
+        for (int i = 0; i < cantidad; i++) {
+            gestor.agregarProyecto(new Proyecto("P" + i, i % 11));
+        }
+        return gestor;
+    }
+
+    private static ModeloTablaProyectos modeloDe(GestorProyectos gestor, JTable tabla) {
+        ModeloTablaProyectos modelo = new ModeloTablaProyectos(gestor::getCopiaProyectos);
+        modelo.cargar(gestor.addProyectosListenerConCopia(modelo));
+        tabla.setModel(modelo);
+        modelo.setSeleccion(tabla.getSelectionModel());
+        modelo.sincronizar();
+        return modelo;
+    }
+
+    private static List<Proyecto> filas(ModeloTablaProyectos modelo) {
+        List<Proyecto> filas = new ArrayList<>();
+        for (int i = 0; i < modelo.getRowCount(); i++) {
+            filas.add(modelo.getProyecto(i));
+        }
+        return filas;
+    }
+
+    private static List<String> seleccionados(JTable tabla, ModeloTablaProyectos modelo) {
+        List<String> nombres = new ArrayList<>();
+        for (int fila : tabla.getSelectedRows()) {
+            nombres.add(modelo.getProyecto(fila).getNombre());
+        }
+        return nombres;
+    }
+
+    // --- Pruebas de sincronización con el gestor ---
+
+    @Test
+    @DisplayName("[tabla] Las filas no cambian hasta sincronizar, y después coinciden con la lista")
+    void testCopiaFijaHastaSincronizar() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            GestorProyectos gestor = gestorCon(5);
+            ModeloTablaProyectos modelo = modeloDe(gestor, new JTable());
+
+            gestor.agregarProyecto(new Proyecto("Nuevo", 7.0));
+            gestor.eliminarProyectoPorNombre("P0");
+            assertEquals(5, modelo.getRowCount());
+            assertEquals("P0", modelo.getProyecto(0).getNombre());
+
+            assertTrue(modelo.sincronizar());
+            assertEquals(gestor.getCopiaProyectos(), filas(modelo));
+            assertFalse(modelo.sincronizar());
+        });
+    }
+
+    @Test
+    @DisplayName("[tabla] Las altas y bajas se aplican fila a fila y conservan la selección")
+    void testCambiosConservanSeleccion() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            GestorProyectos gestor = gestorCon(10);
+            JTable tabla = new JTable();
+            ModeloTablaProyectos modelo = modeloDe(gestor, tabla);
+            tabla.getSelectionModel().setSelectionInterval(3, 3);
+            tabla.getSelectionModel().addSelectionInterval(7, 7);
+
+            gestor.eliminarProyectoPorNombre("P1");
+            gestor.agregarProyecto(new Proyecto("Nuevo", 7.0));
+            gestor.eliminarPorNombres(List.of("P5", "P8", "P9"));
+            modelo.sincronizar();
+
+            assertEquals(gestor.getCopiaProyectos(), filas(modelo));
+            assertEquals(List.of("P3", "P7"), seleccionados(tabla, modelo));
+        });
+    }
+
+    @Test
+    @DisplayName("[tabla] Las filas seleccionadas dan los proyectos pintados aunque la lista cambie antes de sincronizar")
+    void testSeleccionResuelveFilasPintadas() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            GestorProyectos gestor = gestorCon(10);
+            JTable tabla = new JTable();
+            ModeloTablaProyectos modelo = modeloDe(gestor, tabla);
+            tabla.getSelectionModel().setSelectionInterval(8, 9);
+
+            gestor.eliminarPorNombres(List.of("P0", "P1", "P2"));
+            assertEquals(List.of("P8", "P9"), seleccionados(tabla, modelo));
+
+            modelo.sincronizar();
+            assertEquals(List.of("P8", "P9"), seleccionados(tabla, modelo));
+        });
+    }
+
+    @Test
+    @DisplayName("[tabla] Si se desborda la cola, rehace las filas y restaura la selección por nombre")
+    void testDesbordamientoRestauraSeleccion() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            GestorProyectos gestor = gestorCon(10);
+            JTable tabla = new JTable();
+            ModeloTablaProyectos modelo = modeloDe(gestor, tabla);
+            tabla.getSelectionModel().setSelectionInterval(3, 3);
+            tabla.getSelectionModel().addSelectionInterval(7, 7);
+
+            gestor.eliminarProyectoPorNombre("P0");
+            for (int i = 0; i < 2 * ModeloTablaProyectos.MAXIMO_PENDIENTES; i++) {
+                gestor.agregarProyecto(new Proyecto("Q" + i, 5.0));
+            }
+            modelo.sincronizar();
+
+            assertEquals(gestor.getCopiaProyectos(), filas(modelo));
+            assertEquals(List.of("P3", "P7"), seleccionados(tabla, modelo));
+        });
+    }
+
+    @Test
+    @DisplayName("[tabla] Coincide con la lista tras muchas operaciones aleatorias, con y sin filtro")
+    void testOperacionesAleatorias() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            GestorProyectos gestor = gestorCon(200);
+            ModeloTablaProyectos modelo = modeloDe(gestor, new JTable());
+            Random azar = new Random(42);
+            int siguiente = 200;
+            for (int ronda = 0; ronda < 200; ronda++) {
+                for (int i = azar.nextInt(5); i >= 0; i--) {
+                    switch (azar.nextInt(5)) {
+                        case 0:
+                        case 1:
+                            gestor.agregarProyecto(new Proyecto("P" + siguiente++, azar.nextInt(11)));
+                            break;
+                        case 2:
+                            gestor.eliminarProyectoPorNombre("P" + azar.nextInt(siguiente));
+                            break;
+                        case 3:
+                            int nota = azar.nextInt(11);
+                            gestor.eliminarSi(p -> p.getNota() == nota && azar.nextInt(3) == 0);
+                            break;
+                        default:
+                            if (azar.nextInt(50) == 0) {
+                                gestor.limpiarProyectos();
+                            }
+                            break;
+                    }
+                }
+                if (ronda % 20 == 0) {
+                    modelo.setFiltro(modelo.isFiltrado() ? null : List.of());
+                }
+                modelo.sincronizar();
+                if (!modelo.isFiltrado()) {
+                    assertEquals(gestor.getCopiaProyectos(), filas(modelo), "ronda " + ronda);
+                }
+            }
+        });
+    }
+}
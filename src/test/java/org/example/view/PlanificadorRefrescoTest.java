@@ -0,0 +1,72 @@
+package org.example.view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class PlanificadorRefrescoTest {
+
+    // --- Pruebas de agrupación de refrescos ---
+
+    @Test
+    @DisplayName("[refresco] Una ráfaga de cambios desde varios hilos se pinta como mucho una vez por intervalo")
+    void testRafagaAgrupada() throws Exception {
+        AtomicInteger refrescos = new AtomicInteger();
+        AtomicLong ultimoRefresco = new AtomicLong();
+        PlanificadorRefresco planificador = new PlanificadorRefresco(() -> {
+            assertTrue(SwingUtilities.isEventDispatchThread());
+            refrescos.incrementAndGet();
+            ultimoRefresco.set(System.nanoTime());
+        });
+
+        int hilos = 4;
+        CountDownLatch terminados = new CountDownLatch(hilos);
+        long inicio = System.nanoTime();
+        for (int h = 0; h < hilos; h++) {
+            new Thread(() -> {
+                long fin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                while (System.nanoTime() < fin) {
+                    planificador.marcar();
+                }
+                terminados.countDown();
+            }).start();
+        }
+        assertTrue(terminados.await(5, TimeUnit.SECONDS));
+        long ultimaMarca = System.nanoTime();
+        long transcurridoMs = TimeUnit.NANOSECONDS.toMillis(ultimaMarca - inicio);
+
+        // Espera a que se pinte lo último y a que la cola del EDT quede vacía
+        Thread.sleep(3L * PlanificadorRefresco.INTERVALO_POR_DEFECTO_MS + 50);
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertTrue(refrescos.get() >= 1);
+        assertTrue(refrescos.get() <= transcurridoMs / PlanificadorRefresco.INTERVALO_POR_DEFECTO_MS + 4,
+                "Refrescos: " + refrescos.get() + " en " + transcurridoMs + " ms");
+        assertEquals(refrescos.get(), planificador.getRefrescos());
+        assertTrue(ultimoRefresco.get() >= ultimaMarca - TimeUnit.MILLISECONDS.toNanos(PlanificadorRefresco.INTERVALO_POR_DEFECTO_MS),
+                "El último cambio debe acabar pintándose");
+    }
+
+    @Test
+    @DisplayName("[refresco] Tras un periodo sin cambios, el primero se pinta sin esperar al intervalo")
+    void testPrimerCambioInmediato() throws Exception {
+        AtomicInteger refrescos = new AtomicInteger();
+        PlanificadorRefresco planificador = new PlanificadorRefresco(refrescos::incrementAndGet, 10_000);
+        planificador.marcar();
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, refrescos.get());
+
+        // El siguiente queda pendiente hasta que acabe el intervalo (10 s), pero nunca se duplica
+        planificador.marcar();
+        planificador.marcar();
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, refrescos.get());
+    }
+}